@@ -90,14 +90,12 @@ public class AttributeAtomCodeAdaption<T> extends AttributeParentCodeAdaption {
 
 			//get values
 			String valueString = getValueCommandString(value);
-			valueString = quantity.getValue();
-			String defaultValueString = defaultQuantity.getValue();
-			boolean hasDefaultValueString = (valueString == defaultValueString);
+			valueString = quantity.getValueString();
+			boolean hasDefaultValueString = valueString.equals(defaultQuantity.getValueString());
 
 			//get units
 			String unitString = quantity.getUnit();
-			String defaultUnitString = defaultQuantity.getUnit();
-			boolean hasDefaultUnitString = (unitString == defaultUnitString);
+			boolean hasDefaultUnitString = quantity.hasSameUnit(defaultQuantity);
 
 			//create bulk code
 			if (!hasDefaultValueString) {
@@ -228,14 +226,12 @@ public class AttributeAtomCodeAdaption<T> extends AttributeParentCodeAdaption {
 		Quantity defaultQuantity = (Quantity) attributeAtom.getDefaultValue();
 
 		//get values
-		valueString = quantity.getValue();
-		String defaultValueString = defaultQuantity.getValue();
-		boolean hasDefaultValueString = (valueString == defaultValueString);
+		valueString = quantity.getValueString();
+		boolean hasDefaultValueString = valueString.equals(defaultQuantity.getValueString());
 
 		//get units
 		String unitString = quantity.getUnit();
-		String defaultUnitString = defaultQuantity.getUnit();
-		boolean hasDefaultUnitString = (unitString == defaultUnitString);
+		boolean hasDefaultUnitString = quantity.hasSameUnit(defaultQuantity);
 
 		//create code
 		boolean setQuantity = !hasDefaultValueString || !hasDefaultUnitString;
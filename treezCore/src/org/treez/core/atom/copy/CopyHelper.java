@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import org.treez.core.data.row.Row;
+import org.treez.core.data.row.RowList;
 import org.treez.core.data.table.TreezTable;
 
 /**
@@ -156,7 +157,7 @@ public final class CopyHelper {
 			return null;
 		}
 
-		List<Row> rows = new ArrayList<>();
+		List<Row> rows = new RowList();
 		for (Row rowToCopy : rowsToCopy) {
 			Row row = rowToCopy.copyForNewTable(targetTable);
 			rows.add(row);
@@ -15,6 +15,7 @@ import org.treez.core.data.cell.CellEditorFactory;
 import org.treez.core.data.cell.TreezTableJFaceLabelProvider;
 import org.treez.core.data.column.ColumnType;
 import org.treez.core.data.row.Row;
+import org.treez.core.data.row.RowList;
 import org.treez.core.data.table.AbstractTreezTable;
 import org.treez.core.treeview.TreeViewerRefreshable;
 
@@ -173,7 +174,7 @@ public class TreezListAtom extends AbstractTreezTable<TreezListAtom> {
 
 		//initialize rows if they do not yet exist
 		if (rows == null) {
-			rows = new ArrayList<Row>();
+			rows = new RowList();
 		}
 
 		//create empty row
@@ -221,7 +222,7 @@ public class TreezListAtom extends AbstractTreezTable<TreezListAtom> {
 	@Override
 	public TreezListAtom addEmptyRow() {
 		if (rows == null) {
-			rows = new ArrayList<>();
+			rows = new RowList();
 		}
 		Row emptyRow = new Row(this);
 
@@ -278,7 +279,7 @@ public class TreezListAtom extends AbstractTreezTable<TreezListAtom> {
 	 */
 	@Override
 	public TreezListAtom setRows(List<Row> rows) {
-		this.rows = rows;
+		this.rows = toRowList(rows);
 		refreshControlAdaption();
 		return getThis();
 	}
@@ -299,7 +300,7 @@ public class TreezListAtom extends AbstractTreezTable<TreezListAtom> {
 			//get current row or create a new one if it does not exist
 			Row currentRow;
 			if (rows == null) {
-				rows = new ArrayList<Row>();
+				rows = new RowList();
 			}
 			if (rowIndex >= rows.size()) {
 				currentRow = new Row(this);
@@ -160,7 +160,25 @@ public class QuantityVariableField extends AbstractVariableField<QuantityVariabl
 		if (attributeValue == null) {
 			attributeValue = new Quantity(valueString, "");
 		} else {
-			attributeValue.setValue(valueString);
+			attributeValue.setValueString(valueString);
+		}
+	}
+
+	@Override
+	protected void validateValueOnChange(String text) {
+		if (new Quantity(text, "").hasValidValue()) {
+			valueErrorDecorator.hide();
+		}
+		//partial input like "5e-" is allowed while typing
+	}
+
+	@Override
+	protected void validateValueOnFocusLoss(String text) {
+		Quantity quantity = new Quantity(text, "");
+		if (quantity.hasValidValue()) {
+			valueErrorDecorator.hide();
+		} else {
+			valueErrorDecorator.show(": " + quantity.getValidationMessage());
 		}
 	}
 
@@ -349,7 +367,7 @@ public class QuantityVariableField extends AbstractVariableField<QuantityVariabl
 			setValueString("");
 			setUnitString("");
 		} else {
-			setValueString(quantity.getValue());
+			setValueString(quantity.getValueString());
 			setUnitString(quantity.getUnit());
 		}
 		enableModificationListeners();
@@ -400,7 +418,7 @@ public class QuantityVariableField extends AbstractVariableField<QuantityVariabl
 			setDefaultValueString("");
 			setDefaultUnitString("");
 		} else {
-			setDefaultValueString(quantity.getValue());
+			setDefaultValueString(quantity.getValueString());
 			setDefaultUnitString(quantity.getUnit());
 		}
 	}
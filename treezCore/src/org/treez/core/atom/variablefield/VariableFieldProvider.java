@@ -5,4 +5,12 @@ import java.util.List;
 public interface VariableFieldProvider {
 
 	List<VariableField> getVariableField();
+
+	/**
+	 * Returns true if the provided variable fields are used (e.g. by a study); disabled providers are skipped. Providers
+	 * are enabled by default.
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
 }
@@ -17,6 +17,7 @@ import org.treez.core.adaptable.FocusChangingRefreshable;
 import org.treez.core.atom.base.annotation.IsParameter;
 import org.treez.core.atom.variablefield.QuantityVariableField;
 import org.treez.core.quantity.Quantity;
+import org.treez.core.quantity.QuantityArray;
 import org.treez.core.scripting.ScriptType;
 import org.treez.core.springspel.VectorEvaluation;
 import org.treez.core.swt.CustomLabel;
@@ -373,8 +374,18 @@ public class QuantityVariableListField extends AbstractVariableListField<Quantit
 	 */
 	@Override
 	public List<Quantity> get() {
-		List<Quantity> quantities = createQuantityList(getValueString(), getUnitString());
-		return quantities;
+		return getQuantityArray().toQuantityList();
+	}
+
+	/**
+	 * Returns the values and the unit as QuantityArray. The value string is only evaluated once and no Quantity is
+	 * created for the individual values.
+	 *
+	 * @return
+	 */
+	public QuantityArray getQuantityArray() {
+		List<Double> values = vectorEvaluation.parseStringToDoubleList(getValueString());
+		return QuantityArray.of(values, getUnitString());
 	}
 
 	@Override
@@ -1,6 +1,7 @@
 package org.treez.core.data.row;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.treez.core.atom.copy.Copiable;
@@ -28,6 +29,11 @@ public class Row implements Copiable<Row> {
 
 	private boolean hasValidationErrors = false;
 
+	/**
+	 * The last known position of this row in the rows of its table (is maintained by RowList)
+	 */
+	private int knownIndex = -1;
+
 	//#end region
 
 	//#region CONSTRUCTORS
@@ -37,16 +43,21 @@ public class Row implements Copiable<Row> {
 		entryMap = new HashMap<String, Object>();
 	}
 
+	/**
+	 * Constructor for rows that do not store their entries in an entry map (e.g. views on a column store). The
+	 * extending class has to override the methods that access the entry map.
+	 */
+	protected Row(TreezTable table, Map<String, Object> entryMap) {
+		this.table = table;
+		this.entryMap = entryMap;
+	}
+
 	/**
 	 * Copy constructor for same table
 	 */
 	private Row(Row row) {
 		this.table = row.table;
-		this.entryMap = new HashMap<String, Object>();
-		for (String header : row.entryMap.keySet()) {
-			Object value = row.entryMap.get(header);
-			this.entryMap.put(header, value);
-		}
+		this.entryMap = row.getEntries();
 	}
 
 	/**
@@ -54,11 +65,7 @@ public class Row implements Copiable<Row> {
 	 */
 	private Row(Row row, TreezTable newTable) {
 		this.table = newTable;
-		this.entryMap = new HashMap<String, Object>();
-		for (String header : row.entryMap.keySet()) {
-			Object value = row.entryMap.get(header);
-			this.entryMap.put(header, value);
-		}
+		this.entryMap = row.getEntries();
 	}
 
 	//#end region
@@ -74,7 +81,7 @@ public class Row implements Copiable<Row> {
 	public String toString() {
 		String rowCommand = "addRow(";
 
-		Iterable<Object> values = entryMap.values();
+		Iterable<Object> values = getEntries().values();
 		boolean valueAdded = false;
 		for (Object value : values) {
 			valueAdded = true;
@@ -111,7 +118,7 @@ public class Row implements Copiable<Row> {
 	public boolean isEmpty() {
 		boolean empty = true;
 		for (String header : table.getHeaders()) {
-			Object entry = entryMap.get(header);
+			Object entry = getEntry(header);
 			if (entry instanceof String) {
 				if (!((String) entry).equals("")) {
 					empty = false;
@@ -137,12 +144,25 @@ public class Row implements Copiable<Row> {
 	}
 
 	/**
-	 * Returns the index of the row
+	 * Returns the index of the row. The last known index is checked first, so that the rows of the table only have to
+	 * be searched if the row has been moved by a list that does not maintain the row positions (see RowList).
 	 *
 	 * @return
 	 */
 	public int getIndex() {
-		return table.getRows().indexOf(this);
+		List<Row> rows = table.getRows();
+		boolean isKnownIndex = knownIndex >= 0 && knownIndex < rows.size() && rows.get(knownIndex) == this;
+		if (!isKnownIndex) {
+			knownIndex = rows.indexOf(this);
+		}
+		return knownIndex;
+	}
+
+	/**
+	 * Sets the position of this row in the rows of its table
+	 */
+	void setIndex(int index) {
+		this.knownIndex = index;
 	}
 
 	//#end region
@@ -163,6 +183,13 @@ public class Row implements Copiable<Row> {
 		this.entryMap.put(columnHeader, value);
 	}
 
+	/**
+	 * Returns a copy of the entries of this row by column header
+	 */
+	public Map<String, Object> getEntries() {
+		return new HashMap<>(entryMap);
+	}
+
 	/**
 	 * Sets a value in this row for a given column header. The value is checked to be compatible to the column.
 	 */
@@ -178,7 +205,7 @@ public class Row implements Copiable<Row> {
 				boolean columnTypeFitsToValue = valueColumnType.equals(columnType);
 				if (columnTypeFitsToValue) {
 					//set entry
-					this.entryMap.put(columnHeader, value);
+					setEntryUnchecked(columnHeader, value);
 				} else {
 					String message = "The class '" + valueClass.getSimpleName() + "' of the given value '" + value
 							+ "' is not compatible to the " + " column type '" + columnType + "'";
@@ -186,7 +213,7 @@ public class Row implements Copiable<Row> {
 					throw new IllegalArgumentException(message);
 				}
 			} else {
-				this.entryMap.put(columnHeader, value);
+				setEntryUnchecked(columnHeader, value);
 			}
 
 		} else {
@@ -205,7 +232,7 @@ public class Row implements Copiable<Row> {
 	public Object getObject(String columnHeader) {
 
 		ColumnType columnType = table.getColumnType(columnHeader);
-		Object entry = entryMap.get(columnHeader);
+		Object entry = getEntry(columnHeader);
 
 		Object object = null;
 
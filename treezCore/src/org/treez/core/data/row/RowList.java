@@ -0,0 +1,105 @@
+package org.treez.core.data.row;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list of rows that maintains the position of each row (see Row.getIndex). The positions are updated if rows are
+ * added, inserted, replaced or removed, so that a row can determine its index in constant time instead of searching
+ * the list of its table.
+ */
+public class RowList extends AbstractList<Row> implements RandomAccess {
+
+	//#region ATTRIBUTES
+
+	private final List<Row> rows;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	public RowList() {
+		rows = new ArrayList<>();
+	}
+
+	/**
+	 * Creates a list that contains the given rows
+	 */
+	public RowList(Collection<Row> rowsToAdd) {
+		rows = new ArrayList<>(rowsToAdd);
+		updateIndices(0);
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	public Row get(int rowIndex) {
+		return rows.get(rowIndex);
+	}
+
+	@Override
+	public int size() {
+		return rows.size();
+	}
+
+	@Override
+	public boolean add(Row row) {
+		row.setIndex(rows.size());
+		rows.add(row);
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public void add(int rowIndex, Row row) {
+		rows.add(rowIndex, row);
+		modCount++;
+		updateIndices(rowIndex);
+	}
+
+	@Override
+	public Row set(int rowIndex, Row row) {
+		Row oldRow = rows.set(rowIndex, row);
+		row.setIndex(rowIndex);
+		return oldRow;
+	}
+
+	@Override
+	public Row remove(int rowIndex) {
+		Row oldRow = rows.remove(rowIndex);
+		modCount++;
+		updateIndices(rowIndex);
+		return oldRow;
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		rows.subList(fromIndex, toIndex).clear();
+		modCount++;
+		updateIndices(fromIndex);
+	}
+
+	@Override
+	public void clear() {
+		rows.clear();
+		modCount++;
+	}
+
+	/**
+	 * Updates the positions of the rows from the given index on
+	 */
+	private void updateIndices(int startIndex) {
+		int size = rows.size();
+		for (int rowIndex = startIndex; rowIndex < size; rowIndex++) {
+			rows.get(rowIndex).setIndex(rowIndex);
+		}
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,82 @@
+package org.treez.core.data.store;
+
+import java.util.BitSet;
+
+/**
+ * The values of a single column of a ColumnStore. The number of rows is managed by the ColumnStore and passed to the
+ * methods that need it. The arrays of the implementing classes grow on demand.
+ */
+abstract class ColumnData {
+
+	//#region ATTRIBUTES
+
+	protected static final int INITIAL_CAPACITY = 16;
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Returns the value of the given row or null
+	 */
+	abstract Object get(int rowIndex);
+
+	/**
+	 * Returns true if the given (non null) value can be stored in this column
+	 */
+	abstract boolean accepts(Object value);
+
+	/**
+	 * Sets the value of the given row. The value must be null or accepted by this column.
+	 */
+	abstract void set(int rowIndex, Object value);
+
+	/**
+	 * Inserts a null value at the given row index and shifts the following rows
+	 */
+	abstract void insertNull(int rowIndex, int numberOfRows);
+
+	/**
+	 * Removes the value of the given row and shifts the following rows
+	 */
+	abstract void remove(int rowIndex, int numberOfRows);
+
+	/**
+	 * Returns the values of the first rows as doubles. Null values are returned as NaN.
+	 */
+	abstract double[] getDoubleValues(int numberOfRows);
+
+	/**
+	 * Returns a capacity that is at least the given minimum capacity and grows the current capacity by 50 percent
+	 */
+	protected static int increaseCapacity(int currentCapacity, int minimumCapacity) {
+		int newCapacity = Math.max(INITIAL_CAPACITY, currentCapacity + (currentCapacity >> 1));
+		return Math.max(newCapacity, minimumCapacity);
+	}
+
+	/**
+	 * Inserts a bit with the given state at the given index and shifts the following bits
+	 */
+	static void insertBit(BitSet bits, int index, int numberOfBits, boolean state) {
+		BitSet tail = bits.get(index, numberOfBits);
+		bits.clear(index, numberOfBits + 1);
+		for (int tailIndex = tail.nextSetBit(0); tailIndex >= 0; tailIndex = tail.nextSetBit(tailIndex + 1)) {
+			bits.set(index + 1 + tailIndex);
+		}
+		bits.set(index, state);
+	}
+
+	/**
+	 * Removes the bit at the given index and shifts the following bits
+	 */
+	static void removeBit(BitSet bits, int index, int numberOfBits) {
+		BitSet tail = bits.get(index + 1, numberOfBits);
+		bits.clear(index, numberOfBits);
+		for (int tailIndex = tail.nextSetBit(0); tailIndex >= 0; tailIndex = tail.nextSetBit(tailIndex + 1)) {
+			bits.set(index + tailIndex);
+		}
+	}
+
+	//#end region
+
+}
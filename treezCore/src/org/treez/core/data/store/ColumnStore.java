@@ -0,0 +1,327 @@
+package org.treez.core.data.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.treez.core.data.row.Row;
+import org.treez.core.data.table.TreezTable;
+
+/**
+ * Stores the rows of a table column by column. Double and Integer values are stored in primitive arrays with a bitmap
+ * for null values, String values are stored dictionary encoded. A column is created when the first non null value is
+ * set for its header and the implementation is chosen by the class of that value. If a value does not fit to the
+ * implementation of its column, the column falls back to storing objects.
+ * <p>
+ * The rows can be accessed as a list of lightweight Row views (see getRows) that read and write the entries of the
+ * store, so that tables can use the store without changing the TreezTable interface. The views are created on demand
+ * and kept, so that each row is represented by a single Row object. The values of a whole column can
+ * be read without creating any Row (see getValues and getDoubleValues). This class is not thread safe.
+ */
+public final class ColumnStore {
+
+	//#region ATTRIBUTES
+
+	private final TreezTable table;
+
+	private final Map<String, ColumnData> columns = new LinkedHashMap<>();
+
+	private int numberOfRows = 0;
+
+	/**
+	 * A set bit marks a row with validation errors
+	 */
+	private final BitSet validationErrors = new BitSet();
+
+	private final List<Row> rows;
+
+	/**
+	 * The Row views by row index; a view is null until it is requested (see getRow)
+	 */
+	private final List<ColumnStoreRow> rowViews = new ArrayList<>();
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	public ColumnStore(TreezTable table) {
+		this.table = table;
+		this.rows = new ColumnStoreRowList(this);
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Adds a row with the given entries. The entries are assigned to the given headers by index. Columns without entry
+	 * are null.
+	 */
+	public void addRow(List<String> headers, List<Object> entries) {
+		int rowIndex = appendEmptyRow();
+		int size = entries.size();
+		for (int columnIndex = 0; columnIndex < size; columnIndex++) {
+			setEntry(rowIndex, headers.get(columnIndex), entries.get(columnIndex));
+		}
+	}
+
+	/**
+	 * Adds a row with the given entries by column header
+	 */
+	public void addRow(Map<String, Object> entries) {
+		int rowIndex = appendEmptyRow();
+		setEntries(rowIndex, entries);
+	}
+
+	private int appendEmptyRow() {
+		int rowIndex = numberOfRows;
+		for (ColumnData columnData : columns.values()) {
+			columnData.set(rowIndex, null);
+		}
+		if (validationErrors.get(rowIndex)) {
+			validationErrors.clear(rowIndex);
+		}
+		rowViews.add(null);
+		numberOfRows++;
+		return rowIndex;
+	}
+
+	/**
+	 * Inserts a row with the given entries by column header at the given index
+	 */
+	public void insertRow(int rowIndex, Map<String, Object> entries) {
+		checkRowIndex(rowIndex, numberOfRows + 1);
+		for (ColumnData columnData : columns.values()) {
+			columnData.insertNull(rowIndex, numberOfRows);
+		}
+		ColumnData.insertBit(validationErrors, rowIndex, numberOfRows, false);
+		rowViews.add(rowIndex, null);
+		numberOfRows++;
+		updateRowViewIndices(rowIndex + 1);
+		setEntries(rowIndex, entries);
+	}
+
+	/**
+	 * Removes the row with the given index
+	 */
+	public void removeRow(int rowIndex) {
+		checkRowIndex(rowIndex, numberOfRows);
+		detachRowView(rowIndex);
+		for (ColumnData columnData : columns.values()) {
+			columnData.remove(rowIndex, numberOfRows);
+		}
+		ColumnData.removeBit(validationErrors, rowIndex, numberOfRows);
+		rowViews.remove(rowIndex);
+		numberOfRows--;
+		updateRowViewIndices(rowIndex);
+	}
+
+	/**
+	 * Removes all rows and columns
+	 */
+	public void clear() {
+		for (int rowIndex = 0; rowIndex < numberOfRows; rowIndex++) {
+			detachRowView(rowIndex);
+		}
+		rowViews.clear();
+		columns.clear();
+		validationErrors.clear();
+		numberOfRows = 0;
+	}
+
+	/**
+	 * Returns the Row view of the given row. The view is created on the first request and the same view is returned
+	 * until the row is removed or replaced.
+	 */
+	Row getRow(int rowIndex) {
+		checkRowIndex(rowIndex, numberOfRows);
+		ColumnStoreRow rowView = rowViews.get(rowIndex);
+		if (rowView == null) {
+			rowView = new ColumnStoreRow(this, rowIndex);
+			rowViews.set(rowIndex, rowView);
+		}
+		return rowView;
+	}
+
+	/**
+	 * Uses the given (detached) view as view of the given row; the entries of the row have to be set before
+	 */
+	void attachRowView(int rowIndex, ColumnStoreRow rowView) {
+		rowViews.set(rowIndex, rowView);
+		rowView.attach(rowIndex);
+	}
+
+	/**
+	 * Detaches the view of the given row (if it has been created), so that it keeps the current entries of the row
+	 * and is no longer used as view of the row
+	 */
+	void detachRowView(int rowIndex) {
+		ColumnStoreRow rowView = rowViews.get(rowIndex);
+		if (rowView != null) {
+			rowView.detach();
+			rowViews.set(rowIndex, null);
+		}
+	}
+
+	/**
+	 * Updates the indices of the views of the rows starting with the given index after rows have been inserted or
+	 * removed
+	 */
+	private void updateRowViewIndices(int startIndex) {
+		for (int rowIndex = startIndex; rowIndex < numberOfRows; rowIndex++) {
+			ColumnStoreRow rowView = rowViews.get(rowIndex);
+			if (rowView != null) {
+				rowView.setRowIndex(rowIndex);
+			}
+		}
+	}
+
+	/**
+	 * Returns the entry of the given row and column
+	 */
+	public Object getEntry(int rowIndex, String header) {
+		checkRowIndex(rowIndex, numberOfRows);
+		ColumnData columnData = columns.get(header);
+		if (columnData == null) {
+			return null;
+		}
+		return columnData.get(rowIndex);
+	}
+
+	/**
+	 * Sets the entry of the given row and column. The entry is not checked against the column type of the table.
+	 */
+	public void setEntry(int rowIndex, String header, Object value) {
+		checkRowIndex(rowIndex, numberOfRows);
+		ColumnData columnData = columns.get(header);
+		if (columnData == null) {
+			if (value == null) {
+				return;
+			}
+			columnData = createColumnData(value, numberOfRows);
+			columns.put(header, columnData);
+		} else if (value != null && !columnData.accepts(value)) {
+			columnData = new ObjectColumnData(columnData, numberOfRows);
+			columns.put(header, columnData);
+		}
+		columnData.set(rowIndex, value);
+	}
+
+	/**
+	 * Replaces all entries of the given row with the given entries by column header
+	 */
+	public void setEntries(int rowIndex, Map<String, Object> entries) {
+		checkRowIndex(rowIndex, numberOfRows);
+		for (String header : new ArrayList<>(columns.keySet())) {
+			if (!entries.containsKey(header)) {
+				columns.get(header).set(rowIndex, null);
+			}
+		}
+		for (Map.Entry<String, Object> entry : entries.entrySet()) {
+			setEntry(rowIndex, entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Returns the (non null) entries of the given row by column header
+	 */
+	public Map<String, Object> getEntries(int rowIndex) {
+		checkRowIndex(rowIndex, numberOfRows);
+		Map<String, Object> entries = new HashMap<>();
+		for (Map.Entry<String, ColumnData> column : columns.entrySet()) {
+			Object value = column.getValue().get(rowIndex);
+			if (value != null) {
+				entries.put(column.getKey(), value);
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Returns the values of the column with the given header
+	 */
+	public List<Object> getValues(String header) {
+		List<Object> values = new ArrayList<>(numberOfRows);
+		ColumnData columnData = columns.get(header);
+		for (int rowIndex = 0; rowIndex < numberOfRows; rowIndex++) {
+			values.add(columnData == null ? null : columnData.get(rowIndex));
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the values of the column with the given header as primitive doubles. Null values are returned as NaN.
+	 * String values are parsed; a NumberFormatException is thrown if they do not represent numbers.
+	 */
+	public double[] getDoubleValues(String header) {
+		ColumnData columnData = columns.get(header);
+		if (columnData == null) {
+			double[] values = new double[numberOfRows];
+			Arrays.fill(values, Double.NaN);
+			return values;
+		}
+		return columnData.getDoubleValues(numberOfRows);
+	}
+
+	/**
+	 * Creates a column for the class of the given value. The existing rows are null in the new column.
+	 */
+	private static ColumnData createColumnData(Object value, int numberOfRows) {
+		if (value instanceof Double) {
+			return new DoubleColumnData();
+		} else if (value instanceof Integer) {
+			return new IntegerColumnData();
+		} else if (value instanceof String) {
+			return new StringColumnData(numberOfRows);
+		} else {
+			return new ObjectColumnData(numberOfRows);
+		}
+	}
+
+	private static void checkRowIndex(int rowIndex, int size) {
+		if (rowIndex < 0 || rowIndex >= size) {
+			String message = "The row index " + rowIndex + " is out of bounds. The number of rows is " + size + ".";
+			throw new IndexOutOfBoundsException(message);
+		}
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	/**
+	 * Returns the table the rows of this store belong to
+	 */
+	public TreezTable getTable() {
+		return table;
+	}
+
+	/**
+	 * Returns the rows of this store as list of Row views. The list supports adding, inserting, replacing and removing
+	 * rows. The Row objects are created on demand and kept; modifying them modifies the store. Rows that are added or
+	 * set are copied into the store, so the list contains a view instead of the given Row (except for rows that have
+	 * been removed from this store before, which are attached again).
+	 */
+	public List<Row> getRows() {
+		return rows;
+	}
+
+	public int getNumberOfRows() {
+		return numberOfRows;
+	}
+
+	boolean hasValidationErrors(int rowIndex) {
+		return validationErrors.get(rowIndex);
+	}
+
+	void setValidationErrors(int rowIndex, boolean hasValidationErrors) {
+		validationErrors.set(rowIndex, hasValidationErrors);
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,150 @@
+package org.treez.core.data.store;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.treez.core.data.row.Row;
+
+/**
+ * A lightweight view on a row of a ColumnStore. While the row is attached to the store, it only consists of the store
+ * and the row index and all entries are read from and written to the store. The store creates one view per row on
+ * demand and keeps it, so that the same Row object is returned for the same row (also after rows have been inserted
+ * or removed before it; see ColumnStore.getRow). If the row is removed from the store, the view is detached: it keeps
+ * a copy of its entries and can be added to the store again.
+ */
+final class ColumnStoreRow extends Row {
+
+	//#region ATTRIBUTES
+
+	private final ColumnStore columnStore;
+
+	/**
+	 * The index of the row in the store or -1 if the row is detached
+	 */
+	private int rowIndex;
+
+	/**
+	 * The entries of the row while it is detached
+	 */
+	private Map<String, Object> detachedEntries = null;
+
+	private boolean detachedHasValidationErrors = false;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	ColumnStoreRow(ColumnStore columnStore, int rowIndex) {
+		super(columnStore.getTable(), null);
+		this.columnStore = columnStore;
+		this.rowIndex = rowIndex;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	public int getIndex() {
+		return rowIndex;
+	}
+
+	/**
+	 * Copies the entries of this row from the store and detaches the row from the store; is called before the row is
+	 * removed from the store
+	 */
+	void detach() {
+		if (isDetached()) {
+			return;
+		}
+		detachedEntries = columnStore.getEntries(rowIndex);
+		detachedHasValidationErrors = columnStore.hasValidationErrors(rowIndex);
+		rowIndex = -1;
+	}
+
+	/**
+	 * Attaches this row to the given index of the store; is called after the entries of this row have been written to
+	 * the row with the given index
+	 */
+	void attach(int newRowIndex) {
+		detachedEntries = null;
+		detachedHasValidationErrors = false;
+		rowIndex = newRowIndex;
+	}
+
+	/**
+	 * Returns true if this row is a detached row of the given store
+	 */
+	boolean isDetachedRowOf(ColumnStore store) {
+		return isDetached() && columnStore == store;
+	}
+
+	private boolean isDetached() {
+		return rowIndex < 0;
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	/**
+	 * Sets the index of this row; is called by the store if rows have been inserted or removed before this row
+	 */
+	void setRowIndex(int rowIndex) {
+		this.rowIndex = rowIndex;
+	}
+
+	@Override
+	public Object getEntry(String columnHeader) {
+		if (isDetached()) {
+			return detachedEntries.get(columnHeader);
+		}
+		return columnStore.getEntry(rowIndex, columnHeader);
+	}
+
+	@Override
+	public void setEntryUnchecked(String columnHeader, Object value) {
+		if (isDetached()) {
+			detachedEntries.put(columnHeader, value);
+			return;
+		}
+		columnStore.setEntry(rowIndex, columnHeader, value);
+	}
+
+	@Override
+	public Map<String, Object> getEntries() {
+		if (isDetached()) {
+			return new HashMap<>(detachedEntries);
+		}
+		return columnStore.getEntries(rowIndex);
+	}
+
+	@Override
+	public boolean hasValidationErrors() {
+		if (isDetached()) {
+			return detachedHasValidationErrors;
+		}
+		return columnStore.hasValidationErrors(rowIndex);
+	}
+
+	@Override
+	public void enableValidationError() {
+		if (isDetached()) {
+			detachedHasValidationErrors = true;
+			return;
+		}
+		columnStore.setValidationErrors(rowIndex, true);
+	}
+
+	@Override
+	public void disableValidationError() {
+		if (isDetached()) {
+			detachedHasValidationErrors = false;
+			return;
+		}
+		columnStore.setValidationErrors(rowIndex, false);
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,104 @@
+package org.treez.core.data.store;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import org.treez.core.data.row.Row;
+
+/**
+ * The rows of a ColumnStore as list. The get method returns the ColumnStoreRow view of the requested index (the same
+ * view for the same row; see ColumnStore.getRow). Rows that are added or set are copied into the store and the list
+ * contains a view of the new row instead of the given Row object. Rows that have been removed from the store (or
+ * replaced by set) are detached: they keep their entries and are attached again if they are added to the store.
+ */
+final class ColumnStoreRowList extends AbstractList<Row> implements RandomAccess {
+
+	//#region ATTRIBUTES
+
+	private final ColumnStore columnStore;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	ColumnStoreRowList(ColumnStore columnStore) {
+		this.columnStore = columnStore;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	public Row get(int rowIndex) {
+		return columnStore.getRow(rowIndex);
+	}
+
+	@Override
+	public int size() {
+		return columnStore.getNumberOfRows();
+	}
+
+	@Override
+	public boolean add(Row row) {
+		add(size(), row);
+		return true;
+	}
+
+	@Override
+	public void add(int rowIndex, Row row) {
+		boolean isAttachable = isDetachedRow(row);
+		boolean hasValidationErrors = row.hasValidationErrors();
+		if (rowIndex == size()) {
+			columnStore.addRow(row.getEntries());
+		} else {
+			columnStore.insertRow(rowIndex, row.getEntries());
+		}
+		columnStore.setValidationErrors(rowIndex, hasValidationErrors);
+		if (isAttachable) {
+			columnStore.attachRowView(rowIndex, (ColumnStoreRow) row);
+		}
+		modCount++;
+	}
+
+	@Override
+	public Row set(int rowIndex, Row row) {
+		Row oldRow = get(rowIndex);
+		if (oldRow == row) {
+			return oldRow;
+		}
+		boolean isAttachable = isDetachedRow(row);
+		boolean hasValidationErrors = row.hasValidationErrors();
+		columnStore.detachRowView(rowIndex);
+		columnStore.setEntries(rowIndex, row.getEntries());
+		columnStore.setValidationErrors(rowIndex, hasValidationErrors);
+		if (isAttachable) {
+			columnStore.attachRowView(rowIndex, (ColumnStoreRow) row);
+		}
+		return oldRow;
+	}
+
+	@Override
+	public Row remove(int rowIndex) {
+		Row oldRow = get(rowIndex);
+		columnStore.removeRow(rowIndex);
+		modCount++;
+		return oldRow;
+	}
+
+	@Override
+	public void clear() {
+		columnStore.clear();
+		modCount++;
+	}
+
+	/**
+	 * Returns true if the given row is a detached view of the store of this list, which can be attached again
+	 */
+	private boolean isDetachedRow(Row row) {
+		return row instanceof ColumnStoreRow && ((ColumnStoreRow) row).isDetachedRowOf(columnStore);
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,64 @@
+package org.treez.core.data.store;
+
+import java.util.Arrays;
+
+/**
+ * Stores Double values in a double array
+ */
+final class DoubleColumnData extends PrimitiveColumnData {
+
+	//#region ATTRIBUTES
+
+	private double[] values = new double[INITIAL_CAPACITY];
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	boolean accepts(Object value) {
+		return value instanceof Double;
+	}
+
+	@Override
+	protected Object getValue(int rowIndex) {
+		return values[rowIndex];
+	}
+
+	@Override
+	protected void setValue(int rowIndex, Object value) {
+		values[rowIndex] = (Double) value;
+	}
+
+	@Override
+	protected void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, increaseCapacity(values.length, capacity));
+		}
+	}
+
+	@Override
+	protected void shiftValuesRight(int rowIndex, int numberOfRows) {
+		System.arraycopy(values, rowIndex, values, rowIndex + 1, numberOfRows - rowIndex);
+	}
+
+	@Override
+	protected void shiftValuesLeft(int rowIndex, int numberOfRows) {
+		System.arraycopy(values, rowIndex + 1, values, rowIndex, numberOfRows - rowIndex - 1);
+	}
+
+	@Override
+	double[] getDoubleValues(int numberOfRows) {
+		ensureCapacity(numberOfRows);
+		double[] doubleValues = Arrays.copyOf(values, numberOfRows);
+		for (int rowIndex = 0; rowIndex < numberOfRows; rowIndex++) {
+			if (isNull(rowIndex)) {
+				doubleValues[rowIndex] = Double.NaN;
+			}
+		}
+		return doubleValues;
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,61 @@
+package org.treez.core.data.store;
+
+import java.util.Arrays;
+
+/**
+ * Stores Integer values in an int array
+ */
+final class IntegerColumnData extends PrimitiveColumnData {
+
+	//#region ATTRIBUTES
+
+	private int[] values = new int[INITIAL_CAPACITY];
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	boolean accepts(Object value) {
+		return value instanceof Integer;
+	}
+
+	@Override
+	protected Object getValue(int rowIndex) {
+		return values[rowIndex];
+	}
+
+	@Override
+	protected void setValue(int rowIndex, Object value) {
+		values[rowIndex] = (Integer) value;
+	}
+
+	@Override
+	protected void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, increaseCapacity(values.length, capacity));
+		}
+	}
+
+	@Override
+	protected void shiftValuesRight(int rowIndex, int numberOfRows) {
+		System.arraycopy(values, rowIndex, values, rowIndex + 1, numberOfRows - rowIndex);
+	}
+
+	@Override
+	protected void shiftValuesLeft(int rowIndex, int numberOfRows) {
+		System.arraycopy(values, rowIndex + 1, values, rowIndex, numberOfRows - rowIndex - 1);
+	}
+
+	@Override
+	double[] getDoubleValues(int numberOfRows) {
+		double[] doubleValues = new double[numberOfRows];
+		for (int rowIndex = 0; rowIndex < numberOfRows; rowIndex++) {
+			doubleValues[rowIndex] = isNull(rowIndex) ? Double.NaN : values[rowIndex];
+		}
+		return doubleValues;
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,96 @@
+package org.treez.core.data.store;
+
+import java.util.Arrays;
+
+/**
+ * Stores arbitrary values. Is used for values that do not fit to the typed column implementations, e.g. for a column
+ * that contains Integer and Double values.
+ */
+final class ObjectColumnData extends ColumnData {
+
+	//#region ATTRIBUTES
+
+	private Object[] values;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	/**
+	 * Creates a column whose first rows are null
+	 */
+	ObjectColumnData(int numberOfRows) {
+		values = new Object[Math.max(INITIAL_CAPACITY, numberOfRows)];
+	}
+
+	/**
+	 * Creates a column with the values of the given column
+	 */
+	ObjectColumnData(ColumnData columnData, int numberOfRows) {
+		this(numberOfRows);
+		for (int rowIndex = 0; rowIndex < numberOfRows; rowIndex++) {
+			values[rowIndex] = columnData.get(rowIndex);
+		}
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	boolean accepts(Object value) {
+		return true;
+	}
+
+	@Override
+	Object get(int rowIndex) {
+		return values[rowIndex];
+	}
+
+	@Override
+	void set(int rowIndex, Object value) {
+		ensureCapacity(rowIndex + 1);
+		values[rowIndex] = value;
+	}
+
+	@Override
+	void insertNull(int rowIndex, int numberOfRows) {
+		ensureCapacity(numberOfRows + 1);
+		System.arraycopy(values, rowIndex, values, rowIndex + 1, numberOfRows - rowIndex);
+		values[rowIndex] = null;
+	}
+
+	@Override
+	void remove(int rowIndex, int numberOfRows) {
+		System.arraycopy(values, rowIndex + 1, values, rowIndex, numberOfRows - rowIndex - 1);
+		values[numberOfRows - 1] = null;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, increaseCapacity(values.length, capacity));
+		}
+	}
+
+	/**
+	 * Converts numbers and parses strings. Throws a NumberFormatException if a value is not a number.
+	 */
+	@Override
+	double[] getDoubleValues(int numberOfRows) {
+		double[] doubleValues = new double[numberOfRows];
+		for (int rowIndex = 0; rowIndex < numberOfRows; rowIndex++) {
+			Object value = values[rowIndex];
+			if (value == null) {
+				doubleValues[rowIndex] = Double.NaN;
+			} else if (value instanceof Number) {
+				doubleValues[rowIndex] = ((Number) value).doubleValue();
+			} else {
+				doubleValues[rowIndex] = Double.parseDouble(value.toString());
+			}
+		}
+		return doubleValues;
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,84 @@
+package org.treez.core.data.store;
+
+import java.util.BitSet;
+
+/**
+ * Base class for columns that store their values in a primitive array. A bitmap marks which rows are not null.
+ */
+abstract class PrimitiveColumnData extends ColumnData {
+
+	//#region ATTRIBUTES
+
+	/**
+	 * A set bit marks a non null value. (Marking the values instead of the nulls keeps appending rows cheap: the
+	 * BitSet only has to scan for its highest set bit if a bit in its last word is cleared.)
+	 */
+	private final BitSet valueFlags = new BitSet();
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	Object get(int rowIndex) {
+		if (isNull(rowIndex)) {
+			return null;
+		}
+		return getValue(rowIndex);
+	}
+
+	@Override
+	void set(int rowIndex, Object value) {
+		if (value == null) {
+			if (valueFlags.get(rowIndex)) {
+				valueFlags.clear(rowIndex);
+			}
+		} else {
+			ensureCapacity(rowIndex + 1);
+			setValue(rowIndex, value);
+			valueFlags.set(rowIndex);
+		}
+	}
+
+	@Override
+	void insertNull(int rowIndex, int numberOfRows) {
+		ensureCapacity(numberOfRows + 1);
+		shiftValuesRight(rowIndex, numberOfRows);
+		insertBit(valueFlags, rowIndex, numberOfRows, false);
+	}
+
+	@Override
+	void remove(int rowIndex, int numberOfRows) {
+		shiftValuesLeft(rowIndex, numberOfRows);
+		removeBit(valueFlags, rowIndex, numberOfRows);
+	}
+
+	boolean isNull(int rowIndex) {
+		return !valueFlags.get(rowIndex);
+	}
+
+	/**
+	 * Returns the (non null) value of the given row
+	 */
+	protected abstract Object getValue(int rowIndex);
+
+	/**
+	 * Sets the given (non null) value
+	 */
+	protected abstract void setValue(int rowIndex, Object value);
+
+	protected abstract void ensureCapacity(int capacity);
+
+	/**
+	 * Shifts the values from the given row index on by one row to the end
+	 */
+	protected abstract void shiftValuesRight(int rowIndex, int numberOfRows);
+
+	/**
+	 * Shifts the values after the given row index by one row to the start
+	 */
+	protected abstract void shiftValuesLeft(int rowIndex, int numberOfRows);
+
+	//#end region
+
+}
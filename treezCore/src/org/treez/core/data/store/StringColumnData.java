@@ -0,0 +1,116 @@
+package org.treez.core.data.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores String values dictionary encoded: each distinct value is stored once and the rows only store the int code of
+ * their value. Null values have the code -1.
+ */
+final class StringColumnData extends ColumnData {
+
+	//#region ATTRIBUTES
+
+	private static final int NULL_CODE = -1;
+
+	private int[] codes;
+
+	private final List<String> dictionary = new ArrayList<>();
+
+	private final Map<String, Integer> codesByValue = new HashMap<>();
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	/**
+	 * Creates a column whose first rows are null
+	 */
+	StringColumnData(int numberOfRows) {
+		codes = new int[Math.max(INITIAL_CAPACITY, numberOfRows)];
+		Arrays.fill(codes, 0, numberOfRows, NULL_CODE);
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	boolean accepts(Object value) {
+		return value instanceof String;
+	}
+
+	@Override
+	Object get(int rowIndex) {
+		int code = codes[rowIndex];
+		if (code == NULL_CODE) {
+			return null;
+		}
+		return dictionary.get(code);
+	}
+
+	@Override
+	void set(int rowIndex, Object value) {
+		ensureCapacity(rowIndex + 1);
+		codes[rowIndex] = encode((String) value);
+	}
+
+	private int encode(String value) {
+		if (value == null) {
+			return NULL_CODE;
+		}
+		Integer code = codesByValue.get(value);
+		if (code == null) {
+			code = dictionary.size();
+			dictionary.add(value);
+			codesByValue.put(value, code);
+		}
+		return code;
+	}
+
+	@Override
+	void insertNull(int rowIndex, int numberOfRows) {
+		ensureCapacity(numberOfRows + 1);
+		System.arraycopy(codes, rowIndex, codes, rowIndex + 1, numberOfRows - rowIndex);
+		codes[rowIndex] = NULL_CODE;
+	}
+
+	@Override
+	void remove(int rowIndex, int numberOfRows) {
+		System.arraycopy(codes, rowIndex + 1, codes, rowIndex, numberOfRows - rowIndex - 1);
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > codes.length) {
+			codes = Arrays.copyOf(codes, increaseCapacity(codes.length, capacity));
+		}
+	}
+
+	/**
+	 * Parses the values as doubles. Each distinct value is only parsed once. Throws a NumberFormatException if a value
+	 * is not a number.
+	 */
+	@Override
+	double[] getDoubleValues(int numberOfRows) {
+		Double[] parsedValues = new Double[dictionary.size()];
+		double[] doubleValues = new double[numberOfRows];
+		for (int rowIndex = 0; rowIndex < numberOfRows; rowIndex++) {
+			int code = codes[rowIndex];
+			if (code == NULL_CODE) {
+				doubleValues[rowIndex] = Double.NaN;
+				continue;
+			}
+			if (parsedValues[code] == null) {
+				parsedValues[code] = Double.parseDouble(dictionary.get(code));
+			}
+			doubleValues[rowIndex] = parsedValues[code];
+		}
+		return doubleValues;
+	}
+
+	//#end region
+
+}
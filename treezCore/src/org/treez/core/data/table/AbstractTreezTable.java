@@ -8,6 +8,8 @@ import org.treez.core.atom.copy.CopyHelper;
 import org.treez.core.atom.uisynchronizing.AbstractUiSynchronizingAtom;
 import org.treez.core.data.column.ColumnType;
 import org.treez.core.data.row.Row;
+import org.treez.core.data.row.RowList;
+import org.treez.core.data.store.ColumnStore;
 
 public abstract class AbstractTreezTable<A extends AbstractTreezTable<A>> extends AbstractUiSynchronizingAtom<A>
 		implements
@@ -17,6 +19,12 @@ public abstract class AbstractTreezTable<A extends AbstractTreezTable<A>> extend
 
 	protected List<Row> rows = null;
 
+	/**
+	 * Stores the rows column by column if it has been enabled (see enableColumnStore). The rows are then views on the
+	 * column store.
+	 */
+	private ColumnStore columnStore = null;
+
 	private List<Row> pagedRows = null;
 
 	private int rowIndexOffset = 0;
@@ -50,9 +58,27 @@ public abstract class AbstractTreezTable<A extends AbstractTreezTable<A>> extend
 
 	//#region METHODS
 
+	/**
+	 * Stores the rows of this table in a ColumnStore instead of a list of Row objects with individual entry maps. The
+	 * entries of the existing rows are copied to the store. Afterwards, getRows returns views on the rows of the store:
+	 * a Row that is added to the rows is copied into the store and the added Row object is not part of the table (use
+	 * getRows().get(index) to get the Row of the table).
+	 */
+	protected void enableColumnStore() {
+		List<Row> existingRows = rows;
+		columnStore = new ColumnStore(this);
+		rows = columnStore.getRows();
+		if (existingRows != null) {
+			rows.addAll(existingRows);
+		}
+	}
+
+	/**
+	 * Adds the given row. If the column store is enabled, the entries of the row are copied (see enableColumnStore).
+	 */
 	public AbstractTreezTable<A> addRow(Row row) {
 		if (rows == null) {
-			rows = new ArrayList<Row>();
+			rows = new RowList();
 		}
 		rows.add(row);
 		return this;
@@ -72,6 +98,11 @@ public abstract class AbstractTreezTable<A extends AbstractTreezTable<A>> extend
 	 */
 	public AbstractTreezTable<A> addRow(List<Object> data) {
 
+		if (columnStore != null) {
+			columnStore.addRow(getHeaders(), data);
+			return this;
+		}
+
 		Row row = createRow(data, this);
 
 		//LOG.debug("new row:" + row);
@@ -129,16 +160,13 @@ public abstract class AbstractTreezTable<A extends AbstractTreezTable<A>> extend
 			Object value = associatedClass.cast(data[rowIndex]);
 
 			//get current row or create a new one if it does not exist
-			Row currentRow;
 			if (rows == null) {
-				rows = new ArrayList<Row>();
+				rows = new RowList();
 			}
 			if (rowIndex >= rows.size()) {
-				currentRow = new Row(this);
-				rows.add(currentRow);
-			} else {
-				currentRow = rows.get(rowIndex);
+				rows.add(new Row(this));
 			}
+			Row currentRow = rows.get(rowIndex);
 
 			//set value
 			currentRow.setEntry(header, value);
@@ -149,14 +177,14 @@ public abstract class AbstractTreezTable<A extends AbstractTreezTable<A>> extend
 	@Override
 	public AbstractTreezTable<A> addEmptyRow() {
 		if (rows == null) {
-			rows = new ArrayList<>();
+			rows = new RowList();
 		}
 		rows.add(new Row(this));
 		return this;
 	}
 
 	public AbstractTreezTable<A> deleteAllRows() {
-		setRows(new ArrayList<Row>());
+		setRows(new RowList());
 		return this;
 	}
 
@@ -173,10 +201,28 @@ public abstract class AbstractTreezTable<A extends AbstractTreezTable<A>> extend
 	}
 
 	public AbstractTreezTable<A> setRows(List<Row> rows) {
-		this.rows = rows;
+		if (columnStore != null) {
+			if (rows != this.rows) {
+				List<Row> newRows = new ArrayList<>(rows);
+				columnStore.clear();
+				this.rows.addAll(newRows);
+			}
+			return this;
+		}
+		this.rows = toRowList(rows);
 		return this;
 	}
 
+	/**
+	 * Returns the given rows as RowList, so that the rows know their positions
+	 */
+	protected static List<Row> toRowList(List<Row> rows) {
+		if (rows == null || rows instanceof RowList) {
+			return rows;
+		}
+		return new RowList(rows);
+	}
+
 	@Override
 	public List<Row> getPagedRows() {
 		if (pagedRows != null) {
@@ -250,6 +296,11 @@ public abstract class AbstractTreezTable<A extends AbstractTreezTable<A>> extend
 		return allDataString;
 	}
 
+	@Override
+	public ColumnStore getColumnStore() {
+		return columnStore;
+	}
+
 	@Override
 	public boolean isLinkedToSource() {
 		TableSource tableSource = getTableSource();
@@ -1,5 +1,7 @@
 package org.treez.core.data.table;
 
+import org.treez.core.data.store.ColumnStore;
+
 /**
  * Treez table interface
  */
@@ -25,6 +27,12 @@ public interface LinkableTreezTable extends PaginatedTreezTable {
 	 */
 	void resetCache();
 
+	/**
+	 * Returns the ColumnStore that contains the rows of this table or null if the rows are not stored column by column.
+	 * The store can be used to read the values of a column without creating Row objects.
+	 */
+	ColumnStore getColumnStore();
+
 	//#end region
 
 }
@@ -2,16 +2,33 @@ package org.treez.core.octave;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 import org.apache.log4j.Logger;
 import org.treez.core.quantity.Quantity;
 
 /**
- * Runs an octave instance and can execute octave commands
+ * Runs an octave instance and can execute octave commands.
+ * <p>
+ * The output and the error stream of octave are read by two reader threads that block until data is available. After
+ * each command, a marker line is written to both streams. When the reader threads have seen both markers of a command,
+ * the CompletableFuture of that command is completed with its output (or exceptionally with its error output). Commands
+ * can be submitted without waiting for the results of former commands (see submit); they are executed in the order of
+ * submission. The commands are passed to octave with eval, so that an incomplete command (e.g. an unclosed bracket or
+ * a for loop without end) fails on its own instead of swallowing the marker.
  */
 public class OctaveProcess {
 
@@ -24,15 +41,24 @@ public class OctaveProcess {
 	 */
 	private static final String LINE_SEPARATOR = "\n";
 
+	private static final String MARKER_PREFIX = "__treez_command_finished_";
+
+	private static final String MARKER_SUFFIX = "__";
+
+	/**
+	 * Octave prompts, e.g. "octave:12>", that are removed from the output if the prompt could not be turned off
+	 */
+	private static final Pattern OCTAVE_PROMPT_PATTERN = Pattern.compile("octave(\\.exe)?:\\d+>\\s*");
+
 	/**
-	 * Wait time [ms], e.g. for input/output streams to check for new data
+	 * Turns off paging and the prompts
 	 */
-	private static final int WAIT_TIME = 80;
+	private static final String SETUP_COMMAND = "more off; PS1(''); PS2('');";
 
 	/**
-	 * The octave output is checked in intervals of this time [ms]
+	 * The default time to wait for the result of a command
 	 */
-	private static final int CHECK_INTERVAL_TIME = 1000;
+	private static final long DEFAULT_TIMEOUT_IN_SECONDS = 60;
 
 	/**
 	 * The path to the octave executable
@@ -43,31 +69,50 @@ public class OctaveProcess {
 
 	private OctaveProcessHandler processHandler;
 
-	private BufferedReader outputReader;
+	private PrintWriter printwriter;
+
+	private InputStream outputStream;
 
 	private InputStream errorStream;
 
+	private BufferedReader outputReader;
+
 	private BufferedReader errorReader;
 
-	private InputStream outputStream;
+	/**
+	 * The time to wait for the result of a command (see execute)
+	 */
+	private long timeoutInMilliseconds = TimeUnit.SECONDS.toMillis(DEFAULT_TIMEOUT_IN_SECONDS);
 
-	private PrintWriter printwriter;
+	/**
+	 * The number of the last finished command
+	 */
+	private volatile int currentLineNumber;
+
+	/**
+	 * The commands whose output has not yet been read completely
+	 */
+	private final ConcurrentLinkedQueue<OctaveCommand> pendingOutputs = new ConcurrentLinkedQueue<>();
 
-	private OutputCheck outputCheck;
+	/**
+	 * The commands whose error output has not yet been read completely
+	 */
+	private final ConcurrentLinkedQueue<OctaveCommand> pendingErrorOutputs = new ConcurrentLinkedQueue<>();
 
-	private boolean waitingForOutputCheck;
+	private final AtomicLong commandCounter = new AtomicLong();
 
-	private int currentLineNumber;
+	private final Object submitLock = new Object();
 
-	private String outputText;
+	private volatile boolean isTerminated = false;
 
 	//#end region
 
 	//#region CONSTRUCTORS
 
-	@SuppressWarnings("checkstyle:magicnumber")
-	public OctaveProcess(String octavePath,
-			OctaveProcessHandler processHandler) {
+	/**
+	 * Starts octave and waits until it is ready to execute commands
+	 */
+	public OctaveProcess(String octavePath, OctaveProcessHandler processHandler) {
 
 		this.octavePath = octavePath;
 		this.processHandler = processHandler;
@@ -75,25 +120,12 @@ public class OctaveProcess {
 		startOctave();
 		connectToOctaveStreams();
 
-		//wait a moment for the octave process
-		sleep(20 * WAIT_TIME); //500
-
-		//"Listen" to Octave output now and every 1000 ms
-		outputCheck = new OutputCheck(this);
-		new java.util.Timer().schedule(outputCheck, 0, CHECK_INTERVAL_TIME);
-
-		//Wait for the Octave Welcome Output (it is slow)
-		sleep(2 * WAIT_TIME);
-
-		//System.out.println(""+waitingForOutputCheck);
-
-		//Wait until octave is ready
-		while (waitingForOutputCheck) {
-			sleep(WAIT_TIME);
+		//wait until octave is ready (the welcome output, if any, belongs to the setup command)
+		try {
+			waitFor(submit(SETUP_COMMAND));
+		} catch (IllegalStateException exception) {
+			LOG.warn("Could not set up octave", exception);
 		}
-
-		//turn off paging
-		runOctaveCommand("more off;");
 	}
 
 	//#end region
@@ -101,154 +133,198 @@ public class OctaveProcess {
 	//#region METHODS
 
 	/**
-	 * Waits some time
-	 *
-	 * @param time
+	 * Tries to start octave with the current octave path
 	 */
-	private static void sleep(int time) {
+	@SuppressWarnings("checkstyle:illegalcatch")
+	private void startOctave() {
+		Runtime runtime = Runtime.getRuntime();
 		try {
-			Thread.sleep(time);
-		} catch (InterruptedException e) {
-			LOG.error("Could not get sleep");
+			process = runtime.exec(octavePath);
+		} catch (Exception e) {
+			throw new IllegalStateException("Could not start octave.exe at " + octavePath, e);
 		}
 	}
 
-	@SuppressWarnings("checkstyle:illegalcatch")
 	private void connectToOctaveStreams() {
-		try {
-			//Connect to Octave input, output and error stream
-			printwriter = new PrintWriter(
-					new BufferedWriter(
-							new OutputStreamWriter(process.getOutputStream())),
-					true);
-			outputStream = process.getInputStream();
-			outputReader = new BufferedReader(
-					new InputStreamReader(outputStream));
-			errorStream = process.getErrorStream();
-			errorReader = new BufferedReader(
-					new InputStreamReader(errorStream));
-
-		} catch (Exception e) {
-			throw new IllegalStateException(
-					"Error connecting to Octave streams: \n" + e);
-		}
+		//connect to octave input, output and error stream
+		printwriter = new PrintWriter(new BufferedWriter(new OutputStreamWriter(process.getOutputStream())), true);
+		outputStream = process.getInputStream();
+		errorStream = process.getErrorStream();
+		outputReader = new BufferedReader(new InputStreamReader(outputStream));
+		errorReader = new BufferedReader(new InputStreamReader(errorStream));
+
+		startReaderThread("Octave: OutputReader", outputReader, pendingOutputs, false);
+		startReaderThread("Octave: ErrorReader", errorReader, pendingErrorOutputs, true);
+	}
 
+	private void startReaderThread(
+			String name,
+			BufferedReader reader,
+			ConcurrentLinkedQueue<OctaveCommand> pendingCommands,
+			boolean isErrorStream) {
+		Thread readerThread = new Thread(() -> readLines(reader, pendingCommands, isErrorStream));
+		readerThread.setName(name);
+		readerThread.setDaemon(true);
+		readerThread.start();
 	}
 
 	/**
-	 * Tries to start octave with the current octave path
+	 * Reads the lines of the given stream and assigns them to the oldest pending command until the marker of that
+	 * command is read. Blocks while no data is available.
 	 */
-	@SuppressWarnings("checkstyle:illegalcatch")
-	private void startOctave() {
-		Runtime runtime = Runtime.getRuntime();
+	private void readLines(BufferedReader reader, ConcurrentLinkedQueue<OctaveCommand> pendingCommands,
+			boolean isErrorStream) {
+		StringBuilder unassignedLines = new StringBuilder();
 		try {
-			process = runtime.exec(octavePath);
-		} catch (Exception e) {
-			throw new IllegalStateException(
-					"Could not start octave.exe at " + octavePath, e);
+			String line;
+			while ((line = reader.readLine()) != null) {
+				OctaveCommand command = pendingCommands.peek();
+				boolean isMarker = command != null && line.trim().endsWith(command.marker);
+				if (isMarker) {
+					String lineBeforeMarker = line.substring(0, line.lastIndexOf(command.marker));
+					unassignedLines.append(lineBeforeMarker);
+					pendingCommands.poll();
+					command.finishStream(unassignedLines.toString(), isErrorStream);
+					unassignedLines.setLength(0);
+				} else {
+					unassignedLines.append(line).append(LINE_SEPARATOR);
+				}
+			}
+		} catch (IOException exception) {
+			if (!isTerminated) {
+				LOG.error("Could not read octave output", exception);
+			}
 		}
+		terminate();
 	}
 
 	/**
-	 * Start waiting for output check to be finished
+	 * Submits the given command and returns immediately. The returned future is completed with the output of the
+	 * command when it has been executed; it is completed exceptionally with an IllegalStateException if the command
+	 * wrote to the error stream or if octave has been terminated. Several commands can be submitted without waiting;
+	 * they are executed in the order of submission.
+	 *
+	 * @param command
+	 * @return
 	 */
-	protected void startWaitingForOutputCheck() {
-		this.waitingForOutputCheck = true;
+	public CompletableFuture<String> submit(String command) {
+		if (command.trim().equals("exit")) {
+			close();
+		}
+
+		synchronized (submitLock) {
+			OctaveCommand octaveCommand = new OctaveCommand(command, commandCounter.incrementAndGet());
+			if (isTerminated) {
+				octaveCommand.fail("The octave process has been terminated.");
+				return octaveCommand.future;
+			}
+
+			pendingOutputs.add(octaveCommand);
+			pendingErrorOutputs.add(octaveCommand);
+
+			//the command is evaluated as a string, so that it can not leave a block open that would include the marker;
+			//the marker is written in an extra line, so that it is also written if the command fails
+			String marker = octaveCommand.marker;
+			printwriter.println("eval(\"" + escapeCommand(command) + "\");");
+			printwriter.println("fflush(stdout); disp('" + marker + "'); fflush(stdout); fputs(stderr, '" + marker
+					+ "\\n'); fflush(stderr);");
+			return octaveCommand.future;
+		}
 	}
 
 	/**
-	 * Stop waiting for output check
+	 * Submits the given commands and returns their futures (in the same order)
+	 *
+	 * @param commands
+	 * @return
 	 */
-	protected void stopWaitingForOutputCheck() {
-		this.waitingForOutputCheck = false;
+	public List<CompletableFuture<String>> submitAll(List<String> commands) {
+		List<CompletableFuture<String>> futures = new ArrayList<>();
+		for (String command : commands) {
+			futures.add(submit(command));
+		}
+		return futures;
 	}
 
 	/**
-	 * @param outputText
+	 * Escapes the given command for a double quoted octave string
 	 */
-	void handleOutput(String outputText) {
-		this.outputText = outputText;
-		if (processHandler != null) {
-			processHandler.handleOutput(outputText);
+	private static String escapeCommand(String command) {
+		StringBuilder escapedCommand = new StringBuilder();
+		for (char character : command.toCharArray()) {
+			switch (character) {
+			case '\\':
+				escapedCommand.append("\\\\");
+				break;
+			case '"':
+				escapedCommand.append("\\\"");
+				break;
+			case '\n':
+				escapedCommand.append("\\n");
+				break;
+			case '\r':
+				escapedCommand.append("\\r");
+				break;
+			case '\t':
+				escapedCommand.append("\\t");
+				break;
+			default:
+				escapedCommand.append(character);
+			}
 		}
+		return escapedCommand.toString();
 	}
 
-	void handleErrorOutput(String errorText) {
-		LOG.error(errorText);
-		if (processHandler != null) {
-			processHandler.handleError(errorText);
+	/**
+	 * Waits (at most for the timeout of this process) for the given future and returns its output. If the timeout
+	 * expires, the future is failed; the output of the command that is read later is discarded.
+	 */
+	private String waitFor(CompletableFuture<String> future) {
+		try {
+			return future.get(timeoutInMilliseconds, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException exception) {
+			String message = "Octave did not finish the command within " + timeoutInMilliseconds + " ms.";
+			future.completeExceptionally(new IllegalStateException(message, exception));
+			throw new IllegalStateException(message, exception);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for octave", exception);
+		} catch (ExecutionException exception) {
+			Throwable cause = exception.getCause();
+			if (cause instanceof IllegalStateException) {
+				throw (IllegalStateException) cause;
+			}
+			throw new IllegalStateException("Could not execute octave command", cause);
 		}
-
 	}
 
 	/**
-	 * Executes a given octave command
+	 * Executes a given octave command and waits until it is finished
 	 *
 	 * @param command
 	 */
-	@SuppressWarnings("checkstyle:illegalcatch")
 	public void runOctaveCommand(String command) {
-
-		checkForExitCommand(command);
-
-		try {
-			//execute command
-			printwriter.println(command);
-
-			//Check Octave output
-			outputCheck.run();
-
-			//Wait until Octave Output is finished
-			while (waitingForOutputCheck) {
-				sleep(WAIT_TIME);
-			}
-		} catch (Exception e) {
-			LOG.error("Could not execute Octave Command\n" + command + "\n", e);
-		}
-
+		execute(command);
 	}
 
 	/**
-	 * Executes a given octave command and returns the output
+	 * Executes a given octave command and returns the output. Returns an empty string if the command failed (the error
+	 * is passed to the OctaveProcessHandler).
 	 *
 	 * @param command
 	 * @return
 	 */
-	@SuppressWarnings("checkstyle:illegalcatch")
 	public String execute(String command) {
-		outputText = null;
-
-		checkForExitCommand(command);
-
 		try {
-			//Wait until Octave Output is ready
-			outputCheck.run();
-			while (waitingForOutputCheck) {
-				sleep(WAIT_TIME);
-			}
-
-			//execute command
-			printwriter.println(command);
-
-			//Wait until Octave Output is ready
-			outputCheck.run();
-			while (waitingForOutputCheck) {
-				sleep(WAIT_TIME);
-			}
-			sleep(WAIT_TIME); //50
-
-			return outputText;
-
-		} catch (Exception e) {
-			LOG.error("Could not execute Octave Command\n" + command + "\n", e);
+			return waitFor(submit(command));
+		} catch (IllegalStateException exception) {
+			LOG.debug("Could not execute Octave Command\n" + command + "\n", exception);
 			return "";
 		}
-
 	}
 
 	/**
-	 * Executes a given octave command and returns the result without assignment
-	 * part, e.g ans = 66 => a = 1 => 1
+	 * Executes a given octave command and returns the result without assignment part, e.g ans = 66 => a = 1 => 1
 	 *
 	 * @param command
 	 * @return
@@ -261,14 +337,6 @@ public class OctaveProcess {
 			return "";
 		}
 
-		boolean isCorruptedResult = result.contains("octave");
-		if (isCorruptedResult) {
-			String message = "Something went wrong with the octave evaluation. "
-					+ "The result string contains 'octave' which should be filterd out. "
-					+ "Please check the regular expression octaveLabelPattern in OutputCheck.";
-			throw new IllegalStateException(message);
-		}
-
 		if (result.contains("=")) {
 			//assignment
 			int startIndex = result.indexOf("=") + 1;
@@ -280,6 +348,9 @@ public class OctaveProcess {
 	}
 
 	/**
+	 * Executes the given octave command and returns its result as Quantity. The lines of a result that is not a scalar
+	 * (e.g. a matrix) are kept as value string (see Quantity.getValueString); its numeric value is NaN.
+	 *
 	 * @param command
 	 * @return
 	 */
@@ -303,8 +374,7 @@ public class OctaveProcess {
 			for (int lineIndex = 1; lineIndex < lines.length; lineIndex++) {
 				value = value + lines[lineIndex].trim() + valueLineSeparator;
 			}
-			value = value.substring(0,
-					value.length() - valueLineSeparator.length());
+			value = value.substring(0, value.length() - valueLineSeparator.length());
 
 		} else {
 			value = result;
@@ -313,14 +383,39 @@ public class OctaveProcess {
 		return new Quantity(value, unit);
 	}
 
+	private void handleOutput(String outputText) {
+		if (processHandler != null) {
+			processHandler.handleOutput(outputText);
+		}
+	}
+
+	private void handleErrorOutput(String errorText) {
+		LOG.error(errorText);
+		if (processHandler != null) {
+			processHandler.handleError(errorText);
+		}
+	}
+
 	/**
-	 * Checks if the command equals exit end triggers the close action
-	 *
-	 * @param command
+	 * Removes the octave prompts and surrounding white space from the given text
 	 */
-	private void checkForExitCommand(String command) {
-		if (command.equals("exit")) {
-			close();
+	private static String cleanOutput(String rawText) {
+		return OCTAVE_PROMPT_PATTERN.matcher(rawText).replaceAll("").trim();
+	}
+
+	/**
+	 * Fails all pending commands; is called if octave has been terminated
+	 */
+	private void terminate() {
+		synchronized (submitLock) {
+			isTerminated = true;
+			OctaveCommand command;
+			while ((command = pendingOutputs.poll()) != null) {
+				command.fail("The octave process has been terminated.");
+			}
+			while ((command = pendingErrorOutputs.poll()) != null) {
+				command.fail("The octave process has been terminated.");
+			}
 		}
 	}
 
@@ -329,12 +424,12 @@ public class OctaveProcess {
 	 */
 	@SuppressWarnings("checkstyle:illegalcatch")
 	public void close() {
+		isTerminated = true;
 		try {
 			process.destroy();
 		} catch (Exception e) {
 			throw new IllegalStateException("Could not destroy process.");
 		}
-
 	}
 
 	//#end region
@@ -342,7 +437,26 @@ public class OctaveProcess {
 	//#region ACCESSORS
 
 	/**
-	 * Get output reader
+	 * Returns true if the octave process has been terminated
+	 *
+	 * @return
+	 */
+	public boolean isTerminated() {
+		return isTerminated;
+	}
+
+	/**
+	 * Sets the time to wait for the result of a command. A command that takes longer is failed.
+	 *
+	 * @param timeout
+	 * @param unit
+	 */
+	public void setTimeout(long timeout, TimeUnit unit) {
+		this.timeoutInMilliseconds = unit.toMillis(timeout);
+	}
+
+	/**
+	 * Get output reader. The reader is consumed by the output reader thread of this process.
 	 *
 	 * @return the outputReader
 	 */
@@ -351,7 +465,7 @@ public class OctaveProcess {
 	}
 
 	/**
-	 * Get error reader
+	 * Get error reader. The reader is consumed by the error reader thread of this process.
 	 *
 	 * @return the errorReader
 	 */
@@ -360,12 +474,12 @@ public class OctaveProcess {
 	}
 
 	/**
-	 * Return true if the process is waiting for the output check to be finished
+	 * Return true if the process is waiting for the output of a submitted command
 	 *
-	 * @return the waitingForOutputCheck
+	 * @return
 	 */
 	public boolean isWaitingForOutputCheck() {
-		return waitingForOutputCheck;
+		return !pendingOutputs.isEmpty() || !pendingErrorOutputs.isEmpty();
 	}
 
 	/**
@@ -383,22 +497,73 @@ public class OctaveProcess {
 	}
 
 	/**
-	 * Sets the current octave line number
+	 * Returns the number of the last finished command (corresponds to the line number of the octave prompt)
 	 *
-	 * @param currentLineNumber
+	 * @return
 	 */
-	void setCurrentLineNumber(int currentLineNumber) {
-		this.currentLineNumber = currentLineNumber;
-
+	public int getLineNumber() {
+		return currentLineNumber;
 	}
 
+	//#end region
+
+	//#region COMMAND
+
 	/**
-	 * Returns the current octave line number
-	 *
-	 * @return
+	 * A submitted command and the output that has been read for it
 	 */
-	public int getLineNumber() {
-		return currentLineNumber;
+	private class OctaveCommand {
+
+		final String command;
+
+		final String marker;
+
+		final CompletableFuture<String> future = new CompletableFuture<>();
+
+		private String outputText;
+
+		private String errorText;
+
+		final long id;
+
+		OctaveCommand(String command, long id) {
+			this.command = command;
+			this.id = id;
+			this.marker = MARKER_PREFIX + id + MARKER_SUFFIX;
+		}
+
+		/**
+		 * Is called by the reader threads when the marker has been read; completes the future when both streams are
+		 * finished
+		 */
+		synchronized void finishStream(String text, boolean isErrorStream) {
+			if (isErrorStream) {
+				errorText = cleanOutput(text);
+			} else {
+				outputText = cleanOutput(text);
+			}
+
+			boolean isFinished = outputText != null && errorText != null;
+			if (!isFinished) {
+				return;
+			}
+			currentLineNumber = (int) id;
+
+			if (errorText.isEmpty()) {
+				handleOutput(outputText);
+				future.complete(outputText);
+			} else {
+				if (!outputText.isEmpty()) {
+					handleOutput(outputText);
+				}
+				handleErrorOutput(errorText);
+				future.completeExceptionally(new IllegalStateException(errorText));
+			}
+		}
+
+		void fail(String message) {
+			future.completeExceptionally(new IllegalStateException(message + " Command: " + command));
+		}
 	}
 
 	//#end region
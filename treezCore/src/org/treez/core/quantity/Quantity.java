@@ -7,34 +7,60 @@ import java.util.Objects;
 import org.treez.core.atom.copy.Copiable;
 
 /**
- * Represents a physical quantity with a value and a unit
+ * Represents a physical quantity with a value and a unit. The value is stored as double and the unit as Unit; value
+ * strings are only parsed at the boundary to the user interface (see parseValue and getValueString). An undefined
+ * value is represented by NaN. A value string that is not a number (e.g. partial input like "1e", an expression or a
+ * matrix) is kept as it is and its value is NaN (see hasValidValue).
  */
 public class Quantity implements Copiable<Quantity> {
 
 	//#region ATTRIBUTES
 
 	/**
-	 * The filePath of the physical quantity, saved as string
+	 * The value of the physical quantity
 	 */
-	private String value;
+	private double value;
+
+	/**
+	 * The value string that could not be parsed as number; is null if the value is valid
+	 */
+	private String unparsedValueString;
 
 	/**
 	 * The unit
 	 */
-	private String unit;
+	private Unit unit;
 
 	//#end region
 
 	//#region CONSTRUCTORS
 
-	public Quantity(String value, String unit) {
+	public Quantity(double value, Unit unit) {
 		this.value = value;
-		this.unit = unit;
+		this.unit = unit == null
+				? Unit.NONE
+				: unit;
+	}
+
+	public Quantity(double value, String unit) {
+		this(value, Unit.of(unit));
 	}
 
+	/**
+	 * Creates a quantity for the given Double value; a null value is converted to NaN
+	 */
 	public Quantity(Double value, String unit) {
-		this.value = "" + value;
-		this.unit = unit;
+		this(value == null
+				? Double.NaN
+				: value, Unit.of(unit));
+	}
+
+	/**
+	 * Creates a quantity by parsing the given value string (see setValueString)
+	 */
+	public Quantity(String valueString, String unit) {
+		this(Double.NaN, Unit.of(unit));
+		setValueString(valueString);
 	}
 
 	/**
@@ -42,6 +68,7 @@ public class Quantity implements Copiable<Quantity> {
 	 */
 	public Quantity(Quantity quantityToCopy) {
 		this.value = quantityToCopy.value;
+		this.unparsedValueString = quantityToCopy.unparsedValueString;
 		this.unit = quantityToCopy.unit;
 	}
 
@@ -54,6 +81,48 @@ public class Quantity implements Copiable<Quantity> {
 		return new Quantity(this);
 	}
 
+	/**
+	 * Parses the given value string. Returns NaN if the string is null or empty.
+	 *
+	 * @param valueString
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the value string is not a number
+	 */
+	public static double parseValue(String valueString) throws IllegalArgumentException {
+		if (valueString == null) {
+			return Double.NaN;
+		}
+		String trimmedValueString = valueString.trim();
+		if (trimmedValueString.isEmpty()) {
+			return Double.NaN;
+		}
+		try {
+			return Double.parseDouble(trimmedValueString);
+		} catch (NumberFormatException exception) {
+			String message = "The value '" + valueString + "' is not a number.";
+			throw new IllegalArgumentException(message, exception);
+		}
+	}
+
+	/**
+	 * Formats the given value for the user interface: NaN is formatted as empty string and integral values are
+	 * formatted without decimal places, e.g. "10" instead of "10.0".
+	 *
+	 * @param value
+	 * @return
+	 */
+	public static String formatValue(double value) {
+		if (Double.isNaN(value)) {
+			return "";
+		}
+		boolean isIntegral = !Double.isInfinite(value) && value == Math.rint(value) && Math.abs(value) < 1e15;
+		if (isIntegral) {
+			return Long.toString((long) value);
+		}
+		return Double.toString(value);
+	}
+
 	/**
 	 * Creates a list of Quantity for the given list of Double values and the given unit that is the same for all Double
 	 * values.
@@ -64,10 +133,13 @@ public class Quantity implements Copiable<Quantity> {
 	 */
 	public static List<Quantity> createQuantityList(List<Double> valueList, String unit) {
 		Objects.requireNonNull(valueList, "Value list must not be null.");
-		List<Quantity> quantities = new ArrayList<>();
+		Unit commonUnit = Unit.of(unit);
+		List<Quantity> quantities = new ArrayList<>(valueList.size());
 		for (Double value : valueList) {
-			Quantity currentQuantity = new Quantity(value, unit);
-			quantities.add(currentQuantity);
+			double primitiveValue = value == null
+					? Double.NaN
+					: value;
+			quantities.add(new Quantity(primitiveValue, commonUnit));
 		}
 		return quantities;
 	}
@@ -80,59 +152,96 @@ public class Quantity implements Copiable<Quantity> {
 	 * @throws IllegalArgumentException
 	 */
 	public static List<Double> createDoubleList(List<Quantity> quantities) throws IllegalArgumentException {
-		List<Double> doubleList = new ArrayList<Double>();
-		boolean isEmpty = quantities.isEmpty();
-		if (isEmpty) {
-			return doubleList;
-		} else {
-
-			String firstUnit = quantities.get(0).getUnit();
-			for (Quantity quantity : quantities) {
-				String unit = quantity.getUnit();
-				boolean hasSameUnit = unit.equals(firstUnit);
-				if (hasSameUnit) {
-					Double value = quantity.getDoubleValue();
-					doubleList.add(value);
-				} else {
-					String message = "The unit of all quantities has to be the same";
-					throw new IllegalArgumentException(message);
-				}
-			}
-
-			return doubleList;
+		return QuantityArray.of(quantities).toDoubleList();
+	}
+
+	/**
+	 * Returns true if the given quantity has the same unit as this quantity
+	 *
+	 * @param quantity
+	 * @return
+	 */
+	public boolean hasSameUnit(Quantity quantity) {
+		return unit.equals(quantity.unit);
+	}
+
+	@Override
+	public String toString() {
+		String quantityString = getValueString();
+		if (!unit.isNone()) {
+			quantityString += " " + unit;
 		}
+		return quantityString;
 	}
 
 	//#end region
 
 	//#region ACCESSORS
 
-	public String getValue() {
+	public double getValue() {
 		return value;
 	}
 
-	public void setValue(String value) {
+	public void setValue(double value) {
 		this.value = value;
+		this.unparsedValueString = null;
 	}
 
-	Double getDoubleValue() {
-		if (value == null) {
-			return null;
+	/**
+	 * Returns the value formatted for the user interface (see formatValue) or the value string that could not be
+	 * parsed
+	 *
+	 * @return
+	 */
+	public String getValueString() {
+		if (unparsedValueString != null) {
+			return unparsedValueString;
 		}
-		return Double.parseDouble(value);
+		return formatValue(value);
 	}
 
-	public String getUnit() {
-		return unit;
+	/**
+	 * Sets the value by parsing the given value string (see parseValue). If the value string is not a number, it is
+	 * kept as it is and the value is set to NaN.
+	 *
+	 * @param valueString
+	 */
+	public void setValueString(String valueString) {
+		try {
+			setValue(parseValue(valueString));
+		} catch (IllegalArgumentException exception) {
+			this.value = Double.NaN;
+			this.unparsedValueString = valueString;
+		}
 	}
 
-	@Override
-	public String toString() {
-		String quantityString = "" + value;
-		if (unit != null && !unit.equals("")) {
-			quantityString += " " + unit;
+	/**
+	 * Returns false if the value string of this quantity could not be parsed as number
+	 *
+	 * @return
+	 */
+	public boolean hasValidValue() {
+		return unparsedValueString == null;
+	}
+
+	/**
+	 * Returns a message that describes why the value is not valid; returns an empty string if the value is valid
+	 *
+	 * @return
+	 */
+	public String getValidationMessage() {
+		if (hasValidValue()) {
+			return "";
 		}
-		return quantityString;
+		return "The value '" + unparsedValueString + "' is not a number.";
+	}
+
+	public String getUnit() {
+		return unit.getSymbol();
+	}
+
+	public Unit getUnitObject() {
+		return unit;
 	}
 
 	//#end region
@@ -0,0 +1,202 @@
+package org.treez.core.quantity;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.treez.core.atom.copy.Copiable;
+
+/**
+ * Represents a list of physical quantities that share a single unit. The values are stored as primitive double array,
+ * so that ranges and columns of quantities do not have to create a Quantity (or Double) object for each value.
+ */
+public class QuantityArray implements Copiable<QuantityArray> {
+
+	//#region ATTRIBUTES
+
+	private final double[] values;
+
+	private final Unit unit;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	/**
+	 * Creates a QuantityArray that uses the given array (the array is not copied)
+	 */
+	public QuantityArray(double[] values, Unit unit) {
+		this.values = Objects.requireNonNull(values, "Values must not be null.");
+		this.unit = unit == null
+				? Unit.NONE
+				: unit;
+	}
+
+	public QuantityArray(double[] values, String unit) {
+		this(values, Unit.of(unit));
+	}
+
+	/**
+	 * Copy constructor
+	 */
+	public QuantityArray(QuantityArray arrayToCopy) {
+		this(arrayToCopy.values.clone(), arrayToCopy.unit);
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	public QuantityArray copy() {
+		return new QuantityArray(this);
+	}
+
+	/**
+	 * Creates a QuantityArray from the given Double values and the given unit. Null values are converted to NaN.
+	 *
+	 * @param valueList
+	 * @param unit
+	 * @return
+	 */
+	public static QuantityArray of(List<Double> valueList, String unit) {
+		Objects.requireNonNull(valueList, "Value list must not be null.");
+		double[] values = new double[valueList.size()];
+		int index = 0;
+		for (Double value : valueList) {
+			values[index++] = value == null
+					? Double.NaN
+					: value;
+		}
+		return new QuantityArray(values, unit);
+	}
+
+	/**
+	 * Checks if all given quantities have the same unit and collects their values to a QuantityArray
+	 *
+	 * @param quantities
+	 * @return
+	 * @throws IllegalArgumentException
+	 */
+	public static QuantityArray of(List<Quantity> quantities) throws IllegalArgumentException {
+		if (quantities.isEmpty()) {
+			return new QuantityArray(new double[0], Unit.NONE);
+		}
+
+		Unit firstUnit = quantities.get(0).getUnitObject();
+		double[] values = new double[quantities.size()];
+		int index = 0;
+		for (Quantity quantity : quantities) {
+			if (!firstUnit.equals(quantity.getUnitObject())) {
+				String message = "The unit of all quantities has to be the same";
+				throw new IllegalArgumentException(message);
+			}
+			values[index++] = quantity.getValue();
+		}
+		return new QuantityArray(values, firstUnit);
+	}
+
+	/**
+	 * Creates a list of Quantity for the values of this array
+	 *
+	 * @return
+	 */
+	public List<Quantity> toQuantityList() {
+		List<Quantity> quantities = new ArrayList<>(values.length);
+		for (double value : values) {
+			quantities.add(new Quantity(value, unit));
+		}
+		return quantities;
+	}
+
+	/**
+	 * Returns an unmodifiable list view of this array. The Quantity for an index is created when it is requested, so
+	 * that large arrays can be passed as list without creating a Quantity for each value in advance.
+	 *
+	 * @return
+	 */
+	public List<Quantity> asQuantityList() {
+		return new AbstractList<Quantity>() {
+
+			@Override
+			public Quantity get(int index) {
+				return QuantityArray.this.get(index);
+			}
+
+			@Override
+			public int size() {
+				return values.length;
+			}
+		};
+	}
+
+	/**
+	 * Creates a list of Double for the values of this array
+	 *
+	 * @return
+	 */
+	public List<Double> toDoubleList() {
+		List<Double> doubleList = new ArrayList<>(values.length);
+		for (double value : values) {
+			doubleList.add(value);
+		}
+		return doubleList;
+	}
+
+	@Override
+	public String toString() {
+		String arrayString = Arrays.toString(values);
+		if (!unit.isNone()) {
+			arrayString += " " + unit;
+		}
+		return arrayString;
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	public int size() {
+		return values.length;
+	}
+
+	public boolean isEmpty() {
+		return values.length == 0;
+	}
+
+	public double getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Returns the value with the given index as Quantity
+	 *
+	 * @param index
+	 * @return
+	 */
+	public Quantity get(int index) {
+		return new Quantity(values[index], unit);
+	}
+
+	/**
+	 * Returns a copy of the values
+	 *
+	 * @return
+	 */
+	public double[] getValues() {
+		return values.clone();
+	}
+
+	public Unit getUnitObject() {
+		return unit;
+	}
+
+	public String getUnit() {
+		return unit.getSymbol();
+	}
+
+	//#end region
+
+}
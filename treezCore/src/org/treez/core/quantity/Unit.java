@@ -0,0 +1,107 @@
+package org.treez.core.quantity;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The unit of a physical quantity, e.g. "m" or "kg*m/s^2". Use Unit.of(...) to get the unit for a symbol. The first
+ * units are interned, so that the quantities of common units share a single instance; further symbols (e.g. while a
+ * unit is typed) get a new instance. Compare units with equals.
+ */
+public final class Unit {
+
+	//#region ATTRIBUTES
+
+	/**
+	 * The maximum number of interned units
+	 */
+	private static final int MAX_NUMBER_OF_INTERNED_UNITS = 1000;
+
+	private static final ConcurrentMap<String, Unit> UNITS = new ConcurrentHashMap<>();
+
+	/**
+	 * The empty unit of dimensionless quantities
+	 */
+	public static final Unit NONE = of("");
+
+	/**
+	 * The symbol of the unit, e.g. "m"
+	 */
+	private final String symbol;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	private Unit(String symbol) {
+		this.symbol = symbol;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Returns the unit for the given symbol. If the symbol is null, the empty unit is returned. Leading and trailing
+	 * white space of the symbol is ignored. The unit is interned as long as the maximum number of interned units has
+	 * not been reached.
+	 *
+	 * @param symbol
+	 * @return
+	 */
+	public static Unit of(String symbol) {
+		String trimmedSymbol = symbol == null
+				? ""
+				: symbol.trim();
+		Unit internedUnit = UNITS.get(trimmedSymbol);
+		if (internedUnit != null) {
+			return internedUnit;
+		}
+		if (UNITS.size() < MAX_NUMBER_OF_INTERNED_UNITS) {
+			return UNITS.computeIfAbsent(trimmedSymbol, Unit::new);
+		}
+		return new Unit(trimmedSymbol);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof Unit)) {
+			return false;
+		}
+		return symbol.equals(((Unit) object).symbol);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(symbol);
+	}
+
+	@Override
+	public String toString() {
+		return symbol;
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/**
+	 * Returns true if this is the empty unit
+	 *
+	 * @return
+	 */
+	public boolean isNone() {
+		return symbol.isEmpty();
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,129 @@
+package org.treez.core.data.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+import org.treez.core.data.row.Row;
+
+/**
+ * Tests the Row views of the ColumnStore
+ */
+public class ColumnStoreTest {
+
+	/**
+	 * Logger for this class
+	 */
+	@SuppressWarnings("unused")
+	private static final Logger LOG = Logger.getLogger(ColumnStoreTest.class);
+
+	//#region ATTRIBUTES
+
+	private ColumnStore columnStore;
+
+	private List<Row> rows;
+
+	//#end region
+
+	//#region SETUP
+
+	@Before
+	public void createColumnStore() {
+		columnStore = new ColumnStore(null);
+		rows = columnStore.getRows();
+		for (int value = 0; value < 3; value++) {
+			columnStore.addRow(createEntries(value));
+		}
+	}
+
+	//#end region
+
+	//#region TESTS
+
+	@Test
+	public void testRowIdentity() {
+		Row row = rows.get(1);
+		assertSame(row, rows.get(1));
+		assertEquals(1, rows.indexOf(row));
+		assertEquals(1, row.getIndex());
+	}
+
+	@Test
+	public void testRowIndexAfterInsertAndRemove() {
+		Row lastRow = rows.get(2);
+		rows.add(0, createRow(10));
+		assertEquals(3, lastRow.getIndex());
+		assertSame(lastRow, rows.get(3));
+		assertEquals(10, rows.get(0).getEntry("x"));
+
+		rows.remove(0);
+		rows.remove(0);
+		assertEquals(1, lastRow.getIndex());
+		assertEquals(2, lastRow.getEntry("x"));
+	}
+
+	@Test
+	public void testRemovedRowIsDetached() {
+		Row row = rows.get(1);
+		assertSame(row, rows.remove(1));
+		assertEquals(-1, row.getIndex());
+		assertEquals(1, row.getEntry("x"));
+
+		row.setEntryUnchecked("x", 5);
+		assertEquals(2, rows.get(1).getEntry("x"));
+		assertEquals(5, row.getEntry("x"));
+
+		rows.add(0, row);
+		assertSame(row, rows.get(0));
+		assertEquals(0, row.getIndex());
+		assertEquals(5, rows.get(0).getEntry("x"));
+		row.setEntryUnchecked("x", 6);
+		assertEquals(6, columnStore.getEntry(0, "x"));
+	}
+
+	@Test
+	public void testSetDetachesReplacedRow() {
+		Row oldRow = rows.get(0);
+		Row newRow = createRow(10);
+		assertSame(oldRow, rows.set(0, newRow));
+		assertEquals(0, oldRow.getEntry("x"));
+		assertNotSame(newRow, rows.get(0));
+		assertEquals(10, rows.get(0).getEntry("x"));
+	}
+
+	@Test
+	public void testClearDetachesRows() {
+		Row row = rows.get(2);
+		rows.clear();
+		assertEquals(0, rows.size());
+		assertEquals(2, row.getEntry("x"));
+		assertNull(row.getEntry("y"));
+	}
+
+	//#end region
+
+	//#region UTILITIES
+
+	private static Map<String, Object> createEntries(int value) {
+		Map<String, Object> entries = new HashMap<>();
+		entries.put("x", value);
+		return entries;
+	}
+
+	private static Row createRow(int value) {
+		Row row = new Row(null);
+		row.setEntryUnchecked("x", value);
+		return row;
+	}
+
+	//#end region
+
+}
@@ -3,7 +3,9 @@ package org.treez.data;
 import org.apache.log4j.Logger;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.graphics.Image;
+import org.osgi.framework.BundleContext;
 import org.treez.core.AbstractActivator;
+import org.treez.data.database.ConnectionPool;
 
 /**
  * Activates the plugin
@@ -31,6 +33,15 @@ public class Activator extends AbstractActivator {
 
 	//#region METHODS
 
+	/**
+	 * Closes the cached database connections before the plugin is stopped
+	 */
+	@Override
+	public void stop(BundleContext context) throws Exception {
+		ConnectionPool.getInstance().closeAll();
+		super.stop(context);
+	}
+
 	/**
 	 * Returns the absolute path
 	 *
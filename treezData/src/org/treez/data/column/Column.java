@@ -1,6 +1,7 @@
 package org.treez.data.column;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,8 +18,8 @@ import org.treez.core.attribute.Attribute;
 import org.treez.core.attribute.Wrap;
 import org.treez.core.data.column.ColumnType;
 import org.treez.core.data.row.Row;
+import org.treez.core.data.store.ColumnStore;
 import org.treez.core.data.table.LinkableTreezTable;
-import org.treez.core.data.table.TreezTable;
 import org.treez.core.treeview.TreeViewerRefreshable;
 
 /**
@@ -199,11 +200,17 @@ public class Column extends AdjustableAtom {
 	 */
 	public List<Object> getValues() {
 
+		//read values directly from column store if it exists
+		LinkableTreezTable table = getTable();
+		ColumnStore columnStore = table.getColumnStore();
+		if (columnStore != null) {
+			return columnStore.getValues(header.get());
+		}
+
 		//create empty value list
 		List<Object> valueList = new ArrayList<>();
 
 		//get all rows of the table
-		TreezTable table = getTable();
 		List<Row> rows = table.getRows();
 
 		//iterate over the rows to fill the value list with all data of this column
@@ -217,7 +224,26 @@ public class Column extends AdjustableAtom {
 
 	}
 
+	/**
+	 * Returns the values of this column as primitive doubles. If the table stores its rows in a ColumnStore, the values
+	 * are read directly from the primitive column data. Null values are returned as NaN.
+	 */
+	public double[] getDoubleArray() {
+		ColumnStore columnStore = getTable().getColumnStore();
+		if (columnStore != null) {
+			return columnStore.getDoubleValues(header.get());
+		}
+		List<Double> doubleValues = getDoubleValues();
+		return doubleValues.stream().mapToDouble(value -> value == null ? Double.NaN : value).toArray();
+	}
+
 	public List<Double> getDoubleValues() {
+		ColumnStore columnStore = getTable().getColumnStore();
+		if (columnStore != null) {
+			double[] doubleValues = columnStore.getDoubleValues(header.get());
+			return Arrays.stream(doubleValues).boxed().collect(Collectors.toList());
+		}
+
 		List<Object> valueObjects = getValues();
 		switch (getColumnType()) {
 		case INTEGER:
@@ -0,0 +1,459 @@
+package org.treez.data.database;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Caches open JDBC connections, keyed by connection url, user and (a hash of the) password, so that connections
+ * that have been opened with other credentials are not reused. A connection is borrowed for the execution of a
+ * ConnectionProcessor and afterwards returned to the pool, so that successive queries on the same database do not have
+ * to open a new connection. Connections to database servers that have been idle for longer than the idle timeout are
+ * closed by a background thread. Connections to file databases (SqLite) lock the database file on some platforms.
+ * Therefore they are only kept while their database is held (see hold and release, e.g. during an import or a study)
+ * and are closed as soon as they are returned otherwise. All cached connections are closed with closeAll, e.g. when
+ * the plugin is stopped. The pool also caches the PreparedStatements of its connections, see prepareStatement.
+ */
+public final class ConnectionPool {
+
+	private static final Logger LOG = Logger.getLogger(ConnectionPool.class);
+
+	//#region ATTRIBUTES
+
+	/**
+	 * The maximum number of idle connections that are kept for a single url and user
+	 */
+	private static final int MAX_NUMBER_OF_IDLE_CONNECTIONS_PER_KEY = 4;
+
+	/**
+	 * Idle connections are closed after this time
+	 */
+	private static final long IDLE_TIMEOUT_IN_MILLISECONDS = 60_000;
+
+	private static final long EVICTION_PERIOD_IN_MILLISECONDS = 15_000;
+
+	/**
+	 * The time to wait for the validation of an idle connection
+	 */
+	private static final int VALIDATION_TIMEOUT_IN_SECONDS = 1;
+
+	/**
+	 * The maximum number of cached PreparedStatements for a single connection
+	 */
+	private static final int MAX_NUMBER_OF_CACHED_STATEMENTS_PER_CONNECTION = 32;
+
+	/**
+	 * The url prefix of file databases, whose idle connections are only kept while they are held
+	 */
+	private static final String FILE_DATABASE_URL_PREFIX = "jdbc:sqlite:";
+
+	/**
+	 * Separates the database key (url and user) from the password hash in the keys of the idle connections
+	 */
+	private static final char PASSWORD_HASH_SEPARATOR = '#';
+
+	private static final ConnectionPool INSTANCE = new ConnectionPool();
+
+	/**
+	 * The idle connections for each key (url, user and password hash; most recently returned connection first)
+	 */
+	private final Map<String, Deque<IdleConnection>> idleConnections = new HashMap<>();
+
+	/**
+	 * The number of holds for each database key (url and user) of a file database (see hold)
+	 */
+	private final Map<String, Integer> holdCounts = new HashMap<>();
+
+	/**
+	 * The cached PreparedStatements of each open connection (by query). The entry of a connection is removed when the
+	 * connection is closed by the pool (see closeQuietly).
+	 */
+	private final Map<Connection, Map<String, PreparedStatement>> preparedStatements = new HashMap<>();
+
+	private ScheduledExecutorService evictionService;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	/**
+	 * Private constructor; use getInstance
+	 */
+	private ConnectionPool() {}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Borrows a connection for the given url and user, passes it to the given processor and returns it to the pool. If
+	 * the processor throws an exception, the connection is closed instead of being returned, since its state is
+	 * unknown.
+	 *
+	 * @param url
+	 *            the complete JDBC url, e.g. jdbc:sqlite:C:/data.sqlite
+	 * @param user
+	 *            may be null
+	 * @param password
+	 *            may be null
+	 * @param processor
+	 * @throws SQLException
+	 */
+	public void process(String url, String user, String password, ConnectionProcessor processor)
+			throws SQLException {
+		String key = createKey(url, user, password);
+		Connection connection = borrowConnection(key, url, user, password);
+		boolean isReusable = false;
+		try {
+			processor.process(connection);
+			isReusable = true;
+		} finally {
+			if (isReusable) {
+				returnConnection(key, url, connection);
+			} else {
+				closeQuietly(connection);
+			}
+		}
+	}
+
+	/**
+	 * Returns a cached PreparedStatement for the given (borrowed) connection and query or prepares a new one. The
+	 * statement must not be closed by the caller; it is reused the next time the query is executed with the same
+	 * connection. Since a connection is only borrowed by a single thread at a time, the statement is not shared between
+	 * threads.
+	 *
+	 * @param connection
+	 * @param query
+	 * @return
+	 * @throws SQLException
+	 */
+	public PreparedStatement prepareStatement(Connection connection, String query) throws SQLException {
+		Map<String, PreparedStatement> statements;
+		synchronized (this) {
+			statements = preparedStatements.computeIfAbsent(connection, (newConnection) -> createStatementCache());
+		}
+
+		PreparedStatement statement = statements.get(query);
+		if (statement != null && !statement.isClosed()) {
+			statement.clearParameters();
+			return statement;
+		}
+
+		statement = connection.prepareStatement(query);
+		statements.put(query, statement);
+		return statement;
+	}
+
+	/**
+	 * Creates a map for PreparedStatements that closes its least recently used statement if it is full
+	 */
+	private static Map<String, PreparedStatement> createStatementCache() {
+		return new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+				boolean isFull = size() > MAX_NUMBER_OF_CACHED_STATEMENTS_PER_CONNECTION;
+				if (isFull) {
+					closeQuietly(eldest.getValue());
+				}
+				return isFull;
+			}
+		};
+	}
+
+	/**
+	 * Keeps the idle connections of the given file database (url and user) in the pool until release is called. Holds
+	 * are counted; the idle connections are closed when the last hold is released. Has no effect for databases servers,
+	 * whose idle connections are always kept until the idle timeout expires.
+	 *
+	 * @param url
+	 * @param user
+	 *            may be null
+	 */
+	public synchronized void hold(String url, String user) {
+		holdCounts.merge(createDatabaseKey(url, user), 1, Integer::sum);
+	}
+
+	/**
+	 * Releases a hold of the given file database (see hold) and closes its idle connections if it is not held anymore
+	 *
+	 * @param url
+	 * @param user
+	 *            may be null
+	 */
+	public void release(String url, String user) {
+		String databaseKey = createDatabaseKey(url, user);
+		List<IdleConnection> connectionsToClose = new ArrayList<>();
+		synchronized (this) {
+			Integer holdCount = holdCounts.get(databaseKey);
+			if (holdCount == null) {
+				return;
+			}
+			if (holdCount > 1) {
+				holdCounts.put(databaseKey, holdCount - 1);
+				return;
+			}
+			holdCounts.remove(databaseKey);
+
+			//remove the idle connections of all passwords
+			Iterator<Map.Entry<String, Deque<IdleConnection>>> iterator = idleConnections.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<String, Deque<IdleConnection>> entry = iterator.next();
+				if (getDatabaseKey(entry.getKey()).equals(databaseKey)) {
+					connectionsToClose.addAll(entry.getValue());
+					iterator.remove();
+				}
+			}
+		}
+
+		connectionsToClose.forEach((idleConnection) -> closeQuietly(idleConnection.connection));
+	}
+
+	private static boolean isFileDatabase(String url) {
+		return url.startsWith(FILE_DATABASE_URL_PREFIX);
+	}
+
+	/**
+	 * Creates the key of the idle connections for the given url and credentials
+	 */
+	private static String createKey(String url, String user, String password) {
+		return createDatabaseKey(url, user) + PASSWORD_HASH_SEPARATOR + hashPassword(password);
+	}
+
+	/**
+	 * Creates the key of the database (url and user) that is used for the holds
+	 */
+	private static String createDatabaseKey(String url, String user) {
+		if (user == null) {
+			return url;
+		}
+		return user + "@" + url;
+	}
+
+	/**
+	 * Returns the database key (url and user) of the given key of idle connections
+	 */
+	private static String getDatabaseKey(String key) {
+		return key.substring(0, key.lastIndexOf(PASSWORD_HASH_SEPARATOR));
+	}
+
+	/**
+	 * Returns the SHA-256 hash of the given password as hex string, so that the password itself is not kept in the
+	 * keys; returns an empty string if the password is null
+	 */
+	private static String hashPassword(String password) {
+		if (password == null) {
+			return "";
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hexString = new StringBuilder();
+			for (byte hashByte : hash) {
+				hexString.append(String.format("%02x", hashByte));
+			}
+			return hexString.toString();
+		} catch (NoSuchAlgorithmException exception) {
+			throw new IllegalStateException("Could not hash the password of a database connection", exception);
+		}
+	}
+
+	private Connection borrowConnection(String key, String url, String user, String password) throws SQLException {
+		while (true) {
+			IdleConnection idleConnection = pollIdleConnection(key);
+			if (idleConnection == null) {
+				break;
+			}
+			if (isValid(idleConnection.connection)) {
+				return idleConnection.connection;
+			}
+			closeQuietly(idleConnection.connection);
+		}
+
+		if (user == null) {
+			return DriverManager.getConnection(url);
+		}
+		return DriverManager.getConnection(url, user, password);
+	}
+
+	private synchronized IdleConnection pollIdleConnection(String key) {
+		Deque<IdleConnection> connections = idleConnections.get(key);
+		if (connections == null) {
+			return null;
+		}
+		return connections.pollFirst();
+	}
+
+	private void returnConnection(String key, String url, Connection connection) {
+		try {
+			if (!connection.getAutoCommit()) {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+		} catch (SQLException exception) {
+			closeQuietly(connection);
+			return;
+		}
+
+		Connection connectionToClose = null;
+		synchronized (this) {
+			boolean isKept = !isFileDatabase(url) || holdCounts.containsKey(getDatabaseKey(key));
+			if (isKept) {
+				Deque<IdleConnection> connections = idleConnections.computeIfAbsent(key,
+						(newKey) -> new ArrayDeque<>());
+				connections.addFirst(new IdleConnection(connection, System.currentTimeMillis()));
+				if (connections.size() > MAX_NUMBER_OF_IDLE_CONNECTIONS_PER_KEY) {
+					connectionToClose = connections.pollLast().connection;
+				}
+				startEvictionIfRequired();
+			} else {
+				connectionToClose = connection;
+			}
+		}
+
+		if (connectionToClose != null) {
+			closeQuietly(connectionToClose);
+		}
+	}
+
+	private static boolean isValid(Connection connection) {
+		try {
+			return connection.isValid(VALIDATION_TIMEOUT_IN_SECONDS);
+		} catch (SQLException exception) {
+			return false;
+		}
+	}
+
+	/**
+	 * Starts the background thread that closes expired idle connections (if it is not already running)
+	 */
+	private void startEvictionIfRequired() {
+		if (evictionService != null) {
+			return;
+		}
+		evictionService = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+			Thread thread = new Thread(runnable);
+			thread.setName("Data: ConnectionPoolEviction");
+			thread.setDaemon(true);
+			return thread;
+		});
+		evictionService.scheduleWithFixedDelay(this::closeExpiredConnections, EVICTION_PERIOD_IN_MILLISECONDS,
+				EVICTION_PERIOD_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+	}
+
+	private void closeExpiredConnections() {
+		long expirationTime = System.currentTimeMillis() - IDLE_TIMEOUT_IN_MILLISECONDS;
+		Deque<Connection> expiredConnections = new ArrayDeque<>();
+		synchronized (this) {
+			Iterator<Deque<IdleConnection>> iterator = idleConnections.values().iterator();
+			while (iterator.hasNext()) {
+				Deque<IdleConnection> connections = iterator.next();
+				while (!connections.isEmpty() && connections.peekLast().returnTime < expirationTime) {
+					expiredConnections.add(connections.pollLast().connection);
+				}
+				if (connections.isEmpty()) {
+					iterator.remove();
+				}
+			}
+		}
+		expiredConnections.forEach(this::closeQuietly);
+	}
+
+	/**
+	 * Closes all idle connections and stops the eviction thread. Connections that are currently borrowed are not
+	 * affected. The pool can still be used after calling this method.
+	 */
+	public void closeAll() {
+		Deque<Connection> connectionsToClose = new ArrayDeque<>();
+		synchronized (this) {
+			for (Deque<IdleConnection> connections : idleConnections.values()) {
+				for (IdleConnection idleConnection : connections) {
+					connectionsToClose.add(idleConnection.connection);
+				}
+			}
+			idleConnections.clear();
+			if (evictionService != null) {
+				evictionService.shutdownNow();
+				evictionService = null;
+			}
+		}
+		connectionsToClose.forEach(this::closeQuietly);
+	}
+
+	/**
+	 * Closes the given connection and its cached PreparedStatements
+	 */
+	private void closeQuietly(Connection connection) {
+		Map<String, PreparedStatement> statements;
+		synchronized (this) {
+			statements = preparedStatements.remove(connection);
+		}
+		if (statements != null) {
+			statements.values().forEach(ConnectionPool::closeQuietly);
+		}
+
+		try {
+			connection.close();
+		} catch (SQLException exception) {
+			LOG.warn("Could not close database connection", exception);
+		}
+	}
+
+	private static void closeQuietly(PreparedStatement statement) {
+		try {
+			statement.close();
+		} catch (SQLException exception) {
+			LOG.warn("Could not close prepared statement", exception);
+		}
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	/**
+	 * Returns the shared connection pool
+	 *
+	 * @return
+	 */
+	public static ConnectionPool getInstance() {
+		return INSTANCE;
+	}
+
+	//#end region
+
+	/**
+	 * An idle connection and the time it has been returned to the pool
+	 */
+	private static final class IdleConnection {
+
+		private final Connection connection;
+
+		private final long returnTime;
+
+		IdleConnection(Connection connection, long returnTime) {
+			this.connection = connection;
+			this.returnTime = returnTime;
+		}
+	}
+
+}
@@ -0,0 +1,10 @@
+package org.treez.data.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public interface ConnectionProcessor {
+
+	void process(Connection connection) throws SQLException;
+
+}
@@ -0,0 +1,41 @@
+package org.treez.data.database;
+
+/**
+ * A page of rows that has been read in the order of a key column (e.g. the rowid of a SqLite table or the primary key
+ * of a MySql table). The key of the last row can be used to seek the following page without an OFFSET.
+ */
+public class KeysetPage {
+
+	//#region ATTRIBUTES
+
+	private TableData tableData;
+
+	private Object lastKey;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	public KeysetPage(TableData tableData, Object lastKey) {
+		this.tableData = tableData;
+		this.lastKey = lastKey;
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	public TableData getTableData() {
+		return tableData;
+	}
+
+	/**
+	 * Returns the key of the last row of this page or null if the page is empty or has not been read in key order
+	 */
+	public Object getLastKey() {
+		return lastKey;
+	}
+
+	//#end region
+
+}
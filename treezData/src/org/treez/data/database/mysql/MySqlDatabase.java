@@ -1,13 +1,17 @@
 package org.treez.data.database.mysql;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
+import org.treez.data.database.ConnectionPool;
 import org.treez.data.database.ResultSetProcessor;
 
+/**
+ * Executes queries on a MySql database. The connections are borrowed from the shared ConnectionPool.
+ */
 public class MySqlDatabase {
 
 	//#region ATTRIBUTES
@@ -23,7 +27,7 @@ public class MySqlDatabase {
 	//#region CONSTRUCTORS
 
 	public MySqlDatabase(String url, String user, String password) {
-		this.url = url;
+		this.url = "jdbc:mysql://" + url;
 		this.user = user;
 		this.password = password;
 		checkConnection();
@@ -43,10 +47,10 @@ public class MySqlDatabase {
 			throw new IllegalStateException(message, driverException);
 		}
 
-		try (
-				Connection connection = DriverManager.getConnection("jdbc:mysql://" + url, user,
-						password);) {} catch (SQLException exception) {
-			String message = "Could not establish SqLite database connection to " + url;
+		try {
+			ConnectionPool.getInstance().process(url, user, password, (connection) -> {});
+		} catch (SQLException exception) {
+			String message = "Could not establish MySql database connection to " + url;
 			throw new IllegalStateException(message, exception);
 		}
 
@@ -56,10 +60,12 @@ public class MySqlDatabase {
 	 * Executes a query that does not return a result
 	 */
 	public void execute(String query) {
-		try (
-				Connection connection = DriverManager.getConnection("jdbc:mysql://" + url, user, password);
-				Statement statement = connection.createStatement();) {
-			statement.executeUpdate(query);
+		try {
+			ConnectionPool.getInstance().process(url, user, password, (connection) -> {
+				try (Statement statement = connection.createStatement();) {
+					statement.executeUpdate(query);
+				}
+			});
 		} catch (SQLException exception) {
 			String message = "Could execute query " + query;
 			throw new IllegalStateException(message, exception);
@@ -70,11 +76,35 @@ public class MySqlDatabase {
 	 * Executes a query and processes its ResultSet
 	 */
 	public void executeAndProcess(String query, ResultSetProcessor processor) {
-		try (
-				Connection connection = DriverManager.getConnection("jdbc:mysql://" + url, user, password);
-				Statement statement = connection.createStatement();) {
-			ResultSet resultSet = statement.executeQuery(query);
-			processor.process(resultSet);
+		try {
+			ConnectionPool.getInstance().process(url, user, password, (connection) -> {
+				try (
+						Statement statement = connection.createStatement();
+						ResultSet resultSet = statement.executeQuery(query);) {
+					processor.process(resultSet);
+				}
+			});
+		} catch (SQLException exception) {
+			String message = "Could not execute and process query " + query;
+			throw new IllegalStateException(message, exception);
+		}
+	}
+
+	/**
+	 * Executes a parameterized query (with ? placeholders) and processes its ResultSet. The PreparedStatement is cached
+	 * for the pooled connection and reused for successive executions of the same query.
+	 */
+	public void executeAndProcess(String query, List<Object> parameters, ResultSetProcessor processor) {
+		try {
+			ConnectionPool.getInstance().process(url, user, password, (connection) -> {
+				PreparedStatement statement = ConnectionPool.getInstance().prepareStatement(connection, query);
+				for (int parameterIndex = 0; parameterIndex < parameters.size(); parameterIndex++) {
+					statement.setObject(parameterIndex + 1, parameters.get(parameterIndex));
+				}
+				try (ResultSet resultSet = statement.executeQuery();) {
+					processor.process(resultSet);
+				}
+			});
 		} catch (SQLException exception) {
 			String message = "Could not execute and process query " + query;
 			throw new IllegalStateException(message, exception);
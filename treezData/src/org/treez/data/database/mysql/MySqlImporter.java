@@ -3,6 +3,7 @@ package org.treez.data.database.mysql;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.log4j.Logger;
@@ -14,6 +15,7 @@ import org.treez.core.data.index.IndexBlueprint;
 import org.treez.core.data.row.Row;
 import org.treez.core.data.table.TreezTable;
 import org.treez.data.database.AbstractImporter;
+import org.treez.data.database.KeysetPage;
 import org.treez.data.database.ResultSetProcessor;
 import org.treez.data.database.TableData;
 import org.treez.data.database.sqlite.SqLiteColumnTypeConverter;
@@ -53,6 +55,37 @@ public final class MySqlImporter extends AbstractImporter {
 
 	}
 
+	/**
+	 * Returns the number of rows of the given table. If filterRowsByJobId is true, only the rows for the given job id
+	 * are counted.
+	 */
+	public static int getNumberOfRows(
+			String url,
+			String user,
+			String password,
+			String tableName,
+			boolean filterRowsByJobId,
+			String jobId) {
+
+		boolean applyFilter = filterRowsByJobId && jobId != null;
+		if (!applyFilter) {
+			return getNumberOfRows(url, user, password, tableName);
+		}
+
+		MySqlDatabase database = new MySqlDatabase(url, user, password);
+		String sizeQuery = "SELECT COUNT(*) FROM `" + tableName + "` WHERE job_id = ?;";
+
+		int[] size = { 0 };
+		ResultSetProcessor processor = (ResultSet resultSet) -> {
+			if (resultSet.next()) {
+				size[0] = resultSet.getInt(1);
+			}
+		};
+		database.executeAndProcess(sizeQuery, Arrays.asList(jobId), processor);
+
+		return size[0];
+	}
+
 	public static int getNumberOfRowsForCustomQuery(
 			String url,
 			String user,
@@ -92,6 +125,25 @@ public final class MySqlImporter extends AbstractImporter {
 
 		List<ColumnBlueprint> columnBlueprints = readTableStructure(url, user, password, tableName);
 
+		return importData(url, user, password, tableName, filterRowsByJobId, jobId, rowLimit, rowOffset,
+				columnBlueprints);
+	}
+
+	/**
+	 * Imports data from the given table with the given (e.g. cached) column blueprints. The table structure is not read
+	 * again.
+	 */
+	public static TableData importData(
+			String url,
+			String user,
+			String password,
+			String tableName,
+			boolean filterRowsByJobId,
+			String jobId,
+			Integer rowLimit,
+			Integer rowOffset,
+			List<ColumnBlueprint> columnBlueprints) {
+
 		List<List<Object>> data = readData(url, user, password, tableName, filterRowsByJobId, jobId, rowLimit,
 				rowOffset, columnBlueprints);
 
@@ -112,6 +164,24 @@ public final class MySqlImporter extends AbstractImporter {
 		List<ColumnBlueprint> columnBlueprints = readTableStructureWithCustomQuery(url, user, password, customQuery,
 				jobId);
 
+		return importDataWithCustomQuery(url, user, password, customQuery, jobId, rowLimit, rowOffset,
+				columnBlueprints);
+	}
+
+	/**
+	 * Imports data with a custom query and the given (e.g. cached) column blueprints. The table structure is not read
+	 * again.
+	 */
+	public static TableData importDataWithCustomQuery(
+			String url,
+			String user,
+			String password,
+			String customQuery,
+			String jobId,
+			Integer rowLimit,
+			Integer rowOffset,
+			List<ColumnBlueprint> columnBlueprints) {
+
 		List<List<Object>> data = readDataWithCustomQuery(url, user, password, customQuery, jobId, rowLimit, rowOffset,
 				columnBlueprints);
 
@@ -120,6 +190,72 @@ public final class MySqlImporter extends AbstractImporter {
 		return tableData;
 	}
 
+	/**
+	 * Imports a page of the given table in the order of the given key column (e.g. the primary key). If a lastKey is
+	 * given, the page starts after the row with that key (keyset pagination) and the rowOffset is ignored. Otherwise,
+	 * the page starts at the given rowOffset. The returned page includes the key of its last row.
+	 */
+	public static KeysetPage importPage(
+			String url,
+			String user,
+			String password,
+			String tableName,
+			boolean filterRowsByJobId,
+			String jobId,
+			String keyColumnName,
+			Object lastKey,
+			int rowOffset,
+			int rowLimit,
+			List<ColumnBlueprint> columnBlueprints) {
+		MySqlDatabase database = new MySqlDatabase(url, user, password);
+
+		String dataQuery = "SELECT * FROM `" + tableName + "`";
+		List<Object> parameters = new ArrayList<>();
+		List<String> conditions = new ArrayList<>();
+
+		boolean applyFilter = filterRowsByJobId && jobId != null;
+		if (applyFilter) {
+			conditions.add("job_id = ?");
+			parameters.add(jobId);
+		}
+
+		boolean isSeeking = lastKey != null;
+		if (isSeeking) {
+			conditions.add("`" + keyColumnName + "` > ?");
+			parameters.add(lastKey);
+		}
+
+		if (!conditions.isEmpty()) {
+			dataQuery += " WHERE " + String.join(" AND ", conditions);
+		}
+
+		dataQuery += " ORDER BY `" + keyColumnName + "` LIMIT ?";
+		parameters.add(rowLimit);
+		if (!isSeeking) {
+			dataQuery += " OFFSET ?";
+			parameters.add(rowOffset);
+		}
+		dataQuery += ";";
+
+		List<List<Object>> data = new ArrayList<>();
+		Object[] lastRowKey = { null };
+		ResultSetProcessor processor = (ResultSet resultSet) -> {
+			while (resultSet.next()) {
+				List<Object> rowData = new ArrayList<>();
+				for (ColumnBlueprint columnBlueprint : columnBlueprints) {
+					Object entry = resultSet.getObject(columnBlueprint.getName());
+					rowData.add(entry);
+				}
+				data.add(rowData);
+				lastRowKey[0] = resultSet.getObject(keyColumnName);
+			}
+		};
+		database.executeAndProcess(dataQuery, parameters, processor);
+
+		TableData tableData = new TableData(columnBlueprints, data);
+		return new KeysetPage(tableData, lastRowKey[0]);
+	}
+
 	public static List<ColumnBlueprint> readTableStructure(String url, String user, String password, String tableName) {
 		MySqlDatabase database = new MySqlDatabase(url, user, password);
 		String structureQuery = "SHOW COLUMNS FROM " + tableName + ";";
@@ -1,27 +1,50 @@
 package org.treez.data.database.sqlite;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import java.io.File;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
+import org.treez.data.database.ConnectionPool;
+import org.treez.data.database.ConnectionProcessor;
 import org.treez.data.database.ResultSetProcessor;
 
+/**
+ * Executes queries on a SqLite database. The connections are borrowed from the shared ConnectionPool.
+ */
 public class SqLiteDatabase {
 
 	//#region ATTRIBUTES
 
 	private String filePath;
 
+	private String url;
+
 	//#end region
 
 	//#region CONSTRUCTORS
 
 	public SqLiteDatabase(String filePath) {
+		this(filePath, false);
+	}
+
+	/**
+	 * @param filePath
+	 * @param useWriteAheadLogForNewDatabase
+	 *            if this is true and the database file does not exist yet, the journal mode of the new database is set
+	 *            to WAL (write ahead logging), which speeds up successive transactions. The journal mode is stored in
+	 *            the database file. Therefore the journal mode of existing databases is not modified.
+	 */
+	public SqLiteDatabase(String filePath, boolean useWriteAheadLogForNewDatabase) {
 		this.filePath = filePath;
+		this.url = "jdbc:sqlite:" + filePath;
+		boolean isNewDatabase = !new File(filePath).exists();
 		checkConnection();
-
+		if (useWriteAheadLogForNewDatabase && isNewDatabase) {
+			execute("PRAGMA journal_mode=WAL;");
+		}
 	}
 
 	//#end region
@@ -37,9 +60,9 @@ public class SqLiteDatabase {
 			throw new IllegalStateException(message, driverException);
 		}
 
-		try (
-				Connection connection = DriverManager
-						.getConnection("jdbc:sqlite:" + filePath);) {} catch (SQLException exception) {
+		try {
+			ConnectionPool.getInstance().process(url, null, null, (connection) -> {});
+		} catch (SQLException exception) {
 			String message = "Could not establish SqLite database connection to " + filePath;
 			throw new IllegalStateException(message, exception);
 		}
@@ -50,10 +73,12 @@ public class SqLiteDatabase {
 	 * Executes a query that does not return a result
 	 */
 	public void execute(String query) {
-		try (
-				Connection connection = DriverManager.getConnection("jdbc:sqlite:" + filePath);
-				Statement statement = connection.createStatement();) {
-			statement.executeUpdate(query);
+		try {
+			ConnectionPool.getInstance().process(url, null, null, (connection) -> {
+				try (Statement statement = connection.createStatement();) {
+					statement.executeUpdate(query);
+				}
+			});
 		} catch (SQLException exception) {
 			String message = "Could execute query " + query;
 			throw new IllegalStateException(message, exception);
@@ -64,17 +89,82 @@ public class SqLiteDatabase {
 	 * Executes a query and processes its ResultSet
 	 */
 	public void executeAndProcess(String query, ResultSetProcessor processor) {
-		try (
-				Connection connection = DriverManager.getConnection("jdbc:sqlite:" + filePath);
-				Statement statement = connection.createStatement();) {
-			ResultSet resultSet = statement.executeQuery(query);
-			processor.process(resultSet);
+		try {
+			ConnectionPool.getInstance().process(url, null, null, (connection) -> {
+				try (
+						Statement statement = connection.createStatement();
+						ResultSet resultSet = statement.executeQuery(query);) {
+					processor.process(resultSet);
+				}
+			});
+		} catch (SQLException exception) {
+			String message = "Could not execute and process query " + query;
+			throw new IllegalStateException(message, exception);
+		}
+	}
+
+	/**
+	 * Executes a parameterized query (with ? placeholders) and processes its ResultSet. The PreparedStatement is cached
+	 * for the pooled connection and reused for successive executions of the same query.
+	 */
+	public void executeAndProcess(String query, List<Object> parameters, ResultSetProcessor processor) {
+		try {
+			ConnectionPool.getInstance().process(url, null, null, (connection) -> {
+				PreparedStatement statement = ConnectionPool.getInstance().prepareStatement(connection, query);
+				for (int parameterIndex = 0; parameterIndex < parameters.size(); parameterIndex++) {
+					statement.setObject(parameterIndex + 1, parameters.get(parameterIndex));
+				}
+				try (ResultSet resultSet = statement.executeQuery();) {
+					processor.process(resultSet);
+				}
+			});
 		} catch (SQLException exception) {
 			String message = "Could not execute and process query " + query;
 			throw new IllegalStateException(message, exception);
 		}
 	}
 
+	/**
+	 * Passes a single connection to the given processor and commits all statements of the processor in a single
+	 * transaction. If the processor fails, the transaction is rolled back. Use this for bulk inserts, e.g. with batched
+	 * PreparedStatements.
+	 */
+	public void executeInTransaction(ConnectionProcessor processor) {
+		try {
+			ConnectionPool.getInstance().process(url, null, null, (connection) -> {
+				connection.setAutoCommit(false);
+				try {
+					processor.process(connection);
+					connection.commit();
+				} catch (SQLException | RuntimeException exception) {
+					connection.rollback();
+					throw exception;
+				} finally {
+					connection.setAutoCommit(true);
+				}
+			});
+		} catch (SQLException exception) {
+			String message = "Could not execute transaction for SqLite database " + filePath;
+			throw new IllegalStateException(message, exception);
+		}
+	}
+
+	/**
+	 * Keeps the idle connection of this database in the ConnectionPool until release is called, e.g. for the duration of
+	 * an import or a study. Without a hold, the connection is closed after each query, so that the database file is not
+	 * locked.
+	 */
+	public void hold() {
+		ConnectionPool.getInstance().hold(url, null);
+	}
+
+	/**
+	 * Releases a hold (see hold); the idle connection is closed if the database is not held anymore
+	 */
+	public void release() {
+		ConnectionPool.getInstance().release(url, null);
+	}
+
 	//#end region
 
 	//#region ACCESSORS
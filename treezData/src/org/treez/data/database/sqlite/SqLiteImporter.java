@@ -3,6 +3,7 @@ package org.treez.data.database.sqlite;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.log4j.Logger;
@@ -14,6 +15,7 @@ import org.treez.core.data.index.IndexBlueprint;
 import org.treez.core.data.row.Row;
 import org.treez.core.data.table.TreezTable;
 import org.treez.data.database.AbstractImporter;
+import org.treez.data.database.KeysetPage;
 import org.treez.data.database.ResultSetProcessor;
 import org.treez.data.database.TableData;
 
@@ -21,6 +23,15 @@ public final class SqLiteImporter extends AbstractImporter {
 
 	private static Logger LOG = Logger.getLogger(SqLiteImporter.class);
 
+	//#region ATTRIBUTES
+
+	/**
+	 * The column alias for the rowid in page queries
+	 */
+	private static final String ROW_ID_ALIAS = "treez_row_id";
+
+	//#end region
+
 	//#region CONSTRUCTORS
 
 	/**
@@ -52,6 +63,31 @@ public final class SqLiteImporter extends AbstractImporter {
 
 	}
 
+	/**
+	 * Returns the number of rows of the given table. If filterRowsByJobId is true, only the rows for the given job id
+	 * are counted.
+	 */
+	public static int getNumberOfRows(String filePath, String tableName, boolean filterRowsByJobId, String jobId) {
+
+		boolean applyFilter = filterRowsByJobId && jobId != null;
+		if (!applyFilter) {
+			return getNumberOfRows(filePath, tableName);
+		}
+
+		SqLiteDatabase database = new SqLiteDatabase(filePath);
+		String sizeQuery = "SELECT COUNT(*) FROM '" + tableName + "' WHERE job_id = ?;";
+
+		int[] size = { 0 };
+		ResultSetProcessor processor = (ResultSet resultSet) -> {
+			if (resultSet.next()) {
+				size[0] = resultSet.getInt(1);
+			}
+		};
+		database.executeAndProcess(sizeQuery, Arrays.asList(jobId), processor);
+
+		return size[0];
+	}
+
 	public static int getNumberOfRowsForCustomQuery(String filePath, String customQuery, String jobId) {
 
 		SqLiteDatabase database = new SqLiteDatabase(filePath);
@@ -84,7 +120,32 @@ public final class SqLiteImporter extends AbstractImporter {
 			Integer rowLimit,
 			Integer rowOffset) {
 
-		List<ColumnBlueprint> columnBlueprints = readTableStructure(filePath, password, tableName);
+		//keep the connection open for both queries
+		SqLiteDatabase database = new SqLiteDatabase(filePath);
+		database.hold();
+		try {
+			List<ColumnBlueprint> columnBlueprints = readTableStructure(filePath, password, tableName);
+
+			return importData(filePath, password, tableName, filterRowsByJobId, jobId, rowLimit, rowOffset,
+					columnBlueprints);
+		} finally {
+			database.release();
+		}
+	}
+
+	/**
+	 * Imports data from the given table with the given (e.g. cached) column blueprints. The table structure is not read
+	 * again.
+	 */
+	public static TableData importData(
+			String filePath,
+			String password,
+			String tableName,
+			boolean filterRowsByJobId,
+			String jobId,
+			Integer rowLimit,
+			Integer rowOffset,
+			List<ColumnBlueprint> columnBlueprints) {
 
 		List<List<Object>> data = readData(filePath, password, tableName, filterRowsByJobId, jobId, rowLimit, rowOffset,
 				columnBlueprints);
@@ -102,8 +163,32 @@ public final class SqLiteImporter extends AbstractImporter {
 			Integer rowLimit,
 			Integer rowOffset) {
 
-		List<ColumnBlueprint> columnBlueprints = readTableStructureWithCustomQuery(filePath, password, customQuery,
-				jobId);
+		//keep the connection open for both queries
+		SqLiteDatabase database = new SqLiteDatabase(filePath);
+		database.hold();
+		try {
+			List<ColumnBlueprint> columnBlueprints = readTableStructureWithCustomQuery(filePath, password,
+					customQuery, jobId);
+
+			return importDataWithCustomQuery(filePath, password, customQuery, jobId, rowLimit, rowOffset,
+					columnBlueprints);
+		} finally {
+			database.release();
+		}
+	}
+
+	/**
+	 * Imports data with a custom query and the given (e.g. cached) column blueprints. The table structure is not read
+	 * again.
+	 */
+	public static TableData importDataWithCustomQuery(
+			String filePath,
+			String password,
+			String customQuery,
+			String jobId,
+			Integer rowLimit,
+			Integer rowOffset,
+			List<ColumnBlueprint> columnBlueprints) {
 
 		List<List<Object>> data = readDataWithCustomQuery(filePath, password, customQuery, jobId, rowLimit, rowOffset,
 				columnBlueprints);
@@ -113,6 +198,71 @@ public final class SqLiteImporter extends AbstractImporter {
 		return tableData;
 	}
 
+	/**
+	 * Imports a page of the given table in rowid order. If a lastRowId is given, the page starts after the row with
+	 * that rowid (keyset pagination) and the rowOffset is ignored. Otherwise, the page starts at the given rowOffset.
+	 * The returned page includes the rowid of its last row. Does not work for tables that have been created WITHOUT
+	 * ROWID.
+	 */
+	public static KeysetPage importPage(
+			String filePath,
+			String password,
+			String tableName,
+			boolean filterRowsByJobId,
+			String jobId,
+			Object lastRowId,
+			int rowOffset,
+			int rowLimit,
+			List<ColumnBlueprint> columnBlueprints) {
+		SqLiteDatabase database = new SqLiteDatabase(filePath);
+
+		String dataQuery = "SELECT rowid AS " + ROW_ID_ALIAS + ", * FROM '" + tableName + "'";
+		List<Object> parameters = new ArrayList<>();
+		List<String> conditions = new ArrayList<>();
+
+		boolean applyFilter = filterRowsByJobId && jobId != null;
+		if (applyFilter) {
+			conditions.add("job_id = ?");
+			parameters.add(jobId);
+		}
+
+		boolean isSeeking = lastRowId != null;
+		if (isSeeking) {
+			conditions.add("rowid > ?");
+			parameters.add(lastRowId);
+		}
+
+		if (!conditions.isEmpty()) {
+			dataQuery += " WHERE " + String.join(" AND ", conditions);
+		}
+
+		dataQuery += " ORDER BY rowid LIMIT ?";
+		parameters.add(rowLimit);
+		if (!isSeeking) {
+			dataQuery += " OFFSET ?";
+			parameters.add(rowOffset);
+		}
+		dataQuery += ";";
+
+		List<List<Object>> data = new ArrayList<>();
+		Object[] lastKey = { null };
+		ResultSetProcessor processor = (ResultSet resultSet) -> {
+			while (resultSet.next()) {
+				List<Object> rowData = new ArrayList<>();
+				for (ColumnBlueprint columnBlueprint : columnBlueprints) {
+					Object entry = resultSet.getObject(columnBlueprint.getName());
+					rowData.add(entry);
+				}
+				data.add(rowData);
+				lastKey[0] = resultSet.getLong(ROW_ID_ALIAS);
+			}
+		};
+		database.executeAndProcess(dataQuery, parameters, processor);
+
+		TableData tableData = new TableData(columnBlueprints, data);
+		return new KeysetPage(tableData, lastKey[0]);
+	}
+
 	public static List<ColumnBlueprint> readTableStructure(String filePath, String password, String tableName) {
 		SqLiteDatabase database = new SqLiteDatabase(filePath);
 		String structureQuery = "PRAGMA table_info('" + tableName + "');";
@@ -269,10 +419,6 @@ public final class SqLiteImporter extends AbstractImporter {
 			offset = rowOffset;
 		}
 
-		//if OFFSET is not efficient enough, also see
-		//http://stackoverflow.com/questions/14468586/efficient-paging-in-sqlite-with-millions-of-records
-		dataQuery += " LIMIT " + rowLimit + " OFFSET " + offset + ";";
-
 		List<List<Object>> data = new ArrayList<>();
 		ResultSetProcessor processor = (ResultSet resultSet) -> {
 			while (resultSet.next()) {
@@ -284,7 +430,20 @@ public final class SqLiteImporter extends AbstractImporter {
 				data.add(rowData);
 			}
 		};
-		database.executeAndProcess(dataQuery, processor);
+
+		database.hold();
+		try {
+			//use the row order of the keyset pagination (see importPage)
+			dataQuery += createRowIdOrderClause(database, tableName);
+
+			//if OFFSET is not efficient enough, also see
+			//http://stackoverflow.com/questions/14468586/efficient-paging-in-sqlite-with-millions-of-records
+			dataQuery += " LIMIT " + rowLimit + " OFFSET " + offset + ";";
+
+			database.executeAndProcess(dataQuery, processor);
+		} finally {
+			database.release();
+		}
 
 		if (data.isEmpty()) {
 			String message = "Could not find any rows";
@@ -363,8 +522,36 @@ public final class SqLiteImporter extends AbstractImporter {
 			dataQuery += " WHERE job_id = '" + jobId + "'";
 		}
 
-		dataQuery += " LIMIT 1 OFFSET " + rowIndex + ";";
-		return readRow(table, database, dataQuery);
+		database.hold();
+		try {
+			dataQuery += createRowIdOrderClause(database, tableName);
+			dataQuery += " LIMIT 1 OFFSET " + rowIndex + ";";
+			return readRow(table, database, dataQuery);
+		} finally {
+			database.release();
+		}
+	}
+
+	/**
+	 * Returns an ORDER BY clause for the rowid of the given table, so that rows that are read with OFFSET have the same
+	 * order as the pages of the keyset pagination (see importPage). Returns an empty string for tables that have been
+	 * created WITHOUT ROWID.
+	 */
+	private static String createRowIdOrderClause(SqLiteDatabase database, String tableName) {
+		String query = "SELECT sql FROM sqlite_master WHERE type = 'table' AND name = ?;";
+		boolean[] isWithoutRowId = { false };
+		ResultSetProcessor processor = (ResultSet resultSet) -> {
+			if (resultSet.next()) {
+				String createStatement = resultSet.getString(1);
+				isWithoutRowId[0] = createStatement != null
+						&& createStatement.toUpperCase().replaceAll("\\s+", " ").contains("WITHOUT ROWID");
+			}
+		};
+		database.executeAndProcess(query, Arrays.asList(tableName), processor);
+		if (isWithoutRowId[0]) {
+			return "";
+		}
+		return " ORDER BY rowid";
 	}
 
 	public static Row readRowWithCustomQuery(
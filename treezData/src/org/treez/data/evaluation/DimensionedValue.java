@@ -0,0 +1,580 @@
+package org.treez.data.evaluation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A scalar, vector or matrix of double values with a physical dimension. The values are stored in SI base units and
+ * the dimension is given by the exponents of the base units (see Units.DIMENSION_NAMES), e.g. [1, 0, -1, 0, 0] for a
+ * velocity. Instances are immutable. The operations follow the semantics of Octave and of the DimensionedVariable class
+ * of the Octave units library that has formerly been used for the evaluation of variable definitions.
+ */
+public final class DimensionedValue {
+
+	//#region ATTRIBUTES
+
+	private static final double EXPONENT_TOLERANCE = 1e-10;
+
+	private static final int MAX_EXPONENT_DENOMINATOR = 100;
+
+	/**
+	 * The values in row major order
+	 */
+	private final double[] values;
+
+	private final int rowCount;
+
+	private final int columnCount;
+
+	private final double[] exponents;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	private DimensionedValue(double[] values, int rowCount, int columnCount, double[] exponents) {
+		this.values = values;
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
+		this.exponents = exponents;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Creates a dimensionless scalar
+	 */
+	public static DimensionedValue scalar(double value) {
+		return new DimensionedValue(new double[] { value }, 1, 1, new double[Units.NUMBER_OF_DIMENSIONS]);
+	}
+
+	/**
+	 * Creates a scalar with the given exponents of the base units
+	 */
+	static DimensionedValue scalar(double value, double[] exponents) {
+		return new DimensionedValue(new double[] { value }, 1, 1, exponents);
+	}
+
+	/**
+	 * Creates the base unit with the given dimension index (value 1)
+	 */
+	static DimensionedValue baseUnit(int dimensionIndex) {
+		double[] baseExponents = new double[Units.NUMBER_OF_DIMENSIONS];
+		baseExponents[dimensionIndex] = 1;
+		return new DimensionedValue(new double[] { 1 }, 1, 1, baseExponents);
+	}
+
+	/**
+	 * Creates a row vector from start to end with the given step
+	 */
+	static DimensionedValue range(DimensionedValue start, DimensionedValue step, DimensionedValue end) {
+		start.requireScalar("range");
+		step.requireScalar("range");
+		end.requireScalar("range");
+		start.requireSameDimension(step, ":");
+		start.requireSameDimension(end, ":");
+
+		double startValue = start.values[0];
+		double stepValue = step.values[0];
+		double endValue = end.values[0];
+		double numberOfSteps = (endValue - startValue) / stepValue;
+		boolean isEmpty = stepValue == 0 || Double.isNaN(numberOfSteps) || numberOfSteps < 0;
+		int numberOfValues = isEmpty ? 0 : (int) Math.floor(numberOfSteps + EXPONENT_TOLERANCE) + 1;
+
+		double[] rangeValues = new double[numberOfValues];
+		for (int index = 0; index < numberOfValues; index++) {
+			rangeValues[index] = startValue + index * stepValue;
+		}
+		return new DimensionedValue(rangeValues, 1, numberOfValues, start.exponents);
+	}
+
+	/**
+	 * Concatenates the given values horizontally ([a, b]). Empty values are ignored.
+	 */
+	static DimensionedValue concatenateHorizontally(List<DimensionedValue> elements) {
+		DimensionedValue first = getFirstNonEmpty(elements);
+		if (first == null) {
+			return createEmpty();
+		}
+
+		int resultColumnCount = 0;
+		for (DimensionedValue element : elements) {
+			if (!element.isEmpty()) {
+				first.requireSameDimension(element, "horizontal concatenation");
+				if (element.rowCount != first.rowCount) {
+					String message = "horizontal dimensions mismatch (" + first.getSizeString() + " vs "
+							+ element.getSizeString() + ")";
+					throw new IllegalArgumentException(message);
+				}
+				resultColumnCount += element.columnCount;
+			}
+		}
+
+		double[] resultValues = new double[first.rowCount * resultColumnCount];
+		int columnOffset = 0;
+		for (DimensionedValue element : elements) {
+			if (!element.isEmpty()) {
+				for (int rowIndex = 0; rowIndex < element.rowCount; rowIndex++) {
+					System.arraycopy(element.values, rowIndex * element.columnCount, resultValues,
+							rowIndex * resultColumnCount + columnOffset, element.columnCount);
+				}
+				columnOffset += element.columnCount;
+			}
+		}
+		return new DimensionedValue(resultValues, first.rowCount, resultColumnCount, first.exponents);
+	}
+
+	/**
+	 * Concatenates the given values vertically ([a; b]). Empty values are ignored.
+	 */
+	static DimensionedValue concatenateVertically(List<DimensionedValue> elements) {
+		DimensionedValue first = getFirstNonEmpty(elements);
+		if (first == null) {
+			return createEmpty();
+		}
+
+		int resultRowCount = 0;
+		for (DimensionedValue element : elements) {
+			if (!element.isEmpty()) {
+				first.requireSameDimension(element, "vertical concatenation");
+				if (element.columnCount != first.columnCount) {
+					String message = "vertical dimensions mismatch (" + first.getSizeString() + " vs "
+							+ element.getSizeString() + ")";
+					throw new IllegalArgumentException(message);
+				}
+				resultRowCount += element.rowCount;
+			}
+		}
+
+		double[] resultValues = new double[resultRowCount * first.columnCount];
+		int valueOffset = 0;
+		for (DimensionedValue element : elements) {
+			System.arraycopy(element.values, 0, resultValues, valueOffset, element.values.length);
+			valueOffset += element.values.length;
+		}
+		return new DimensionedValue(resultValues, resultRowCount, first.columnCount, first.exponents);
+	}
+
+	private static DimensionedValue getFirstNonEmpty(List<DimensionedValue> elements) {
+		for (DimensionedValue element : elements) {
+			if (!element.isEmpty()) {
+				return element;
+			}
+		}
+		return null;
+	}
+
+	private static DimensionedValue createEmpty() {
+		return new DimensionedValue(new double[0], 0, 0, new double[Units.NUMBER_OF_DIMENSIONS]);
+	}
+
+	public DimensionedValue plus(DimensionedValue other) {
+		requireSameDimension(other, "+");
+		return combine(other, "+", exponents, (first, second) -> first + second);
+	}
+
+	public DimensionedValue minus(DimensionedValue other) {
+		requireSameDimension(other, "-");
+		return combine(other, "-", exponents, (first, second) -> first - second);
+	}
+
+	/**
+	 * Matrix multiplication (*); element wise if one of the factors is a scalar
+	 */
+	public DimensionedValue times(DimensionedValue other) {
+		if (isScalar() || other.isScalar()) {
+			return elementTimes(other);
+		}
+		if (columnCount != other.rowCount) {
+			throw createNonconformantException("*", other);
+		}
+
+		double[] resultValues = new double[rowCount * other.columnCount];
+		for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+			for (int columnIndex = 0; columnIndex < other.columnCount; columnIndex++) {
+				double sum = 0;
+				for (int index = 0; index < columnCount; index++) {
+					sum += values[rowIndex * columnCount + index] * other.values[index * other.columnCount + columnIndex];
+				}
+				resultValues[rowIndex * other.columnCount + columnIndex] = sum;
+			}
+		}
+		return new DimensionedValue(resultValues, rowCount, other.columnCount, addExponents(other, 1));
+	}
+
+	/**
+	 * Element wise multiplication (.*)
+	 */
+	public DimensionedValue elementTimes(DimensionedValue other) {
+		return combine(other, ".*", addExponents(other, 1), (first, second) -> first * second);
+	}
+
+	/**
+	 * Right division (/); only supported for scalar divisors
+	 */
+	public DimensionedValue divide(DimensionedValue other) {
+		if (!other.isScalar()) {
+			String message = "operator /: the division by a matrix is not supported; use ./ for element wise division";
+			throw new IllegalArgumentException(message);
+		}
+		return elementDivide(other);
+	}
+
+	/**
+	 * Element wise division (./)
+	 */
+	public DimensionedValue elementDivide(DimensionedValue other) {
+		return combine(other, "./", addExponents(other, -1), (first, second) -> first / second);
+	}
+
+	/**
+	 * Matrix power (^); supported for scalars and for square matrices with non-negative integer exponents
+	 */
+	public DimensionedValue power(DimensionedValue exponent) {
+		if (isScalar() && exponent.isScalar()) {
+			return elementPower(exponent);
+		}
+
+		exponent.requireDimensionless("^");
+		double exponentValue = exponent.isScalar() ? exponent.values[0] : Double.NaN;
+		boolean isIntegerPower = exponentValue >= 0 && exponentValue == Math.rint(exponentValue);
+		if (rowCount != columnCount || !isIntegerPower) {
+			String message = "operator ^: only scalars and square matrices with non-negative integer exponents are "
+					+ "supported; use .^ for element wise power";
+			throw new IllegalArgumentException(message);
+		}
+
+		DimensionedValue result = identity(rowCount);
+		for (int index = 0; index < (int) exponentValue; index++) {
+			result = result.times(this);
+		}
+		return result;
+	}
+
+	private static DimensionedValue identity(int size) {
+		double[] identityValues = new double[size * size];
+		for (int index = 0; index < size; index++) {
+			identityValues[index * size + index] = 1;
+		}
+		return new DimensionedValue(identityValues, size, size, new double[Units.NUMBER_OF_DIMENSIONS]);
+	}
+
+	/**
+	 * Element wise power (.^). The exponent has to be dimensionless and it has to be a scalar if this value has a unit.
+	 */
+	public DimensionedValue elementPower(DimensionedValue exponent) {
+		exponent.requireDimensionless(".^");
+		double[] resultExponents = exponents;
+		if (!isDimensionless()) {
+			if (!exponent.isScalar()) {
+				String message = "operator .^: a value with a unit can only be raised to a scalar power";
+				throw new IllegalArgumentException(message);
+			}
+			resultExponents = scaleExponents(exponent.values[0]);
+		}
+		return combine(exponent, ".^", resultExponents, Math::pow);
+	}
+
+	public DimensionedValue negate() {
+		return map(exponents, (value) -> -value);
+	}
+
+	public DimensionedValue transpose() {
+		double[] resultValues = new double[values.length];
+		for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+			for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+				resultValues[columnIndex * rowCount + rowIndex] = values[rowIndex * columnCount + columnIndex];
+			}
+		}
+		return new DimensionedValue(resultValues, columnCount, rowCount, exponents);
+	}
+
+	public DimensionedValue sqrt() {
+		return map(scaleExponents(0.5), Math::sqrt);
+	}
+
+	/**
+	 * Applies the given function to all values; the unit is kept
+	 */
+	DimensionedValue map(DoubleUnaryOperator function) {
+		return map(exponents, function);
+	}
+
+	/**
+	 * Applies the given function to all values; the value has to be dimensionless
+	 */
+	DimensionedValue mapDimensionless(String functionName, DoubleUnaryOperator function) {
+		requireDimensionless(functionName);
+		return map(exponents, function);
+	}
+
+	/**
+	 * Returns a dimensionless value with the same (SI) values
+	 */
+	DimensionedValue withoutUnit() {
+		return new DimensionedValue(values, rowCount, columnCount, new double[Units.NUMBER_OF_DIMENSIONS]);
+	}
+
+	/**
+	 * Reduces vectors to a scalar and matrices to a row vector (column wise), like the corresponding Octave functions
+	 */
+	DimensionedValue reduce(double[] resultExponents, Reduction reduction) {
+		boolean isVector = rowCount == 1 || columnCount == 1;
+		if (isVector) {
+			return new DimensionedValue(new double[] { reduction.reduce(values) }, 1, 1, resultExponents);
+		}
+
+		double[] resultValues = new double[columnCount];
+		double[] columnValues = new double[rowCount];
+		for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+			for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+				columnValues[rowIndex] = values[rowIndex * columnCount + columnIndex];
+			}
+			resultValues[columnIndex] = reduction.reduce(columnValues);
+		}
+		return new DimensionedValue(resultValues, 1, columnCount, resultExponents);
+	}
+
+	/**
+	 * Combines this value element wise with the given value of the same size (a scalar is expanded to the size of the
+	 * other value)
+	 */
+	DimensionedValue combine(
+			DimensionedValue other,
+			String operator,
+			double[] resultExponents,
+			DoubleBinaryOperator operation) {
+		if (other.isScalar()) {
+			double otherValue = other.values[0];
+			return map(resultExponents, (value) -> operation.applyAsDouble(value, otherValue));
+		}
+		if (isScalar()) {
+			double value = values[0];
+			return other.map(resultExponents, (otherValue) -> operation.applyAsDouble(value, otherValue));
+		}
+		if (rowCount != other.rowCount || columnCount != other.columnCount) {
+			throw createNonconformantException(operator, other);
+		}
+
+		double[] resultValues = new double[values.length];
+		for (int index = 0; index < values.length; index++) {
+			resultValues[index] = operation.applyAsDouble(values[index], other.values[index]);
+		}
+		return new DimensionedValue(resultValues, rowCount, columnCount, resultExponents);
+	}
+
+	private DimensionedValue map(double[] resultExponents, DoubleUnaryOperator function) {
+		double[] resultValues = new double[values.length];
+		for (int index = 0; index < values.length; index++) {
+			resultValues[index] = function.applyAsDouble(values[index]);
+		}
+		return new DimensionedValue(resultValues, rowCount, columnCount, resultExponents);
+	}
+
+	/**
+	 * Returns the element with the given (one based) linear index. As in Octave, the linear index counts column wise.
+	 */
+	DimensionedValue getElement(int linearIndex) {
+		return new DimensionedValue(new double[] { getLinearValue(linearIndex) }, 1, 1, exponents);
+	}
+
+	/**
+	 * Returns the elements with the given (one based) linear indices, e.g. for x(2:end). As in Octave, the result of
+	 * indexing a vector with a vector has the orientation of the indexed vector; otherwise the result has the size of
+	 * the indices.
+	 */
+	DimensionedValue getElements(DimensionedValue linearIndices) {
+		linearIndices.requireDimensionless("index");
+		boolean isVectorIndexing = (rowCount == 1 || columnCount == 1)
+				&& (linearIndices.rowCount == 1 || linearIndices.columnCount == 1);
+		int resultRowCount = linearIndices.rowCount;
+		int resultColumnCount = linearIndices.columnCount;
+		if (isVectorIndexing) {
+			int numberOfIndices = linearIndices.values.length;
+			resultRowCount = rowCount == 1 ? 1 : numberOfIndices;
+			resultColumnCount = rowCount == 1 ? numberOfIndices : 1;
+		}
+
+		double[] resultValues = new double[linearIndices.values.length];
+		for (int index = 0; index < resultValues.length; index++) {
+			//the indices are taken and stored column wise
+			int rowIndex = index % linearIndices.rowCount;
+			int columnIndex = index / linearIndices.rowCount;
+			double linearIndex = linearIndices.values[rowIndex * linearIndices.columnCount + columnIndex];
+			if (linearIndex != Math.rint(linearIndex)) {
+				throw new IllegalArgumentException("index (" + linearIndex + "): subscripts must be integers");
+			}
+			int resultRowIndex = index % resultRowCount;
+			int resultColumnIndex = index / resultRowCount;
+			resultValues[resultRowIndex * resultColumnCount + resultColumnIndex] = getLinearValue((int) linearIndex);
+		}
+		return new DimensionedValue(resultValues, resultRowCount, resultColumnCount, exponents);
+	}
+
+	private double getLinearValue(int linearIndex) {
+		if (linearIndex < 1 || linearIndex > values.length) {
+			String message = "index (" + linearIndex + "): out of bound " + values.length;
+			throw new IllegalArgumentException(message);
+		}
+		int zeroBasedIndex = linearIndex - 1;
+		int rowIndex = zeroBasedIndex % rowCount;
+		int columnIndex = zeroBasedIndex / rowCount;
+		return values[rowIndex * columnCount + columnIndex];
+	}
+
+	double[] addExponents(DimensionedValue other, double factor) {
+		double[] resultExponents = new double[exponents.length];
+		for (int index = 0; index < exponents.length; index++) {
+			resultExponents[index] = exponents[index] + factor * other.exponents[index];
+		}
+		return resultExponents;
+	}
+
+	double[] scaleExponents(double factor) {
+		double[] resultExponents = new double[exponents.length];
+		for (int index = 0; index < exponents.length; index++) {
+			resultExponents[index] = exponents[index] * factor;
+		}
+		return resultExponents;
+	}
+
+	void requireScalar(String operator) {
+		if (!isScalar()) {
+			String message = operator + ": a scalar is required but the value is " + getSizeString();
+			throw new IllegalArgumentException(message);
+		}
+	}
+
+	void requireDimensionless(String operator) {
+		if (!isDimensionless()) {
+			String message = operator + ": the argument has to be dimensionless but its unit is " + getUnitString();
+			throw new IllegalArgumentException(message);
+		}
+	}
+
+	void requireSameDimension(DimensionedValue other, String operator) {
+		if (!hasSameDimension(other)) {
+			String message = operator + ": the units " + getUnitString() + " and " + other.getUnitString()
+					+ " are not compatible";
+			throw new IllegalArgumentException(message);
+		}
+	}
+
+	private IllegalArgumentException createNonconformantException(String operator, DimensionedValue other) {
+		String message = "operator " + operator + ": nonconformant arguments (op1 is " + getSizeString() + ", op2 is "
+				+ other.getSizeString() + ")";
+		return new IllegalArgumentException(message);
+	}
+
+	boolean hasSameDimension(DimensionedValue other) {
+		for (int index = 0; index < exponents.length; index++) {
+			if (Math.abs(exponents[index] - other.exponents[index]) > EXPONENT_TOLERANCE) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the unit in the format of the Octave units library, e.g. "[m^1][s^-2]" or "[m^(1/2)]". Returns an empty
+	 * string for dimensionless values.
+	 */
+	public String getUnitString() {
+		StringBuilder unitString = new StringBuilder();
+		for (int index = 0; index < exponents.length; index++) {
+			double exponent = exponents[index];
+			if (Math.abs(exponent) > EXPONENT_TOLERANCE) {
+				unitString.append("[").append(Units.DIMENSION_NAMES[index]).append("^");
+				unitString.append(formatExponent(exponent)).append("]");
+			}
+		}
+		return unitString.toString();
+	}
+
+	private static String formatExponent(double exponent) {
+		for (int denominator = 1; denominator <= MAX_EXPONENT_DENOMINATOR; denominator++) {
+			double numerator = exponent * denominator;
+			long roundedNumerator = Math.round(numerator);
+			if (Math.abs(numerator - roundedNumerator) < EXPONENT_TOLERANCE * denominator) {
+				if (denominator == 1) {
+					return Long.toString(roundedNumerator);
+				}
+				return "(" + roundedNumerator + "/" + denominator + ")";
+			}
+		}
+		return Double.toString(exponent);
+	}
+
+	private String getSizeString() {
+		return rowCount + "x" + columnCount;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(values) + getUnitString();
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	public boolean isScalar() {
+		return values.length == 1;
+	}
+
+	public boolean isEmpty() {
+		return values.length == 0;
+	}
+
+	public boolean isDimensionless() {
+		for (double exponent : exponents) {
+			if (Math.abs(exponent) > EXPONENT_TOLERANCE) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	/**
+	 * Returns the (SI) value with the given zero based row and column index
+	 */
+	public double getValue(int rowIndex, int columnIndex) {
+		return values[rowIndex * columnCount + columnIndex];
+	}
+
+	int getNumberOfValues() {
+		return values.length;
+	}
+
+	double[] getExponents() {
+		return exponents;
+	}
+
+	//#end region
+
+	//#region REDUCTION
+
+	/**
+	 * Reduces an array of values to a single value
+	 */
+	@FunctionalInterface
+	interface Reduction {
+
+		double reduce(double[] values);
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,618 @@
+package org.treez.data.evaluation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates expressions with units of measure in the syntax of Octave, e.g. "5*u.mm", "[1 2 3]*u.s", "0:0.1:1" or
+ * "sqrt(a^2 + b^2)". Units are given as fields of the units struct "u" (see Units). The values of evaluated variables
+ * are kept, so that later expressions can refer to them.
+ * <p>
+ * Supported are numbers, the constants pi, e, Inf, NaN and eps, vectors and matrices ([1, 2; 3, 4] or [1 2; 3 4]),
+ * ranges, the operators + - * / ^ .* ./ .^ ' .', indexing with linear indices (x(2), x(2:end), (1:3)(2)) and the
+ * functions sqrt, abs, exp, log, log10, sin, cos, tan, asin, acos, atan, floor, ceil, round, sign, sum, mean, max, min,
+ * length, numel and u2num.
+ * Operations with values of incompatible units throw an IllegalArgumentException.
+ */
+public class ExpressionEvaluator {
+
+	//#region ATTRIBUTES
+
+	private static final String UNITS_STRUCT_NAME = "u";
+
+	private static final String END_KEYWORD = "end";
+
+	private static final Set<String> FUNCTION_NAMES = new HashSet<>(Arrays.asList("sqrt", "abs", "exp", "log", "log10",
+			"sin", "cos", "tan", "asin", "acos", "atan", "floor", "ceil", "round", "sign", "sum", "mean", "max", "min",
+			"length", "numel", "u2num"));
+
+	private static final Map<String, DimensionedValue> CONSTANTS = createConstants();
+
+	private final Map<String, DimensionedValue> variables = new HashMap<>();
+
+	//#end region
+
+	//#region METHODS
+
+	private static Map<String, DimensionedValue> createConstants() {
+		Map<String, DimensionedValue> constants = new HashMap<>();
+		constants.put("pi", DimensionedValue.scalar(Math.PI));
+		constants.put("e", DimensionedValue.scalar(Math.E));
+		constants.put("Inf", DimensionedValue.scalar(Double.POSITIVE_INFINITY));
+		constants.put("inf", DimensionedValue.scalar(Double.POSITIVE_INFINITY));
+		constants.put("NaN", DimensionedValue.scalar(Double.NaN));
+		constants.put("nan", DimensionedValue.scalar(Double.NaN));
+		constants.put("eps", DimensionedValue.scalar(Math.ulp(1.0)));
+		return constants;
+	}
+
+	/**
+	 * Evaluates the given expression
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the expression can not be evaluated
+	 */
+	public DimensionedValue evaluate(String expression) {
+		List<Token> tokens = tokenize(expression);
+		Parser parser = new Parser(tokens);
+		return parser.parse();
+	}
+
+	/**
+	 * Evaluates the given expression and assigns the result to the variable with the given name. The variable is not
+	 * changed if the evaluation fails.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the expression can not be evaluated
+	 */
+	public DimensionedValue assign(String variableName, String expression) {
+		DimensionedValue value = evaluate(expression);
+		variables.put(variableName, value);
+		return value;
+	}
+
+	/**
+	 * Removes all variables
+	 */
+	public void clearVariables() {
+		variables.clear();
+	}
+
+	//#end region
+
+	//#region TOKENIZER
+
+	private enum TokenType {
+		NUMBER,
+		IDENTIFIER,
+		OPERATOR,
+		END
+	}
+
+	private static class Token {
+
+		final TokenType type;
+
+		final String text;
+
+		final int position;
+
+		Token(TokenType type, String text, int position) {
+			this.type = type;
+			this.text = text;
+			this.position = position;
+		}
+
+		boolean is(String operator) {
+			return type == TokenType.OPERATOR && text.equals(operator);
+		}
+
+		boolean endsValue() {
+			return type == TokenType.NUMBER
+					|| type == TokenType.IDENTIFIER
+					|| is(")")
+					|| is("]")
+					|| is("'")
+					|| is(".'");
+		}
+	}
+
+	/**
+	 * Splits the expression into tokens. Inside of matrix brackets, white space that separates two elements (e.g. in
+	 * "[1 -2]" but not in "[1 - 2]") is converted to a comma.
+	 */
+	@SuppressWarnings({ "checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity" })
+	private static List<Token> tokenize(String expression) {
+		List<Token> tokens = new ArrayList<>();
+		Deque<Character> brackets = new ArrayDeque<>();
+		int length = expression.length();
+		int position = 0;
+		while (position < length) {
+			char character = expression.charAt(position);
+			Token previous = tokens.isEmpty() ? null : tokens.get(tokens.size() - 1);
+
+			if (Character.isWhitespace(character)) {
+				while (position < length && Character.isWhitespace(expression.charAt(position))) {
+					position++;
+				}
+				boolean isInMatrix = !brackets.isEmpty() && brackets.peek() == '[';
+				boolean separatesElements = isInMatrix
+						&& previous != null
+						&& previous.endsValue()
+						&& startsElement(expression, position);
+				if (separatesElements) {
+					tokens.add(new Token(TokenType.OPERATOR, ",", position));
+				}
+			} else if (Character.isDigit(character) || (character == '.' && isDigitAt(expression, position + 1))) {
+				int end = scanNumber(expression, position);
+				tokens.add(new Token(TokenType.NUMBER, expression.substring(position, end), position));
+				position = end;
+			} else if (Character.isLetter(character) || character == '_') {
+				int end = position + 1;
+				while (end < length
+						&& (Character.isLetterOrDigit(expression.charAt(end)) || expression.charAt(end) == '_')) {
+					end++;
+				}
+				tokens.add(new Token(TokenType.IDENTIFIER, expression.substring(position, end), position));
+				position = end;
+			} else {
+				String operator = scanOperator(expression, position, previous);
+				if (operator.equals("(") || operator.equals("[")) {
+					brackets.push(operator.charAt(0));
+				} else if (operator.equals(")") || operator.equals("]")) {
+					char expectedBracket = operator.equals(")") ? '(' : '[';
+					if (brackets.isEmpty() || brackets.pop() != expectedBracket) {
+						throw createParseException(expression, position);
+					}
+				}
+				tokens.add(new Token(TokenType.OPERATOR, operator, position));
+				position += operator.length();
+			}
+		}
+		if (!brackets.isEmpty()) {
+			throw new IllegalArgumentException("parse error: missing closing bracket in '" + expression + "'");
+		}
+		tokens.add(new Token(TokenType.END, "", length));
+		return tokens;
+	}
+
+	private static boolean isDigitAt(String expression, int position) {
+		return position < expression.length() && Character.isDigit(expression.charAt(position));
+	}
+
+	/**
+	 * Returns true if a matrix element starts at the given position. Plus and minus only start an element if they are
+	 * directly followed by their operand.
+	 */
+	private static boolean startsElement(String expression, int position) {
+		if (position >= expression.length()) {
+			return false;
+		}
+		char character = expression.charAt(position);
+		if (character == '+' || character == '-') {
+			return position + 1 < expression.length() && !Character.isWhitespace(expression.charAt(position + 1));
+		}
+		return Character.isLetterOrDigit(character)
+				|| character == '_'
+				|| (character == '.' && isDigitAt(expression, position + 1))
+				|| character == '('
+				|| character == '[';
+	}
+
+	/**
+	 * Returns the end of the number that starts at the given position. A dot that belongs to an element wise operator
+	 * (e.g. in "1./x") is not part of the number.
+	 */
+	private static int scanNumber(String expression, int start) {
+		int length = expression.length();
+		int position = start;
+		while (position < length && Character.isDigit(expression.charAt(position))) {
+			position++;
+		}
+		if (position < length && expression.charAt(position) == '.') {
+			boolean isElementWiseOperator = position + 1 < length && "*/^'".indexOf(expression.charAt(position + 1)) >= 0;
+			if (!isElementWiseOperator) {
+				position++;
+				while (position < length && Character.isDigit(expression.charAt(position))) {
+					position++;
+				}
+			}
+		}
+		if (position < length && (expression.charAt(position) == 'e' || expression.charAt(position) == 'E')) {
+			int exponentPosition = position + 1;
+			if (exponentPosition < length
+					&& (expression.charAt(exponentPosition) == '+' || expression.charAt(exponentPosition) == '-')) {
+				exponentPosition++;
+			}
+			if (isDigitAt(expression, exponentPosition)) {
+				position = exponentPosition;
+				while (position < length && Character.isDigit(expression.charAt(position))) {
+					position++;
+				}
+			}
+		}
+		return position;
+	}
+
+	private static String scanOperator(String expression, int position, Token previous) {
+		char character = expression.charAt(position);
+		if (character == '.' && position + 1 < expression.length()) {
+			char nextCharacter = expression.charAt(position + 1);
+			if ("*/^'".indexOf(nextCharacter) >= 0) {
+				return "." + nextCharacter;
+			}
+		}
+		if (character == '\'') {
+			boolean isTranspose = previous != null && previous.endsValue();
+			if (!isTranspose) {
+				throw new IllegalArgumentException("parse error: strings are not supported in '" + expression + "'");
+			}
+			return "'";
+		}
+		if ("+-*/^()[],;:.".indexOf(character) >= 0) {
+			return String.valueOf(character);
+		}
+		throw createParseException(expression, position);
+	}
+
+	private static IllegalArgumentException createParseException(String expression, int position) {
+		String message = "parse error near '" + expression.substring(position) + "' in '" + expression + "'";
+		return new IllegalArgumentException(message);
+	}
+
+	//#end region
+
+	//#region PARSER
+
+	/**
+	 * Recursive descent parser that evaluates the tokens while parsing. The precedence of the operators is the one of
+	 * Octave (from low to high): range, additive, multiplicative, unary, power, postfix transpose.
+	 */
+	private class Parser {
+
+		private final List<Token> tokens;
+
+		private int index = 0;
+
+		/**
+		 * The number of elements of the values that are currently indexed (the innermost one on top); the keyword
+		 * "end" refers to the top value
+		 */
+		private final Deque<Integer> indexedValueSizes = new ArrayDeque<>();
+
+		Parser(List<Token> tokens) {
+			this.tokens = tokens;
+		}
+
+		DimensionedValue parse() {
+			DimensionedValue value = parseRange();
+			while (accept(";")) {
+				//trailing semicolons are allowed
+			}
+			if (current().type != TokenType.END) {
+				throw createUnexpectedTokenException();
+			}
+			return value;
+		}
+
+		private Token current() {
+			return tokens.get(index);
+		}
+
+		private boolean accept(String operator) {
+			if (current().is(operator)) {
+				index++;
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(String operator) {
+			if (!accept(operator)) {
+				throw createUnexpectedTokenException();
+			}
+		}
+
+		private IllegalArgumentException createUnexpectedTokenException() {
+			Token token = current();
+			String text = token.type == TokenType.END ? "end of input" : "'" + token.text + "'";
+			return new IllegalArgumentException("parse error: unexpected " + text + " at position " + token.position);
+		}
+
+		private DimensionedValue parseRange() {
+			DimensionedValue start = parseAdditive();
+			if (!accept(":")) {
+				return start;
+			}
+			DimensionedValue second = parseAdditive();
+			if (accept(":")) {
+				DimensionedValue end = parseAdditive();
+				return DimensionedValue.range(start, second, end);
+			}
+			DimensionedValue step = DimensionedValue.scalar(1, start.getExponents());
+			return DimensionedValue.range(start, step, second);
+		}
+
+		private DimensionedValue parseAdditive() {
+			DimensionedValue value = parseMultiplicative();
+			while (true) {
+				if (accept("+")) {
+					value = value.plus(parseMultiplicative());
+				} else if (accept("-")) {
+					value = value.minus(parseMultiplicative());
+				} else {
+					return value;
+				}
+			}
+		}
+
+		private DimensionedValue parseMultiplicative() {
+			DimensionedValue value = parseUnary();
+			while (true) {
+				if (accept("*")) {
+					value = value.times(parseUnary());
+				} else if (accept("/")) {
+					value = value.divide(parseUnary());
+				} else if (accept(".*")) {
+					value = value.elementTimes(parseUnary());
+				} else if (accept("./")) {
+					value = value.elementDivide(parseUnary());
+				} else {
+					return value;
+				}
+			}
+		}
+
+		private DimensionedValue parseUnary() {
+			if (accept("-")) {
+				return parseUnary().negate();
+			}
+			if (accept("+")) {
+				return parseUnary();
+			}
+			return parsePower();
+		}
+
+		private DimensionedValue parsePower() {
+			DimensionedValue value = parsePostfix();
+			while (true) {
+				if (accept("^")) {
+					value = value.power(parsePowerOperand());
+				} else if (accept(".^")) {
+					value = value.elementPower(parsePowerOperand());
+				} else {
+					return value;
+				}
+			}
+		}
+
+		private DimensionedValue parsePowerOperand() {
+			if (accept("-")) {
+				return parsePowerOperand().negate();
+			}
+			if (accept("+")) {
+				return parsePowerOperand();
+			}
+			return parsePostfix();
+		}
+
+		/**
+		 * Parses transpose operators and (chained) indexing, e.g. "x'", "x(2)" or "(1:3)(2)"
+		 */
+		private DimensionedValue parsePostfix() {
+			DimensionedValue value = parsePrimary();
+			while (true) {
+				if (accept("'") || accept(".'")) {
+					value = value.transpose();
+				} else if (accept("(")) {
+					value = parseIndex(value);
+				} else {
+					return value;
+				}
+			}
+		}
+
+		/**
+		 * Parses the indices after an opening bracket and returns the indexed elements of the given value
+		 */
+		private DimensionedValue parseIndex(DimensionedValue value) {
+			indexedValueSizes.push(value.getNumberOfValues());
+			DimensionedValue indexValue;
+			try {
+				indexValue = parseRange();
+			} finally {
+				indexedValueSizes.pop();
+			}
+			expect(")");
+			if (indexValue.isScalar()) {
+				return getElement(value, indexValue);
+			}
+			return value.getElements(indexValue);
+		}
+
+		private DimensionedValue parsePrimary() {
+			Token token = current();
+			switch (token.type) {
+			case NUMBER:
+				index++;
+				return DimensionedValue.scalar(Double.parseDouble(token.text));
+			case IDENTIFIER:
+				index++;
+				return parseIdentifier(token.text);
+			case OPERATOR:
+				if (accept("(")) {
+					DimensionedValue value = parseRange();
+					expect(")");
+					return value;
+				}
+				if (accept("[")) {
+					return parseMatrix();
+				}
+				throw createUnexpectedTokenException();
+			default:
+				throw createUnexpectedTokenException();
+			}
+		}
+
+		private DimensionedValue parseIdentifier(String name) {
+			if (name.equals(END_KEYWORD)) {
+				if (indexedValueSizes.isEmpty()) {
+					throw new IllegalArgumentException("parse error: '" + END_KEYWORD
+							+ "' can only be used inside of an index expression");
+				}
+				return DimensionedValue.scalar(indexedValueSizes.peek());
+			}
+
+			if (name.equals(UNITS_STRUCT_NAME) && accept(".")) {
+				Token unitToken = current();
+				if (unitToken.type != TokenType.IDENTIFIER) {
+					throw createUnexpectedTokenException();
+				}
+				index++;
+				DimensionedValue unit = Units.get(unitToken.text);
+				if (unit == null) {
+					throw new IllegalArgumentException("invalid use of undefined value: unknown unit 'u."
+							+ unitToken.text + "'");
+				}
+				return unit;
+			}
+
+			DimensionedValue variable = variables.get(name);
+			if (variable != null) {
+				return variable;
+			}
+
+			if (FUNCTION_NAMES.contains(name) && accept("(")) {
+				List<DimensionedValue> arguments = new ArrayList<>();
+				arguments.add(parseRange());
+				while (accept(",")) {
+					arguments.add(parseRange());
+				}
+				expect(")");
+				return callFunction(name, arguments);
+			}
+
+			DimensionedValue constant = CONSTANTS.get(name);
+			if (constant != null) {
+				return constant;
+			}
+
+			throw new IllegalArgumentException("'" + name + "' undefined");
+		}
+
+		private DimensionedValue getElement(DimensionedValue variable, DimensionedValue indexValue) {
+			indexValue.requireDimensionless("index");
+			double linearIndex = indexValue.getValue(0, 0);
+			if (linearIndex != Math.rint(linearIndex)) {
+				throw new IllegalArgumentException("index (" + linearIndex + "): subscripts must be integers");
+			}
+			return variable.getElement((int) linearIndex);
+		}
+
+		private DimensionedValue parseMatrix() {
+			List<DimensionedValue> rows = new ArrayList<>();
+			List<DimensionedValue> elements = new ArrayList<>();
+			while (!accept("]")) {
+				if (accept(";")) {
+					rows.add(DimensionedValue.concatenateHorizontally(elements));
+					elements = new ArrayList<>();
+				} else if (!accept(",")) {
+					elements.add(parseRange());
+				}
+			}
+			rows.add(DimensionedValue.concatenateHorizontally(elements));
+			return DimensionedValue.concatenateVertically(rows);
+		}
+
+	}
+
+	//#end region
+
+	//#region FUNCTIONS
+
+	@SuppressWarnings({ "checkstyle:cyclomaticcomplexity", "checkstyle:javancss" })
+	private static DimensionedValue callFunction(String name, List<DimensionedValue> arguments) {
+		boolean isBinaryExtremum = arguments.size() == 2 && (name.equals("max") || name.equals("min"));
+		if (isBinaryExtremum) {
+			DimensionedValue first = arguments.get(0);
+			DimensionedValue second = arguments.get(1);
+			first.requireSameDimension(second, name);
+			if (name.equals("max")) {
+				return first.combine(second, name, first.getExponents(), Math::max);
+			}
+			return first.combine(second, name, first.getExponents(), Math::min);
+		}
+		if (arguments.size() != 1) {
+			throw new IllegalArgumentException("Invalid call to " + name + ": wrong number of arguments");
+		}
+
+		DimensionedValue argument = arguments.get(0);
+		double[] exponents = argument.getExponents();
+		switch (name) {
+		case "sqrt":
+			return argument.sqrt();
+		case "abs":
+			return argument.map(Math::abs);
+		case "floor":
+			return argument.map(Math::floor);
+		case "ceil":
+			return argument.map(Math::ceil);
+		case "round":
+			return argument.map(ExpressionEvaluator::roundHalfAwayFromZero);
+		case "sign":
+			return argument.withoutUnit().map(Math::signum);
+		case "exp":
+			return argument.mapDimensionless(name, Math::exp);
+		case "log":
+			return argument.mapDimensionless(name, Math::log);
+		case "log10":
+			return argument.mapDimensionless(name, Math::log10);
+		case "sin":
+			return argument.mapDimensionless(name, Math::sin);
+		case "cos":
+			return argument.mapDimensionless(name, Math::cos);
+		case "tan":
+			return argument.mapDimensionless(name, Math::tan);
+		case "asin":
+			return argument.mapDimensionless(name, Math::asin);
+		case "acos":
+			return argument.mapDimensionless(name, Math::acos);
+		case "atan":
+			return argument.mapDimensionless(name, Math::atan);
+		case "u2num":
+			return argument.withoutUnit();
+		case "sum":
+			return argument.reduce(exponents, (values) -> Arrays.stream(values).sum());
+		case "mean":
+			return argument.reduce(exponents, (values) -> Arrays.stream(values).average().orElse(Double.NaN));
+		case "max":
+			return argument.reduce(exponents, (values) -> Arrays.stream(values).max().orElse(Double.NaN));
+		case "min":
+			return argument.reduce(exponents, (values) -> Arrays.stream(values).min().orElse(Double.NaN));
+		case "length":
+			int length = argument.isEmpty() ? 0 : Math.max(argument.getRowCount(), argument.getColumnCount());
+			return DimensionedValue.scalar(length);
+		case "numel":
+			return DimensionedValue.scalar(argument.getNumberOfValues());
+		default:
+			throw new IllegalArgumentException("'" + name + "' undefined");
+		}
+	}
+
+	/**
+	 * Rounds like Octave (halves are rounded away from zero)
+	 */
+	private static double roundHalfAwayFromZero(double value) {
+		return Math.signum(value) * Math.floor(Math.abs(value) + 0.5);
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,181 @@
+package org.treez.data.evaluation;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The units that are available in variable definitions as fields of the units struct "u", e.g. "5*u.mm". The units
+ * correspond to the units of the Octave units library (units.m) that has formerly been used for the evaluation.
+ */
+public final class Units {
+
+	//#region ATTRIBUTES
+
+	/**
+	 * The names of the base dimensions; the order is used for the exponents of a DimensionedValue
+	 */
+	public static final String[] DIMENSION_NAMES = { "m", "kg", "s", "coul", "K" };
+
+	public static final int NUMBER_OF_DIMENSIONS = DIMENSION_NAMES.length;
+
+	private static final Map<String, DimensionedValue> UNITS = Collections.unmodifiableMap(createUnits());
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	private Units() {
+		//utility class
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Returns the unit with the given name or null if it does not exist
+	 */
+	public static DimensionedValue get(String name) {
+		return UNITS.get(name);
+	}
+
+	@SuppressWarnings({ "checkstyle:javancss", "checkstyle:executablestatementcount" })
+	private static Map<String, DimensionedValue> createUnits() {
+		Map<String, DimensionedValue> units = new HashMap<>();
+		for (int dimensionIndex = 0; dimensionIndex < NUMBER_OF_DIMENSIONS; dimensionIndex++) {
+			units.put(DIMENSION_NAMES[dimensionIndex], DimensionedValue.baseUnit(dimensionIndex));
+		}
+
+		//length
+		scale(units, "km", 1e3, "m");
+		scale(units, "cm", 1e-2, "m");
+		scale(units, "mm", 1e-3, "m");
+		scale(units, "um", 1e-6, "m");
+		scale(units, "nm", 1e-9, "m");
+		scale(units, "ang", 1e-10, "m");
+		scale(units, "in", 2.54, "cm");
+		scale(units, "mil", 1e-3, "in");
+		scale(units, "ft", 12, "in");
+		scale(units, "yd", 3, "ft");
+		scale(units, "mi", 5280, "ft");
+		scale(units, "a0", .529e-10, "m");
+
+		//volume
+		units.put("cc", units.get("cm").power(DimensionedValue.scalar(3)));
+		scale(units, "L", 1000, "cc");
+		scale(units, "mL", 1, "cc");
+		scale(units, "floz", 29.5735297, "cc");
+		scale(units, "pint", 473.176475, "cc");
+		scale(units, "quart", 946.35295, "cc");
+		scale(units, "gal", 3.78541197, "L");
+
+		//mass
+		scale(units, "gm", 1e-3, "kg");
+		scale(units, "mg", 1e-3, "gm");
+		scale(units, "lb", 0.45359237, "kg");
+		scale(units, "oz", 1.0 / 16, "lb");
+		scale(units, "amu", 1.66e-27, "kg");
+
+		//time
+		scale(units, "ms", 1e-3, "s");
+		scale(units, "us", 1e-6, "s");
+		scale(units, "ns", 1e-9, "s");
+		scale(units, "ps", 1e-12, "s");
+		scale(units, "min", 60, "s");
+		scale(units, "hr", 60, "min");
+		scale(units, "day", 24, "hr");
+		scale(units, "yr", 365.242199, "day");
+
+		//frequency
+		units.put("Hz", DimensionedValue.scalar(1).divide(units.get("s")));
+		scale(units, "kHz", 1e3, "Hz");
+		scale(units, "MHz", 1e6, "Hz");
+		scale(units, "GHz", 1e9, "Hz");
+
+		//force
+		DimensionedValue squareSecond = units.get("s").power(DimensionedValue.scalar(2));
+		units.put("N", units.get("kg").times(units.get("m")).divide(squareSecond));
+		scale(units, "dyne", 1e-5, "N");
+		scale(units, "lbf", 4.44822, "N");
+
+		//energy
+		units.put("J", units.get("N").times(units.get("m")));
+		scale(units, "MJ", 1e6, "J");
+		scale(units, "kJ", 1e3, "J");
+		scale(units, "mJ", 1e-3, "J");
+		scale(units, "uJ", 1e-6, "J");
+		scale(units, "nJ", 1e-9, "J");
+		scale(units, "eV", 1.6022e-19, "J");
+		scale(units, "BTU", 1.0550559e3, "J");
+		scale(units, "kWh", 3.6e6, "J");
+		scale(units, "cal", 4.1868, "J");
+		scale(units, "kCal", 1e3, "cal");
+
+		//temperature
+		scale(units, "mK", 1e-3, "K");
+		scale(units, "uK", 1e-6, "K");
+		scale(units, "nK", 1e-9, "K");
+
+		//pressure
+		DimensionedValue squareMeter = units.get("m").power(DimensionedValue.scalar(2));
+		units.put("Pa", units.get("N").divide(squareMeter));
+		scale(units, "torr", 133.322, "Pa");
+		scale(units, "mtorr", 1e-3, "torr");
+		scale(units, "bar", 1e5, "Pa");
+		scale(units, "mbar", 1e-3, "bar");
+		scale(units, "atm", 1.013e5, "Pa");
+		scale(units, "psi", 6.895e3, "Pa");
+
+		//power
+		units.put("W", units.get("J").divide(units.get("s")));
+		scale(units, "MW", 1e6, "W");
+		scale(units, "kW", 1e3, "W");
+		scale(units, "mW", 1e-3, "W");
+		scale(units, "uW", 1e-6, "W");
+		scale(units, "nW", 1e-9, "W");
+		scale(units, "pW", 1e-12, "W");
+		scale(units, "hp", 745.69987, "W");
+
+		//charge
+		scale(units, "e", 1.6022e-19, "coul");
+
+		//voltage
+		units.put("V", units.get("J").divide(units.get("coul")));
+		scale(units, "kV", 1e3, "V");
+		scale(units, "mV", 1e-3, "V");
+		scale(units, "uV", 1e-6, "V");
+
+		//current
+		units.put("A", units.get("coul").divide(units.get("s")));
+		scale(units, "mA", 1e-3, "A");
+		scale(units, "uA", 1e-6, "A");
+		scale(units, "nA", 1e-9, "A");
+
+		//magnetic field
+		units.put("T", units.get("N").divide(units.get("A").times(units.get("m"))));
+		scale(units, "gauss", 1e-4, "T");
+
+		//fundamental constants
+		units.put("g", DimensionedValue.scalar(9.80665).times(units.get("m")).divide(squareSecond));
+		units.put("kB", DimensionedValue.scalar(1.38e-23).times(units.get("J")).divide(units.get("K")));
+		DimensionedValue stefanBoltzmannUnit = units
+				.get("W")
+				.divide(squareMeter.times(units.get("K").power(DimensionedValue.scalar(4))));
+		units.put("sigma_SB", DimensionedValue.scalar(5.670e-8).times(stefanBoltzmannUnit));
+		units.put("h", DimensionedValue.scalar(6.626e-34).times(units.get("J")).times(units.get("s")));
+		units.put("hbar", units.get("h").divide(DimensionedValue.scalar(2 * Math.PI)));
+		units.put("mu_B", DimensionedValue.scalar(9.274e-24).times(units.get("J")).divide(units.get("T")));
+		units.put("mu_N", DimensionedValue.scalar(5.0507866e-27).times(units.get("J")).divide(units.get("T")));
+		units.put("c", DimensionedValue.scalar(2.99792458e8).times(units.get("m")).divide(units.get("s")));
+
+		return units;
+	}
+
+	private static void scale(Map<String, DimensionedValue> units, String name, double factor, String unitName) {
+		units.put(name, DimensionedValue.scalar(factor).times(units.get(unitName)));
+	}
+
+	//#end region
+
+}
@@ -1,17 +1,17 @@
 package org.treez.data.evaluation;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
-import org.treez.core.Activator;
-import org.treez.core.octave.OctaveProcess;
-import org.treez.core.octave.OctaveProcessHandler;
-import org.treez.core.quantity.Quantity;
 
 /**
- * Evaluates variable definitions
+ * Evaluates variable definitions. The definitions are evaluated in process by an ExpressionEvaluator that supports the
+ * Octave syntax and the units of the Octave units library (e.g. "5*u.mm") that have formerly been used. Each evaluation
+ * uses its own scope that only contains the given previous definitions or the given scope of the VariableDefinition, so
+ * that variables of other definitions (e.g. of another study) are not visible.
  */
 public class VariableDefinitionEvaluator {
 
@@ -19,20 +19,6 @@ public class VariableDefinitionEvaluator {
 
 	//#region ATTRIBUTES
 
-	private static final String OCTAVE_PATH = "C:\\Octave\\Octave-3.8.1\\bin\\octave.exe --persist --interactive --quiet";
-
-	private static final String RELATIVE_OCTAVE_UNITS_PATH = "\\lib\\units_Rob_deCarvalho";
-
-	/**
-	 * Octave is used for the evaluations
-	 */
-	private static OctaveProcess octave = null;
-
-	/**
-	 * The current octave error text
-	 */
-	private String octaveError;
-
 	/**
 	 * Maps from unit to type
 	 */
@@ -43,10 +29,6 @@ public class VariableDefinitionEvaluator {
 	//#region CONSTRUCTORS
 
 	public VariableDefinitionEvaluator() {
-		if (VariableDefinitionEvaluator.octave == null) {
-			VariableDefinitionEvaluator.octave = createOctaveProcess();
-		}
-		this.octaveError = "";
 		defineTypeMap();
 	}
 
@@ -55,7 +37,7 @@ public class VariableDefinitionEvaluator {
 	//#region METHODS
 
 	/**
-	 * Defines the map that translates units into types Also see the Octave file units.m for the definition of the units
+	 * Defines the map that translates units into types. Also see Units for the definition of the units.
 	 */
 	private void defineTypeMap() {
 		typeMap = new HashMap<String, String>();
@@ -71,62 +53,47 @@ public class VariableDefinitionEvaluator {
 	}
 
 	/**
-	 * Creates the octave process
+	 * Evaluates a single variable definition that does not refer to other variables
 	 *
+	 * @param variableName
+	 * @param definitionString
 	 * @return
 	 */
-	private OctaveProcess createOctaveProcess() {
-
-		//create output and error handler
-		OctaveProcessHandler octaveHandler = new OctaveProcessHandler() {
-
-			@Override
-			public void handleOutput(String outputString) {
-				//raw octave result is not used here
-				/*
-				 * LOG.debug("*** Octave raw output:***********************\n"
-				 * + outputString +
-				 * "\n********************************************");
-				 */
-			}
-
-			@Override
-			public void handleError(String errorString) {
-				//throw error that will be cached by evaluateWithOctave
-				//to be able to show errors
-				octaveError = errorString;
-
-				/*
-				 * LOG.debug("*** Octave raw error:***********************\n"
-				 * + errorString +
-				 * "\n********************************************");
-				 */
-			}
-		};
-
-		//create octave process
-		OctaveProcess newOctaveProcess = new OctaveProcess(OCTAVE_PATH, octaveHandler);
-
-		//support calculation with units of measure
-		String workingDirectory = Activator.getAbsolutePathStatic();
-		String unitsPath = workingDirectory + RELATIVE_OCTAVE_UNITS_PATH;
-		newOctaveProcess.execute("cd " + unitsPath + ";");
-		newOctaveProcess.execute("u = units;");
-
-		//set number format
-		newOctaveProcess.execute("format short g");
+	public VariableDefinitionResult evaluate(String variableName, String definitionString) {
+		return evaluate(variableName, definitionString, new LinkedHashMap<>());
+	}
 
-		return newOctaveProcess;
+	/**
+	 * Evaluates a single variable definition. The definition can refer to the variables of the given previous
+	 * definitions (variable name => definition), which are evaluated in their order before. Previous definitions that
+	 * can not be evaluated are skipped.
+	 *
+	 * @param variableName
+	 * @param definitionString
+	 * @param previousDefinitions
+	 * @return
+	 */
+	public VariableDefinitionResult evaluate(
+			String variableName,
+			String definitionString,
+			Map<String, String> previousDefinitions) {
+		return evaluate(variableName, definitionString, createExpressionEvaluator(previousDefinitions));
 	}
 
 	/**
-	 * Evaluates a single variable definition
+	 * Evaluates a single variable definition in the given scope and assigns the result to the variable, so that the
+	 * definitions that are evaluated afterwards with the same scope can refer to it. The variable is not assigned if
+	 * the definition can not be evaluated.
 	 *
 	 * @param variableName
 	 * @param definitionString
+	 * @param scope
 	 * @return
 	 */
-	public VariableDefinitionResult evaluate(String variableName, String definitionString) {
+	public VariableDefinitionResult evaluate(
+			String variableName,
+			String definitionString,
+			ExpressionEvaluator scope) {
 
 		//LOG.debug("evaluating definition " + defintionString);
 		if (definitionString.isEmpty()) {
@@ -142,186 +109,125 @@ public class VariableDefinitionEvaluator {
 		} else {
 
 			//evaluate definition
-
-			//prepare definition for octave
-			String definition = preprocessForOctave(definitionString);
-
-			//try to evaluate the definition with octave
-			return evaluateWithOctave(variableName, definition);
+			return evaluateDefinition(scope, variableName, definitionString);
 		}
 	}
 
 	/**
-	 * Preprocess the definition entry for octave
+	 * Creates an expression evaluator whose scope contains the variables of the given definitions
 	 *
-	 * @param oldEntry
+	 * @param definitions
 	 * @return
 	 */
-	private static String preprocessForOctave(String oldEntry) {
-		String entry = oldEntry;
-		return entry;
+	private static ExpressionEvaluator createExpressionEvaluator(Map<String, String> definitions) {
+		ExpressionEvaluator expressionEvaluator = new ExpressionEvaluator();
+		for (Map.Entry<String, String> definition : definitions.entrySet()) {
+			String variableName = definition.getKey();
+			String definitionString = definition.getValue();
+			boolean isComplete = !variableName.isEmpty() && !definitionString.isEmpty();
+			if (isComplete) {
+				try {
+					expressionEvaluator.assign(variableName, definitionString);
+				} catch (IllegalArgumentException exception) {
+					LOG.debug("Skipping invalid definition of '" + variableName + "': " + exception.getMessage());
+				}
+			}
+		}
+		return expressionEvaluator;
 	}
 
 	/**
-	 * Try to evaluate the definition with octave
+	 * Evaluates the definition with the given expression evaluator and assigns the result to the variable
 	 *
+	 * @param expressionEvaluator
 	 * @param variableName
 	 * @param definition
 	 * @return
 	 */
-	private VariableDefinitionResult evaluateWithOctave(String variableName, String definition) {
+	private VariableDefinitionResult evaluateDefinition(
+			ExpressionEvaluator expressionEvaluator,
+			String variableName,
+			String definition) {
 
-		VariableDefinitionResult result;
-		Quantity resultQuantity = null;
-		String errorString = "";
-		String expression = variableName + " = " + definition;
+		LOG.debug("evaluating expression '" + variableName + " = " + definition + "'");
 
-		LOG.debug("evaluating expression '" + expression + "'");
-
-		resultQuantity = octave.evalQuantity(expression); //errors are written to octaveError, see octaveHandler
-		if (!octaveError.isEmpty()) {
-			errorString = octaveError;
-			octaveError = "";
-		}
-
-		//extract variable definition result from quantity
-		boolean evaluated = errorString.equals("");
-
-		if (evaluated) {
-			result = quantityToVariableDefinitonResult(resultQuantity);
-		} else {
-			result = new VariableDefinitionResult("NaN", "NaN", "NaN", errorString);
-		}
-		return result;
-	}
-
-	/**
-	 * Extracts value, unit and type from result
-	 *
-	 * @param result
-	 * @return
-	 */
-	private VariableDefinitionResult quantityToVariableDefinitonResult(Quantity result) {
-
-		String error = checkResult(result);
-		if (error.isEmpty()) {
-			String value = postprocessValue(result.getValue());
-			String unit = postprocessUnit(result.getUnit());
-			String type = getTypeFromUnit(unit);
-			return new VariableDefinitionResult(value, unit, type, "");
-		} else {
-			return new VariableDefinitionResult("NaN", "NaN", "unknown", error);
-		}
-	}
-
-	/**
-	 * Checks the result
-	 *
-	 * @param result
-	 * @return
-	 */
-	private static String checkResult(Quantity result) {
-
-		String value = result.getValue();
-		//check for matrices with dimension > 2
-		Boolean containsMultiDimensionalMatrix = value.contains("ans(");
-		if (containsMultiDimensionalMatrix) {
-			return "Result contains matrix with dimension > 2. This is not implemented here.";
+		DimensionedValue value;
+		try {
+			value = expressionEvaluator.assign(variableName, definition);
+		} catch (IllegalArgumentException exception) {
+			return new VariableDefinitionResult("NaN", "NaN", "NaN", exception.getMessage());
 		}
 
-		return "";
+		return createVariableDefinitionResult(value);
 	}
 
 	/**
-	 * Post processes the filePath string from octave
+	 * Creates the display string for the given value, e.g. "1.5" or "[1, 2; 3, 4]"
 	 *
 	 * @param value
 	 * @return
 	 */
-	private static String postprocessValue(String value) {
-		String newValue = value;
-
-		String octaveLineSeparator = "\n";
-		String lineSeparator = ";"; //an extra space is added automatically
-		String octaveValueSeparator = " ";
-		String valueSeparator = ","; //an extra space is added automatically
-
-		//write all lines into a single line, separated by lineSeparator
-		newValue = newValue.replace(octaveLineSeparator, lineSeparator);
-
-		Boolean isMatrix = newValue.contains(octaveValueSeparator);
-		if (isMatrix) {
-
-			//replace filePath separator '   ' => ', '
-			newValue = newValue.replace(octaveValueSeparator, valueSeparator);
-			//remove double filePath separators ', , ' => ', '
-			newValue = newValue.replaceAll(valueSeparator + "+", valueSeparator);
-
-			//create matrix string
-			String[] lines = newValue.split(lineSeparator);
-			newValue = createFormattedMatrixString(lines, lineSeparator, valueSeparator);
-
-			//add extra spaces after separators
-			newValue = newValue.replaceAll(valueSeparator, valueSeparator + " ");
-			newValue = newValue.replaceAll(lineSeparator, lineSeparator + " ");
-		} else {
-			newValue = formatValue(newValue);
+	private static String createValueString(DimensionedValue value) {
+		if (value.isScalar()) {
+			return formatValue(value.getValue(0, 0));
 		}
 
-		return newValue;
+		String lineSeparator = "; ";
+		String valueSeparator = ", ";
+		StringBuilder matrixString = new StringBuilder("[");
+		for (int rowIndex = 0; rowIndex < value.getRowCount(); rowIndex++) {
+			if (rowIndex > 0) {
+				matrixString.append(lineSeparator);
+			}
+			for (int columnIndex = 0; columnIndex < value.getColumnCount(); columnIndex++) {
+				if (columnIndex > 0) {
+					matrixString.append(valueSeparator);
+				}
+				matrixString.append(formatValue(value.getValue(rowIndex, columnIndex)));
+			}
+		}
+		matrixString.append("]");
+		return matrixString.toString();
 	}
 
 	/**
-	 * Creates a display string for a vector for a given array of values
+	 * Extracts value, unit and type from result
 	 *
-	 * @param lines
-	 * @param lineSeparator
-	 * @param valueSeparator
+	 * @param result
 	 * @return
 	 */
-	private static String createFormattedMatrixString(String[] lines, String lineSeparator, String valueSeparator) {
-		String matrixString = "[";
-		for (String line : lines) {
-			String[] values = line.split(valueSeparator);
-			for (String value : values) {
-				matrixString = matrixString + formatValue(value) + valueSeparator;
-			}
-			matrixString = matrixString.substring(0, matrixString.length() - valueSeparator.length());
-			matrixString = matrixString + lineSeparator;
-		}
-		matrixString = matrixString.substring(0, matrixString.length() - lineSeparator.length());
-		matrixString = matrixString + "]";
-
-		return matrixString;
+	private VariableDefinitionResult createVariableDefinitionResult(DimensionedValue result) {
+		String value = createValueString(result);
+		String unit = postprocessUnit(result.getUnitString());
+		String type = getTypeFromUnit(unit);
+		return new VariableDefinitionResult(value, unit, type, "");
 	}
 
 	/**
 	 * Formats a single number
 	 *
-	 * @param valueString
+	 * @param value
 	 * @return
 	 */
-	@SuppressWarnings("checkstyle:illegalcatch")
-	private static String formatValue(String valueString) {
-
-		try {
-			Double value = Double.parseDouble(valueString);
-			String result = String.format(Locale.US, "%g", value);
-			if (result.indexOf(".") > 0) {
-				result = result.replaceAll("0*$", "");
-				result = result.replaceAll("\\.$", "");
-				result = result.replaceAll("0*e", "e");
-			}
-			return result;
-		} catch (Exception e) {
-			LOG.warn("Could not parse '" + valueString + "' as Double.");
+	private static String formatValue(double value) {
+		if (Double.isNaN(value)) {
 			return "NaN";
 		}
-
+		if (Double.isInfinite(value)) {
+			return value > 0 ? "Inf" : "-Inf";
+		}
+		String result = String.format(Locale.US, "%g", value);
+		if (result.indexOf(".") > 0) {
+			result = result.replaceAll("0*$", "");
+			result = result.replaceAll("\\.$", "");
+			result = result.replaceAll("0*e", "e");
+			result = result.replace(".e", "e");
+		}
+		return result;
 	}
 
 	/**
-	 * Post processes the unit string from octave
+	 * Post processes the unit string of the evaluated value
 	 *
 	 * @param unit
 	 * @return
@@ -4,12 +4,14 @@ import java.util.HashMap;
 import java.util.List;
 
 import org.treez.core.data.row.Row;
+import org.treez.data.evaluation.ExpressionEvaluator;
 import org.treez.data.evaluation.VariableDefinitionEvaluator;
 import org.treez.data.evaluation.VariableDefinitionResult;
 import org.treez.data.variable.VariableDefinition;
 
 /**
- * Represents a table row and evaluates the variable definition that it contains
+ * Represents a table row and evaluates the variable definition that it contains. The rows are evaluated by the
+ * VariableDefinition, which passes the scope with the variables of the rows above (see evaluateDefinition).
  */
 
 public class VariableDefinitionRow extends Row {
@@ -59,14 +61,11 @@ public class VariableDefinitionRow extends Row {
 		if (!name.equals("")) {
 			checkName();
 		}
-
-		if (!definition.equals("")) {
-			evaluateDefinition();
-		}
 	}
 
 	/**
-	 * Copy constructor (creates a new variable name)
+	 * Copy constructor (creates a new variable name). The results of the definition are copied and not evaluated
+	 * again.
 	 */
 	public VariableDefinitionRow(VariableDefinitionRow variableDefinitionRow) {
 		super(variableDefinitionRow.table);
@@ -78,13 +77,16 @@ public class VariableDefinitionRow extends Row {
 		//set new variable name
 		String oldName = variableDefinitionRow.getEntryAsString("Name");
 		String newName = variableDefinition.createNewVariableName(oldName);
-		setEntry("Name", newName);
+		entryMap.put("Name", newName);
+		checkName();
 
-		//set and evaluate definition
-		setEntry("Definition", variableDefinitionRow.getEntry("Definition"));
-
-		//copy description
-		setEntry("Description", variableDefinitionRow.getEntry("Description"));
+		//copy definition, results and description
+		for (String header : table.getHeaders()) {
+			if (!header.equals("Name")) {
+				entryMap.put(header, variableDefinitionRow.getEntry(header));
+			}
+		}
+		definitionTooltip = variableDefinitionRow.definitionTooltip;
 	}
 
 	//#end region
@@ -112,8 +114,12 @@ public class VariableDefinitionRow extends Row {
 			String definitionHeader = headers.get(1);
 			boolean isDefinitionEntry = columnHeader.equals(definitionHeader);
 
+			//the rows below may refer to the variable of this row
+			if (isNameEntry || isDefinitionEntry) {
+				variableDefinition.evaluateDefinitions();
+			}
+
 			if (isDefinitionEntry) {
-				evaluateDefinition();
 
 				boolean createNewRow = isLastRow() && !isEmpty();
 				if (createNewRow) {
@@ -159,9 +165,12 @@ public class VariableDefinitionRow extends Row {
 	}
 
 	/**
-	 * Evaluates a definition and sets the filePath, unit and type entries
+	 * Evaluates the definition in the given scope and sets the value, unit and type entries. The scope contains the
+	 * variables that are defined in the rows above; the variable of this row is added to it.
+	 *
+	 * @param scope
 	 */
-	public void evaluateDefinition() {
+	public void evaluateDefinition(ExpressionEvaluator scope) {
 
 		//get variable name and definition
 		String name = getEntryAsString("Name");
@@ -169,7 +178,7 @@ public class VariableDefinitionRow extends Row {
 
 		//evaluate definition
 		VariableDefinitionEvaluator evaluator = variableDefinition.getEvaluator();
-		VariableDefinitionResult result = evaluator.evaluate(name, definition);
+		VariableDefinitionResult result = evaluator.evaluate(name, definition, scope);
 		String value = result.getValue();
 		String unit = result.getUnit();
 		String type = result.getType();
@@ -29,8 +29,6 @@ import org.treez.core.treeview.action.TreeViewerAction;
 import org.treez.data.cell.TreezTableNebulaLabelProvider;
 import org.treez.data.column.Column;
 import org.treez.data.column.Columns;
-import org.treez.data.database.mysql.MySqlImporter;
-import org.treez.data.database.sqlite.SqLiteImporter;
 import org.treez.data.table.nebula.nat.pageloader.DatabasePageResultLoader;
 
 public class Table extends AbstractTreezTable<Table> {
@@ -43,6 +41,7 @@ public class Table extends AbstractTreezTable<Table> {
 
 	public Table(String name) {
 		super(name);
+		enableColumnStore();
 	}
 
 	/**
@@ -50,6 +49,7 @@ public class Table extends AbstractTreezTable<Table> {
 	 */
 	private Table(Table tableToCopy) {
 		super(tableToCopy);
+		enableColumnStore();
 	}
 
 	//#end region
@@ -204,6 +204,9 @@ public class Table extends AbstractTreezTable<Table> {
 	@Override
 	public void reload() {
 		this.resetCache();
+		if (isLinkedToSource()) {
+			DatabasePageResultLoader.resetCache(getTableSource());
+		}
 		loadTableStructureIfLinkedToSource();
 		refresh();
 	}
@@ -218,15 +221,11 @@ public class Table extends AbstractTreezTable<Table> {
 		TableSource tableSource = this.getTableSource();
 		TableSourceType sourceType = tableSource.getSourceType();
 
-		if (sourceType.equals(TableSourceType.SQLITE)) {
-
-			deleteColumnsIfExist();
-			List<ColumnBlueprint> tableStructure = readTableStructureForSqLiteTable(tableSource);
-			createColumns(tableStructure);
-		} else if (sourceType.equals(TableSourceType.MYSQL)) {
-
+		boolean isDatabaseSource = sourceType.equals(TableSourceType.SQLITE)
+				|| sourceType.equals(TableSourceType.MYSQL);
+		if (isDatabaseSource) {
 			deleteColumnsIfExist();
-			List<ColumnBlueprint> tableStructure = readTableStructureForMySqlTable(tableSource);
+			List<ColumnBlueprint> tableStructure = DatabasePageResultLoader.getColumnBlueprints(tableSource);
 			createColumns(tableStructure);
 		} else {
 			throw new IllegalStateException("not yet implemented for current source type " + sourceType);
@@ -241,50 +240,6 @@ public class Table extends AbstractTreezTable<Table> {
 		}
 	}
 
-	private static List<ColumnBlueprint> readTableStructureForSqLiteTable(TableSource tableSource) {
-		String sqLiteFilePath = tableSource.getSourceFilePath();
-
-		String password = tableSource.getPassword();
-
-		Boolean isUsingCustomQuery = tableSource.isUsingCustomQuery();
-		if (isUsingCustomQuery) {
-			String customQuery = tableSource.getCustomQuery();
-			String jobId = tableSource.getJobId();
-			List<ColumnBlueprint> tableStructure = SqLiteImporter.readTableStructureWithCustomQuery(sqLiteFilePath,
-					password, customQuery, jobId);
-			return tableStructure;
-		} else {
-			String tableName = tableSource.getTableName();
-			List<ColumnBlueprint> tableStructure = SqLiteImporter.readTableStructure(sqLiteFilePath, password,
-					tableName);
-			return tableStructure;
-		}
-
-	}
-
-	private static List<ColumnBlueprint> readTableStructureForMySqlTable(TableSource tableSource) {
-		String host = tableSource.getHost();
-		String port = tableSource.getPort();
-		String schema = tableSource.getSchema();
-		String url = host + ":" + port + "/" + schema;
-
-		String user = tableSource.getUser();
-		String password = tableSource.getPassword();
-
-		Boolean isUsingCustomQuery = tableSource.isUsingCustomQuery();
-		if (isUsingCustomQuery) {
-			String customQuery = tableSource.getCustomQuery();
-			String jobId = tableSource.getJobId();
-			List<ColumnBlueprint> tableStructure = MySqlImporter.readTableStructureWithCustomQuery(url, user, password,
-					customQuery, jobId);
-			return tableStructure;
-		} else {
-			String tableName = tableSource.getTableName();
-			List<ColumnBlueprint> tableStructure = MySqlImporter.readTableStructure(url, user, password, tableName);
-			return tableStructure;
-		}
-	}
-
 	private void createColumns(List<ColumnBlueprint> columnBlueprints) {
 		Columns columns = createColumns("columns");
 		for (ColumnBlueprint columnBlueprint : columnBlueprints) {
@@ -292,71 +247,40 @@ public class Table extends AbstractTreezTable<Table> {
 		}
 	}
 
+	/**
+	 * Reads the row with the given index from the table source. The rows are read in cached blocks, see
+	 * DatabasePageResultLoader.getRowEntries. Returns an empty row if the row does not exist.
+	 */
 	private Row readRowFromTableSource(TableSource tableSource, int rowIndex) {
 		TableSourceType sourceType = tableSource.getSourceType();
 
-		if (sourceType.equals(TableSourceType.SQLITE)) {
-			return readRowFromSqLiteTable(tableSource, rowIndex);
-		} else if (sourceType.equals(TableSourceType.MYSQL)) {
-			return readRowFromMySqlTable(tableSource, rowIndex);
-		} else {
+		boolean isDatabaseSource = sourceType.equals(TableSourceType.SQLITE)
+				|| sourceType.equals(TableSourceType.MYSQL);
+		if (!isDatabaseSource) {
 			throw new IllegalStateException("not yet implemented for current source type " + sourceType);
 		}
-	}
-
-	private Row readRowFromSqLiteTable(TableSource tableSource, int rowIndex) {
-		String sqLiteFilePath = tableSource.getSourceFilePath();
-
-		String password = tableSource.getPassword();
-		String jobId = tableSource.getJobId();
-
-		Boolean isUsingCustomQuery = tableSource.isUsingCustomQuery();
-		if (isUsingCustomQuery) {
-			String customQuery = tableSource.getCustomQuery();
-			Row row = SqLiteImporter.readRowWithCustomQuery(sqLiteFilePath, password, customQuery, jobId, rowIndex,
-					this);
-			return row;
-		} else {
-			String tableName = tableSource.getTableName();
-			Boolean filterRowsByJobId = tableSource.isFilteringForJob();
-
-			Row row = SqLiteImporter.readRow(sqLiteFilePath, password, tableName, filterRowsByJobId, jobId, rowIndex,
-					this);
-			return row;
-		}
-	}
 
-	private Row readRowFromMySqlTable(TableSource tableSource, int rowIndex) {
-		String host = tableSource.getHost();
-		String port = tableSource.getPort();
-		String schema = tableSource.getSchema();
-		String url = host + ":" + port + "/" + schema;
-
-		String user = tableSource.getUser();
-		String password = tableSource.getPassword();
-
-		String jobId = tableSource.getJobId();
-
-		Boolean isUsingCustomQuery = tableSource.isUsingCustomQuery();
-		if (isUsingCustomQuery) {
-			String customQuery = tableSource.getCustomQuery();
-
-			Row row = MySqlImporter.readRowWithCustomQuery(url, user, password, customQuery, jobId, rowIndex, this);
-			return row;
-		} else {
-			String tableName = tableSource.getTableName();
-			Boolean filterRowsByJobId = tableSource.isFilteringForJob();
-			Row row = MySqlImporter.readRow(url, user, password, tableName, filterRowsByJobId, jobId, rowIndex, this);
-			return row;
+		List<Object> rowEntries = DatabasePageResultLoader.getRowEntries(tableSource, rowIndex);
+		if (rowEntries == null) {
+			return new Row(this);
 		}
+		return createRow(rowEntries, this);
 	}
 
 	//#end region
 
 	//#region ACCESSORS
 
+	/**
+	 * Returns the column headers. For tables that are linked to a source, the headers are taken from the cached table
+	 * structure of the source (see DatabasePageResultLoader).
+	 */
 	@Override
 	public List<String> getHeaders() {
+		if (isLinkedToSource()) {
+			TableSource tableSource = getTableSource();
+			return DatabasePageResultLoader.getHeaders(tableSource);
+		}
 		return getColumns().getHeaders();
 	}
 
@@ -0,0 +1,234 @@
+package org.treez.data.table.nebula.nat.pageloader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+import org.treez.core.data.column.ColumnBlueprint;
+import org.treez.core.data.column.ColumnType;
+import org.treez.data.database.KeysetPage;
+
+/**
+ * Caches the data that the DatabasePageResultLoader reads for a single table source: the number of rows, the table
+ * structure (column blueprints, headers and column types), the (pending or loaded) pages and the keys at the page
+ * boundaries that are used for keyset pagination. All methods are thread safe.
+ */
+class DatabasePageCache {
+
+	//#region ATTRIBUTES
+
+	/**
+	 * The maximum number of pages that are kept in the cache
+	 */
+	private static final int MAX_NUMBER_OF_PAGES = 8;
+
+	/**
+	 * The maximum number of row blocks that are kept in the cache
+	 */
+	private static final int MAX_NUMBER_OF_ROW_BLOCKS = 16;
+
+	/**
+	 * The maximum number of page boundary keys that are kept in the cache. A key is small compared to a page, so more
+	 * keys than pages are kept; if the key for an offset has been evicted, the page is read with OFFSET pagination.
+	 */
+	private static final int MAX_NUMBER_OF_KEYS = 256;
+
+	private Integer numberOfRows;
+
+	private List<ColumnBlueprint> columnBlueprints;
+
+	private List<String> headers;
+
+	private Map<String, ColumnType> columnTypes;
+
+	/**
+	 * Is set to false if keyset pagination failed for the table source
+	 */
+	private boolean isKeysetPagingSupported = true;
+
+	/**
+	 * Maps a row offset to the key of the row that precedes it, least recently used first
+	 */
+	private final Map<Integer, Object> keysBeforeOffsets = createLruMap(MAX_NUMBER_OF_KEYS);
+
+	/**
+	 * The pages by page key (see createPageKey), least recently used first
+	 */
+	private final Map<String, FutureTask<KeysetPage>> pages = createLruMap(MAX_NUMBER_OF_PAGES);
+
+	/**
+	 * The row blocks that are read for single row access (see DatabasePageResultLoader.getRowEntries) by page key,
+	 * least recently used first. They are kept apart from the pages, so that scanning the rows of a table does not
+	 * evict the pages that are shown in the table view.
+	 */
+	private final Map<String, FutureTask<KeysetPage>> rowBlocks = createLruMap(MAX_NUMBER_OF_ROW_BLOCKS);
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Returns the cached number of rows or determines it with the given supplier
+	 */
+	synchronized int getNumberOfRows(Supplier<Integer> numberOfRowsSupplier) {
+		if (numberOfRows == null) {
+			numberOfRows = numberOfRowsSupplier.get();
+		}
+		return numberOfRows;
+	}
+
+	/**
+	 * Returns the cached column blueprints or reads them with the given supplier
+	 */
+	synchronized List<ColumnBlueprint> getColumnBlueprints(Supplier<List<ColumnBlueprint>> columnBlueprintsSupplier) {
+		if (columnBlueprints == null) {
+			List<ColumnBlueprint> newColumnBlueprints = columnBlueprintsSupplier.get();
+			List<String> newHeaders = new ArrayList<>();
+			Map<String, ColumnType> newColumnTypes = new HashMap<>();
+			for (ColumnBlueprint columnBlueprint : newColumnBlueprints) {
+				newHeaders.add(columnBlueprint.getName());
+				newColumnTypes.put(columnBlueprint.getName(), columnBlueprint.getType());
+			}
+			columnBlueprints = Collections.unmodifiableList(newColumnBlueprints);
+			headers = Collections.unmodifiableList(newHeaders);
+			columnTypes = newColumnTypes;
+		}
+		return columnBlueprints;
+	}
+
+	/**
+	 * Returns the cached column headers or reads the column blueprints with the given supplier
+	 */
+	synchronized List<String> getHeaders(Supplier<List<ColumnBlueprint>> columnBlueprintsSupplier) {
+		getColumnBlueprints(columnBlueprintsSupplier);
+		return headers;
+	}
+
+	/**
+	 * Returns the cached type of the column with the given name (or null if the column does not exist). Reads the
+	 * column blueprints with the given supplier if they are not cached.
+	 */
+	synchronized ColumnType getColumnType(
+			String columnName,
+			Supplier<List<ColumnBlueprint>> columnBlueprintsSupplier) {
+		getColumnBlueprints(columnBlueprintsSupplier);
+		return columnTypes.get(columnName);
+	}
+
+	/**
+	 * Returns the (pending or loaded) page for the given offset and size. If the page is not cached, a task for loading
+	 * the page is created and returned with the flag isNew. The caller is responsible for running new tasks.
+	 */
+	synchronized PageTask getPage(int pageOffset, int pageSize, Callable<KeysetPage> pageLoader) {
+		return getTask(pages, pageOffset, pageSize, pageLoader);
+	}
+
+	/**
+	 * Removes the page for the given offset and size, e.g. if it could not be loaded
+	 */
+	synchronized void removePage(int pageOffset, int pageSize) {
+		pages.remove(createPageKey(pageOffset, pageSize));
+	}
+
+	/**
+	 * Works like getPage for the separately cached row blocks
+	 */
+	synchronized PageTask getRowBlock(int blockOffset, int blockSize, Callable<KeysetPage> blockLoader) {
+		return getTask(rowBlocks, blockOffset, blockSize, blockLoader);
+	}
+
+	/**
+	 * Removes the row block for the given offset and size, e.g. if it could not be loaded
+	 */
+	synchronized void removeRowBlock(int blockOffset, int blockSize) {
+		rowBlocks.remove(createPageKey(blockOffset, blockSize));
+	}
+
+	private static PageTask getTask(
+			Map<String, FutureTask<KeysetPage>> tasks,
+			int offset,
+			int size,
+			Callable<KeysetPage> loader) {
+		String pageKey = createPageKey(offset, size);
+		FutureTask<KeysetPage> task = tasks.get(pageKey);
+		if (task != null) {
+			return new PageTask(task, false);
+		}
+		FutureTask<KeysetPage> newTask = new FutureTask<>(loader);
+		tasks.put(pageKey, newTask);
+		return new PageTask(newTask, true);
+	}
+
+	/**
+	 * Creates a map in access order that removes its least recently used entry if it contains more than the given
+	 * number of entries
+	 */
+	private static <K, V> Map<K, V> createLruMap(int maxSize) {
+		return new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	private static String createPageKey(int pageOffset, int pageSize) {
+		return pageOffset + ":" + pageSize;
+	}
+
+	/**
+	 * Returns the key of the row that precedes the row with the given offset or null if it is not known
+	 */
+	synchronized Object getKeyBeforeOffset(int rowOffset) {
+		return keysBeforeOffsets.get(rowOffset);
+	}
+
+	/**
+	 * Remembers the key of the last row of a page, so that the next page can be read with keyset pagination
+	 */
+	synchronized void putKeyBeforeOffset(int rowOffset, Object key) {
+		if (key != null) {
+			keysBeforeOffsets.put(rowOffset, key);
+		}
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	synchronized boolean isKeysetPagingSupported() {
+		return isKeysetPagingSupported;
+	}
+
+	synchronized void disableKeysetPaging() {
+		isKeysetPagingSupported = false;
+		keysBeforeOffsets.clear();
+	}
+
+	//#end region
+
+	/**
+	 * A cached page and the flag that indicates if the page has just been created and still has to be run
+	 */
+	static final class PageTask {
+
+		final FutureTask<KeysetPage> page;
+
+		final boolean isNew;
+
+		PageTask(FutureTask<KeysetPage> page, boolean isNew) {
+			this.page = page;
+			this.isNew = isNew;
+		}
+	}
+
+}
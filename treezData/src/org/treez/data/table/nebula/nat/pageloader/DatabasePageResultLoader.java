@@ -1,27 +1,74 @@
 package org.treez.data.table.nebula.nat.pageloader;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.apache.log4j.Logger;
 import org.eclipse.nebula.widgets.pagination.IPageLoader;
 import org.eclipse.nebula.widgets.pagination.PageableController;
 import org.eclipse.nebula.widgets.pagination.collections.DefaultSortProcessor;
 import org.eclipse.nebula.widgets.pagination.collections.PageResult;
 import org.eclipse.nebula.widgets.pagination.collections.SortProcessor;
+import org.treez.core.data.column.ColumnBlueprint;
 import org.treez.core.data.column.ColumnType;
 import org.treez.core.data.row.Row;
 import org.treez.core.data.table.AbstractTreezTable;
 import org.treez.core.data.table.LinkableTreezTable;
 import org.treez.core.data.table.TableSource;
 import org.treez.core.data.table.TableSourceType;
+import org.treez.data.database.KeysetPage;
+import org.treez.data.database.TableData;
 import org.treez.data.database.mysql.MySqlImporter;
 import org.treez.data.database.sqlite.SqLiteImporter;
-import org.treez.data.tableImport.TableData;
-
+import org.treez.data.table.nebula.nat.pageloader.DatabasePageCache.PageTask;
+
+/**
+ * Loads the pages of a table that is linked to a database. The number of rows, the column blueprints and the recently
+ * used pages are cached for each table source until resetCache is called (e.g. on reload of the table). Tables are read
+ * with keyset pagination (on the rowid for SqLite and on the primary key for MySql) when possible, so that the pages at
+ * the end of large tables do not have to be skipped with an OFFSET. After a page has been loaded, its neighbouring pages
+ * are prefetched in the background.
+ */
 public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 
+	private static final Logger LOG = Logger.getLogger(DatabasePageResultLoader.class);
+
 	//#region ATTRIBUTES
 
+	/**
+	 * The maximum number of table sources for which pages are cached. (A study output with many linked tables would
+	 * otherwise keep the rows of all tables that have been read.)
+	 */
+	private static final int MAX_NUMBER_OF_CACHES = 32;
+
+	/**
+	 * The page caches by table source key (see createCacheKey), in the order of their last access
+	 */
+	private static final Map<String, DatabasePageCache> CACHES = new LinkedHashMap<String, DatabasePageCache>(16,
+			0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, DatabasePageCache> eldest) {
+			return size() > MAX_NUMBER_OF_CACHES;
+		}
+	};
+
+	private static final int DEFAULT_ROW_BLOCK_SIZE = 4096;
+
+	/**
+	 * The number of rows that are read at once for single row access (see getRowEntries)
+	 */
+	private static int rowBlockSize = DEFAULT_ROW_BLOCK_SIZE;
+
+	private static ExecutorService prefetchService;
+
 	private LinkableTreezTable treezTable;
 
 	private TableSource tableSource;
@@ -42,17 +89,92 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 
 	//#region METHODS
 
+	/**
+	 * Returns the type of the given column of the table source. The table structure is cached until resetCache is
+	 * called.
+	 */
 	public static ColumnType getColumnType(TableSource tableSource, String columnName) {
+		DatabasePageCache cache = getCache(tableSource);
+		return cache.getColumnType(columnName, () -> readColumnBlueprints(tableSource));
+	}
+
+	/**
+	 * Returns the column headers of the table source. The table structure is cached until resetCache is called.
+	 */
+	public static List<String> getHeaders(TableSource tableSource) {
+		DatabasePageCache cache = getCache(tableSource);
+		return cache.getHeaders(() -> readColumnBlueprints(tableSource));
+	}
+
+	/**
+	 * Returns the column blueprints of the table source. The table structure is cached until resetCache is called.
+	 */
+	public static List<ColumnBlueprint> getColumnBlueprints(TableSource tableSource) {
+		DatabasePageCache cache = getCache(tableSource);
+		return cache.getColumnBlueprints(() -> readColumnBlueprints(tableSource));
+	}
+
+	/**
+	 * Returns the entries of the row with the given index or null if the row does not exist. The rows are read in
+	 * blocks (see setRowBlockSize) that start at multiples of the block size, and the recently used blocks are cached.
+	 * Iterating over the rows of a large table therefore only requires a few large queries.
+	 */
+	public static List<Object> getRowEntries(TableSource tableSource, int rowIndex) {
+		DatabasePageCache cache = getCache(tableSource);
+		int blockSize = rowBlockSize;
+		int blockOffset = (rowIndex / blockSize) * blockSize;
+
+		PageTask blockTask = cache.getRowBlock(blockOffset, blockSize,
+				() -> importPage(cache, tableSource, blockOffset, blockSize));
+		if (blockTask.isNew) {
+			blockTask.page.run();
+		}
+		TableData block = waitForTableData(blockTask, () -> cache.removeRowBlock(blockOffset, blockSize));
+
+		List<List<Object>> rowData = block.getRowData();
+		int indexInBlock = rowIndex - blockOffset;
+		if (indexInBlock >= rowData.size()) {
+			return null;
+		}
+		return rowData.get(indexInBlock);
+	}
+
+	/**
+	 * Removes the cached row count, column blueprints and pages for the given table source
+	 */
+	public static void resetCache(TableSource tableSource) {
+		synchronized (CACHES) {
+			CACHES.remove(createCacheKey(tableSource));
+		}
+	}
+
+	private static DatabasePageCache getCache(TableSource tableSource) {
+		synchronized (CACHES) {
+			return CACHES.computeIfAbsent(createCacheKey(tableSource), (key) -> new DatabasePageCache());
+		}
+	}
+
+	/**
+	 * Creates a key that identifies the data of the given table source
+	 */
+	private static String createCacheKey(TableSource tableSource) {
 		TableSourceType sourceType = tableSource.getSourceType();
-		if (sourceType.equals(TableSourceType.SQLITE)) {
-			String sqLiteFilePath = tableSource.getSourceFilePath();
-			String tableName = tableSource.getTableName();
-			String password = tableSource.getPassword();
+		String location;
+		if (sourceType.equals(TableSourceType.MYSQL)) {
+			location = tableSource.getUser() + "@" + tableSource.getHost() + ":" + tableSource.getPort() + "/"
+					+ tableSource.getSchema();
+		} else {
+			location = tableSource.getSourceFilePath();
+		}
 
-			return SqLiteImporter.getColumnType(sqLiteFilePath, password, tableName, columnName);
+		String query;
+		if (tableSource.isUsingCustomQuery()) {
+			query = "query:" + tableSource.getCustomQuery();
+		} else {
+			query = "table:" + tableSource.getTableName() + ":" + tableSource.isFilteringForJob();
 		}
 
-		return null;
+		return sourceType + "|" + location + "|" + query + "|" + tableSource.getJobId();
 	}
 
 	@Override
@@ -66,7 +188,8 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 		//	processor.sort(items, controller.getSortPropertyName(), sortDirection);
 		//}
 
-		int totalSize = getTotalSize(tableSource);
+		DatabasePageCache cache = getCache(tableSource);
+		int totalSize = cache.getNumberOfRows(() -> getTotalSize(tableSource));
 
 		int pageOffset = controller.getPageOffset();
 		if (pageOffset > totalSize) {
@@ -75,7 +198,7 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 
 		int pageSize = controller.getPageSize();
 
-		TableData tableData = importData(tableSource, pageOffset, pageSize);
+		TableData tableData = getPage(cache, tableSource, pageOffset, pageSize);
 
 		List<Row> rows = new ArrayList<>();
 		for (List<Object> rowEntries : tableData.getRowData()) {
@@ -83,11 +206,192 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 			rows.add(row);
 		}
 
+		prefetchPage(cache, tableSource, pageOffset + pageSize, pageSize, totalSize);
+		prefetchPage(cache, tableSource, pageOffset - pageSize, pageSize, totalSize);
+
 		return new PageResult<Row>(rows, totalSize);
 
 	}
 
-	private static TableData importData(TableSource tableSource, int pageOffset, int pageSize) {
+	/**
+	 * Returns the cached page or loads it on the current thread. If the page is currently prefetched, waits for it.
+	 */
+	private static TableData getPage(DatabasePageCache cache, TableSource tableSource, int pageOffset, int pageSize) {
+		PageTask pageTask = cache.getPage(pageOffset, pageSize,
+				() -> importPage(cache, tableSource, pageOffset, pageSize));
+		if (pageTask.isNew) {
+			pageTask.page.run();
+		}
+		return waitForTableData(pageTask, () -> cache.removePage(pageOffset, pageSize));
+	}
+
+	/**
+	 * Waits for the given page task and returns its data. If the page could not be loaded, the given failure handler
+	 * is called (e.g. to remove the page from the cache) and the exception is rethrown.
+	 */
+	private static TableData waitForTableData(PageTask pageTask, Runnable failureHandler) {
+		try {
+			return pageTask.page.get().getTableData();
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			failureHandler.run();
+			throw new IllegalStateException("Loading of page has been interrupted.", exception);
+		} catch (ExecutionException exception) {
+			failureHandler.run();
+			Throwable cause = exception.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException("Could not load page.", cause);
+		}
+	}
+
+	/**
+	 * Loads the given page in the background if it is valid and not already cached
+	 */
+	private static void prefetchPage(
+			DatabasePageCache cache,
+			TableSource tableSource,
+			int pageOffset,
+			int pageSize,
+			int totalSize) {
+		boolean isValidPage = pageOffset >= 0 && pageOffset < totalSize;
+		if (!isValidPage) {
+			return;
+		}
+
+		PageTask pageTask = cache.getPage(pageOffset, pageSize,
+				() -> importPage(cache, tableSource, pageOffset, pageSize));
+		if (pageTask.isNew) {
+			getPrefetchService().execute(() -> {
+				pageTask.page.run();
+				try {
+					pageTask.page.get();
+				} catch (InterruptedException | ExecutionException exception) {
+					cache.removePage(pageOffset, pageSize);
+					LOG.warn("Could not prefetch page at offset " + pageOffset, exception);
+				}
+			});
+		}
+	}
+
+	private static synchronized ExecutorService getPrefetchService() {
+		if (prefetchService == null) {
+			prefetchService = Executors.newSingleThreadExecutor((runnable) -> {
+				Thread thread = new Thread(runnable);
+				thread.setName("Data: PagePrefetch");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return prefetchService;
+	}
+
+	/**
+	 * Imports the given page. Tables are read with keyset pagination if the key of the preceding row is known from a
+	 * previously loaded page. Pages of custom queries are read with LIMIT and OFFSET.
+	 */
+	private static KeysetPage importPage(
+			DatabasePageCache cache,
+			TableSource tableSource,
+			int pageOffset,
+			int pageSize) {
+
+		List<ColumnBlueprint> columnBlueprints = cache.getColumnBlueprints(() -> readColumnBlueprints(tableSource));
+
+		boolean isUsingCustomQuery = tableSource.isUsingCustomQuery();
+		if (isUsingCustomQuery || !cache.isKeysetPagingSupported()) {
+			TableData tableData = importData(tableSource, pageOffset, pageSize, columnBlueprints);
+			return new KeysetPage(tableData, null);
+		}
+
+		Object keyBeforePage = cache.getKeyBeforeOffset(pageOffset);
+		KeysetPage page;
+		try {
+			page = importKeysetPage(tableSource, keyBeforePage, pageOffset, pageSize, columnBlueprints);
+		} catch (IllegalStateException exception) {
+			String message = "Could not read page with keyset pagination. Falling back to OFFSET pagination.";
+			LOG.warn(message, exception);
+			cache.disableKeysetPaging();
+			TableData tableData = importData(tableSource, pageOffset, pageSize, columnBlueprints);
+			return new KeysetPage(tableData, null);
+		}
+
+		if (page == null) {
+			//no key column available
+			cache.disableKeysetPaging();
+			TableData tableData = importData(tableSource, pageOffset, pageSize, columnBlueprints);
+			return new KeysetPage(tableData, null);
+		}
+
+		int numberOfRows = page.getTableData().getRowData().size();
+		cache.putKeyBeforeOffset(pageOffset + numberOfRows, page.getLastKey());
+		return page;
+	}
+
+	/**
+	 * Imports a page of a database table in key order. Returns null if the table does not provide a suitable key
+	 * column.
+	 */
+	private static KeysetPage importKeysetPage(
+			TableSource tableSource,
+			Object keyBeforePage,
+			int pageOffset,
+			int pageSize,
+			List<ColumnBlueprint> columnBlueprints) {
+
+		TableSourceType sourceType = tableSource.getSourceType();
+		String jobId = tableSource.getJobId();
+		String tableName = tableSource.getTableName();
+		boolean filterForJob = tableSource.isFilteringForJob();
+
+		if (sourceType.equals(TableSourceType.SQLITE)) {
+
+			String sqLiteFilePath = tableSource.getSourceFilePath();
+			String password = tableSource.getPassword();
+			return SqLiteImporter.importPage(sqLiteFilePath, password, tableName, filterForJob, jobId, keyBeforePage,
+					pageOffset, pageSize, columnBlueprints);
+
+		} else if (sourceType.equals(TableSourceType.MYSQL)) {
+
+			String keyColumnName = getSinglePrimaryKeyColumnName(columnBlueprints);
+			if (keyColumnName == null) {
+				return null;
+			}
+
+			String url = getMySqlUrl(tableSource);
+			String user = tableSource.getUser();
+			String password = tableSource.getPassword();
+			return MySqlImporter.importPage(url, user, password, tableName, filterForJob, jobId, keyColumnName,
+					keyBeforePage, pageOffset, pageSize, columnBlueprints);
+		}
+
+		String message = "The TableSourceType " + sourceType + " is not yet implemented.";
+		throw new IllegalStateException(message);
+	}
+
+	/**
+	 * Returns the name of the primary key column if the primary key consists of a single column. Returns null
+	 * otherwise.
+	 */
+	private static String getSinglePrimaryKeyColumnName(List<ColumnBlueprint> columnBlueprints) {
+		String keyColumnName = null;
+		for (ColumnBlueprint columnBlueprint : columnBlueprints) {
+			if (columnBlueprint.isPrimaryKey()) {
+				if (keyColumnName != null) {
+					return null;
+				}
+				keyColumnName = columnBlueprint.getName();
+			}
+		}
+		return keyColumnName;
+	}
+
+	private static TableData importData(
+			TableSource tableSource,
+			int pageOffset,
+			int pageSize,
+			List<ColumnBlueprint> columnBlueprints) {
 
 		TableSourceType sourceType = tableSource.getSourceType();
 		String jobId = tableSource.getJobId();
@@ -101,37 +405,33 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 			if (isUsingCustomQuery) {
 				String customQuery = tableSource.getCustomQuery();
 				TableData tableData = SqLiteImporter.importDataWithCustomQuery(sqLiteFilePath, password, customQuery,
-						jobId, pageSize, pageOffset);
+						jobId, pageSize, pageOffset, columnBlueprints);
 				return tableData;
 			} else {
 				String tableName = tableSource.getTableName();
 				boolean filterForJob = tableSource.isFilteringForJob();
 				TableData tableData = SqLiteImporter.importData(sqLiteFilePath, password, tableName, filterForJob,
-						jobId, pageSize, pageOffset);
+						jobId, pageSize, pageOffset, columnBlueprints);
 				return tableData;
 			}
 
 		} else if (sourceType.equals(TableSourceType.MYSQL)) {
 
-			String host = tableSource.getHost();
-			String port = tableSource.getPort();
-			String schema = tableSource.getSchema();
-			String url = host + ":" + port + "/" + schema;
-
+			String url = getMySqlUrl(tableSource);
 			String user = tableSource.getUser();
 			String password = tableSource.getPassword();
 
 			if (isUsingCustomQuery) {
 				String customQuery = tableSource.getCustomQuery();
 
-				TableData tableData = MySqlImporter.importDataWithCustomQuery(url, user, password, customQuery, null,
-						pageSize, pageOffset);
+				TableData tableData = MySqlImporter.importDataWithCustomQuery(url, user, password, customQuery, jobId,
+						pageSize, pageOffset, columnBlueprints);
 				return tableData;
 			} else {
 				String tableName = tableSource.getTableName();
 				boolean filterForJob = tableSource.isFilteringForJob();
 				TableData tableData = MySqlImporter.importData(url, user, password, tableName, filterForJob, jobId,
-						pageSize, pageOffset);
+						pageSize, pageOffset, columnBlueprints);
 				return tableData;
 			}
 
@@ -141,6 +441,45 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 		throw new IllegalStateException(message);
 	}
 
+	private static List<ColumnBlueprint> readColumnBlueprints(TableSource tableSource) {
+
+		TableSourceType sourceType = tableSource.getSourceType();
+		String jobId = tableSource.getJobId();
+		boolean isUsingCustomQuery = tableSource.isUsingCustomQuery();
+
+		if (sourceType.equals(TableSourceType.SQLITE)) {
+
+			String sqLiteFilePath = tableSource.getSourceFilePath();
+			String password = tableSource.getPassword();
+
+			if (isUsingCustomQuery) {
+				String customQuery = tableSource.getCustomQuery();
+				return SqLiteImporter.readTableStructureWithCustomQuery(sqLiteFilePath, password, customQuery, jobId);
+			} else {
+				String tableName = tableSource.getTableName();
+				return SqLiteImporter.readTableStructure(sqLiteFilePath, password, tableName);
+			}
+
+		} else if (sourceType.equals(TableSourceType.MYSQL)) {
+
+			String url = getMySqlUrl(tableSource);
+			String user = tableSource.getUser();
+			String password = tableSource.getPassword();
+
+			if (isUsingCustomQuery) {
+				String customQuery = tableSource.getCustomQuery();
+				return MySqlImporter.readTableStructureWithCustomQuery(url, user, password, customQuery, jobId);
+			} else {
+				String tableName = tableSource.getTableName();
+				return MySqlImporter.readTableStructure(url, user, password, tableName);
+			}
+
+		}
+
+		String message = "The TableSourceType " + sourceType + " is not yet implemented.";
+		throw new IllegalStateException(message);
+	}
+
 	private static int getTotalSize(TableSource tableSource) {
 
 		TableSourceType sourceType = tableSource.getSourceType();
@@ -158,17 +497,15 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 			} else {
 
 				String tableName = tableSource.getTableName();
-				int totalSize = SqLiteImporter.getNumberOfRows(sqLiteFilePath, tableName);
+				boolean filterForJob = tableSource.isFilteringForJob();
+				String jobId = tableSource.getJobId();
+				int totalSize = SqLiteImporter.getNumberOfRows(sqLiteFilePath, tableName, filterForJob, jobId);
 				return totalSize;
 			}
 
 		} else if (sourceType.equals(TableSourceType.MYSQL)) {
 
-			String host = tableSource.getHost();
-			String port = tableSource.getPort();
-			String schema = tableSource.getSchema();
-			String url = host + ":" + port + "/" + schema;
-
+			String url = getMySqlUrl(tableSource);
 			String user = tableSource.getUser();
 			String password = tableSource.getPassword();
 
@@ -179,7 +516,9 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 				return totalSize;
 			} else {
 				String tableName = tableSource.getTableName();
-				int totalSize = MySqlImporter.getNumberOfRows(url, user, password, tableName);
+				boolean filterForJob = tableSource.isFilteringForJob();
+				String jobId = tableSource.getJobId();
+				int totalSize = MySqlImporter.getNumberOfRows(url, user, password, tableName, filterForJob, jobId);
 				return totalSize;
 			}
 
@@ -190,6 +529,32 @@ public class DatabasePageResultLoader implements IPageLoader<PageResult<Row>> {
 
 	}
 
+	private static String getMySqlUrl(TableSource tableSource) {
+		String host = tableSource.getHost();
+		String port = tableSource.getPort();
+		String schema = tableSource.getSchema();
+		return host + ":" + port + "/" + schema;
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	/**
+	 * Sets the number of rows that are read at once for single row access. The blocks of other sizes that are still
+	 * cached are not used anymore and are evicted over time.
+	 */
+	public static void setRowBlockSize(int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("The row block size must be at least 1 but is " + blockSize);
+		}
+		rowBlockSize = blockSize;
+	}
+
+	public static int getRowBlockSize() {
+		return rowBlockSize;
+	}
+
 	//#end region
 
 }
@@ -0,0 +1,273 @@
+package org.treez.data.tableImport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Splits the content of a delimiter separated text file (e.g. a CSV file) into records and fields. The file is read in
+ * large blocks through a FileChannel and decoded with the given charset; no lines or intermediate strings are created
+ * apart from the field values. Fields may be enclosed in double quotes. Quoted fields may contain separators, line
+ * breaks and escaped double quotes (""). Records are separated by \n, \r\n or \r. Empty lines are skipped. Only
+ * single character separators are supported (see isSupportedSeparator); other separators are handled by the
+ * PatternRecordReader.
+ */
+class CsvTokenizer implements RecordReader {
+
+	//#region ATTRIBUTES
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private static final char QUOTE = '"';
+
+	/**
+	 * Marks that no character has been pushed back
+	 */
+	private static final int NO_CHARACTER = -2;
+
+	private static final int END_OF_INPUT = -1;
+
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+	private final FileChannel channel;
+
+	private final CharsetDecoder decoder;
+
+	private final ByteBuffer byteBuffer;
+
+	private final CharBuffer charBuffer;
+
+	private final char separator;
+
+	private final StringBuilder fieldBuilder = new StringBuilder();
+
+	private int pushedBackCharacter = NO_CHARACTER;
+
+	private boolean isEndOfFile = false;
+
+	private boolean isDecoderFlushed = false;
+
+	private boolean isFirstCharacter = true;
+
+	/**
+	 * The number of the current record (one based)
+	 */
+	private int recordNumber = 0;
+
+	/**
+	 * The number of the line in which the current record starts (one based)
+	 */
+	private int lineNumber = 0;
+
+	/**
+	 * The number of line breaks that have been read so far (\r\n counts as a single line break)
+	 */
+	private int numberOfLineBreaks = 0;
+
+	private boolean isAfterCarriageReturn = false;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	CsvTokenizer(Path filePath, Charset charset, char separator) throws IOException {
+		this.channel = FileChannel.open(filePath, StandardOpenOption.READ);
+		this.decoder = charset
+				.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		this.charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+		this.charBuffer.flip();
+		this.separator = separator;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Returns true if the given column separator text can be handled by the tokenizer: a single character or the
+	 * escape sequence \t for tab separated files
+	 *
+	 * @param columnSeparator
+	 * @return
+	 */
+	static boolean isSupportedSeparator(String columnSeparator) {
+		return "\\t".equals(columnSeparator) || (columnSeparator != null && columnSeparator.length() == 1);
+	}
+
+	/**
+	 * Returns the separator character for the given column separator text. Besides single characters, the escape
+	 * sequence \t is accepted for tab separated files.
+	 *
+	 * @param columnSeparator
+	 * @return
+	 */
+	static char getSeparatorCharacter(String columnSeparator) {
+		if ("\\t".equals(columnSeparator)) {
+			return '\t';
+		}
+		if (!isSupportedSeparator(columnSeparator)) {
+			String message = "The column separator must be a single character (or \\t) but is '" + columnSeparator
+					+ "'.";
+			throw new IllegalArgumentException(message);
+		}
+		return columnSeparator.charAt(0);
+	}
+
+	@Override
+	public boolean readRecord(List<String> fields) throws IOException {
+		fields.clear();
+
+		int character = nextCharacter();
+		while (character == '\n' || character == '\r') {
+			character = nextCharacter();
+		}
+		if (character == END_OF_INPUT) {
+			return false;
+		}
+		recordNumber++;
+		lineNumber = numberOfLineBreaks + 1;
+
+		fieldBuilder.setLength(0);
+		boolean isInsideQuotes = false;
+		boolean isQuotedField = false;
+		while (true) {
+			if (character == END_OF_INPUT) {
+				if (isInsideQuotes) {
+					String message = "The quoted field in the record starting in line " + lineNumber
+							+ " is not closed.";
+					throw new IllegalStateException(message);
+				}
+				fields.add(fieldBuilder.toString());
+				return true;
+			}
+
+			char currentCharacter = (char) character;
+			if (isInsideQuotes) {
+				if (currentCharacter == QUOTE) {
+					int nextCharacter = nextCharacter();
+					if (nextCharacter == QUOTE) {
+						fieldBuilder.append(QUOTE);
+					} else {
+						isInsideQuotes = false;
+						character = nextCharacter;
+						continue;
+					}
+				} else {
+					fieldBuilder.append(currentCharacter);
+				}
+			} else if (currentCharacter == QUOTE && !isQuotedField && fieldBuilder.length() == 0) {
+				isInsideQuotes = true;
+				isQuotedField = true;
+			} else if (currentCharacter == separator) {
+				fields.add(fieldBuilder.toString());
+				fieldBuilder.setLength(0);
+				isQuotedField = false;
+			} else if (currentCharacter == '\n') {
+				fields.add(fieldBuilder.toString());
+				return true;
+			} else if (currentCharacter == '\r') {
+				int nextCharacter = nextCharacter();
+				if (nextCharacter != '\n') {
+					pushedBackCharacter = nextCharacter;
+				}
+				fields.add(fieldBuilder.toString());
+				return true;
+			} else {
+				fieldBuilder.append(currentCharacter);
+			}
+
+			character = nextCharacter();
+		}
+	}
+
+	private int nextCharacter() throws IOException {
+		if (pushedBackCharacter != NO_CHARACTER) {
+			int character = pushedBackCharacter;
+			pushedBackCharacter = NO_CHARACTER;
+			return character;
+		}
+
+		if (!charBuffer.hasRemaining()) {
+			boolean hasCharacters = fillCharBuffer();
+			if (!hasCharacters) {
+				return END_OF_INPUT;
+			}
+		}
+
+		char character = charBuffer.get();
+		if (isFirstCharacter) {
+			isFirstCharacter = false;
+			if (character == BYTE_ORDER_MARK) {
+				return nextCharacter();
+			}
+		}
+		countLineBreak(character);
+		return character;
+	}
+
+	/**
+	 * Counts the given character if it is a line break. Pushed back characters are not passed again, so that each
+	 * character is only counted once.
+	 */
+	private void countLineBreak(char character) {
+		boolean isLineBreak = character == '\r' || (character == '\n' && !isAfterCarriageReturn);
+		if (isLineBreak) {
+			numberOfLineBreaks++;
+		}
+		isAfterCarriageReturn = character == '\r';
+	}
+
+	/**
+	 * Reads and decodes the next block of the file. Returns false if the end of the file has been reached.
+	 */
+	private boolean fillCharBuffer() throws IOException {
+		charBuffer.clear();
+		while (charBuffer.position() == 0 && !isDecoderFlushed) {
+			if (!isEndOfFile) {
+				int numberOfBytes = channel.read(byteBuffer);
+				isEndOfFile = numberOfBytes < 0;
+			}
+			byteBuffer.flip();
+			decoder.decode(byteBuffer, charBuffer, isEndOfFile);
+			byteBuffer.compact();
+			if (isEndOfFile) {
+				decoder.flush(charBuffer);
+				isDecoderFlushed = true;
+			}
+		}
+		charBuffer.flip();
+		return charBuffer.hasRemaining();
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	@Override
+	public int getRecordNumber() {
+		return recordNumber;
+	}
+
+	@Override
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	//#end region
+
+}
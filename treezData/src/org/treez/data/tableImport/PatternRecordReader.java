@@ -0,0 +1,125 @@
+package org.treez.data.tableImport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Reads the records of a text file line by line and splits them with a regular expression. Is used for column
+ * separators that can not be handled by the CsvTokenizer, e.g. multi character separators (;;) or regular expressions
+ * (\s+). Quotes have no special meaning. Empty lines are skipped.
+ */
+class PatternRecordReader implements RecordReader {
+
+	//#region ATTRIBUTES
+
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+	private final BufferedReader reader;
+
+	private final Pattern separatorPattern;
+
+	private boolean isFirstLine = true;
+
+	/**
+	 * The number of the current record (one based)
+	 */
+	private int recordNumber = 0;
+
+	/**
+	 * The number of the line that has been read last (one based)
+	 */
+	private int lineNumber = 0;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	PatternRecordReader(Path filePath, Charset charset, String columnSeparator) throws IOException {
+		this.separatorPattern = compileSeparator(columnSeparator);
+		this.reader = Files.newBufferedReader(filePath, charset);
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Compiles the given column separator to a regular expression
+	 *
+	 * @param columnSeparator
+	 * @return
+	 */
+	static Pattern compileSeparator(String columnSeparator) {
+		if (columnSeparator == null || columnSeparator.isEmpty()) {
+			throw new IllegalArgumentException("The column separator must not be empty.");
+		}
+		try {
+			return Pattern.compile(columnSeparator);
+		} catch (PatternSyntaxException exception) {
+			String message = "The column separator '" + columnSeparator
+					+ "' is neither a single character nor a valid regular expression: "
+					+ exception.getDescription();
+			throw new IllegalArgumentException(message, exception);
+		}
+	}
+
+	@Override
+	public boolean readRecord(List<String> fields) throws IOException {
+		fields.clear();
+
+		String line = readLine();
+		if (isFirstLine && line != null) {
+			isFirstLine = false;
+			if (!line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+				line = line.substring(1);
+			}
+		}
+		while (line != null && line.isEmpty()) {
+			line = readLine();
+		}
+		if (line == null) {
+			return false;
+		}
+		recordNumber++;
+
+		Collections.addAll(fields, separatorPattern.split(line, -1));
+		return true;
+	}
+
+	private String readLine() throws IOException {
+		String line = reader.readLine();
+		if (line != null) {
+			lineNumber++;
+		}
+		return line;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	@Override
+	public int getRecordNumber() {
+		return recordNumber;
+	}
+
+	@Override
+	public int getLineNumber() {
+		return lineNumber;
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,37 @@
+package org.treez.data.tableImport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads the records of a delimiter separated text file field by field (see CsvTokenizer and PatternRecordReader)
+ */
+interface RecordReader extends Closeable {
+
+	//#region METHODS
+
+	/**
+	 * Reads the fields of the next record into the given list (which is cleared first). Returns false if there is no
+	 * further record.
+	 *
+	 * @param fields
+	 * @return
+	 * @throws IOException
+	 */
+	boolean readRecord(List<String> fields) throws IOException;
+
+	/**
+	 * Returns the (one based) number of the record that has been read last
+	 */
+	int getRecordNumber();
+
+	/**
+	 * Returns the (one based) number of the line in which the record that has been read last starts. Differs from the
+	 * record number if the file contains empty lines or records that span several lines.
+	 */
+	int getLineNumber();
+
+	//#end region
+
+}
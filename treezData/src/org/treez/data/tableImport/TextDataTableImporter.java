@@ -1,22 +1,40 @@
 package org.treez.data.tableImport;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
+import org.treez.core.data.column.ColumnBlueprint;
 import org.treez.core.data.column.ColumnType;
 
 /**
- * Imports table data from a text file
+ * Imports table data from a text file. The file is streamed with a CsvTokenizer (single character separators) or a
+ * PatternRecordReader (multi character separators and regular expressions). The column types (INTEGER, DOUBLE or
+ * STRING) are inferred from a sample of the first rows and the entries are directly converted to typed values. Only
+ * plain decimal numbers are treated as numeric; entries like 1d, NaN or Infinity are text.
  */
 public final class TextDataTableImporter {
 
 	private static final Logger LOG = Logger.getLogger(TextDataTableImporter.class);
 
+	//#region ATTRIBUTES
+
+	/**
+	 * The number of data rows that is used to infer the column types
+	 */
+	private static final int TYPE_INFERENCE_SAMPLE_SIZE = 1000;
+
+	//#end region
+
 	//#region CONSTRUCTORS
 
 	/**
@@ -29,104 +47,311 @@ public final class TextDataTableImporter {
 	//#region METHODS
 
 	/**
+	 * Imports the data of the given UTF-8 encoded text file
+	 *
 	 * @param filePath
+	 * @param columnSeparator
+	 * @param rowLimit
+	 *            the maximum number of lines to read (including the header line)
 	 * @return
 	 */
 	public static TableData importData(String filePath, String columnSeparator, int rowLimit) {
+		return importData(filePath, columnSeparator, rowLimit, StandardCharsets.UTF_8);
+	}
 
-		//read tab separated entries
-		List<List<Object>> data = readTextData(filePath, columnSeparator, rowLimit);
+	/**
+	 * Imports the data of the given text file. The first line of the file contains the column headers.
+	 *
+	 * @param filePath
+	 * @param columnSeparator
+	 * @param rowLimit
+	 *            the maximum number of lines to read (including the header line)
+	 * @param charset
+	 * @return
+	 */
+	public static TableData importData(String filePath, String columnSeparator, int rowLimit, Charset charset) {
 
-		//check data size (number of lines > 1, number of columns equal)
-		checkDataSizes(data);
+		Path path = Paths.get(filePath);
 
-		//get header data
-		List<Object> currentHeaderDataObjects = data.get(0);
-		List<String> currentHeaderData = new ArrayList<>();
-		for (Object headerObj : currentHeaderDataObjects) {
-			currentHeaderData.add(headerObj.toString());
-		}
+		try (RecordReader tokenizer = createRecordReader(path, charset, columnSeparator)) {
+
+			//read header data
+			List<String> headers = new ArrayList<>();
+			boolean hasHeader = rowLimit > 0 && tokenizer.readRecord(headers);
+			if (!hasHeader) {
+				throw new IllegalStateException("The text file must contain at least two lines");
+			}
+			int numberOfColumns = headers.size();
+			int dataRowLimit = rowLimit - 1;
 
-		//get row data
-		List<List<Object>> currentRowData = data.subList(1, data.size());
+			//read sample and infer column types
+			List<String[]> sample = readSample(tokenizer, numberOfColumns, dataRowLimit);
+			if (sample.isEmpty()) {
+				throw new IllegalStateException("The text file must contain at least two lines");
+			}
+			ColumnType[] columnTypes = inferColumnTypes(sample, numberOfColumns);
 
-		TableData tableData = new TableData() {
+			//convert sample and stream remaining rows
+			List<List<Object>> rowData = new ArrayList<>();
+			Map<Integer, Integer> numbersOfRowsBeforeWidening = new HashMap<>();
+			for (String[] sampleEntries : sample) {
+				rowData.add(convertRow(sampleEntries, columnTypes, rowData, numbersOfRowsBeforeWidening));
+			}
 
-			@Override
-			public List<String> getHeaderData() {
-				return currentHeaderData;
+			List<String> fields = new ArrayList<>(numberOfColumns);
+			while (rowData.size() < dataRowLimit && tokenizer.readRecord(fields)) {
+				checkNumberOfColumns(fields, numberOfColumns, tokenizer.getLineNumber());
+				String[] entries = fields.toArray(new String[numberOfColumns]);
+				rowData.add(convertRow(entries, columnTypes, rowData, numbersOfRowsBeforeWidening));
 			}
 
-			@Override
-			public ColumnType getColumnType(String header) {
-				return ColumnType.STRING;
+			if (!numbersOfRowsBeforeWidening.isEmpty()) {
+				restoreOriginalEntries(path, charset, columnSeparator, rowData, numbersOfRowsBeforeWidening);
 			}
 
-			@Override
-			public List<List<Object>> getRowData() {
-				return currentRowData;
+			List<ColumnBlueprint> columnBlueprints = new ArrayList<>();
+			for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+				String header = headers.get(columnIndex);
+				columnBlueprints.add(new ColumnBlueprint(header, columnTypes[columnIndex], header));
 			}
-		};
 
-		return tableData;
+			return new org.treez.data.database.TableData(columnBlueprints, rowData);
+
+		} catch (IOException exception) {
+			String message = "Could not read text file '" + filePath + "'";
+			LOG.error(message, exception);
+			throw new IllegalStateException(message, exception);
+		}
 	}
 
 	/**
-	 * Checks if the data has at least two rows (header and data) and if the number of columns is equal for each row
-	 *
-	 * @param data
+	 * Creates a CsvTokenizer for single character separators (and \t) and a PatternRecordReader that splits the lines
+	 * with the separator as regular expression otherwise
 	 */
-	private static void checkDataSizes(List<List<Object>> data) {
-		int numberOfLines = data.size();
+	private static RecordReader createRecordReader(Path path, Charset charset, String columnSeparator)
+			throws IOException {
+		if (CsvTokenizer.isSupportedSeparator(columnSeparator)) {
+			char separator = CsvTokenizer.getSeparatorCharacter(columnSeparator);
+			return new CsvTokenizer(path, charset, separator);
+		}
+		return new PatternRecordReader(path, charset, columnSeparator);
+	}
 
-		//check number of lines
-		if (numberOfLines < 2) {
-			throw new IllegalStateException("The text file must contain at least two lines");
+	private static List<String[]> readSample(RecordReader tokenizer, int numberOfColumns, int dataRowLimit)
+			throws IOException {
+		List<String[]> sample = new ArrayList<>();
+		List<String> fields = new ArrayList<>(numberOfColumns);
+		int sampleSize = Math.min(TYPE_INFERENCE_SAMPLE_SIZE, dataRowLimit);
+		while (sample.size() < sampleSize && tokenizer.readRecord(fields)) {
+			checkNumberOfColumns(fields, numberOfColumns, tokenizer.getLineNumber());
+			sample.add(fields.toArray(new String[numberOfColumns]));
 		}
+		return sample;
+	}
 
-		//get number of columns from first line
-		int numberOfColumns = data.get(0).size();
-
-		//check number of columns of all lines
-		int lineCounter = 1;
-		for (List<Object> entries : data) {
-			int currentNumberOfColumns = entries.size();
-			boolean hasSameNumberOfColumns = (currentNumberOfColumns == numberOfColumns);
-			if (!hasSameNumberOfColumns) {
-				String message = "The number of columns in line " + lineCounter + " has to be " + numberOfColumns
-						+ " but is " + currentNumberOfColumns + ".";
-				throw new IllegalStateException(message);
+	/**
+	 * Checks if the number of fields of a record equals the number of columns. The line number is the number of the
+	 * line in which the record starts.
+	 */
+	private static void checkNumberOfColumns(List<String> fields, int numberOfColumns, int lineNumber) {
+		int currentNumberOfColumns = fields.size();
+		boolean hasSameNumberOfColumns = (currentNumberOfColumns == numberOfColumns);
+		if (!hasSameNumberOfColumns) {
+			String message = "The number of columns in line " + lineNumber + " has to be " + numberOfColumns
+					+ " but is " + currentNumberOfColumns + ".";
+			throw new IllegalStateException(message);
+		}
+	}
+
+	/**
+	 * Determines the narrowest column type (INTEGER, DOUBLE or STRING) that fits all non empty entries of each column
+	 * in the given sample. Columns without any non empty entry are STRING columns.
+	 */
+	private static ColumnType[] inferColumnTypes(List<String[]> sample, int numberOfColumns) {
+		ColumnType[] columnTypes = new ColumnType[numberOfColumns];
+		for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+			ColumnType columnType = null;
+			for (String[] entries : sample) {
+				String entry = entries[columnIndex].trim();
+				if (entry.isEmpty()) {
+					continue;
+				}
+				columnType = widenColumnType(columnType, entry);
+				if (columnType.equals(ColumnType.STRING)) {
+					break;
+				}
 			}
-			lineCounter++;
+			columnTypes[columnIndex] = columnType == null ? ColumnType.STRING : columnType;
 		}
+		return columnTypes;
+	}
 
+	/**
+	 * Returns the narrowest column type that fits the given current type (may be null) and the given (non empty) entry
+	 */
+	private static ColumnType widenColumnType(ColumnType currentType, String entry) {
+		boolean isIntegerCandidate = currentType == null || currentType.equals(ColumnType.INTEGER);
+		if (isIntegerCandidate && isInteger(entry)) {
+			return ColumnType.INTEGER;
+		}
+		boolean isDoubleCandidate = isIntegerCandidate || currentType.equals(ColumnType.DOUBLE);
+		if (isDoubleCandidate && isDouble(entry)) {
+			return ColumnType.DOUBLE;
+		}
+		return ColumnType.STRING;
+	}
+
+	private static boolean isInteger(String entry) {
+		try {
+			convertEntry(entry, ColumnType.INTEGER);
+			return true;
+		} catch (NumberFormatException exception) {
+			return false;
+		}
+	}
+
+	private static boolean isDouble(String entry) {
+		try {
+			convertEntry(entry, ColumnType.DOUBLE);
+			return true;
+		} catch (NumberFormatException exception) {
+			return false;
+		}
 	}
 
 	/**
-	 * Reads data from a text file
-	 *
-	 * @param filePath
-	 * @return
+	 * Returns true if the given entry only consists of characters of plain decimal numbers (digits, signs and, if
+	 * fractions are allowed, decimal points and exponents). Excludes the special formats that are accepted by
+	 * Double.valueOf, e.g. 1d, NaN, Infinity or hexadecimal numbers.
 	 */
-	private static List<List<Object>> readTextData(String filePath, String columnSeparator, int rowLimit) {
-
-		List<List<Object>> lines = new ArrayList<>();
-		int rowCount = 0;
-		try (
-				BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-			String line;
-			while ((line = br.readLine()) != null && rowCount < rowLimit) {
-				String[] lineEntries = line.split(columnSeparator);
-				lines.add(Arrays.asList(lineEntries));
-				rowCount++;
+	private static boolean hasOnlyDecimalCharacters(String entry, boolean allowFraction) {
+		for (int index = 0; index < entry.length(); index++) {
+			char character = entry.charAt(index);
+			boolean isDigitOrSign = (character >= '0' && character <= '9') || character == '+' || character == '-';
+			boolean isFractionCharacter = character == '.' || character == 'e' || character == 'E';
+			boolean isValid = isDigitOrSign || (allowFraction && isFractionCharacter);
+			if (!isValid) {
+				return false;
 			}
-		} catch (IOException exception) {
-			String message = "Could not read text file '" + filePath + "'";
-			LOG.error(message, exception);
-			throw new IllegalStateException(message, exception);
 		}
+		return true;
+	}
+
+	/**
+	 * Converts the given entries to values of the given column types. Empty entries of numeric columns are converted to
+	 * null. If an entry does not fit to the inferred type of its column (which is only based on a sample), the column
+	 * type is widened and the values of the column in the already converted rows are adapted. If a column is widened to
+	 * STRING, the number of already converted rows is put to the given map (by column index), so that the original
+	 * entries of these rows can be restored afterwards (see restoreOriginalEntries).
+	 */
+	private static List<Object> convertRow(
+			String[] entries,
+			ColumnType[] columnTypes,
+			List<List<Object>> rowData,
+			Map<Integer, Integer> numbersOfRowsBeforeWidening) {
+		int rowIndex = rowData.size();
+		Object[] values = new Object[entries.length];
+		for (int columnIndex = 0; columnIndex < entries.length; columnIndex++) {
+			String entry = entries[columnIndex];
+			ColumnType columnType = columnTypes[columnIndex];
+			if (!columnType.isNumeric()) {
+				values[columnIndex] = entry;
+				continue;
+			}
 
-		return lines;
+			String trimmedEntry = entry.trim();
+			if (trimmedEntry.isEmpty()) {
+				continue;
+			}
+
+			Object value;
+			try {
+				value = convertEntry(trimmedEntry, columnType);
+			} catch (NumberFormatException exception) {
+				ColumnType fittingType = widenColumnType(columnType, trimmedEntry);
+				widenColumn(rowData, columnIndex, fittingType);
+				columnTypes[columnIndex] = fittingType;
+				if (!fittingType.isNumeric()) {
+					numbersOfRowsBeforeWidening.put(columnIndex, rowIndex);
+					values[columnIndex] = entry;
+					continue;
+				}
+				value = convertEntry(trimmedEntry, fittingType);
+			}
+			values[columnIndex] = value;
+		}
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Converts the given (trimmed) entry to a value of the given column type. Throws a NumberFormatException if the
+	 * entry is not a plain decimal number of the given numeric type.
+	 */
+	private static Object convertEntry(String entry, ColumnType columnType) {
+		switch (columnType) {
+		case INTEGER:
+			if (!hasOnlyDecimalCharacters(entry, false)) {
+				throw new NumberFormatException("The entry '" + entry + "' is not an integer.");
+			}
+			return Integer.valueOf(entry);
+		case DOUBLE:
+			if (!hasOnlyDecimalCharacters(entry, true)) {
+				throw new NumberFormatException("The entry '" + entry + "' is not a decimal number.");
+			}
+			return Double.valueOf(entry);
+		default:
+			return entry;
+		}
+	}
+
+	/**
+	 * Converts the values of the given column to the given (wider) column type. If the column is widened to STRING,
+	 * the values are cleared; the original entries are read again from the file by restoreOriginalEntries, since the
+	 * text of the converted values may differ from the original text (e.g. 01 or 1.50).
+	 */
+	private static void widenColumn(List<List<Object>> rowData, int columnIndex, ColumnType newColumnType) {
+		String message = "Changing type of column " + (columnIndex + 1) + " to " + newColumnType
+				+ " since an entry does not fit to the type that has been inferred from the first rows.";
+		LOG.info(message);
+		boolean isNumeric = newColumnType.isNumeric();
+		for (List<Object> values : rowData) {
+			Object value = values.get(columnIndex);
+			if (!isNumeric) {
+				values.set(columnIndex, null);
+			} else if (value != null) {
+				values.set(columnIndex, ((Number) value).doubleValue());
+			}
+		}
+	}
+
+	/**
+	 * Reads the file a second time and replaces the values of the columns that have been widened to STRING with the
+	 * original entries. The given map contains the number of rows that have been converted before the widening for
+	 * each widened column; only these rows are read again.
+	 */
+	private static void restoreOriginalEntries(
+			Path path,
+			Charset charset,
+			String columnSeparator,
+			List<List<Object>> rowData,
+			Map<Integer, Integer> numbersOfRowsBeforeWidening) throws IOException {
+		int numberOfRowsToRead = Collections.max(numbersOfRowsBeforeWidening.values());
+		try (RecordReader tokenizer = createRecordReader(path, charset, columnSeparator)) {
+			List<String> fields = new ArrayList<>();
+
+			//skip header
+			tokenizer.readRecord(fields);
+
+			for (int rowIndex = 0; rowIndex < numberOfRowsToRead && tokenizer.readRecord(fields); rowIndex++) {
+				List<Object> values = rowData.get(rowIndex);
+				for (Map.Entry<Integer, Integer> widening : numbersOfRowsBeforeWidening.entrySet()) {
+					int columnIndex = widening.getKey();
+					if (rowIndex < widening.getValue()) {
+						values.set(columnIndex, fields.get(columnIndex));
+					}
+				}
+			}
+		}
 	}
 
 	//#end region
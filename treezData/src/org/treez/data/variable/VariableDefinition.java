@@ -15,10 +15,12 @@ import org.treez.core.atom.adjustable.AdjustableAtomCodeAdaption;
 import org.treez.core.atom.copy.CopyHelper;
 import org.treez.core.atom.uisynchronizing.AbstractUiSynchronizingAtom;
 import org.treez.core.data.row.Row;
+import org.treez.core.data.row.RowList;
 import org.treez.core.data.table.TreezTable;
 import org.treez.core.scripting.ScriptType;
 import org.treez.core.treeview.TreeViewerRefreshable;
 import org.treez.core.treeview.action.TreeViewerAction;
+import org.treez.data.evaluation.ExpressionEvaluator;
 import org.treez.data.evaluation.VariableDefinitionEvaluator;
 import org.treez.data.row.VariableDefinitionRow;
 import org.treez.data.table.VariableDefinitionTable;
@@ -35,13 +37,19 @@ public class VariableDefinition extends AbstractUiSynchronizingAtom<VariableDefi
 	/**
 	 * List of the variable definitions.
 	 */
-	private List<Row> definitionRows = new ArrayList<Row>();
+	private List<Row> definitionRows = new RowList();
 
 	/**
 	 * Evaluates the variable definitions
 	 */
 	private VariableDefinitionEvaluator evaluator = null;
 
+	/**
+	 * The scope that contains the variables of the evaluated definition rows; is null if the rows have not been
+	 * evaluated yet (see evaluateDefinitions)
+	 */
+	private ExpressionEvaluator scope = null;
+
 	/**
 	 * A table that contains the variable definitions
 	 */
@@ -138,9 +146,50 @@ public class VariableDefinition extends AbstractUiSynchronizingAtom<VariableDefi
 		int rowIndex = Math.max(0, getRowCount() - 1); //insert before empty row if empty row exists
 
 		definitionRows.add(rowIndex, newRow);
+
+		//a new last definition only has to be evaluated itself
+		boolean isLastDefinition = hasOnlyEmptyDefinitionsAfter(rowIndex);
+		if (scope != null && isLastDefinition) {
+			newRow.evaluateDefinition(scope);
+		} else {
+			evaluateDefinitions();
+		}
+
 		updateTable();
 	}
 
+	/**
+	 * Evaluates the definitions of all rows from top to bottom with a single shared scope, so that each definition is
+	 * evaluated once and can refer to the variables of the rows above
+	 */
+	public void evaluateDefinitions() {
+		scope = new ExpressionEvaluator();
+		for (Row row : definitionRows) {
+			if (row instanceof VariableDefinitionRow) {
+				((VariableDefinitionRow) row).evaluateDefinition(scope);
+			} else {
+				//copied rows are plain rows; their variables are defined for the rows below
+				evaluator.evaluate(row.getEntryAsString("Name"), row.getEntryAsString("Definition"), scope);
+			}
+		}
+	}
+
+	/**
+	 * Checks if the rows after the row with the given index only have empty definitions (e.g. the empty last row)
+	 *
+	 * @param rowIndex
+	 * @return
+	 */
+	private boolean hasOnlyEmptyDefinitionsAfter(int rowIndex) {
+		for (int index = rowIndex + 1; index < definitionRows.size(); index++) {
+			boolean hasDefinition = !definitionRows.get(index).getEntryAsString("Definition").isEmpty();
+			if (hasDefinition) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Creates a new variable name from a given name by checking existence of the name and adding a number
 	 *
@@ -192,6 +241,7 @@ public class VariableDefinition extends AbstractUiSynchronizingAtom<VariableDefi
 
 	public void setDefinitionRows(List<Row> definitionRows) {
 		this.definitionRows = definitionRows;
+		scope = null;
 		updateTable();
 	}
 
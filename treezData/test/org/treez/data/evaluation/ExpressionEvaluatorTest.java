@@ -0,0 +1,158 @@
+package org.treez.data.evaluation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.treez.testutils.TestUtils;
+
+/**
+ * Tests the parser of the ExpressionEvaluator (indexing, end keyword, units) and the scopes of the
+ * VariableDefinitionEvaluator
+ */
+public class ExpressionEvaluatorTest {
+
+	/**
+	 * Logger for this class
+	 */
+	@SuppressWarnings("unused")
+	private static final Logger LOG = Logger.getLogger(ExpressionEvaluatorTest.class);
+
+	//#region ATTRIBUTES
+
+	private static final double TOLERANCE = 1e-12;
+
+	private ExpressionEvaluator evaluator;
+
+	//#end region
+
+	//#region SETUP
+
+	@BeforeClass
+	public static void initializeLogging() {
+		TestUtils.initializeLogging();
+	}
+
+	@Before
+	public void createEvaluator() {
+		evaluator = new ExpressionEvaluator();
+		evaluator.assign("x", "[10 20 30 40]");
+	}
+
+	//#end region
+
+	//#region TESTS
+
+	@Test
+	public void testOperatorPrecedence() {
+		assertScalar(7, evaluator.evaluate("1 + 2*3"));
+		assertScalar(-4, evaluator.evaluate("-2^2"));
+		assertScalar(0.25, evaluator.evaluate("2^-2"));
+	}
+
+	@Test
+	public void testUnits() {
+		DimensionedValue value = evaluator.evaluate("5*u.mm");
+		assertScalar(0.005, value);
+		assertEquals("[m^1]", value.getUnitString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIncompatibleUnits() {
+		evaluator.evaluate("1*u.m + 1*u.s");
+	}
+
+	@Test
+	public void testIndexWithEnd() {
+		assertScalar(40, evaluator.evaluate("x(end)"));
+		assertScalar(30, evaluator.evaluate("x(end-1)"));
+		assertScalar(20, evaluator.evaluate("x(end/2)"));
+	}
+
+	@Test
+	public void testRangeIndexWithEnd() {
+		DimensionedValue value = evaluator.evaluate("x(2:end)");
+		assertEquals(1, value.getRowCount());
+		assertEquals(3, value.getColumnCount());
+		assertEquals(20, value.getValue(0, 0), TOLERANCE);
+		assertEquals(40, value.getValue(0, 2), TOLERANCE);
+	}
+
+	@Test
+	public void testChainedIndexing() {
+		assertScalar(2, evaluator.evaluate("(1:3)(2)"));
+		assertScalar(30, evaluator.evaluate("x(2:end)(2)"));
+		assertScalar(40, evaluator.evaluate("x(end)(end)"));
+	}
+
+	@Test
+	public void testNestedEnd() {
+		evaluator.assign("indices", "[1 2 3]");
+		assertScalar(30, evaluator.evaluate("x(indices(end))"));
+	}
+
+	@Test
+	public void testMatrixIndexIsColumnWise() {
+		evaluator.assign("m", "[1, 2; 3, 4]");
+		assertScalar(3, evaluator.evaluate("m(2)"));
+		assertScalar(4, evaluator.evaluate("m(end)"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEndOutsideOfIndex() {
+		evaluator.evaluate("end + 1");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIndexOutOfBound() {
+		evaluator.evaluate("x(end+1)");
+	}
+
+	@Test
+	public void testDefinitionScopesAreSeparate() {
+		VariableDefinitionEvaluator definitionEvaluator = new VariableDefinitionEvaluator();
+		Map<String, String> previousDefinitions = new LinkedHashMap<>();
+		previousDefinitions.put("a", "2*u.m");
+		VariableDefinitionResult result = definitionEvaluator.evaluate("b", "a*3", previousDefinitions);
+		assertEquals("6", result.getValue());
+		assertEquals("[m]", result.getUnit());
+
+		//the variable "a" is not kept for other evaluations
+		VariableDefinitionResult otherResult = new VariableDefinitionEvaluator().evaluate("c", "a*3");
+		assertEquals("NaN", otherResult.getValue());
+		assertFalse(otherResult.getError().isEmpty());
+	}
+
+	@Test
+	public void testDefinitionsShareScope() {
+		VariableDefinitionEvaluator definitionEvaluator = new VariableDefinitionEvaluator();
+		ExpressionEvaluator scope = new ExpressionEvaluator();
+		definitionEvaluator.evaluate("a", "2*u.m", scope);
+
+		//an invalid definition does not change the variable
+		VariableDefinitionResult invalidResult = definitionEvaluator.evaluate("a", "1*u.m + 1*u.s", scope);
+		assertFalse(invalidResult.getError().isEmpty());
+
+		definitionEvaluator.evaluate("b", "a*3", scope);
+		assertScalar(8, scope.evaluate("a + b"));
+	}
+
+	//#end region
+
+	//#region UTILITIES
+
+	private static void assertScalar(double expected, DimensionedValue value) {
+		assertEquals(1, value.getRowCount());
+		assertEquals(1, value.getColumnCount());
+		assertEquals(expected, value.getValue(0, 0), TOLERANCE);
+	}
+
+	//#end region
+
+}
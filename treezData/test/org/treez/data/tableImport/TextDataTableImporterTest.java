@@ -0,0 +1,191 @@
+package org.treez.data.tableImport;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.treez.core.data.column.ColumnType;
+import org.treez.testutils.TestUtils;
+
+/**
+ * Tests the TextDataTableImporter: separators, type inference and widening of column types
+ */
+public class TextDataTableImporterTest {
+
+	/**
+	 * Logger for this class
+	 */
+	@SuppressWarnings("unused")
+	private static final Logger LOG = Logger.getLogger(TextDataTableImporterTest.class);
+
+	//#region ATTRIBUTES
+
+	private Path filePath;
+
+	//#end region
+
+	//#region SETUP
+
+	@BeforeClass
+	public static void initializeLogging() {
+		TestUtils.initializeLogging();
+	}
+
+	@Before
+	public void createFile() throws IOException {
+		filePath = Files.createTempFile("treezTextImport", ".csv");
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists(filePath);
+	}
+
+	//#end region
+
+	//#region TESTS
+
+	@Test
+	public void testSingleCharacterSeparatorWithQuotes() throws IOException {
+		TableData tableData = importText(",", "a,b", "1,\"x,y\"", "2,z");
+		assertEquals(Arrays.asList("a", "b"), tableData.getHeaderData());
+		assertEquals(Arrays.asList(1, "x,y"), tableData.getRowData().get(0));
+		assertEquals(Arrays.asList(2, "z"), tableData.getRowData().get(1));
+	}
+
+	@Test
+	public void testTabSeparator() throws IOException {
+		TableData tableData = importText("\\t", "a\tb", "1\t2.5");
+		assertEquals(Arrays.asList(1, 2.5), tableData.getRowData().get(0));
+	}
+
+	@Test
+	public void testMultiCharacterSeparator() throws IOException {
+		TableData tableData = importText(";;", "a;;b", "1;;x", "2;;y");
+		assertEquals(Arrays.asList("a", "b"), tableData.getHeaderData());
+		assertEquals(Arrays.asList(2, "y"), tableData.getRowData().get(1));
+	}
+
+	@Test
+	public void testRegularExpressionSeparator() throws IOException {
+		TableData tableData = importText("\\s+", "a  b\tc", "1 2.5   x");
+		assertEquals(Arrays.asList("a", "b", "c"), tableData.getHeaderData());
+		assertEquals(Arrays.asList(1, 2.5, "x"), tableData.getRowData().get(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidRegularExpressionSeparator() throws IOException {
+		importText("[;", "a[;b", "1[;2");
+	}
+
+	@Test
+	public void testSpecialDoubleFormatsAreText() throws IOException {
+		TableData tableData = importText(",", "a,b,c,d", "1d,NaN,Infinity,0x1p3");
+		for (String header : tableData.getHeaderData()) {
+			assertEquals(header, ColumnType.STRING, tableData.getColumnType(header));
+		}
+		assertEquals(Arrays.asList("1d", "NaN", "Infinity", "0x1p3"), tableData.getRowData().get(0));
+	}
+
+	@Test
+	public void testTypeInference() throws IOException {
+		TableData tableData = importText(",", "i,d,s", "1,1.5,x", "-2,1e3,y", ",,");
+		assertEquals(ColumnType.INTEGER, tableData.getColumnType("i"));
+		assertEquals(ColumnType.DOUBLE, tableData.getColumnType("d"));
+		assertEquals(ColumnType.STRING, tableData.getColumnType("s"));
+		assertEquals(Arrays.asList(-2, 1000.0, "y"), tableData.getRowData().get(1));
+		assertEquals(Arrays.asList(null, null, ""), tableData.getRowData().get(2));
+	}
+
+	@Test
+	public void testWideningToStringKeepsOriginalText() throws IOException {
+		String[] lines = new String[1003];
+		lines[0] = "a,b";
+		for (int index = 1; index < 1002; index++) {
+			lines[index] = (index == 1 ? "01" : Integer.toString(index)) + "," + (index == 2 ? "1.50" : "2");
+		}
+		lines[1002] = "x,y";
+		TableData tableData = importText(",", lines);
+
+		assertEquals(ColumnType.STRING, tableData.getColumnType("a"));
+		assertEquals(ColumnType.STRING, tableData.getColumnType("b"));
+		List<List<Object>> rowData = tableData.getRowData();
+		assertEquals(Arrays.asList("01", "2"), rowData.get(0));
+		assertEquals(Arrays.asList("2", "1.50"), rowData.get(1));
+		assertEquals(Arrays.asList("x", "y"), rowData.get(1001));
+	}
+
+	@Test
+	public void testWideningIntegerToDoubleAndString() throws IOException {
+		String[] lines = new String[1004];
+		lines[0] = "a";
+		for (int index = 1; index < 1002; index++) {
+			lines[index] = Integer.toString(index);
+		}
+		lines[1002] = "2.5";
+		lines[1003] = "x";
+		TableData tableData = importText(",", lines);
+
+		assertEquals(ColumnType.STRING, tableData.getColumnType("a"));
+		List<List<Object>> rowData = tableData.getRowData();
+		assertEquals("1", rowData.get(0).get(0));
+		assertEquals("2.5", rowData.get(1001).get(0));
+		assertEquals("x", rowData.get(1002).get(0));
+	}
+
+	@Test
+	public void testWideningIntegerToDouble() throws IOException {
+		String[] lines = new String[1003];
+		lines[0] = "a";
+		for (int index = 1; index < 1002; index++) {
+			lines[index] = Integer.toString(index);
+		}
+		lines[1002] = "2.5";
+		TableData tableData = importText(",", lines);
+
+		assertEquals(ColumnType.DOUBLE, tableData.getColumnType("a"));
+		assertEquals(1.0, tableData.getRowData().get(0).get(0));
+		assertEquals(2.5, tableData.getRowData().get(1001).get(0));
+	}
+
+	@Test
+	public void testWrongNumberOfColumnsReportsLineNumber() throws IOException {
+		//the invalid record starts in line 6 (after an empty line and a quoted field with a line break)
+		assertWrongNumberOfColumnsInLine(6, ",", "a,b", "1,\"x", "y\"", "", "2,z", "3");
+		assertWrongNumberOfColumnsInLine(4, ";;", "a;;b", "", "1;;x", "2");
+	}
+
+	//#end region
+
+	//#region UTILITIES
+
+	private void assertWrongNumberOfColumnsInLine(int expectedLineNumber, String columnSeparator, String... lines)
+			throws IOException {
+		try {
+			importText(columnSeparator, lines);
+		} catch (IllegalStateException exception) {
+			String expectedMessage = "The number of columns in line " + expectedLineNumber + " has to be 2 but is 1.";
+			assertEquals(expectedMessage, exception.getMessage());
+			return;
+		}
+		throw new AssertionError("An IllegalStateException has been expected.");
+	}
+
+	private TableData importText(String columnSeparator, String... lines) throws IOException {
+		Files.write(filePath, Arrays.asList(lines), StandardCharsets.UTF_8);
+		return TextDataTableImporter.importData(filePath.toString(), columnSeparator, Integer.MAX_VALUE);
+	}
+
+	//#end region
+
+}
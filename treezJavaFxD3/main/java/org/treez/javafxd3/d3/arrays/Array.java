@@ -49,6 +49,13 @@ public class Array<T> extends JavaScriptObject {
 	 */
 	public static <L> Array<L> fromList(JsEngine engine, List<L> data) {
 
+		// transfer numbers in a single call
+		double[] numbers = TypedArrayTransfer.toNumbers(data);
+		if (numbers != null) {
+			JsObject numberArray = TypedArrayTransfer.transferDoubles(engine, numbers);
+			return new Array<L>(engine, numberArray);
+		}
+
 		// store data as temporary array
 		JsObject d3Obj = (JsObject) engine.executeScript("d3");
 		String varName = createNewTemporaryInstanceName();
@@ -91,6 +98,13 @@ public class Array<T> extends JavaScriptObject {
 	 */
 	public static <L> Array<L> fromListDirectly(JsEngine engine, List<L> data) {
 
+		// transfer numbers in a single call
+		double[] numbers = TypedArrayTransfer.toNumbers(data);
+		if (numbers != null) {
+			JsObject numberArray = TypedArrayTransfer.transferDoubles(engine, numbers);
+			return new Array<L>(engine, numberArray);
+		}
+
 		// store data as temporary array
 		JsObject d3Obj = (JsObject) engine.executeScript("d3");
 		String varName = createNewTemporaryInstanceName();
@@ -115,28 +129,74 @@ public class Array<T> extends JavaScriptObject {
 	}
 
 	/**
-	 * Creates a one-dimensional Array from the given Double array
+	 * Creates a one-dimensional Array from the given Double array. Null values
+	 * are converted to NaN.
 	 * 
 	 * @param engine
 	 * @param data
 	 * @return
 	 */
 	public static Array<Double> fromDoubles(JsEngine engine, Double[] data) {
+		return fromDoubles(engine, TypedArrayTransfer.toPrimitive(data));
+	}
 
-		String varName = createNewTemporaryInstanceName();
-		String arrayString = ArrayUtils.createArrayString(data);
-		String command = "var " + varName + " = " + arrayString + ";";
-		engine.executeScript(command);
-
-		// execute command and return result as Array
-		JsObject result = (JsObject) engine.executeScript(varName);
+	/**
+	 * Creates a one-dimensional Array from the given double array. The values
+	 * are transferred in a single call (see TypedArrayTransfer).
+	 * 
+	 * @param engine
+	 * @param data
+	 * @return
+	 */
+	public static Array<Double> fromDoubles(JsEngine engine, double[] data) {
+		JsObject result = TypedArrayTransfer.transferDoubles(engine, data);
+		return new Array<Double>(engine, result);
+	}
 
-		engine.executeScript(varName + " = undefined;");
+	/**
+	 * Creates a one-dimensional Array from the given int array. The values are
+	 * transferred in a single call (see TypedArrayTransfer).
+	 * 
+	 * @param engine
+	 * @param data
+	 * @return
+	 */
+	public static Array<Integer> fromInts(JsEngine engine, int[] data) {
+		JsObject result = TypedArrayTransfer.transferInts(engine, data);
+		return new Array<Integer>(engine, result);
+	}
 
+	/**
+	 * Creates a two-dimensional Array of pairs, e.g. [[x1,y1],[x2,y2]], from
+	 * the given first and second values. The values are transferred in a
+	 * single call (see TypedArrayTransfer).
+	 * 
+	 * @param engine
+	 * @param firstValues
+	 * @param secondValues
+	 * @return
+	 */
+	public static Array<Double> fromDoublePairs(JsEngine engine, double[] firstValues, double[] secondValues) {
+		JsObject result = TypedArrayTransfer.transferDoublePairs(engine, firstValues, secondValues);
 		return new Array<Double>(engine, result);
 	}
 
+	/**
+	 * Creates a two-dimensional Array from the given Double array. Rectangular
+	 * data is transferred in a single call (see TypedArrayTransfer).
+	 * 
+	 * @param engine
+	 * @param data
+	 * @return
+	 */
 	public static Array<Double> fromDoubles(JsEngine engine, Double[][] data) {
+
+		double[] values = toRowMajorValues(data);
+		if (values != null) {
+			JsObject result = TypedArrayTransfer.transferDoubleRows(engine, values, data[0].length);
+			return new Array<Double>(engine, result);
+		}
+
 		String varName = createNewTemporaryInstanceName();
 		String arrayString = ArrayUtils.createArrayString(data);
 		String command = "var " + varName + " = " + arrayString + ";";
@@ -150,6 +210,29 @@ public class Array<T> extends JavaScriptObject {
 		return new Array<Double>(engine, result);
 	}
 
+	/**
+	 * Returns the values of the given rectangular array in row major order or
+	 * null if the array is empty or not rectangular
+	 */
+	private static double[] toRowMajorValues(Double[][] data) {
+		if (data.length == 0 || data[0] == null || data[0].length == 0) {
+			return null;
+		}
+		int rowLength = data[0].length;
+		double[] values = new double[data.length * rowLength];
+		for (int rowIndex = 0; rowIndex < data.length; rowIndex++) {
+			Double[] row = data[rowIndex];
+			if (row == null || row.length != rowLength) {
+				return null;
+			}
+			for (int columnIndex = 0; columnIndex < rowLength; columnIndex++) {
+				Double value = row[columnIndex];
+				values[rowIndex * rowLength + columnIndex] = value == null ? Double.NaN : value;
+			}
+		}
+		return values;
+	}
+
 	public static Array<String> fromStrings(JsEngine engine, String[] data) {
 
 		String varName = createNewTemporaryInstanceName();
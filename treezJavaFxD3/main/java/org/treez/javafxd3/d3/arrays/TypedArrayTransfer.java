@@ -0,0 +1,223 @@
+package org.treez.javafxd3.d3.arrays;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+
+import org.treez.javafxd3.d3.core.JsEngine;
+import org.treez.javafxd3.d3.core.JsObject;
+
+/**
+ * Transfers primitive arrays to JavaScript in a single call of the JsEngine.
+ * The values are packed into a binary buffer that is passed as Base64 string
+ * and decoded into a Float64Array (or Int32Array) on the JavaScript side. This
+ * avoids a bridge call per element (see JsObject.setSlot) and the parsing of
+ * large array literals.
+ * <p>
+ * The decoded typed array is copied to a plain JavaScript array because the
+ * used versions of d3 and plotly do not accept typed arrays as data.
+ */
+public final class TypedArrayTransfer {
+
+	//#region ATTRIBUTES
+
+	/**
+	 * Decodes a Base64 string to a typed array of the given type. JavaScript
+	 * typed arrays use the byte order of the platform, which is little endian
+	 * for all platforms that run JavaFX.
+	 */
+	private static final String DECODE_FUNCTION = "function(base64, ArrayType) {" //
+			+ "var binary = atob(base64);" //
+			+ "var length = binary.length;" //
+			+ "var bytes = new Uint8Array(length);" //
+			+ "for (var index = 0; index < length; index++) {" //
+			+ "  bytes[index] = binary.charCodeAt(index);" //
+			+ "}" //
+			+ "return new ArrayType(bytes.buffer);" //
+			+ "}";
+
+	private static final String TO_ARRAY_FUNCTION = "function(typedArray) {" //
+			+ "return Array.prototype.slice.call(typedArray);" //
+			+ "}";
+
+	/**
+	 * Splits a typed array into rows of the given length
+	 */
+	private static final String TO_ROWS_FUNCTION = "function(typedArray, rowLength) {" //
+			+ "var rows = new Array(typedArray.length / rowLength);" //
+			+ "for (var rowIndex = 0; rowIndex < rows.length; rowIndex++) {" //
+			+ "  var start = rowIndex * rowLength;" //
+			+ "  rows[rowIndex] = Array.prototype.slice.call(typedArray, start, start + rowLength);" //
+			+ "}" //
+			+ "return rows;" //
+			+ "}";
+
+	/**
+	 * Combines the first and the second half of a typed array to pairs
+	 */
+	private static final String TO_PAIRS_FUNCTION = "function(typedArray) {" //
+			+ "var length = typedArray.length / 2;" //
+			+ "var pairs = new Array(length);" //
+			+ "for (var index = 0; index < length; index++) {" //
+			+ "  pairs[index] = [typedArray[index], typedArray[length + index]];" //
+			+ "}" //
+			+ "return pairs;" //
+			+ "}";
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	private TypedArrayTransfer() {
+		// utility class
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Creates a JavaScript array with the given values
+	 *
+	 * @param engine
+	 * @param values
+	 * @return
+	 */
+	public static JsObject transferDoubles(JsEngine engine, double[] values) {
+		String base64 = encode(values);
+		return decode(engine, base64, "Float64Array", TO_ARRAY_FUNCTION, "");
+	}
+
+	/**
+	 * Creates a JavaScript array with the given values
+	 *
+	 * @param engine
+	 * @param values
+	 * @return
+	 */
+	public static JsObject transferInts(JsEngine engine, int[] values) {
+		String base64 = encode(values);
+		return decode(engine, base64, "Int32Array", TO_ARRAY_FUNCTION, "");
+	}
+
+	/**
+	 * Creates a two-dimensional JavaScript array from the given (row major)
+	 * values, e.g. [[1,2,3],[4,5,6]] for the values 1...6 and a row length of
+	 * 3
+	 *
+	 * @param engine
+	 * @param values
+	 * @param rowLength
+	 * @return
+	 */
+	public static JsObject transferDoubleRows(JsEngine engine, double[] values, int rowLength) {
+		boolean isRectangular = rowLength > 0 && values.length % rowLength == 0;
+		if (!isRectangular) {
+			String message = "The number of values (" + values.length + ") is not a multiple of the row length "
+					+ rowLength + ".";
+			throw new IllegalArgumentException(message);
+		}
+		String base64 = encode(values);
+		return decode(engine, base64, "Float64Array", TO_ROWS_FUNCTION, ", " + rowLength);
+	}
+
+	/**
+	 * Creates a JavaScript array of pairs, e.g. [[x1,y1],[x2,y2]] for the
+	 * given first values x1, x2 and second values y1, y2
+	 *
+	 * @param engine
+	 * @param firstValues
+	 * @param secondValues
+	 * @return
+	 */
+	public static JsObject transferDoublePairs(JsEngine engine, double[] firstValues, double[] secondValues) {
+		int length = firstValues.length;
+		if (secondValues.length != length) {
+			String message = "The first and second values have to be of equal size but their sizes are " + length
+					+ " and " + secondValues.length;
+			throw new IllegalArgumentException(message);
+		}
+		double[] values = new double[2 * length];
+		System.arraycopy(firstValues, 0, values, 0, length);
+		System.arraycopy(secondValues, 0, values, length, length);
+		String base64 = encode(values);
+		return decode(engine, base64, "Float64Array", TO_PAIRS_FUNCTION, "");
+	}
+
+	/**
+	 * Converts the given Double values to primitive values. Null values are
+	 * converted to NaN.
+	 *
+	 * @param values
+	 * @return
+	 */
+	public static double[] toPrimitive(Double[] values) {
+		double[] primitiveValues = new double[values.length];
+		for (int index = 0; index < values.length; index++) {
+			Double value = values[index];
+			primitiveValues[index] = value == null ? Double.NaN : value;
+		}
+		return primitiveValues;
+	}
+
+	/**
+	 * Returns the values of the given list as double array or null if the
+	 * list is empty or contains other objects than numbers
+	 *
+	 * @param values
+	 * @return
+	 */
+	public static double[] toNumbers(List<?> values) {
+		if (values.isEmpty()) {
+			return null;
+		}
+		double[] numbers = new double[values.size()];
+		int index = 0;
+		for (Object value : values) {
+			if (!(value instanceof Number)) {
+				return null;
+			}
+			numbers[index++] = ((Number) value).doubleValue();
+		}
+		return numbers;
+	}
+
+	/**
+	 * Packs the given values to a Base64 string (little endian)
+	 *
+	 * @param values
+	 * @return
+	 */
+	static String encode(double[] values) {
+		ByteBuffer buffer = ByteBuffer.allocate(values.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.asDoubleBuffer().put(values);
+		return Base64.getEncoder().encodeToString(buffer.array());
+	}
+
+	/**
+	 * Packs the given values to a Base64 string (little endian)
+	 *
+	 * @param values
+	 * @return
+	 */
+	static String encode(int[] values) {
+		ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.asIntBuffer().put(values);
+		return Base64.getEncoder().encodeToString(buffer.array());
+	}
+
+	private static JsObject decode(
+			JsEngine engine,
+			String base64,
+			String arrayType,
+			String conversionFunction,
+			String additionalArguments) {
+		String command = "(" + conversionFunction + ")((" + DECODE_FUNCTION + ")('" + base64 + "', " + arrayType
+				+ ")" + additionalArguments + ")";
+		return (JsObject) engine.executeScript(command);
+	}
+
+	//#end region
+
+}
@@ -1119,8 +1119,7 @@ public class Selection extends EnteringSelection {
 	 * @return the update selection
 	 */
 	public final UpdateSelection data(Double[][] array) {
-		String arrayString = ArrayUtils.createArrayString(array);
-		return data(arrayString);
+		return data(Array.fromDoubles(engine, array));
 	}
 
 	public final UpdateSelection data(Array<?> array) {
@@ -1384,10 +1383,7 @@ public class Selection extends EnteringSelection {
 	 * @return the update selection
 	 */
 	public final UpdateSelection data(Double[] array) {
-
-		String arrayString = ArrayUtils.createArrayString(array);
-
-		return data(arrayString);
+		return data(Array.fromDoubles(engine, array));
 	}
 
 	/**
@@ -1540,8 +1536,7 @@ public class Selection extends EnteringSelection {
 	 * @return the update selection
 	 */
 	public final UpdateSelection data(final double[] array) {
-		String arrayString = ArrayUtils.createArrayString(array);
-		return data(arrayString);
+		return data(Array.fromDoubles(engine, array));
 	}
 
 	/**
@@ -1556,11 +1551,7 @@ public class Selection extends EnteringSelection {
 	 * @return the update selection
 	 */
 	public final UpdateSelection data(final double[] array, final KeyFunction<?> keyFunction) {
-
-		String arrayString = ArrayUtils.createArrayString(array);
-		JsObject jsArrayObject = evalForJsObject(arrayString);
-		return data(jsArrayObject, keyFunction);
-
+		return data(Array.fromDoubles(engine, array), keyFunction);
 	}
 
 	/**
@@ -1606,9 +1597,7 @@ public class Selection extends EnteringSelection {
 	 * @return the update selection
 	 */
 	public final UpdateSelection data(final int[] array) {
-
-		String arrayString = ArrayUtils.createArrayString(array);
-		return data(arrayString);
+		return data(Array.fromInts(engine, array));
 	}
 
 	/**
@@ -1623,10 +1612,7 @@ public class Selection extends EnteringSelection {
 	 * @return the update selection
 	 */
 	public final UpdateSelection data(final int[] array, final KeyFunction<?> keyFunction) {
-
-		String arrayString = ArrayUtils.createArrayString(array);
-		JsObject jsArrayObject = evalForJsObject(arrayString);
-		return data(jsArrayObject, keyFunction);
+		return data(Array.fromInts(engine, array), keyFunction);
 	}
 
 	/**
@@ -177,10 +177,8 @@ public abstract class PathDataGenerator extends JavaScriptObject implements JsFu
 	}
 
 	public String generate(Double[][] coordinates) {
-
-		String arrayString = ArrayUtils.createArrayString(coordinates);
-		String pathString = generate(arrayString);
-		return pathString;
+		Array<Double> array = Array.fromDoubles(engine, coordinates);
+		return generate(array);
 	}
 
 	public String generate(String dataArrayString) {
@@ -1,12 +1,113 @@
 package org.treez.javafxd3.d3.wrapper.canvas;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.treez.javafxd3.d3.wrapper.JavaScriptObject;
 
+import org.treez.javafxd3.d3.arrays.Array;
 import org.treez.javafxd3.d3.core.JsEngine;
 import org.treez.javafxd3.d3.core.JsObject;
+import org.treez.javafxd3.d3.scales.Scale;
+import org.treez.javafxd3.d3.svg.SymbolType;
 
 public class Context2d extends JavaScriptObject {
 	
+	//#region ATTRIBUTES
+	
+	/**
+	 * Strokes a line through the points of the data (after transforming them
+	 * with the scales). Points that can not be transformed to finite
+	 * positions interrupt the line.
+	 */
+	private static final String STROKE_LINE_FUNCTION = "function(context, data, xScale, yScale) {" //
+			+ "context.beginPath();" //
+			+ "var isDrawing = false;" //
+			+ "for (var index = 0; index < data.length; index++) {" //
+			+ "  var x = xScale(data[index][0]);" //
+			+ "  var y = yScale(data[index][1]);" //
+			+ "  if (isFinite(x) && isFinite(y)) {" //
+			+ "    if (isDrawing) {" //
+			+ "      context.lineTo(x, y);" //
+			+ "    } else {" //
+			+ "      context.moveTo(x, y);" //
+			+ "    }" //
+			+ "    isDrawing = true;" //
+			+ "  } else {" //
+			+ "    isDrawing = false;" //
+			+ "  }" //
+			+ "}" //
+			+ "context.stroke();" //
+			+ "}";
+	
+	/**
+	 * Adds a symbol for each point of the data to a single path and fills and
+	 * strokes that path with the given opacities. The shapes and sizes of the
+	 * symbols correspond to the symbols of d3.svg.symbol (the size is the
+	 * area in square pixels).
+	 */
+	private static final String DRAW_SYMBOLS_FUNCTION = "function(context, data, xScale, yScale, type, size, fillOpacity, strokeOpacity) {" //
+			+ "var tan30 = Math.sqrt(1 / 3);" //
+			+ "var sqrt3 = Math.sqrt(3);" //
+			+ "var shape = null;" //
+			+ "var r, rx, ry;" //
+			+ "switch (type) {" //
+			+ "  case 'cross':" //
+			+ "    r = Math.sqrt(size / 5) / 2;" //
+			+ "    shape = [-3*r,-r, -r,-r, -r,-3*r, r,-3*r, r,-r, 3*r,-r, 3*r,r, r,r, r,3*r, -r,3*r, -r,r, -3*r,r];" //
+			+ "    break;" //
+			+ "  case 'diamond':" //
+			+ "    ry = Math.sqrt(size / (2 * tan30));" //
+			+ "    rx = ry * tan30;" //
+			+ "    shape = [0,-ry, rx,0, 0,ry, -rx,0];" //
+			+ "    break;" //
+			+ "  case 'square':" //
+			+ "    r = Math.sqrt(size) / 2;" //
+			+ "    shape = [-r,-r, r,-r, r,r, -r,r];" //
+			+ "    break;" //
+			+ "  case 'triangle-down':" //
+			+ "    rx = Math.sqrt(size / sqrt3);" //
+			+ "    ry = rx * sqrt3 / 2;" //
+			+ "    shape = [0,ry, rx,-ry, -rx,-ry];" //
+			+ "    break;" //
+			+ "  case 'triangle-up':" //
+			+ "    rx = Math.sqrt(size / sqrt3);" //
+			+ "    ry = rx * sqrt3 / 2;" //
+			+ "    shape = [0,-ry, rx,ry, -rx,ry];" //
+			+ "    break;" //
+			+ "}" //
+			+ "var radius = Math.sqrt(size / Math.PI);" //
+			+ "context.beginPath();" //
+			+ "for (var index = 0; index < data.length; index++) {" //
+			+ "  var x = xScale(data[index][0]);" //
+			+ "  var y = yScale(data[index][1]);" //
+			+ "  if (!isFinite(x) || !isFinite(y)) {" //
+			+ "    continue;" //
+			+ "  }" //
+			+ "  if (shape) {" //
+			+ "    context.moveTo(x + shape[0], y + shape[1]);" //
+			+ "    for (var vertex = 2; vertex < shape.length; vertex += 2) {" //
+			+ "      context.lineTo(x + shape[vertex], y + shape[vertex + 1]);" //
+			+ "    }" //
+			+ "    context.closePath();" //
+			+ "  } else {" //
+			+ "    context.moveTo(x + radius, y);" //
+			+ "    context.arc(x, y, radius, 0, 2 * Math.PI);" //
+			+ "  }" //
+			+ "}" //
+			+ "if (fillOpacity > 0) {" //
+			+ "  context.globalAlpha = fillOpacity;" //
+			+ "  context.fill();" //
+			+ "}" //
+			+ "if (strokeOpacity > 0) {" //
+			+ "  context.globalAlpha = strokeOpacity;" //
+			+ "  context.stroke();" //
+			+ "}" //
+			+ "context.globalAlpha = 1;" //
+			+ "}";
+	
+	//#end region
+	
 	//#region CONSTRUCTORS
 
 	public Context2d(JsEngine engine, JsObject wrappedJsObject){
@@ -77,6 +178,102 @@ public class Context2d extends JavaScriptObject {
 		eval(command);
 	}
 
+	public void setGlobalAlpha(double value) {
+		String command = "this.globalAlpha =" + value;
+		eval(command);
+	}
+
+	/**
+	 * Sets the dash pattern for lines, e.g. "6,2"; "none" or an empty string
+	 * result in solid lines. Is ignored if the browser does not support dashed
+	 * canvas lines.
+	 * 
+	 * @param dashArray
+	 */
+	public void setLineDash(String dashArray) {
+		boolean isSolid = dashArray == null || dashArray.trim().isEmpty() || dashArray.trim().equals("none");
+		String segments = isSolid ? "" : dashArray.trim();
+		String command = "if (this.setLineDash) { this.setLineDash([" + segments + "]); }";
+		eval(command);
+	}
+
+	public void clearRect(double x, double y, double width, double height) {
+		call("clearRect", x, y, width, height);
+	}
+
+	/**
+	 * Clears the whole canvas
+	 */
+	public void clear() {
+		String command = "this.clearRect(0, 0, this.canvas.width, this.canvas.height)";
+		eval(command);
+	}
+
+	/**
+	 * Strokes a line through the given xy data, e.g. [[1.0,2.0],[2.0,4.0]],
+	 * with the current stroke style. The points are transformed with the given
+	 * scales. The whole line is drawn with a single JavaScript call (instead of
+	 * a call of lineTo for each point).
+	 * 
+	 * @param xyData
+	 * @param xScale
+	 * @param yScale
+	 */
+	public void strokeLine(Array<?> xyData, Scale<?> xScale, Scale<?> yScale) {
+		callFunction(STROKE_LINE_FUNCTION, xyData.getJsObject(), xScale.getJsObject(), yScale.getJsObject());
+	}
+
+	/**
+	 * Draws a symbol for each point of the given xy data, e.g.
+	 * [[1.0,2.0],[2.0,4.0]], with the current fill and stroke style. The
+	 * points are transformed with the given scales. All symbols are drawn
+	 * with a single JavaScript call.
+	 * 
+	 * @param xyData
+	 * @param xScale
+	 * @param yScale
+	 * @param symbolType
+	 * @param size
+	 *            the area of a symbol in square pixels
+	 * @param fillOpacity
+	 *            the symbols are not filled if this is 0
+	 * @param strokeOpacity
+	 *            the symbols are not stroked if this is 0
+	 */
+	public void drawSymbols(
+			Array<?> xyData,
+			Scale<?> xScale,
+			Scale<?> yScale,
+			SymbolType symbolType,
+			double size,
+			double fillOpacity,
+			double strokeOpacity) {
+		callFunction(DRAW_SYMBOLS_FUNCTION, xyData.getJsObject(), xScale.getJsObject(), yScale.getJsObject(),
+				symbolType.getValue(), size, fillOpacity, strokeOpacity);
+	}
+
+	/**
+	 * Calls the given JavaScript function with this context and the given
+	 * arguments. The arguments are passed as temporary members of this
+	 * context.
+	 */
+	private void callFunction(String function, Object... args) {
+		List<String> memberNames = new ArrayList<>();
+		try {
+			for (Object arg : args) {
+				String memberName = createNewTemporaryInstanceName();
+				memberNames.add(memberName);
+				setMember(memberName, arg);
+			}
+			String arguments = memberNames.isEmpty() ? "" : ", this." + String.join(", this.", memberNames);
+			eval("(" + function + ")(this" + arguments + ")");
+		} finally {
+			for (String memberName : memberNames) {
+				getJsObject().removeMember(memberName);
+			}
+		}
+	}
+
 	
 	
 	//#end region
@@ -59,6 +59,11 @@ public class JavaFxD3Browser extends Region {
 
 	private Boolean enableDebugMode = false;
 
+	/**
+	 * Saves the svg content (on double click)
+	 */
+	private final SaveHelper saveHelper = new SaveHelper();
+
 	
 	private double browserWidth = 900;
 	private double browserHeight = 1000;
@@ -230,7 +235,6 @@ public class JavaFxD3Browser extends Region {
 	}
 
 	private void injectSaveHelper() {
-		SaveHelper saveHelper = new SaveHelper();
 		d3.setMember("saveHelper", saveHelper);
 
 	}
@@ -265,9 +269,28 @@ public class JavaFxD3Browser extends Region {
 				+ "<svg id=\"svg\" class=\"svg\"></svg>\n"//
 				+ "</div>\n" + "</body>" + "<script>\n" //
 				+ "function saveSvg(e){\n" //				
+				+ "	  d3.saveHelper.prepareSave();\n" //
 				+ "	  var svg = document.getElementById('svg');\n" //		
-				+ "	  var svgXml = (new XMLSerializer).serializeToString(svg);\n" //	
+				+ "	  var svgXml = (new XMLSerializer).serializeToString(rasterizeCanvasLayers(svg));\n" //	
 				+ "   d3.saveHelper.saveSvg(svgXml);\n" + "}\n" //
+				//canvas layers (foreignObjects with a canvas) are replaced by images in a copy of the svg
+				+ "function rasterizeCanvasLayers(svg){\n" //
+				+ "   var layers = svg.querySelectorAll('foreignObject.canvas-layer');\n" //
+				+ "   if (layers.length === 0) { return svg; }\n" //
+				+ "   var svgCopy = svg.cloneNode(true);\n" //
+				+ "   var layerCopies = svgCopy.querySelectorAll('foreignObject.canvas-layer');\n" //
+				+ "   for (var index = 0; index < layers.length; index++) {\n" //
+				+ "      var canvas = layers[index].querySelector('canvas');\n" //
+				+ "      var layerCopy = layerCopies[index];\n" //
+				+ "      var image = document.createElementNS('http://www.w3.org/2000/svg', 'image');\n" //
+				+ "      ['x', 'y', 'width', 'height'].forEach(function(name){\n" //
+				+ "         image.setAttribute(name, layerCopy.getAttribute(name));\n" //
+				+ "      });\n" //
+				+ "      image.setAttributeNS('http://www.w3.org/1999/xlink', 'xlink:href', canvas.toDataURL('image/png'));\n" //
+				+ "      layerCopy.parentNode.replaceChild(image, layerCopy);\n" //
+				+ "   }\n" //
+				+ "   return svgCopy;\n" //
+				+ "}\n" //
 				+ "</script>\n";
 
 		return htmlContent;
@@ -314,6 +337,16 @@ public class JavaFxD3Browser extends Region {
 
 	//#region ACCESSORS
 
+	/**
+	 * Sets the action that is executed before the svg content is saved, e.g.
+	 * to execute pending plot updates
+	 * 
+	 * @param beforeSaveAction
+	 */
+	public void setBeforeSaveAction(Runnable beforeSaveAction) {
+		saveHelper.setBeforeSaveAction(beforeSaveAction);
+	}
+
 	public D3 getD3() {
 		if (d3 == null) {
 			String message = "The d3 reference is null. Do not call this method directly but use "
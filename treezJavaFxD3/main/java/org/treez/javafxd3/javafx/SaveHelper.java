@@ -13,6 +13,21 @@ import javafx.stage.FileChooser.ExtensionFilter;
  */
 public class SaveHelper {
 
+	/**
+	 * Is executed before the svg content is serialized for saving, e.g. to
+	 * execute pending plot updates
+	 */
+	private Runnable beforeSaveAction;
+
+	/**
+	 * Is called from JavaScript before the svg content is serialized
+	 */
+	public void prepareSave() {
+		if (beforeSaveAction != null) {
+			beforeSaveAction.run();
+		}
+	}
+
 	/**
 	 * Save the given svg content as svg file
 	 * 
@@ -37,4 +52,14 @@ public class SaveHelper {
 			}
 		}
 	}
+
+	/**
+	 * Sets the action that is executed before the svg content is serialized
+	 * for saving
+	 * 
+	 * @param beforeSaveAction
+	 */
+	public void setBeforeSaveAction(Runnable beforeSaveAction) {
+		this.beforeSaveAction = beforeSaveAction;
+	}
 }
@@ -1,6 +1,8 @@
 package org.treez.model.atom;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -9,9 +11,13 @@ import org.treez.core.adaptable.FocusChangingRefreshable;
 import org.treez.core.atom.adjustable.AdjustableAtom;
 import org.treez.core.atom.attribute.base.AbstractAttributeAtom;
 import org.treez.core.atom.base.AbstractAtom;
+import org.treez.core.atom.variablefield.QuantityVariableField;
+import org.treez.core.atom.variablefield.VariableField;
+import org.treez.core.quantity.Quantity;
 import org.treez.data.output.OutputAtom;
 import org.treez.model.input.ModelInput;
 import org.treez.model.interfaces.Model;
+import org.treez.model.interfaces.ParallelModel;
 import org.treez.model.output.ModelOutput;
 
 /**
@@ -23,6 +29,32 @@ public abstract class AbstractModel extends AdjustableAtom implements Model {
 
 	//#region ATTRIBUTES
 
+	/**
+	 * Holds the ModelInput of the job that is executed by the current thread in detached execution mode. The child
+	 * models of a model are executed in the same thread and therefore share this binding.
+	 */
+	private static final ThreadLocal<ModelInput> DETACHED_MODEL_INPUT = new ThreadLocal<>();
+
+	/**
+	 * Holds the values of the detached ModelInput of the current thread by variable atom. The model paths of the
+	 * variables are resolved once when the ModelInput is bound, so that the values can be looked up without resolving
+	 * tree paths.
+	 */
+	private static final ThreadLocal<Map<Object, Object>> DETACHED_VARIABLE_VALUES = new ThreadLocal<>();
+
+	/**
+	 * Holds the ModelInput of the job that is executed by the current thread, in attached and in detached execution
+	 * mode (e.g. to identify the job in a result cache)
+	 */
+	private static final ThreadLocal<ModelInput> CURRENT_MODEL_INPUT = new ThreadLocal<>();
+
+	/**
+	 * If this is true, the ModelInput of a job is not written to the variable atoms of the (shared) model tree.
+	 * Instead, it is bound to the executing thread as immutable variable snapshot. This allows to run several jobs at
+	 * the same time without cross talk and without round trips to the UI thread.
+	 */
+	private boolean isDetachedExecution = false;
+
 	/**
 	 * Is true if the Model is a manual Model. This means that it is not remotely executed by a Study.
 	 */
@@ -59,13 +91,155 @@ public abstract class AbstractModel extends AdjustableAtom implements Model {
 	@Override
 	public ModelOutput runModel(ModelInput modelInput, FocusChangingRefreshable refreshable, IProgressMonitor monitor) {
 
-		//assign the model input to variable values (also assigns model input for sub models)
-		assignModelInput(modelInput);
+		ModelInput formerModelInput = CURRENT_MODEL_INPUT.get();
+		CURRENT_MODEL_INPUT.set(modelInput);
+		try {
+			if (isDetachedExecution) {
+				return runModelDetached(modelInput, refreshable, monitor);
+			}
 
-		//run model
-		ModelOutput modelOutput = runModel(refreshable, monitor);
+			//assign the model input to variable values (also assigns model input for sub models)
+			assignModelInput(modelInput);
 
-		return modelOutput;
+			//run model
+			ModelOutput modelOutput = runModel(refreshable, monitor);
+
+			return modelOutput;
+		} finally {
+			if (formerModelInput == null) {
+				CURRENT_MODEL_INPUT.remove();
+			} else {
+				CURRENT_MODEL_INPUT.set(formerModelInput);
+			}
+		}
+	}
+
+	/**
+	 * Runs the model with the given ModelInput bound to the current thread. The variable atoms of the model tree are
+	 * not modified.
+	 */
+	private ModelOutput runModelDetached(
+			ModelInput modelInput,
+			FocusChangingRefreshable refreshable,
+			IProgressMonitor monitor) {
+
+		LOG.info("Binding detached model input for " + this.getClass().getSimpleName() + " '" + getName() + "'");
+
+		Map<Object, Object> variableValues = resolveVariableValues(modelInput);
+		DETACHED_MODEL_INPUT.set(modelInput);
+		DETACHED_VARIABLE_VALUES.set(variableValues);
+		try {
+			return runModel(refreshable, monitor);
+		} finally {
+			DETACHED_MODEL_INPUT.remove();
+			DETACHED_VARIABLE_VALUES.remove();
+		}
+	}
+
+	/**
+	 * Returns the variable values of the given ModelInput by variable atom
+	 */
+	private Map<Object, Object> resolveVariableValues(ModelInput modelInput) {
+		Map<Object, Object> variableValues = new IdentityHashMap<>();
+		for (String variableModelPath : modelInput.getAllVariableModelPaths()) {
+			AbstractAttributeAtom<?, Object> variableAtom = getVariableAtom(variableModelPath);
+			if (variableAtom == null) {
+				String message = "Could not get variable atom for model path " + variableModelPath;
+				throw new IllegalStateException(message);
+			}
+			variableValues.put(variableAtom, modelInput.getVariableValue(variableModelPath));
+		}
+		return variableValues;
+	}
+
+	/**
+	 * Returns the ModelInput that is bound to the current thread in detached execution mode. Returns null if the
+	 * current thread does not execute a detached job.
+	 *
+	 * @return
+	 */
+	public static ModelInput getDetachedModelInput() {
+		return DETACHED_MODEL_INPUT.get();
+	}
+
+	/**
+	 * Returns the ModelInput of the job that is executed by the current thread (in attached or detached execution
+	 * mode). Returns null if the current thread does not execute a job with a ModelInput.
+	 *
+	 * @return
+	 */
+	public static ModelInput getCurrentModelInput() {
+		return CURRENT_MODEL_INPUT.get();
+	}
+
+	/**
+	 * Returns the given file path including the job id of the detached job that is executed by the current thread (e.g.
+	 * "C:/input.txt" => "C:/input#3.txt", "C:/output" => "C:/output#3"). Returns the unmodified file path if the current
+	 * thread does not execute a detached job. Is used for the files that are written by each job, so that detached jobs
+	 * that run at the same time do not write to the same files.
+	 *
+	 * @param filePath
+	 * @return
+	 */
+	public static String getDetachedJobFilePath(String filePath) {
+		ModelInput detachedModelInput = DETACHED_MODEL_INPUT.get();
+		boolean isEmpty = filePath == null || filePath.isEmpty();
+		if (detachedModelInput == null || isEmpty) {
+			return filePath;
+		}
+
+		String postFix = "#" + detachedModelInput.getJobId();
+		int separatorIndex = filePath.replace("\\", "/").lastIndexOf('/');
+		int extensionIndex = filePath.lastIndexOf('.');
+		boolean hasFileExtension = extensionIndex > separatorIndex;
+		if (!hasFileExtension) {
+			return filePath + postFix;
+		}
+		return filePath.substring(0, extensionIndex) + postFix + filePath.substring(extensionIndex);
+	}
+
+	/**
+	 * Returns the value string of the given variable field. If the current thread executes a detached job whose
+	 * ModelInput includes the variable, the value is taken from that ModelInput. Otherwise the value of the variable
+	 * field is returned.
+	 *
+	 * @param variableField
+	 * @return
+	 */
+	public static String getVariableValueString(VariableField<?, ?> variableField) {
+		Object detachedValue = getDetachedVariableValue(variableField);
+		if (detachedValue == null) {
+			return variableField.getValueString();
+		}
+		boolean isQuantity = detachedValue instanceof Quantity;
+		if (isQuantity) {
+			return ((Quantity) detachedValue).getValueString();
+		}
+		return detachedValue.toString();
+	}
+
+	/**
+	 * Returns the unit string of the given quantity variable field. If the current thread executes a detached job whose
+	 * ModelInput includes the variable, the unit is taken from that ModelInput.
+	 *
+	 * @param quantityField
+	 * @return
+	 */
+	public static String getVariableUnitString(QuantityVariableField quantityField) {
+		Object detachedValue = getDetachedVariableValue(quantityField);
+		boolean isQuantity = detachedValue instanceof Quantity;
+		if (isQuantity) {
+			return ((Quantity) detachedValue).getUnit();
+		}
+		return quantityField.getUnitString();
+	}
+
+	private static Object getDetachedVariableValue(VariableField<?, ?> variableField) {
+		Map<Object, Object> detachedVariableValues = DETACHED_VARIABLE_VALUES.get();
+		if (detachedVariableValues == null) {
+			return null;
+		}
+		return detachedVariableValues.get(variableField);
 	}
 
 	/**
@@ -234,10 +408,42 @@ public abstract class AbstractModel extends AdjustableAtom implements Model {
 
 	}
 
+	/**
+	 * Returns true if this model and all of its sub models implement ParallelModel and inherit from AbstractModel. Only
+	 * then several jobs of this model can be executed at the same time in detached execution mode.
+	 *
+	 * @return
+	 */
+	public boolean supportsParallelJobs() {
+		boolean isParallelModel = this instanceof ParallelModel;
+		if (!isParallelModel) {
+			return false;
+		}
+		for (AbstractAtom<?> child : children) {
+			boolean isModel = child instanceof Model;
+			if (isModel) {
+				boolean isAbstractModel = child instanceof AbstractModel;
+				if (!isAbstractModel || !((AbstractModel) child).supportsParallelJobs()) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
 	//#end region
 
 	//#region ACCESSORS
 
+	/**
+	 * Returns the tree path of this model. Identifies the model instance, e.g. for ParallelModel.
+	 *
+	 * @return
+	 */
+	public String getModelId() {
+		return createTreeNodeAdaption().getTreePath();
+	}
+
 	@Override
 	public boolean isManualModel() {
 		return isManualModel;
@@ -247,8 +453,37 @@ public abstract class AbstractModel extends AdjustableAtom implements Model {
 		isManualModel = true;
 	}
 
+	/**
+	 * Returns true if the ModelInputs of this model are bound as variable snapshots to the executing thread instead of
+	 * being written to the variable atoms
+	 */
+	public boolean isDetachedExecution() {
+		return isDetachedExecution;
+	}
+
+	/**
+	 * Enables or disables the detached execution mode for this model and all sub models. In detached execution mode,
+	 * the variable values and the job data are read from the ModelInput that is bound to the executing thread.
+	 *
+	 * @param isDetachedExecution
+	 */
+	public void setDetachedExecution(boolean isDetachedExecution) {
+		this.isDetachedExecution = isDetachedExecution;
+		for (AbstractAtom<?> child : children) {
+			boolean isAbstractModel = child instanceof AbstractModel;
+			if (isAbstractModel) {
+				AbstractModel model = (AbstractModel) child;
+				model.setDetachedExecution(isDetachedExecution);
+			}
+		}
+	}
+
 	@Override
 	public String getJobId() {
+		ModelInput detachedModelInput = DETACHED_MODEL_INPUT.get();
+		if (detachedModelInput != null) {
+			return detachedModelInput.getJobId();
+		}
 		return jobId;
 	}
 
@@ -271,6 +506,10 @@ public abstract class AbstractModel extends AdjustableAtom implements Model {
 
 	@Override
 	public String getStudyId() {
+		ModelInput detachedModelInput = DETACHED_MODEL_INPUT.get();
+		if (detachedModelInput != null) {
+			return detachedModelInput.getStudyId();
+		}
 		return studyId;
 	}
 
@@ -293,6 +532,10 @@ public abstract class AbstractModel extends AdjustableAtom implements Model {
 
 	@Override
 	public String getStudyDescription() {
+		ModelInput detachedModelInput = DETACHED_MODEL_INPUT.get();
+		if (detachedModelInput != null) {
+			return detachedModelInput.getStudyDescription();
+		}
 		return studyDescription;
 	}
 
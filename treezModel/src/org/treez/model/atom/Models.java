@@ -16,13 +16,15 @@ import org.treez.model.Activator;
 import org.treez.model.atom.executable.Executable;
 import org.treez.model.atom.executable.JarExecutable;
 import org.treez.model.atom.genericInput.GenericInputModel;
+import org.treez.model.interfaces.ParallelModel;
 
 /**
  * Represents the root atom for all models. This model inherits from AbstractModel and can therefore be remotely
  * executed from a Study. This "main model" does not model anything by itself but it will have sub models that do the
- * work.
+ * work. Several jobs of this model can run in parallel if all of its sub models support it (see
+ * AbstractModel.supportsParallelJobs).
  */
-public class Models extends AbstractModel {
+public class Models extends AbstractModel implements ParallelModel {
 
 	//#region ATTRIBUTES
 
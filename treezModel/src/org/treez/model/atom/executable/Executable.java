@@ -2,7 +2,13 @@ package org.treez.model.atom.executable;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
@@ -22,6 +28,7 @@ import org.treez.core.atom.attribute.fileSystem.FilePath;
 import org.treez.core.atom.attribute.text.InfoText;
 import org.treez.core.atom.attribute.text.TextArea;
 import org.treez.core.atom.attribute.text.TextField;
+import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.attribute.Attribute;
 import org.treez.core.attribute.Consumer;
 import org.treez.core.attribute.Wrap;
@@ -33,13 +40,17 @@ import org.treez.model.Activator;
 import org.treez.model.atom.AbstractModel;
 import org.treez.model.atom.inputFileGenerator.InputFileGenerator;
 import org.treez.model.atom.tableImport.TableImport;
+import org.treez.model.input.ModelInput;
+import org.treez.model.interfaces.ParallelModel;
 import org.treez.model.output.ModelOutput;
 
 /**
- * Represents an external executable that can be executed with additional command line arguments and file paths
+ * Represents an external executable that can be executed with additional command line arguments and file paths. In
+ * detached execution mode (parallel jobs of a study), the generated input file, the output path and the log file
+ * include the job id, so that the jobs do not write to the same files.
  */
 @SuppressWarnings({ "checkstyle:visibilitymodifier", "checkstyle:classfanoutcomplexity" })
-public class Executable extends AbstractModel implements FilePathProvider {
+public class Executable extends AbstractModel implements FilePathProvider, ParallelModel {
 
 	static final Logger LOG = Logger.getLogger(Executable.class);
 
@@ -55,6 +66,10 @@ public class Executable extends AbstractModel implements FilePathProvider {
 
 	public final Attribute<String> outputPath = new Wrap<>();
 
+	/**
+	 * The modified output path of the last job that has not been executed in detached execution mode. The paths of a
+	 * running job are derived with createJobPaths.
+	 */
 	public String modifiedOutputPath;
 
 	public final Attribute<Boolean> copyInputFile = new Wrap<>();
@@ -75,6 +90,42 @@ public class Executable extends AbstractModel implements FilePathProvider {
 
 	public final Attribute<String> logFilePath = new Wrap<>();
 
+	/**
+	 * The charset of the output of the executable; the platform charset is used if this is empty
+	 */
+	public final Attribute<String> outputCharset = new Wrap<>();
+
+	/**
+	 * The maximum number of characters of the output that are kept in memory while the executable runs
+	 */
+	public final Attribute<Integer> maxCapturedOutput = new Wrap<>();
+
+	/**
+	 * The maximum number of output lines that are logged per second; zero means no limit
+	 */
+	public final Attribute<Integer> maxLoggedLinesPerSecond = new Wrap<>();
+
+	/**
+	 * If this is true, the output files of the jobs are cached and restored for jobs with the same fingerprint (see
+	 * ExecutableResultCache) instead of running the executable again
+	 */
+	public final Attribute<Boolean> useResultCache = new Wrap<>();
+
+	/**
+	 * If this is true, the executable is run even if the result cache contains the output of the job. The cache entry
+	 * is replaced.
+	 */
+	public final Attribute<Boolean> forceRerun = new Wrap<>();
+
+	/**
+	 * The directory of the result cache; a directory in the temporary directory is used if this is empty
+	 */
+	public final Attribute<String> resultCachePath = new Wrap<>();
+
+	public final Attribute<Integer> maxResultCacheSizeInMb = new Wrap<>();
+
+	public final Attribute<Integer> maxResultCacheAgeInDays = new Wrap<>();
+
 	public final Attribute<String> commandInfo = new Wrap<>();
 
 	public final Attribute<String> executionStatusInfo = new Wrap<>();
@@ -121,6 +172,8 @@ public class Executable extends AbstractModel implements FilePathProvider {
 		String loggingHelpContextId = Activator.getAbsoluteHelpContextIdStatic(loggingRelativeHelpContextId);
 		createLoggingSection(dataPage, updateStatus, loggingHelpContextId);
 
+		createResultCacheSection(dataPage, loggingHelpContextId);
+
 		String statusRelativeHelpContextId = "statusLogging";
 		String statusHelpContextId = Activator.getAbsoluteHelpContextIdStatic(statusRelativeHelpContextId);
 		createStatusSection(dataPage, statusHelpContextId);
@@ -238,6 +291,45 @@ public class Executable extends AbstractModel implements FilePathProvider {
 
 		FilePath logFilePathChooser = logging.createFilePath(logFilePath, this, "Log file", "", false);
 		logFilePathChooser.addModificationConsumer("updateStatus", updateStatusListener);
+
+		TextField charsetField = logging.createTextField(outputCharset, this, "");
+		charsetField.setLabel("Output charset (empty: platform charset)");
+
+		int defaultMaxCapturedOutput = LoggingOutputStream.DEFAULT_MAX_BUFFERED_CHARACTERS;
+		logging
+				.createIntegerVariableField(maxCapturedOutput, this, defaultMaxCapturedOutput) //
+				.setMinValue(1) //
+				.setLabel("Maximum number of captured output characters");
+
+		logging
+				.createIntegerVariableField(maxLoggedLinesPerSecond, this, 0) //
+				.setMinValue(0) //
+				.setLabel("Maximum number of logged output lines per second (0: no limit)");
+	}
+
+	private void createResultCacheSection(Page dataPage, String executableHelpContextId) {
+		Section resultCache = dataPage.createSection("resultCache", executableHelpContextId);
+		resultCache.setLabel("Result cache");
+		resultCache.setExpanded(false);
+		resultCache.createSectionAction("clear", "Clear the result cache", () -> createResultCache().clear());
+
+		CheckBox useCacheCheck = resultCache.createCheckBox(useResultCache, this, false);
+		useCacheCheck.setLabel("Restore the output of jobs with identical input");
+
+		CheckBox forceRerunCheck = resultCache.createCheckBox(forceRerun, this, false);
+		forceRerunCheck.setLabel("Force rerun (replaces cached output)");
+
+		resultCache.createDirectoryPath(resultCachePath, this, "Cache directory (empty: temporary directory)", "");
+
+		resultCache
+				.createIntegerVariableField(maxResultCacheSizeInMb, this, 1024) //
+				.setMinValue(1) //
+				.setLabel("Maximum cache size in MB");
+
+		resultCache
+				.createIntegerVariableField(maxResultCacheAgeInDays, this, 30) //
+				.setMinValue(1) //
+				.setLabel("Maximum age of cached output in days");
 	}
 
 	protected void createStatusSection(Page dataPage, String executableHelpContextId) {
@@ -260,6 +352,135 @@ public class Executable extends AbstractModel implements FilePathProvider {
 		refreshStatus();
 	}
 
+	private void executeCommandOrRestoreOutput(String command, ExecutableJobPaths jobPaths) {
+		if (!useResultCache.get()) {
+			executeCommand(command, jobPaths);
+			return;
+		}
+
+		Map<String, File> outputFiles = getCachedOutputFiles(jobPaths);
+		if (outputFiles.isEmpty()) {
+			LOG.warn("The result cache is not used since the executable has no output path.");
+			executeCommand(command, jobPaths);
+			return;
+		}
+
+		ExecutableResultCache resultCache = createResultCache();
+		String fingerprint = createResultFingerprint(jobPaths);
+		if (!forceRerun.get()) {
+			boolean isRestored = resultCache.restore(fingerprint, outputFiles);
+			if (isRestored) {
+				String statusMessage = "Restored output from result cache";
+				LOG.info(statusMessage + " (" + fingerprint + ")");
+				resetError();
+				runUiJobNonBlocking(() -> executionStatusInfo.set(statusMessage));
+				return;
+			}
+		}
+
+		boolean isSuccessful = executeCommand(command, jobPaths);
+		if (isSuccessful) {
+			resultCache.store(fingerprint, outputFiles);
+		}
+	}
+
+	private ExecutableResultCache createResultCache() {
+		String cachePath = resultCachePath.get();
+		if (cachePath == null || cachePath.isEmpty()) {
+			String tempDirectory = System.getProperty("java.io.tmpdir");
+			cachePath = tempDirectory + File.separator + "treez" + File.separator + "resultCache";
+		}
+		final long bytesPerMb = 1024L * 1024L;
+		final long millisPerDay = 24L * 60L * 60L * 1000L;
+		return new ExecutableResultCache(new File(cachePath), maxResultCacheSizeInMb.get() * bytesPerMb,
+				maxResultCacheAgeInDays.get() * millisPerDay);
+	}
+
+	/**
+	 * Returns the files of the given job that are stored in and restored from the result cache (by output name)
+	 */
+	private static Map<String, File> getCachedOutputFiles(ExecutableJobPaths jobPaths) {
+		Map<String, File> outputFiles = new LinkedHashMap<>();
+		if (!jobPaths.getOutputPath().isEmpty()) {
+			outputFiles.put("output", new File(jobPaths.getOutputPath()));
+		}
+		if (!jobPaths.getLogFilePath().isEmpty()) {
+			outputFiles.put("log", new File(jobPaths.getLogFilePath()));
+		}
+		return outputFiles;
+	}
+
+	/**
+	 * Creates the fingerprint that identifies the result of the given job in the result cache. It includes the
+	 * executable, the (not yet job specific) arguments, the content of the input file of the job and the variable
+	 * values of the current model input. Study and job ids (and the job specific paths) are not included, so that the
+	 * results can be reused by other jobs and studies.
+	 */
+	protected String createResultFingerprint(ExecutableJobPaths jobPaths) {
+		SortedMap<String, String> entries = new TreeMap<>();
+		List<File> files = new ArrayList<>();
+		collectFingerprintData(entries, files, jobPaths);
+		return ExecutableResultCache.createFingerprint(entries, files);
+	}
+
+	/**
+	 * Collects the data for the fingerprint of the given job (see createResultFingerprint). Should be extended by
+	 * inheriting classes that have additional attributes.
+	 */
+	protected void collectFingerprintData(
+			SortedMap<String, String> entries,
+			List<File> files,
+			ExecutableJobPaths jobPaths) {
+		entries.put("type", getClass().getName());
+		addFileStamp(entries, "executable", executablePath.get());
+		entries.put("inputArguments", inputArguments.get());
+		entries.put("outputArguments", outputArguments.get());
+		entries.put("logArguments", logArguments.get());
+
+		String inputFilePath = jobPaths.getInputPath();
+		if (!inputFilePath.isEmpty()) {
+			files.add(new File(inputFilePath));
+		}
+
+		ModelInput modelInput = getCurrentModelInput();
+		if (modelInput != null) {
+			for (String variableModelPath : modelInput.getAllVariableModelPaths()) {
+				Object value = modelInput.getVariableValue(variableModelPath);
+				entries.put("variable:" + variableModelPath, value == null ? null : value.toString());
+			}
+		}
+	}
+
+	/**
+	 * Adds the path, size and modification time of the given file to the fingerprint entries
+	 */
+	protected static void addFileStamp(SortedMap<String, String> entries, String key, String filePath) {
+		File file = new File(filePath);
+		entries.put(key, filePath + "|" + file.length() + "|" + file.lastModified());
+	}
+
+	/**
+	 * Executes the given command in an external process and returns true if it ended successfully
+	 */
+	protected boolean executeCommand(String command, @SuppressWarnings("unused") ExecutableJobPaths jobPaths) {
+		ExecutableExecutor executor = new ExecutableExecutor(this, getOutputCharset(), maxCapturedOutput.get(),
+				maxLoggedLinesPerSecond.get());
+		return executor.executeCommand(command);
+	}
+
+	protected Charset getOutputCharset() {
+		String charsetName = outputCharset.get();
+		if (charsetName == null || charsetName.trim().isEmpty()) {
+			return Charset.defaultCharset();
+		}
+		try {
+			return Charset.forName(charsetName.trim());
+		} catch (IllegalArgumentException exception) {
+			String message = "The output charset '" + charsetName + "' is not supported.";
+			throw new IllegalArgumentException(message, exception);
+		}
+	}
+
 	/**
 	 * Updates the status text labels with data from other attribute atoms
 	 */
@@ -289,8 +510,14 @@ public class Executable extends AbstractModel implements FilePathProvider {
 		final int totalWork = 3;
 		progressMonitor.beginTask(startMessage, totalWork);
 
+		//derive the file paths of the current job (from its ModelInput if the job is part of a study)
+		ExecutableJobPaths jobPaths = createJobPaths();
+		if (!isDetachedExecution()) {
+			modifiedOutputPath = jobPaths.getOutputPath();
+		}
+
 		//delete old output file and old log file if they exist
-		delteOldOutputAndLogFiles();
+		delteOldOutputAndLogFiles(jobPaths);
 
 		//update progress monitor
 		progressMonitor.subTask("=>Running InputFileGenerator children if exist.");
@@ -305,12 +532,11 @@ public class Executable extends AbstractModel implements FilePathProvider {
 		progressMonitor.subTask("=>Executiong system command.");
 
 		//create command
-		String command = buildCommand();
+		String command = buildCommand(jobPaths);
 		LOG.info("Executing " + command);
 
-		//execute command
-		ExecutableExecutor executor = new ExecutableExecutor(this);
-		executor.executeCommand(command);
+		//execute command or restore its output files from the result cache
+		executeCommandOrRestoreOutput(command, jobPaths);
 
 		//update progress monitor
 		progressMonitor.worked(1);
@@ -326,11 +552,13 @@ public class Executable extends AbstractModel implements FilePathProvider {
 
 		//copy input file to output folder (modifies input file name)
 		if (copyInputFile.get()) {
-			copyInputFileToOutputFolder();
+			copyInputFileToOutputFolder(jobPaths);
 		}
 
-		//increase job index
-		increasejobIndex();
+		//increase job index (the job ids of detached jobs are defined by their ModelInput)
+		if (!isDetachedExecution()) {
+			increasejobIndex();
+		}
 
 		//inform progress monitor to be done
 		progressMonitor.done();
@@ -380,13 +608,13 @@ public class Executable extends AbstractModel implements FilePathProvider {
 	 * Copies input file to output folder and modifies the file name
 	 */
 	@SuppressWarnings("checkstyle:illegalcatch")
-	private void copyInputFileToOutputFolder() {
-		String inputFilePath = inputPath.get();
+	private static void copyInputFileToOutputFolder(ExecutableJobPaths jobPaths) {
+		String inputFilePath = jobPaths.getInputPath();
 		File inputFile = new File(inputFilePath);
 		if (inputFile.exists()) {
 			String destinationPath = null;
 			try {
-				destinationPath = getOutputPathToCopyInputFile();
+				destinationPath = getOutputPathToCopyInputFile(jobPaths);
 			} catch (Exception exception) {
 				LOG.warn("Input file is not copied to output folder since output folder is not known.");
 			}
@@ -420,23 +648,27 @@ public class Executable extends AbstractModel implements FilePathProvider {
 	 *
 	 * @return
 	 */
-	private String getOutputPathToCopyInputFile() {
+	private static String getOutputPathToCopyInputFile(ExecutableJobPaths jobPaths) {
 
-		String outputPathString = modifiedOutputPath;
+		String outputPathString = jobPaths.getOutputPath();
 
 		//split path with point to determine file extension if one exists
 
 		boolean isFilePath = Utils.isFilePath(outputPathString);
-		String folderPath = modifiedOutputPath;
+		String folderPath = outputPathString;
 		if (isFilePath) {
 			folderPath = Utils.extractParentFolder(outputPathString);
 		}
 
-		String inputPathString = inputPath.get();
+		String inputPathString = jobPaths.getInputPath();
 		boolean inputPathIsFilePath = Utils.isFilePath(inputPathString);
 		if (inputPathIsFilePath) {
 			String inputFileName = Utils.extractFileName(inputPathString);
-			String newInputFileName = Utils.includeNumberInFileName(inputFileName, "#" + getJobId());
+			String jobPostFix = "#" + jobPaths.getJobId();
+			boolean includesJobId = inputFileName.contains(jobPostFix + ".");
+			String newInputFileName = includesJobId
+					? inputFileName
+					: Utils.includeNumberInFileName(inputFileName, jobPostFix);
 			String destinationPath = folderPath + "/" + newInputFileName;
 			return destinationPath;
 		} else {
@@ -471,83 +703,149 @@ public class Executable extends AbstractModel implements FilePathProvider {
 	/**
 	 * Deletes the old output and log files if some exist
 	 */
-	private void delteOldOutputAndLogFiles() {
-		File outputFile = new File(outputPath.get());
+	private static void delteOldOutputAndLogFiles(ExecutableJobPaths jobPaths) {
+		File outputFile = new File(jobPaths.getOutputPath());
 		if (outputFile.exists()) {
 			outputFile.delete();
 		}
-		File logFile = new File(logFilePath.get());
+		File logFile = new File(jobPaths.getLogFilePath());
 		if (logFile.exists()) {
 			logFile.delete();
 		}
 	}
 
 	/**
-	 * Builds the execution command from the individual paths and arguments
+	 * Derives the file paths of the current job. If the job is executed by a study, the job id is taken from the
+	 * ModelInput of the job. For detached jobs, the paths of the files that are written by the job include the job id
+	 * (see AbstractModel.getDetachedJobFilePath).
+	 *
+	 * @return
+	 */
+	protected ExecutableJobPaths createJobPaths() {
+		ModelInput modelInput = getCurrentModelInput();
+		String currentJobId = modelInput == null ? getJobId() : modelInput.getJobId();
+
+		String jobInputPath = inputPath.get();
+		if (isGeneratedInputPath(jobInputPath)) {
+			jobInputPath = getDetachedJobFilePath(jobInputPath);
+		}
+
+		String jobOutputPath = "";
+		String outputPathString = outputPath.get();
+		if (!outputPathString.isEmpty()) {
+			ExecutableOutputPathModifier outputPathModifier = new ExecutableOutputPathModifier(this);
+			jobOutputPath = outputPathModifier.getModifiedOutputPath(outputPathString, currentJobId);
+			if (!includesJobIndexInOutputPath()) {
+				jobOutputPath = getDetachedJobFilePath(jobOutputPath);
+			}
+		}
+
+		String jobLogFilePath = getDetachedJobFilePath(logFilePath.get());
+
+		return new ExecutableJobPaths(currentJobId, jobInputPath, jobOutputPath, jobLogFilePath);
+	}
+
+	/**
+	 * Returns true if the given input path is the input file path of an InputFileGenerator child
+	 */
+	private boolean isGeneratedInputPath(String inputPathString) {
+		if (inputPathString.isEmpty()) {
+			return false;
+		}
+		File inputFile = new File(inputPathString).getAbsoluteFile();
+		for (AbstractAtom<?> child : children) {
+			boolean isInputFileGenerator = child instanceof InputFileGenerator;
+			if (isInputFileGenerator) {
+				String generatedFilePath = ((InputFileGenerator) child).inputFilePath.get();
+				boolean isGenerated = inputFile.equals(new File(generatedFilePath).getAbsoluteFile());
+				if (isGenerated) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean includesJobIndexInOutputPath() {
+		return includeJobIndexInFolder.get() || includeJobIndexInSubFolder.get() || includeJobIndexInFile.get();
+	}
+
+	/**
+	 * Builds the execution command from the individual paths and arguments of the current state (e.g. to show it as
+	 * status information)
 	 *
 	 * @return
 	 */
 	protected String buildCommand() {
+		return buildCommand(createJobPaths());
+	}
+
+	/**
+	 * Builds the execution command for the job with the given paths from the individual paths and arguments
+	 *
+	 * @return
+	 */
+	protected String buildCommand(ExecutableJobPaths jobPaths) {
 		String command = "\"" + executablePath.get() + "\"";
-		command = addInputArguments(command);
-		command = addOutputArguments(command);
-		command = addLoggingArguments(command);
+		command = addInputArguments(command, jobPaths);
+		command = addOutputArguments(command, jobPaths);
+		command = addLoggingArguments(command, jobPaths);
 		return command;
 	}
 
-	protected String addInputArguments(String commandToExtend) {
+	protected String addInputArguments(String commandToExtend, ExecutableJobPaths jobPaths) {
 		String command = commandToExtend;
 		boolean inputArgsIsEmpty = inputArguments.get().isEmpty();
 		if (!inputArgsIsEmpty) {
-			String modifiedInputArguments = injectStudyAndJobInfo(inputArguments);
+			String modifiedInputArguments = injectStudyAndJobInfo(inputArguments, jobPaths.getJobId());
 			command += " " + modifiedInputArguments;
 		}
 
-		boolean inputPathIsEmpty = inputPath.get().isEmpty();
+		boolean inputPathIsEmpty = jobPaths.getInputPath().isEmpty();
 		if (!inputPathIsEmpty) {
-			command += " " + inputPath;
+			command += " " + jobPaths.getInputPath();
 		}
 		return command;
 	}
 
-	protected String addOutputArguments(String commandToExtend) {
+	protected String addOutputArguments(String commandToExtend, ExecutableJobPaths jobPaths) {
 		String command = commandToExtend;
 		boolean outputArgsIsEmpty = outputArguments.get().isEmpty();
 		if (!outputArgsIsEmpty) {
 			command += " " + outputArguments;
 		}
 
-		boolean outputPathIsEmpty = outputPath.get().isEmpty();
+		boolean outputPathIsEmpty = jobPaths.getOutputPath().isEmpty();
 		if (!outputPathIsEmpty) {
-			modifiedOutputPath = provideFilePath();
-			command += " " + modifiedOutputPath;
+			command += " " + jobPaths.getOutputPath();
 		}
 		return command;
 	}
 
-	protected String addLoggingArguments(String commandToExtend) {
+	protected String addLoggingArguments(String commandToExtend, ExecutableJobPaths jobPaths) {
 		String command = commandToExtend;
 		boolean logArgsIsEmpty = logArguments.get().isEmpty();
 		if (!logArgsIsEmpty) {
 			command += " " + logArguments;
 		}
 
-		boolean logFilePathIsEmpty = logFilePath.get().isEmpty();
+		boolean logFilePathIsEmpty = jobPaths.getLogFilePath().isEmpty();
 		if (!logFilePathIsEmpty) {
-			command += " " + logFilePath;
+			command += " " + jobPaths.getLogFilePath();
 		}
 		return command;
 	}
 
 	/**
 	 * If the input arguments contain place holders, those place holders are replaced by the actual studyId,
-	 * studyDescription and jobId.
+	 * studyDescription and the given jobId.
 	 *
 	 * @param input
+	 * @param currentJobId
 	 * @return
 	 */
 
-	protected String injectStudyAndJobInfo(Attribute<String> input) {
+	protected String injectStudyAndJobInfo(Attribute<String> input, String currentJobId) {
 		String studyIdKey = "{$studyId$}";
 		String studyDescriptionKey = "{$studyDescription$}";
 		String jobIdKey = "{$jobId$}";
@@ -569,7 +867,7 @@ public class Executable extends AbstractModel implements FilePathProvider {
 		}
 
 		if (currentInputArguments.contains(jobIdKey)) {
-			currentInputArguments = currentInputArguments.replace(jobIdKey, getJobId());
+			currentInputArguments = currentInputArguments.replace(jobIdKey, currentJobId);
 		}
 		return currentInputArguments;
 	}
@@ -655,9 +953,7 @@ public class Executable extends AbstractModel implements FilePathProvider {
 
 	@Override
 	public String provideFilePath() {
-		ExecutableOutputPathModifier outputPathModifier = new ExecutableOutputPathModifier(this);
-		String filePath = outputPathModifier.getModifiedOutputPath(outputPath.get());
-		return filePath;
+		return createJobPaths().getOutputPath();
 	}
 
 	//#end region
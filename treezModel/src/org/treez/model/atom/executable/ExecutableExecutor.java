@@ -1,6 +1,8 @@
 package org.treez.model.atom.executable;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.CountDownLatch;
 
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
@@ -22,8 +24,19 @@ public class ExecutableExecutor {
 
 	private Executable executable;
 
+	/**
+	 * Is counted down when the execution of the current command has been post processed
+	 */
+	private CountDownLatch executionFinished;
+
 	private boolean executionIsFinished = false;
 
+	/**
+	 * Is set if the process wrote to its error stream. The process is destroyed and its execution fails after its
+	 * streams have been read completely.
+	 */
+	private volatile boolean errorOutputDetected = false;
+
 	private String issueMessage = "";
 
 	private String exceptionMessage = "";
@@ -36,12 +49,38 @@ public class ExecutableExecutor {
 
 	private LoggingOutputStream errorStream;
 
+	private final Charset charset;
+
+	private final int maxBufferedCharacters;
+
+	private final int maxLoggedLinesPerSecond;
+
 	//#end region
 
 	//#region CONSTRUCTORS
 
 	public ExecutableExecutor(Executable executable) {
+		this(executable, Charset.defaultCharset(), LoggingOutputStream.DEFAULT_MAX_BUFFERED_CHARACTERS, 0);
+	}
+
+	/**
+	 * @param executable
+	 * @param charset
+	 *            the charset of the output of the process
+	 * @param maxBufferedCharacters
+	 *            the maximum number of characters of the output and error stream that are kept in memory
+	 * @param maxLoggedLinesPerSecond
+	 *            the maximum number of output lines that are logged per second; zero means no limit
+	 */
+	public ExecutableExecutor(
+			Executable executable,
+			Charset charset,
+			int maxBufferedCharacters,
+			int maxLoggedLinesPerSecond) {
 		this.executable = executable;
+		this.charset = charset;
+		this.maxBufferedCharacters = maxBufferedCharacters;
+		this.maxLoggedLinesPerSecond = maxLoggedLinesPerSecond;
 	}
 
 	//#end region
@@ -56,14 +95,17 @@ public class ExecutableExecutor {
 	 */
 	public boolean executeCommand(String command) {
 
+		executionFinished = new CountDownLatch(1);
 		executionIsFinished = false;
+		errorOutputDetected = false;
 
 		exceptionMessage = "";
 		errorMessages = "";
 		outputMessages = "";
 
-		outputStream = new LoggingOutputStream(LOG, Level.INFO);
-		errorStream = new LoggingOutputStream(LOG, Level.ERROR);
+		outputStream = new LoggingOutputStream(LOG, Level.INFO, charset, maxBufferedCharacters,
+				maxLoggedLinesPerSecond);
+		errorStream = new LoggingOutputStream(LOG, Level.ERROR, charset, maxBufferedCharacters, 0);
 
 		CommandLine cmdLine = CommandLine.parse(command);
 
@@ -74,27 +116,39 @@ public class ExecutableExecutor {
 		ExecuteWatchdog watchdog = new ExecuteWatchdog(ExecuteWatchdog.INFINITE_TIMEOUT);
 		executor.setWatchdog(watchdog);
 
+		//destroy the process as soon as it writes to its error stream
+		errorStream.setDataListener(() -> {
+			if (!errorOutputDetected) {
+				errorOutputDetected = true;
+				watchdog.destroyProcess();
+			}
+		});
+
 		//define handling of output and error stream of the process
 
 		PumpStreamHandler executionStreamHandler = new PumpStreamHandler(outputStream, errorStream, System.in);
 
 		executor.setStreamHandler(executionStreamHandler);
 
-		//define post processing for finished process
+		//define post processing for finished process (the streams have been pumped completely at this point)
 		ExecuteResultHandler executionResultHandler = new ExecuteResultHandler() {
 
 			@Override
 			public void onProcessComplete(int exitValue) {
-				postProcessCompletedProcess(exitValue);
-				executionIsFinished = true;
-
+				if (errorOutputDetected) {
+					finishExecution(() -> postProcessFailedProcess(createErrorOutputException()));
+				} else {
+					finishExecution(() -> postProcessCompletedProcess(exitValue));
+				}
 			}
 
 			@Override
 			public void onProcessFailed(ExecuteException exception) {
-				postProcessFailedProcess(exception);
-				executionIsFinished = true;
-
+				if (errorOutputDetected) {
+					finishExecution(() -> postProcessFailedProcess(createErrorOutputException()));
+				} else {
+					finishExecution(() -> postProcessFailedProcess(exception));
+				}
 			}
 		};
 
@@ -126,6 +180,7 @@ public class ExecutableExecutor {
 				String message = "Could not execut command " + command;
 				LOG.error(message, exception);
 				exceptionMessage = exception.getMessage();
+				finishExecution(() -> postProcessFailedProcess(exception));
 			}
 		};
 
@@ -142,35 +197,38 @@ public class ExecutableExecutor {
 	 *
 	 * @param command
 	 */
-	@SuppressWarnings("checkstyle:illegalcatch")
 	private void waitForExecutionToBeFinished(String command, ExecuteWatchdog watchdog) {
-		while (!executionIsFinished) {
-			try {
-				final int waitTime = 100;
-				Thread.sleep(waitTime);
-
-				try {
-					watchdog.checkException();
-				} catch (Exception exception) {
-					executionIsFinished = true;
-					postProcessFailedProcess(exception);
-				}
-
-				if (errorStream.hasData()) {
-					String errorData = errorStream.getDataAsString();
-					errorStream.reset();
-					watchdog.destroyProcess();
-					executionIsFinished = true;
-					Exception exception = new Exception(errorData);
-					postProcessFailedProcess(exception);
-				}
+		try {
+			executionFinished.await();
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			String message = "Could not wait for command execution to be finish " + command;
+			LOG.error(message, exception);
+			exceptionMessage = exception.getMessage();
+			watchdog.destroyProcess();
+			finishExecution(() -> postProcessFailedProcess(exception));
+		}
+	}
 
-			} catch (InterruptedException exception) {
-				String message = "Could not wait for command execution to be finish " + command;
-				LOG.error(message, exception);
-				exceptionMessage = exception.getMessage();
-			}
+	/**
+	 * Post processes the execution if this has not yet been done and signals that the execution is finished
+	 */
+	private synchronized void finishExecution(Runnable postProcessing) {
+		if (executionIsFinished) {
+			return;
 		}
+		executionIsFinished = true;
+		try {
+			postProcessing.run();
+		} finally {
+			executionFinished.countDown();
+		}
+	}
+
+	private Exception createErrorOutputException() {
+		String errorData = errorStream.getDataAsString();
+		errorStream.reset();
+		return new Exception(errorData);
 	}
 
 	private void postProcessCompletedProcess(int exitValue) {
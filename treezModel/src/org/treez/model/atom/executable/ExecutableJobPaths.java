@@ -0,0 +1,62 @@
+package org.treez.model.atom.executable;
+
+/**
+ * Holds the file paths of a single job of an Executable. The paths are derived once at the start of the job (see
+ * Executable.createJobPaths) and are passed to all methods that need them, so that jobs that run at the same time do
+ * not share any path state.
+ */
+public class ExecutableJobPaths {
+
+	//#region ATTRIBUTES
+
+	private final String jobId;
+
+	private final String inputPath;
+
+	private final String outputPath;
+
+	private final String logFilePath;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	public ExecutableJobPaths(String jobId, String inputPath, String outputPath, String logFilePath) {
+		this.jobId = jobId;
+		this.inputPath = inputPath;
+		this.outputPath = outputPath;
+		this.logFilePath = logFilePath;
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	/**
+	 * Returns the path of the input file or folder; is empty if the executable has no input path
+	 */
+	public String getInputPath() {
+		return inputPath;
+	}
+
+	/**
+	 * Returns the (modified) path of the output file or folder; is empty if the executable has no output path
+	 */
+	public String getOutputPath() {
+		return outputPath;
+	}
+
+	/**
+	 * Returns the path of the log file; is empty if the executable has no log file
+	 */
+	public String getLogFilePath() {
+		return logFilePath;
+	}
+
+	//#end region
+
+}
@@ -32,6 +32,17 @@ public class ExecutableOutputPathModifier {
 	 * @return
 	 */
 	public String getModifiedOutputPath(String outputPath) {
+		return getModifiedOutputPath(outputPath, executable.getJobId());
+	}
+
+	/**
+	 * Returns the output path, optionally modified by data and the given job index
+	 *
+	 * @param outputPath
+	 * @param jobId
+	 * @return
+	 */
+	public String getModifiedOutputPath(String outputPath, String jobId) {
 
 		String outputPathString = outputPath.replace("\\", "/");
 
@@ -52,14 +63,14 @@ public class ExecutableOutputPathModifier {
 
 		outputPathExpression = includeDateInFolder(outputPathExpression);
 
-		outputPathExpression = includeJobIndexInFolder(outputPathExpression);
+		outputPathExpression = includeJobIndexInFolder(outputPathExpression, jobId);
 
-		outputPathExpression = includeSubFolder(outputPathExpression);
+		outputPathExpression = includeSubFolder(outputPathExpression, jobId);
 
 		if (hasFileExtension) {
 			//append file name and extension
 			outputPathExpression = includeFileNameAndExtension(fileNameWithoutExtension, pathPostFix,
-					outputPathExpression);
+					outputPathExpression, jobId);
 		}
 
 		return outputPathExpression;
@@ -76,18 +87,18 @@ public class ExecutableOutputPathModifier {
 		return newOutputPath;
 	}
 
-	private String includeJobIndexInFolder(String outputPathExpression) {
+	private String includeJobIndexInFolder(String outputPathExpression, String jobId) {
 
 		String newOutputPath = outputPathExpression;
 
 		boolean doIncludejobIndexInFolder = executable.includeJobIndexInFolder.get();
 		if (doIncludejobIndexInFolder) {
-			newOutputPath += "#" + executable.getJobId();
+			newOutputPath += "#" + jobId;
 		}
 		return newOutputPath;
 	}
 
-	private String includeSubFolder(String outputPathExpression) {
+	private String includeSubFolder(String outputPathExpression, String jobId) {
 
 		String newOutputPath = outputPathExpression;
 
@@ -104,7 +115,7 @@ public class ExecutableOutputPathModifier {
 		}
 
 		if (doIncludejobIndexInSubFolder) {
-			newOutputPath += "#" + executable.getJobId();
+			newOutputPath += "#" + jobId;
 		}
 		return newOutputPath;
 	}
@@ -112,7 +123,8 @@ public class ExecutableOutputPathModifier {
 	private String includeFileNameAndExtension(
 			String fileNameWithoutExtension,
 			String pathPostFix,
-			String outputPathExpression) {
+			String outputPathExpression,
+			String jobId) {
 
 		String newOutputPath = outputPathExpression;
 
@@ -133,7 +145,7 @@ public class ExecutableOutputPathModifier {
 
 		boolean doIncludejobIndex = executable.includeJobIndexInFile.get();
 		if (doIncludejobIndex) {
-			newOutputPath += "#" + executable.getJobId();
+			newOutputPath += "#" + jobId;
 		}
 		newOutputPath += pathPostFix; //is empty for directories
 		return newOutputPath;
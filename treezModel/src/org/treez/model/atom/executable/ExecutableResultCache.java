@@ -0,0 +1,275 @@
+package org.treez.model.atom.executable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * Stores the output files of executed jobs in a cache directory. The entries are identified by a fingerprint (see
+ * createFingerprint) of everything that determines the result of a job, e.g. the executable, its arguments, the content
+ * of the input file and the variable values of the job. If a job with the same fingerprint is executed again, its
+ * output files can be restored from the cache instead of running the executable.
+ * <p>
+ * Each entry is a sub directory that is named after the fingerprint and contains one file or directory for each output
+ * (by output name). Entries that are older than the maximum age are removed; if the size of the cache exceeds the
+ * maximum size, the least recently used entries are removed.
+ */
+public class ExecutableResultCache {
+
+	private static final Logger LOG = Logger.getLogger(ExecutableResultCache.class);
+
+	//#region ATTRIBUTES
+
+	/**
+	 * Synchronizes the access to the cache directories of all instances (jobs might be executed in parallel)
+	 */
+	private static final Object LOCK = new Object();
+
+	private static final String TEMPORARY_ENTRY_SUFFIX = ".tmp";
+
+	private final File directory;
+
+	private final long maxSizeInBytes;
+
+	private final long maxAgeInMillis;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	/**
+	 * @param directory
+	 *            the cache directory; is created if it does not exist
+	 * @param maxSizeInBytes
+	 *            the maximum total size of the cached files
+	 * @param maxAgeInMillis
+	 *            the maximum time since the last use of an entry
+	 */
+	public ExecutableResultCache(File directory, long maxSizeInBytes, long maxAgeInMillis) {
+		this.directory = directory;
+		this.maxSizeInBytes = maxSizeInBytes;
+		this.maxAgeInMillis = maxAgeInMillis;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Creates a fingerprint (SHA-256 hex string) from the given entries and the contents of the given files. The paths
+	 * of the given files are not included, so that files with the same content (e.g. the job specific input files of
+	 * different jobs) result in the same fingerprint. Directories are represented by the relative paths and contents
+	 * of the files they contain; files that do not exist by a marker.
+	 */
+	public static String createFingerprint(SortedMap<String, String> entries, List<File> files) {
+		MessageDigest digest = createDigest();
+		for (Map.Entry<String, String> entry : entries.entrySet()) {
+			update(digest, entry.getKey());
+			update(digest, entry.getValue());
+		}
+		for (File file : files) {
+			updateWithFile(digest, file, "");
+		}
+
+		StringBuilder fingerprint = new StringBuilder();
+		for (byte hashByte : digest.digest()) {
+			fingerprint.append(String.format("%02x", hashByte));
+		}
+		return fingerprint.toString();
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException exception) {
+			throw new IllegalStateException("Could not create message digest", exception);
+		}
+	}
+
+	private static void update(MessageDigest digest, String text) {
+		String value = text == null ? "<null>" : text;
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static void updateWithFile(MessageDigest digest, File file, String relativePath) {
+		update(digest, relativePath);
+		if (file.isDirectory()) {
+			update(digest, "<directory>");
+			File[] children = file.listFiles();
+			if (children != null) {
+				Arrays.sort(children);
+				for (File child : children) {
+					updateWithFile(digest, child, relativePath + "/" + child.getName());
+				}
+			}
+		} else if (!file.isFile()) {
+			update(digest, "<missing>");
+		} else {
+			byte[] buffer = new byte[8192];
+			try (InputStream inputStream = Files.newInputStream(file.toPath());) {
+				int numberOfBytes;
+				while ((numberOfBytes = inputStream.read(buffer)) != -1) {
+					digest.update(buffer, 0, numberOfBytes);
+				}
+			} catch (IOException exception) {
+				String message = "Could not read file '" + file + "' for the fingerprint";
+				throw new IllegalStateException(message, exception);
+			}
+		}
+	}
+
+	/**
+	 * Restores the output files of the entry with the given fingerprint to the given target paths (by output name).
+	 * Returns false if there is no valid entry or if the entry does not contain a file for each of the given outputs.
+	 */
+	public boolean restore(String fingerprint, Map<String, File> outputFiles) {
+		synchronized (LOCK) {
+			File entryDirectory = new File(directory, fingerprint);
+			if (!entryDirectory.isDirectory()) {
+				return false;
+			}
+			if (isExpired(entryDirectory, System.currentTimeMillis())) {
+				deleteEntry(entryDirectory);
+				return false;
+			}
+
+			for (String outputName : outputFiles.keySet()) {
+				boolean isCached = new File(entryDirectory, outputName).exists();
+				if (!isCached) {
+					LOG.info("The cached result " + fingerprint + " does not include the output '" + outputName
+							+ "'. The job is executed.");
+					return false;
+				}
+			}
+
+			try {
+				for (Map.Entry<String, File> outputFile : outputFiles.entrySet()) {
+					File cachedFile = new File(entryDirectory, outputFile.getKey());
+					copy(cachedFile, outputFile.getValue());
+				}
+			} catch (IOException exception) {
+				LOG.warn("Could not restore cached result " + fingerprint + ". The job is executed.", exception);
+				return false;
+			}
+
+			entryDirectory.setLastModified(System.currentTimeMillis());
+			return true;
+		}
+	}
+
+	/**
+	 * Stores copies of the given output files (by output name) for the given fingerprint. Outputs whose files do not
+	 * exist are not stored; nothing is stored if no output file exists.
+	 */
+	public void store(String fingerprint, Map<String, File> outputFiles) {
+		synchronized (LOCK) {
+			File entryDirectory = new File(directory, fingerprint);
+			File temporaryDirectory = new File(directory, fingerprint + TEMPORARY_ENTRY_SUFFIX);
+			try {
+				deleteEntry(temporaryDirectory);
+				boolean hasOutput = false;
+				for (Map.Entry<String, File> outputFile : outputFiles.entrySet()) {
+					File file = outputFile.getValue();
+					if (file.exists()) {
+						copy(file, new File(temporaryDirectory, outputFile.getKey()));
+						hasOutput = true;
+					}
+				}
+				if (!hasOutput) {
+					return;
+				}
+
+				deleteEntry(entryDirectory);
+				if (!temporaryDirectory.renameTo(entryDirectory)) {
+					String message = "Could not rename '" + temporaryDirectory + "' to '" + entryDirectory + "'";
+					throw new IOException(message);
+				}
+			} catch (IOException exception) {
+				LOG.warn("Could not store result " + fingerprint + " in the cache.", exception);
+				deleteEntry(temporaryDirectory);
+				return;
+			}
+
+			evictEntries();
+		}
+	}
+
+	/**
+	 * Removes the expired entries and the least recently used entries that exceed the maximum size
+	 */
+	private void evictEntries() {
+		File[] entries = directory.listFiles((file) -> file.isDirectory()
+				&& !file.getName().endsWith(TEMPORARY_ENTRY_SUFFIX));
+		if (entries == null) {
+			return;
+		}
+
+		long currentTime = System.currentTimeMillis();
+		List<File> validEntries = new ArrayList<>();
+		for (File entry : entries) {
+			if (isExpired(entry, currentTime)) {
+				deleteEntry(entry);
+			} else {
+				validEntries.add(entry);
+			}
+		}
+
+		validEntries.sort(Comparator.comparingLong(File::lastModified).reversed());
+		long totalSize = 0;
+		for (File entry : validEntries) {
+			totalSize += FileUtils.sizeOfDirectory(entry);
+			if (totalSize > maxSizeInBytes) {
+				deleteEntry(entry);
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries of the cache
+	 */
+	public void clear() {
+		synchronized (LOCK) {
+			File[] entries = directory.listFiles(File::isDirectory);
+			if (entries != null) {
+				for (File entry : entries) {
+					deleteEntry(entry);
+				}
+			}
+		}
+	}
+
+	private boolean isExpired(File entryDirectory, long currentTime) {
+		return currentTime - entryDirectory.lastModified() > maxAgeInMillis;
+	}
+
+	private static void copy(File source, File target) throws IOException {
+		if (source.isDirectory()) {
+			FileUtils.copyDirectory(source, target);
+		} else {
+			FileUtils.copyFile(source, target);
+		}
+	}
+
+	private static void deleteEntry(File entryDirectory) {
+		if (entryDirectory.exists()) {
+			FileUtils.deleteQuietly(entryDirectory);
+		}
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,577 @@
+package org.treez.model.atom.executable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+
+/**
+ * Runs the main method of a class from a jar file in the running JVM instead of starting a new java process. The class
+ * loader of each class path is created once and is reused for the following jobs, so that the classes are only loaded
+ * (and compiled by the JIT) once. The class loaders are isolated from the classes of Treez; a class loader is replaced
+ * if one of the files of its class path (including the files in class path directories) has been modified.
+ * <p>
+ * The main method is executed on a worker thread in its own thread group. The job ends like a process: when the main
+ * method and all non daemon threads it started are finished; remaining daemon threads are interrupted. While a job
+ * runs, everything that its threads write to System.out and System.err is redirected to LoggingOutputStreams and calls
+ * of System.exit are stopped and handled like the exit value of a process. The original streams and security manager
+ * are restored after each job.
+ * <p>
+ * Since System.out, System.err and the static state of the executed classes are shared, only one job is executed at a
+ * time; the static state is kept between the jobs.
+ * <p>
+ * On Java 18 and later, a security manager can only be installed at runtime if the JVM has been started with
+ * -Djava.security.manager=allow. Use isSupported to check this before executing jobs in process.
+ */
+public class InProcessJarRunner {
+
+	private static final Logger LOG = Logger.getLogger(InProcessJarRunner.class);
+
+	//#region ATTRIBUTES
+
+	/**
+	 * The cached class loaders by class path
+	 */
+	private static final Map<String, CachedClassLoader> CLASS_LOADERS = new HashMap<>();
+
+	/**
+	 * The output streams of the jobs that are currently executed; inherited by the threads that are started by a job
+	 */
+	private static final InheritableThreadLocal<PrintStream> OUTPUT_STREAMS = new InheritableThreadLocal<>();
+
+	private static final InheritableThreadLocal<PrintStream> ERROR_STREAMS = new InheritableThreadLocal<>();
+
+	/**
+	 * Makes sure that only one job is executed at a time
+	 */
+	private static final Object EXECUTION_LOCK = new Object();
+
+	/**
+	 * The time in milliseconds that is waited for daemon threads of a job after they have been interrupted
+	 */
+	private static final long DAEMON_THREAD_TIMEOUT = 1000;
+
+	/**
+	 * Is null until it has been checked if a security manager can be installed (see isSupported)
+	 */
+	private static Boolean isSupported = null;
+
+	private final Executable executable;
+
+	private final Charset charset;
+
+	private final int maxBufferedCharacters;
+
+	private final int maxLoggedLinesPerSecond;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	/**
+	 * @param executable
+	 *            the atom whose status is updated
+	 * @param charset
+	 *            the charset that is used to decode the output of the executed classes
+	 * @param maxBufferedCharacters
+	 *            the maximum number of characters of the output and error stream that are kept in memory
+	 * @param maxLoggedLinesPerSecond
+	 *            the maximum number of output lines that are logged per second; zero means no limit
+	 */
+	public InProcessJarRunner(
+			Executable executable,
+			Charset charset,
+			int maxBufferedCharacters,
+			int maxLoggedLinesPerSecond) {
+		this.executable = executable;
+		this.charset = charset;
+		this.maxBufferedCharacters = maxBufferedCharacters;
+		this.maxLoggedLinesPerSecond = maxLoggedLinesPerSecond;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Returns true if jobs can be executed in process. The calls of System.exit are stopped with a security manager,
+	 * which can not be installed on Java 18 and later unless the JVM has been started with
+	 * -Djava.security.manager=allow. The check is only done once.
+	 */
+	public static synchronized boolean isSupported() {
+		if (isSupported == null) {
+			try {
+				System.setSecurityManager(System.getSecurityManager());
+				isSupported = true;
+			} catch (UnsupportedOperationException | SecurityException exception) {
+				LOG.debug("Could not install a security manager", exception);
+				isSupported = false;
+			}
+		}
+		return isSupported;
+	}
+
+	/**
+	 * Executes the main method of the given class with the given arguments and returns true if it ended successfully.
+	 * The execution fails if the main method throws an exception, calls System.exit with an exit value other than zero
+	 * or writes to System.err. Waits if another job is executed in process.
+	 *
+	 * @param classPath
+	 *            the jar files and directories, separated with File.pathSeparator
+	 * @param className
+	 *            the full name of the class that provides the main method
+	 * @param arguments
+	 */
+	public boolean executeMain(String classPath, String className, String[] arguments) {
+
+		LoggingOutputStream outputStream = new LoggingOutputStream(LOG, Level.INFO, charset, maxBufferedCharacters,
+				maxLoggedLinesPerSecond);
+		LoggingOutputStream errorStream = new LoggingOutputStream(LOG, Level.ERROR, charset, maxBufferedCharacters, 0);
+
+		String issueMessage;
+		synchronized (EXECUTION_LOCK) {
+			try {
+				Method mainMethod = getMainMethod(classPath, className);
+				issueMessage = invokeMain(mainMethod, arguments, outputStream, errorStream);
+			} catch (IllegalArgumentException | IllegalStateException exception) {
+				LOG.error("Could not execute main method of " + className, exception);
+				issueMessage = exception.getMessage();
+			}
+		}
+
+		outputStream.flush();
+		errorStream.flush();
+		if (issueMessage.isEmpty() && errorStream.hasData()) {
+			issueMessage = errorStream.getDataAsString();
+		}
+
+		postProcess(issueMessage);
+		return issueMessage.isEmpty();
+	}
+
+	private static Method getMainMethod(String classPath, String className) {
+		ClassLoader classLoader = getClassLoader(classPath);
+		try {
+			Class<?> mainClass = Class.forName(className, true, classLoader);
+			Method mainMethod = mainClass.getMethod("main", String[].class);
+			boolean isStatic = Modifier.isStatic(mainMethod.getModifiers());
+			if (!isStatic) {
+				String message = "The main method of " + className + " is not static.";
+				throw new IllegalArgumentException(message);
+			}
+			return mainMethod;
+		} catch (ClassNotFoundException | NoSuchMethodException | LinkageError exception) {
+			String message = "Could not load the main method of the class '" + className + "' from '" + classPath
+					+ "'.";
+			throw new IllegalArgumentException(message, exception);
+		}
+	}
+
+	/**
+	 * Invokes the main method on a worker thread and waits until it and the threads it started are finished. Returns an
+	 * issue message or an empty string if the execution was successful.
+	 */
+	private static String invokeMain(
+			Method mainMethod,
+			String[] arguments,
+			OutputStream outputStream,
+			OutputStream errorStream) {
+
+		PrintStream jobOutputStream = new PrintStream(outputStream, true);
+		PrintStream jobErrorStream = new PrintStream(errorStream, true);
+		String className = mainMethod.getDeclaringClass().getName();
+		JobThreadGroup jobThreadGroup = new JobThreadGroup("JarExecutable: " + className);
+
+		Runnable mainRunnable = () -> {
+			OUTPUT_STREAMS.set(jobOutputStream);
+			ERROR_STREAMS.set(jobErrorStream);
+			ExitTrappingSecurityManager.trapExit();
+			try {
+				mainMethod.invoke(null, (Object) arguments);
+			} catch (InvocationTargetException exception) {
+				jobThreadGroup.setFailure(exception.getCause());
+			} catch (IllegalAccessException exception) {
+				jobThreadGroup.setFailure(exception);
+			}
+		};
+
+		Thread mainThread = new Thread(jobThreadGroup, mainRunnable, jobThreadGroup.getName());
+		mainThread.setContextClassLoader(mainMethod.getDeclaringClass().getClassLoader());
+
+		SecurityManager originalSecurityManager = System.getSecurityManager();
+		try {
+			System.setSecurityManager(new ExitTrappingSecurityManager(originalSecurityManager));
+		} catch (UnsupportedOperationException | SecurityException exception) {
+			String message = "Could not install the security manager that stops System.exit calls of " + className
+					+ ". On Java 18 and later, Treez has to be started with -Djava.security.manager=allow.";
+			throw new IllegalStateException(message, exception);
+		}
+
+		PrintStream originalOutputStream = System.out;
+		PrintStream originalErrorStream = System.err;
+		System.setOut(new PrintStream(new ThreadRoutingOutputStream(OUTPUT_STREAMS, originalOutputStream), true));
+		System.setErr(new PrintStream(new ThreadRoutingOutputStream(ERROR_STREAMS, originalErrorStream), true));
+		try {
+			mainThread.start();
+			mainThread.join();
+			waitForJobThreads(jobThreadGroup);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			jobThreadGroup.interrupt();
+			String message = "Interrupted while waiting for the main method of " + className;
+			throw new IllegalStateException(message, exception);
+		} finally {
+			System.setSecurityManager(originalSecurityManager);
+			System.setOut(originalOutputStream);
+			System.setErr(originalErrorStream);
+		}
+
+		Throwable throwable = jobThreadGroup.getFailure();
+		if (throwable == null) {
+			return "";
+		}
+
+		boolean isExit = throwable instanceof ExitException;
+		if (isExit) {
+			int exitValue = ((ExitException) throwable).getExitValue();
+			if (exitValue == 0) {
+				return "";
+			}
+			return "Process did not finish with expected exit code 0 but with " + exitValue;
+		}
+
+		LOG.error("The main method threw an exception", throwable);
+		return "Process execution failed: " + throwable;
+	}
+
+	/**
+	 * Waits until the non daemon threads of the given group are finished. Then the remaining (daemon) threads are
+	 * interrupted; if they do not finish within a short time, a warning is logged.
+	 */
+	private static void waitForJobThreads(ThreadGroup jobThreadGroup) throws InterruptedException {
+		Thread nonDaemonThread = findThread(jobThreadGroup, false);
+		while (nonDaemonThread != null) {
+			nonDaemonThread.join();
+			nonDaemonThread = findThread(jobThreadGroup, false);
+		}
+
+		Thread daemonThread = findThread(jobThreadGroup, true);
+		if (daemonThread == null) {
+			return;
+		}
+		jobThreadGroup.interrupt();
+		long endTime = System.currentTimeMillis() + DAEMON_THREAD_TIMEOUT;
+		while (daemonThread != null && System.currentTimeMillis() < endTime) {
+			daemonThread.join(Math.max(1, endTime - System.currentTimeMillis()));
+			daemonThread = findThread(jobThreadGroup, true);
+		}
+		if (daemonThread != null) {
+			LOG.warn("The daemon thread '" + daemonThread.getName()
+					+ "' of an in-process job is still running after the job has been finished.");
+		}
+	}
+
+	/**
+	 * Returns an alive (daemon or non daemon) thread of the given group or null
+	 */
+	private static Thread findThread(ThreadGroup threadGroup, boolean isDaemon) {
+		Thread[] threads = new Thread[threadGroup.activeCount() + 1];
+		int numberOfThreads = threadGroup.enumerate(threads);
+		for (int index = 0; index < numberOfThreads; index++) {
+			Thread thread = threads[index];
+			if (thread.isAlive() && thread.isDaemon() == isDaemon) {
+				return thread;
+			}
+		}
+		return null;
+	}
+
+	private void postProcess(String issueMessage) {
+		boolean noIssues = issueMessage.isEmpty();
+		String statusMessage;
+		if (noIssues) {
+			statusMessage = "Finished execution";
+			executable.resetError();
+			LOG.info(statusMessage);
+		} else {
+			statusMessage = issueMessage;
+			executable.highlightError();
+			LOG.error(statusMessage);
+		}
+		executable.runUiJobNonBlocking(() -> executable.executionStatusInfo.set(statusMessage));
+	}
+
+	/**
+	 * Returns the cached class loader for the given class path or creates a new one if the class path has not been
+	 * loaded or one of its files (or one of the files in its directories) has been modified
+	 */
+	private static ClassLoader getClassLoader(String classPath) {
+		List<File> files = new ArrayList<>();
+		for (String path : classPath.split(File.pathSeparator)) {
+			if (!path.trim().isEmpty()) {
+				files.add(new File(path.trim()));
+			}
+		}
+		long lastModified = getLastModified(files);
+
+		synchronized (CLASS_LOADERS) {
+			CachedClassLoader cachedClassLoader = CLASS_LOADERS.get(classPath);
+			if (cachedClassLoader != null && cachedClassLoader.lastModified == lastModified) {
+				return cachedClassLoader.classLoader;
+			}
+
+			if (cachedClassLoader != null) {
+				LOG.info("Reloading modified class path " + classPath);
+				closeClassLoader(cachedClassLoader.classLoader);
+			}
+
+			URLClassLoader classLoader = new URLClassLoader(toUrls(files), ClassLoader.getSystemClassLoader().getParent());
+			CLASS_LOADERS.put(classPath, new CachedClassLoader(classLoader, lastModified));
+			return classLoader;
+		}
+	}
+
+	/**
+	 * Returns the latest modification time of the given class path entries. For directories, all contained files and
+	 * directories are checked, since the modification time of a directory does not change if a file in a sub
+	 * directory is modified.
+	 */
+	private static long getLastModified(List<File> files) {
+		long lastModified = 0;
+		for (File file : files) {
+			if (!file.exists()) {
+				String message = "The class path entry '" + file + "' does not exist.";
+				throw new IllegalArgumentException(message);
+			}
+			if (file.isDirectory()) {
+				lastModified = Math.max(lastModified, getLastModifiedOfDirectory(file.toPath()));
+			} else {
+				lastModified = Math.max(lastModified, file.lastModified());
+			}
+		}
+		return lastModified;
+	}
+
+	private static long getLastModifiedOfDirectory(Path directory) {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			return paths.mapToLong((path) -> path.toFile().lastModified()).max().orElse(0);
+		} catch (IOException exception) {
+			String message = "Could not read the class path directory '" + directory + "'.";
+			throw new IllegalArgumentException(message, exception);
+		}
+	}
+
+	private static URL[] toUrls(List<File> files) {
+		URL[] urls = new URL[files.size()];
+		for (int index = 0; index < urls.length; index++) {
+			try {
+				urls[index] = files.get(index).toURI().toURL();
+			} catch (MalformedURLException exception) {
+				String message = "Could not convert class path entry '" + files.get(index) + "' to URL.";
+				throw new IllegalArgumentException(message, exception);
+			}
+		}
+		return urls;
+	}
+
+	private static void closeClassLoader(URLClassLoader classLoader) {
+		try {
+			classLoader.close();
+		} catch (IOException exception) {
+			LOG.warn("Could not close class loader", exception);
+		}
+	}
+
+	/**
+	 * Splits the given arguments at white spaces that are not enclosed in double quotes and removes the quotes
+	 */
+	public static String[] splitArguments(String argumentString) {
+		List<String> arguments = new ArrayList<>();
+		StringBuilder currentArgument = new StringBuilder();
+		boolean isQuoted = false;
+		boolean hasArgument = false;
+		for (char character : argumentString.toCharArray()) {
+			if (character == '"') {
+				isQuoted = !isQuoted;
+				hasArgument = true;
+			} else if (Character.isWhitespace(character) && !isQuoted) {
+				if (hasArgument) {
+					arguments.add(currentArgument.toString());
+					currentArgument.setLength(0);
+					hasArgument = false;
+				}
+			} else {
+				currentArgument.append(character);
+				hasArgument = true;
+			}
+		}
+		if (hasArgument) {
+			arguments.add(currentArgument.toString());
+		}
+		return arguments.toArray(new String[arguments.size()]);
+	}
+
+	//#end region
+
+	//#region CLASSES
+
+	private static final class CachedClassLoader {
+
+		private final URLClassLoader classLoader;
+
+		private final long lastModified;
+
+		CachedClassLoader(URLClassLoader classLoader, long lastModified) {
+			this.classLoader = classLoader;
+			this.lastModified = lastModified;
+		}
+	}
+
+	/**
+	 * The thread group of a job; records the first failure of its threads (an exception or a call of System.exit)
+	 */
+	private static final class JobThreadGroup extends ThreadGroup {
+
+		private Throwable failure = null;
+
+		JobThreadGroup(String name) {
+			super(name);
+		}
+
+		synchronized void setFailure(Throwable throwable) {
+			if (failure == null) {
+				failure = throwable;
+			}
+		}
+
+		synchronized Throwable getFailure() {
+			return failure;
+		}
+
+		@Override
+		public void uncaughtException(Thread thread, Throwable throwable) {
+			if (!(throwable instanceof ExitException)) {
+				LOG.error("Thread '" + thread.getName() + "' of an in-process job threw an exception", throwable);
+			}
+			setFailure(throwable);
+		}
+	}
+
+	/**
+	 * Writes to the stream of the current thread or to the given default stream
+	 */
+	private static final class ThreadRoutingOutputStream extends OutputStream {
+
+		private final ThreadLocal<PrintStream> threadStreams;
+
+		private final PrintStream defaultStream;
+
+		ThreadRoutingOutputStream(ThreadLocal<PrintStream> threadStreams, PrintStream defaultStream) {
+			this.threadStreams = threadStreams;
+			this.defaultStream = defaultStream;
+		}
+
+		private PrintStream getStream() {
+			PrintStream threadStream = threadStreams.get();
+			return threadStream == null ? defaultStream : threadStream;
+		}
+
+		@Override
+		public void write(int b) {
+			getStream().write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			getStream().write(b, off, len);
+		}
+
+		@Override
+		public void flush() {
+			getStream().flush();
+		}
+	}
+
+	/**
+	 * Is thrown instead of exiting the JVM if a job calls System.exit
+	 */
+	private static final class ExitException extends SecurityException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int exitValue;
+
+		ExitException(int exitValue) {
+			super("System.exit(" + exitValue + ") has been called by an in-process job.");
+			this.exitValue = exitValue;
+		}
+
+		int getExitValue() {
+			return exitValue;
+		}
+	}
+
+	/**
+	 * A security manager that only stops System.exit calls of job threads (the threads of a job inherit the flag of
+	 * its main thread). All other checks are delegated to the security manager that was installed before (if any).
+	 */
+	private static final class ExitTrappingSecurityManager extends SecurityManager {
+
+		private static final InheritableThreadLocal<Boolean> TRAPS_EXIT = new InheritableThreadLocal<>();
+
+		private final SecurityManager formerSecurityManager;
+
+		ExitTrappingSecurityManager(SecurityManager formerSecurityManager) {
+			this.formerSecurityManager = formerSecurityManager;
+		}
+
+		static void trapExit() {
+			TRAPS_EXIT.set(true);
+		}
+
+		@Override
+		public void checkExit(int status) {
+			if (Boolean.TRUE.equals(TRAPS_EXIT.get())) {
+				throw new ExitException(status);
+			}
+			if (formerSecurityManager != null) {
+				formerSecurityManager.checkExit(status);
+			}
+		}
+
+		@Override
+		public void checkPermission(Permission permission) {
+			if (formerSecurityManager != null) {
+				formerSecurityManager.checkPermission(permission);
+			}
+		}
+
+		@Override
+		public void checkPermission(Permission permission, Object context) {
+			if (formerSecurityManager != null) {
+				formerSecurityManager.checkPermission(permission, context);
+			}
+		}
+	}
+
+	//#end region
+
+}
@@ -1,8 +1,13 @@
 package org.treez.model.atom.executable;
 
+import java.io.File;
+import java.util.List;
+import java.util.SortedMap;
+
 import org.eclipse.swt.graphics.Image;
 import org.treez.core.atom.attribute.attributeContainer.Page;
 import org.treez.core.atom.attribute.attributeContainer.section.Section;
+import org.treez.core.atom.attribute.checkBox.CheckBox;
 import org.treez.core.atom.attribute.fileSystem.FileOrDirectoryPath;
 import org.treez.core.atom.attribute.fileSystem.FilePath;
 import org.treez.core.atom.attribute.text.InfoText;
@@ -26,6 +31,14 @@ public class JarExecutable extends Executable {
 	public final Attribute<String> jarPath = new Wrap<>();
 
 	public final Attribute<String> fullClassName = new Wrap<>();
+
+	/**
+	 * If this is true, the main class is executed in the running JVM (see InProcessJarRunner) instead of starting a new
+	 * java process for each job. Is false by default. In-process jobs are executed one after another, also if the jar
+	 * executable is part of a parallel study (see supportsParallelJobs). On Java 18 and later, this requires that Treez
+	 * is started with -Djava.security.manager=allow; otherwise a new java process is started.
+	 */
+	public final Attribute<Boolean> runInProcess = new Wrap<>();
 	//#end region
 
 	//#region CONSTRUCTORS
@@ -83,6 +96,9 @@ public class JarExecutable extends Executable {
 		TextField fullClassNameField = section.createTextField(fullClassName, this, "");
 		fullClassNameField.setLabel("Full name of main class");
 		fullClassNameField.addModificationConsumer("updateStatus", updateStatusListener);
+
+		CheckBox runInProcessCheckBox = section.createCheckBox(runInProcess, this, false);
+		runInProcessCheckBox.setLabel("Run in Treez JVM (reuses loaded classes; ignores java path and JVM arguments)");
 	}
 
 	private void createJvmArgumentsSection(
@@ -109,17 +125,72 @@ public class JarExecutable extends Executable {
 	}
 
 	@Override
-	protected String buildCommand() {
+	protected String buildCommand(ExecutableJobPaths jobPaths) {
 		String command = "\"" + executablePath.get() + "\"";
 
 		command = addJavaArguments(command);
-		command = addInputArguments(command);
-		command = addOutputArguments(command);
-		command = addLoggingArguments(command);
+		command = addInputArguments(command, jobPaths);
+		command = addOutputArguments(command, jobPaths);
+		command = addLoggingArguments(command, jobPaths);
 
 		return command;
 	}
 
+	/**
+	 * The jobs of an in-process execution share System.out, System.err and the static state of the loaded classes and
+	 * can not run in parallel
+	 */
+	@Override
+	public boolean supportsParallelJobs() {
+		return !isRunningInProcess() && super.supportsParallelJobs();
+	}
+
+	@Override
+	protected boolean executeCommand(String command, ExecutableJobPaths jobPaths) {
+		if (!isRunningInProcess()) {
+			if (runInProcess.get()) {
+				LOG.warn("The main class can not be executed in the Treez JVM since System.exit calls can not be "
+						+ "stopped on this Java version. Start Treez with -Djava.security.manager=allow to enable the "
+						+ "execution in the Treez JVM. Starting a new java process instead.");
+			}
+			return super.executeCommand(command, jobPaths);
+		}
+
+		boolean jvmArgumentsIsEmpty = jvmArgument.get().isEmpty();
+		if (!jvmArgumentsIsEmpty) {
+			LOG.warn("The JVM arguments are ignored for the execution in the Treez JVM.");
+		}
+
+		String argumentString = addLoggingArguments(
+				addOutputArguments(addInputArguments("", jobPaths), jobPaths), jobPaths);
+		String[] arguments = InProcessJarRunner.splitArguments(argumentString);
+		InProcessJarRunner runner = new InProcessJarRunner(this, getOutputCharset(), maxCapturedOutput.get(),
+				maxLoggedLinesPerSecond.get());
+		return runner.executeMain(jarPath.get(), fullClassName.get(), arguments);
+	}
+
+	/**
+	 * Returns true if the main class is executed in the Treez JVM; falls back to a new java process if the
+	 * InProcessJarRunner is not supported by the running JVM
+	 */
+	private boolean isRunningInProcess() {
+		return runInProcess.get() && InProcessJarRunner.isSupported();
+	}
+
+	@Override
+	protected void collectFingerprintData(
+			SortedMap<String, String> entries,
+			List<File> files,
+			ExecutableJobPaths jobPaths) {
+		super.collectFingerprintData(entries, files, jobPaths);
+		entries.put("jvmArguments", jvmArgument.get());
+		entries.put("mainClass", fullClassName.get());
+		String[] classPathEntries = jarPath.get().split(File.pathSeparator);
+		for (int index = 0; index < classPathEntries.length; index++) {
+			addFileStamp(entries, "classPath" + index, classPathEntries[index].trim());
+		}
+	}
+
 	private String addJavaArguments(String commandToExtend) {
 		String command = commandToExtend;
 		boolean jvmArgumentsIsEmpty = jvmArgument.get().isEmpty();
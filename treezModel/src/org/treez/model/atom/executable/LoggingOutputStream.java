@@ -2,6 +2,11 @@ package org.treez.model.atom.executable;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.util.Objects;
 
 import org.apache.log4j.Level;
@@ -9,32 +14,83 @@ import org.apache.log4j.Logger;
 
 /**
  * An output stream that redirects its output to a Logger. http://stackoverflow.com/questions/6995946/
- * log4j-how-do-i-redirect-an-outputstream-or-writer-to-loggers-writers/28579006#28579006 The logged data accumulates in
- * this logger. If you want to log a huge anount of data you might need to reset this logger from time to time to free
- * the memory.
+ * log4j-how-do-i-redirect-an-outputstream-or-writer-to-loggers-writers/28579006#28579006
+ * <p>
+ * The bytes are decoded with an explicit charset (byte sequences that are split between two writes are decoded
+ * correctly) and are logged line by line. The number of logged lines per second can be limited; the number of
+ * suppressed lines is logged when the next line is allowed. The logged data accumulates in this stream but only the
+ * last maxBufferedCharacters are kept, so that chatty processes do not fill the memory.
  */
 public class LoggingOutputStream extends OutputStream {
 
 	//#region ATTRIBUTES
 
+	/**
+	 * The default maximum number of characters that are kept in the buffer
+	 */
+	public static final int DEFAULT_MAX_BUFFERED_CHARACTERS = 1024 * 1024;
+
+	private static final long RATE_LIMIT_INTERVAL_IN_MILLIS = 1000;
+
 	/**
 	 * The logger to write to.
 	 */
-	private Logger log;
+	private final Logger log;
 
 	/**
 	 * The log level.
 	 */
-	private Level level;
+	private final Level level;
+
+	private final CharsetDecoder decoder;
+
+	/**
+	 * Holds the decoded characters of a single write
+	 */
+	private CharBuffer decodedCharacters = CharBuffer.allocate(1024);
+
+	/**
+	 * Holds the bytes of an incomplete character between two writes
+	 */
+	private ByteBuffer remainingBytes = ByteBuffer.allocate(0);
+
+	/**
+	 * The current line that has not yet been logged
+	 */
+	private final StringBuilder currentLine = new StringBuilder();
+
+	/**
+	 * The logged data. It is trimmed to the last maxBufferedCharacters if it gets twice as long.
+	 */
+	private final StringBuilder buffer = new StringBuilder();
+
+	private final int maxBufferedCharacters;
+
+	private boolean bufferIsTruncated = false;
+
+	/**
+	 * The maximum number of lines that are logged per second. Zero means no limit.
+	 */
+	private final int maxLoggedLinesPerSecond;
+
+	private long rateLimitIntervalStart = 0;
+
+	private int numberOfLinesInInterval = 0;
 
-	private String allLoggedData = "";
+	private int numberOfSuppressedLines = 0;
+
+	/**
+	 * Is called (on the writing thread) after data has been written to this stream
+	 */
+	private Runnable dataListener;
 
 	//#end region
 
 	//#region CONSTRUCTORS
 
 	/**
-	 * Creates the Logging instance to flush to the given logger.
+	 * Creates the Logging instance to flush to the given logger. The platform charset is used, the buffer size is
+	 * DEFAULT_MAX_BUFFERED_CHARACTERS and the logging is not rate limited.
 	 *
 	 * @param log
 	 *            the Logger to write to
@@ -44,10 +100,50 @@ public class LoggingOutputStream extends OutputStream {
 	 *             in case if one of arguments is null.
 	 */
 	public LoggingOutputStream(final Logger log, final Level level) throws NullPointerException {
+		this(log, level, Charset.defaultCharset(), DEFAULT_MAX_BUFFERED_CHARACTERS, 0);
+	}
+
+	/**
+	 * Creates the Logging instance to flush to the given logger.
+	 *
+	 * @param log
+	 *            the Logger to write to
+	 * @param level
+	 *            the log level
+	 * @param charset
+	 *            the charset that is used to decode the written bytes
+	 * @param maxBufferedCharacters
+	 *            the maximum number of characters that are kept (see getDataAsString)
+	 * @param maxLoggedLinesPerSecond
+	 *            the maximum number of lines that are logged per second; zero means no limit
+	 * @throws NullPointerException
+	 *             in case if one of arguments is null.
+	 */
+	public LoggingOutputStream(
+			final Logger log,
+			final Level level,
+			final Charset charset,
+			int maxBufferedCharacters,
+			int maxLoggedLinesPerSecond) throws NullPointerException {
 		Objects.requireNonNull(log, "Logger must be not null.");
 		Objects.requireNonNull(level, "Log level must be not null.");
+		Objects.requireNonNull(charset, "Charset must be not null.");
+		if (maxBufferedCharacters < 1) {
+			String message = "The maximum number of buffered characters must be positive.";
+			throw new IllegalArgumentException(message);
+		}
+		if (maxLoggedLinesPerSecond < 0) {
+			String message = "The maximum number of logged lines per second must not be negative.";
+			throw new IllegalArgumentException(message);
+		}
 		this.log = log;
 		this.level = level;
+		this.decoder = charset
+				.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.maxBufferedCharacters = maxBufferedCharacters;
+		this.maxLoggedLinesPerSecond = maxLoggedLinesPerSecond;
 	}
 
 	//#end region
@@ -56,9 +152,7 @@ public class LoggingOutputStream extends OutputStream {
 
 	@Override
 	public void write(byte[] bytes) {
-		String message = new String(bytes);
-		log.log(level, message);
-		allLoggedData += message;
+		doWrite(bytes, 0, bytes.length);
 	}
 
 	@Override
@@ -79,15 +173,6 @@ public class LoggingOutputStream extends OutputStream {
 		doWrite(b, off, len);
 	}
 
-	private void doWrite(byte[] b, int off, int len) {
-		byte[] subBytes = new byte[len];
-		for (int i = 0; i < len; i++) {
-			subBytes[i] = b[off + i];
-		}
-
-		write(subBytes);
-	}
-
 	/**
 	 * Writes the specified byte to this output stream.
 	 *
@@ -98,19 +183,134 @@ public class LoggingOutputStream extends OutputStream {
 	 */
 	@Override
 	public void write(final int b) throws IOException {
-		String message = "The logging of individual bytes is not allowed in this output stream implementation.";
-		throw new IllegalStateException(message);
+		doWrite(new byte[] { (byte) b }, 0, 1);
+	}
+
+	private void doWrite(byte[] b, int off, int len) {
+		Runnable listener;
+		synchronized (this) {
+			ByteBuffer input = prependRemainingBytes(ByteBuffer.wrap(b, off, len));
+			decode(input);
+			listener = dataListener;
+		}
+		if (listener != null) {
+			listener.run();
+		}
+	}
+
+	private ByteBuffer prependRemainingBytes(ByteBuffer input) {
+		if (!remainingBytes.hasRemaining()) {
+			return input;
+		}
+		ByteBuffer joinedInput = ByteBuffer.allocate(remainingBytes.remaining() + input.remaining());
+		joinedInput.put(remainingBytes);
+		joinedInput.put(input);
+		joinedInput.flip();
+		return joinedInput;
+	}
+
+	/**
+	 * Decodes the given bytes and keeps the bytes of an incomplete character at the end for the next write
+	 */
+	private void decode(ByteBuffer input) {
+		int maxNumberOfCharacters = (int) Math.ceil(input.remaining() * decoder.maxCharsPerByte());
+		if (decodedCharacters.capacity() < maxNumberOfCharacters) {
+			decodedCharacters = CharBuffer.allocate(maxNumberOfCharacters);
+		}
+		decodedCharacters.clear();
+		decoder.decode(input, decodedCharacters, false);
+		decodedCharacters.flip();
+		append(decodedCharacters);
+
+		if (input.hasRemaining()) {
+			remainingBytes = ByteBuffer.allocate(input.remaining());
+			remainingBytes.put(input);
+			remainingBytes.flip();
+		} else {
+			remainingBytes = ByteBuffer.allocate(0);
+		}
+	}
+
+	private void append(CharBuffer characters) {
+		int length = characters.remaining();
+		for (int index = 0; index < length; index++) {
+			char character = characters.get(index);
+			if (character == '\n') {
+				logCurrentLine();
+			} else if (character != '\r') {
+				currentLine.append(character);
+				if (currentLine.length() >= maxBufferedCharacters) {
+					logCurrentLine();
+				}
+			}
+		}
+
+		buffer.append(characters);
+		boolean bufferIsTooLong = buffer.length() > 2 * maxBufferedCharacters;
+		if (bufferIsTooLong) {
+			buffer.delete(0, buffer.length() - maxBufferedCharacters);
+			bufferIsTruncated = true;
+		}
+	}
+
+	private void logCurrentLine() {
+		String line = currentLine.toString();
+		currentLine.setLength(0);
+		if (isAllowedByRateLimit()) {
+			log.log(level, line);
+		}
+	}
+
+	private boolean isAllowedByRateLimit() {
+		if (maxLoggedLinesPerSecond == 0) {
+			return true;
+		}
+
+		long currentTime = System.currentTimeMillis();
+		boolean isNewInterval = currentTime - rateLimitIntervalStart >= RATE_LIMIT_INTERVAL_IN_MILLIS;
+		if (isNewInterval) {
+			if (numberOfSuppressedLines > 0) {
+				log.log(level, "(" + numberOfSuppressedLines + " lines have not been logged)");
+				numberOfSuppressedLines = 0;
+			}
+			rateLimitIntervalStart = currentTime;
+			numberOfLinesInInterval = 0;
+		}
+
+		if (numberOfLinesInInterval < maxLoggedLinesPerSecond) {
+			numberOfLinesInInterval++;
+			return true;
+		} else {
+			numberOfSuppressedLines++;
+			return false;
+		}
+	}
+
+	/**
+	 * Logs the current incomplete line and the number of suppressed lines
+	 */
+	@Override
+	public synchronized void flush() {
+		if (currentLine.length() > 0) {
+			logCurrentLine();
+		}
+		if (numberOfSuppressedLines > 0) {
+			log.log(level, "(" + numberOfSuppressedLines + " lines have not been logged)");
+			numberOfSuppressedLines = 0;
+		}
 	}
 
 	/**
 	 * Resets the stored data
 	 */
-	public void reset() {
-		allLoggedData = "";
+	public synchronized void reset() {
+		buffer.setLength(0);
+		bufferIsTruncated = false;
 	}
 
 	@Override
 	public void close() throws IOException {
+		flush();
 		super.close();
 		reset();
 	}
@@ -119,22 +319,38 @@ public class LoggingOutputStream extends OutputStream {
 
 	//#region ACCESSORS
 
+	/**
+	 * Sets a listener that is called on the writing thread after data has been written to this stream
+	 *
+	 * @param dataListener
+	 */
+	public synchronized void setDataListener(Runnable dataListener) {
+		this.dataListener = dataListener;
+	}
+
 	/**
 	 * Returns true if the buffer currently contains data
 	 *
 	 * @return
 	 */
-	public boolean hasData() {
-		return !allLoggedData.isEmpty();
+	public synchronized boolean hasData() {
+		return buffer.length() > 0;
 	}
 
 	/**
-	 * Returns the currently buffered data as String
+	 * Returns the currently buffered data as String. If the data has been truncated, only the last
+	 * maxBufferedCharacters are returned.
 	 *
 	 * @return
 	 */
-	public String getDataAsString() {
-		return allLoggedData;
+	public synchronized String getDataAsString() {
+		int startIndex = Math.max(0, buffer.length() - maxBufferedCharacters);
+		String data = buffer.substring(startIndex);
+		boolean isTruncated = bufferIsTruncated || startIndex > 0;
+		if (isTruncated) {
+			return "[...]" + data;
+		}
+		return data;
 	}
 
 	//#end region
@@ -31,14 +31,15 @@ import org.treez.core.treeview.action.AddColoredChildAtomTreeViewerAction;
 import org.treez.core.treeview.action.TreeViewerAction;
 import org.treez.model.Activator;
 import org.treez.model.atom.AbstractModel;
+import org.treez.model.interfaces.ParallelModel;
 
 /**
  * Represents a generic model that typically consists of several variable fields. The model for this adjustable atom is
  * created from its children (=the variable fields) that can be dynamically added by the user. The model can not perform
  * actions by itself. The variable fields of this generic model can be used as dependency/input for other atoms, e.g.
- * the InputFileGenerator.
+ * the InputFileGenerator. Since it does not perform actions, several jobs of this model can run in parallel.
  */
-public class GenericInputModel extends AbstractModel {
+public class GenericInputModel extends AbstractModel implements ParallelModel {
 
 	//#region CONSTRUCTORS
 
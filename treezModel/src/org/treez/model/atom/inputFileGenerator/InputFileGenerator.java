@@ -32,6 +32,7 @@ import org.treez.core.attribute.Wrap;
 import org.treez.core.scripting.ScriptType;
 import org.treez.core.treeview.TreeViewerRefreshable;
 import org.treez.model.Activator;
+import org.treez.model.atom.AbstractModel;
 import org.treez.model.atom.genericInput.GenericInputModel;
 
 /**
@@ -134,8 +135,11 @@ public class InputFileGenerator extends AdjustableAtom {
 
 		LOG.info("Executing " + this.getClass().getSimpleName() + " '" + getName() + "'");
 
+		//the input file of a detached job includes the job id, see AbstractModel.getDetachedJobFilePath
+		String jobInputFilePath = AbstractModel.getDetachedJobFilePath(inputFilePath.get());
+
 		//delete old input file (=the output of this atom) if it exists
-		File inputFile = new File(inputFilePath.get());
+		File inputFile = new File(jobInputFilePath);
 		if (inputFile.exists()) {
 			inputFile.delete();
 		}
@@ -149,13 +153,13 @@ public class InputFileGenerator extends AdjustableAtom {
 				valueExpression.get(), deleteUnassignedRows.get());
 
 		if (inputFileString.isEmpty()) {
-			String message = "The input file '" + inputFilePath.get()
+			String message = "The input file '" + jobInputFilePath
 					+ "' is empty. Please check the place holder and the source variables.";
 			LOG.warn(message);
 		}
 
 		//save result as new input file
-		saveResult(inputFileString, inputFilePath.get());
+		saveResult(inputFileString, jobInputFilePath);
 
 	}
 
@@ -180,13 +184,13 @@ public class InputFileGenerator extends AdjustableAtom {
 		for (VariableField<?, ?> variableField : variableFields) {
 			String variableName = variableField.getName();
 			String variableLabel = variableField.getLabel();
-			String valueString = variableField.getValueString(); //e.g. "1"
+			String valueString = AbstractModel.getVariableValueString(variableField); //e.g. "1"
 
 			String unitString = "";
 			boolean isQuantityVariableField = variableField instanceof QuantityVariableField;
 			if (isQuantityVariableField) {
 				QuantityVariableField quantityField = (QuantityVariableField) variableField;
-				unitString = quantityField.getUnitString(); //e.g. "m"
+				unitString = AbstractModel.getVariableUnitString(quantityField); //e.g. "m"
 			}
 
 			//get regular expression to replace
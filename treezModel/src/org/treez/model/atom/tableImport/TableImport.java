@@ -1,5 +1,6 @@
 package org.treez.model.atom.tableImport;
 
+import java.nio.charset.Charset;
 import java.util.List;
 
 import org.apache.log4j.Logger;
@@ -20,7 +21,6 @@ import org.treez.core.atom.attribute.text.TextField;
 import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.attribute.Attribute;
 import org.treez.core.attribute.Wrap;
-import org.treez.core.data.column.ColumnType;
 import org.treez.core.data.table.TableSource;
 import org.treez.core.data.table.TableSourceType;
 import org.treez.core.scripting.ScriptType;
@@ -57,6 +57,8 @@ public class TableImport extends AbstractModel implements TableSource {
 
 	public final Attribute<String> columnSeparator = new Wrap<>();
 
+	public final Attribute<String> charset = new Wrap<>();
+
 	public final Attribute<String> host = new Wrap<>();
 
 	public final Attribute<String> port = new Wrap<>();
@@ -169,6 +171,11 @@ public class TableImport extends AbstractModel implements TableSource {
 
 		TextField columnSeparatorField = sourceDataSection.createTextField(columnSeparator, this, ";");
 		columnSeparatorField.setLabel("Column separator");
+
+		//charset of text files
+		TextField charsetField = sourceDataSection.createTextField(charset, this, "UTF-8");
+		charsetField.setLabel("Charset");
+
 		//host
 		TextField hostField = sourceDataSection.createTextField(host, this, "localhost");
 		hostField.setLabel("Host name/IP address");
@@ -286,6 +293,7 @@ public class TableImport extends AbstractModel implements TableSource {
 		boolean inheritPath = inheritSourceFilePath.get();
 		setEnabled(sourceFilePath, !inheritPath);
 		setEnabled(columnSeparator, !inheritPath);
+		setEnabled(charset, true);
 
 		setEnabled(host, false);
 		setEnabled(port, false);
@@ -308,6 +316,7 @@ public class TableImport extends AbstractModel implements TableSource {
 		setEnabled(sourceFilePath, !inheritPath);
 
 		setEnabled(columnSeparator, false);
+		setEnabled(charset, false);
 		setEnabled(host, false);
 		setEnabled(port, false);
 		setEnabled(user, false);
@@ -327,6 +336,7 @@ public class TableImport extends AbstractModel implements TableSource {
 		setEnabled(inheritSourceFilePath, false);
 		setEnabled(sourceFilePath, false);
 		setEnabled(columnSeparator, false);
+		setEnabled(charset, false);
 		setEnabled(host, true);
 		setEnabled(port, true);
 		setEnabled(user, true);
@@ -416,7 +426,8 @@ public class TableImport extends AbstractModel implements TableSource {
 		TableData tableData;
 		switch (tableSourceType) {
 		case CSV:
-			tableData = TextDataTableImporter.importData(sourcePath, columnSeparatorString, maxRows);
+			Charset textCharset = Charset.forName(charset.get());
+			tableData = TextDataTableImporter.importData(sourcePath, columnSeparatorString, maxRows, textCharset);
 			return tableData;
 		case SQLITE:
 			tableData = SqLiteImporter.importData(sourcePath, passwordString, tableNameString, filterRows, jobIdString,
@@ -528,7 +539,7 @@ public class TableImport extends AbstractModel implements TableSource {
 			}
 
 			for (String header : headers) {
-				columns.createColumn(header, ColumnType.STRING);
+				columns.createColumn(header, tableData.getColumnType(header));
 			}
 		}
 	}
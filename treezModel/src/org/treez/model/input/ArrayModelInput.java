@@ -0,0 +1,287 @@
+package org.treez.model.input;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.treez.core.atom.copy.Copiable;
+
+/**
+ * A model input whose entries are stored in flat arrays. The variable model paths and the value slots are described by
+ * a ModelInputSchema that is shared by all model inputs of a study. Double and Integer values are stored as
+ * primitives. In comparison to the HashMapModelInput this avoids a map (and the boxed numbers) for each job. Values for
+ * variables that are not included in the schema (or that do not fit the value type of their slot) are kept in an
+ * additional map, so that all values can be added like for a HashMapModelInput.
+ */
+public class ArrayModelInput implements ModelInput {
+
+	//#region ATTRIBUTES
+
+	private final ModelInputSchema schema;
+
+	/**
+	 * The id of this model input
+	 */
+	private long jobId;
+
+	private final Object[] objectValues;
+
+	private final double[] doubleValues;
+
+	private final int[] integerValues;
+
+	/**
+	 * Marks the variables (by variable index) for which a value has been assigned
+	 */
+	private final BitSet assignedVariables;
+
+	/**
+	 * Holds the values that could not be stored in the slots of the schema (by variable model path); is only created
+	 * if such values are added
+	 */
+	private Map<String, Object> overflowValues = null;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	ArrayModelInput(ModelInputSchema schema, long jobId) {
+		this.schema = schema;
+		this.jobId = jobId;
+		objectValues = new Object[schema.getNumberOfObjectSlots()];
+		doubleValues = new double[schema.getNumberOfDoubleSlots()];
+		integerValues = new int[schema.getNumberOfIntegerSlots()];
+		assignedVariables = new BitSet(schema.getNumberOfVariables());
+	}
+
+	/**
+	 * Copy constructor. Copies the data of the given ArrayModelInput to a new ArrayModelInput. You might want to use
+	 * the function increaseJobId to increase the id of the new model input to the next available value.
+	 *
+	 * @param modelInputToCopy
+	 */
+	private ArrayModelInput(ArrayModelInput modelInputToCopy) {
+		schema = modelInputToCopy.schema;
+		jobId = modelInputToCopy.jobId;
+		objectValues = new Object[modelInputToCopy.objectValues.length];
+		for (int position = 0; position < objectValues.length; position++) {
+			objectValues[position] = copyValue(modelInputToCopy.objectValues[position]);
+		}
+		doubleValues = modelInputToCopy.doubleValues.clone();
+		integerValues = modelInputToCopy.integerValues.clone();
+		assignedVariables = (BitSet) modelInputToCopy.assignedVariables.clone();
+		if (modelInputToCopy.overflowValues != null) {
+			overflowValues = new LinkedHashMap<>();
+			modelInputToCopy.overflowValues
+					.forEach((variableModelPath, value) -> overflowValues.put(variableModelPath, copyValue(value)));
+		}
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	public ArrayModelInput copy() {
+		return new ArrayModelInput(this);
+	}
+
+	private static Object copyValue(Object value) {
+		boolean isCopiable = value instanceof Copiable;
+		if (isCopiable) {
+			return ((Copiable<?>) value).copy();
+		}
+		return value;
+	}
+
+	/**
+	 * Increases the job id by one. (The job ids of ArrayModelInputs are assigned by the creator of the model inputs,
+	 * see ModelInputSchema.createModelInput.)
+	 */
+	@Override
+	public void increaseJobId() {
+		jobId++;
+	}
+
+	@Override
+	public void add(String variableModelPath, Object variableValue) {
+		int variableIndex = schema.getVariableIndex(variableModelPath);
+		boolean fitsSlot = variableIndex >= 0 && fitsSlot(variableIndex, variableValue);
+		if (fitsSlot) {
+			set(variableIndex, variableValue);
+			if (overflowValues != null) {
+				overflowValues.remove(variableModelPath);
+			}
+		} else {
+			if (variableIndex >= 0) {
+				assignedVariables.clear(variableIndex);
+			}
+			if (overflowValues == null) {
+				overflowValues = new LinkedHashMap<>();
+			}
+			overflowValues.put(variableModelPath, variableValue);
+		}
+	}
+
+	private boolean fitsSlot(int variableIndex, Object variableValue) {
+		switch (schema.getSlotKind(variableIndex)) {
+		case ModelInputSchema.DOUBLE_SLOT:
+			return variableValue instanceof Double;
+		case ModelInputSchema.INTEGER_SLOT:
+			return variableValue instanceof Integer;
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * Sets the value of the variable with the given index (see ModelInputSchema)
+	 *
+	 * @param variableIndex
+	 * @param variableValue
+	 */
+	public void set(int variableIndex, Object variableValue) {
+		int position = schema.getSlotPosition(variableIndex);
+		switch (schema.getSlotKind(variableIndex)) {
+		case ModelInputSchema.DOUBLE_SLOT:
+			if (!(variableValue instanceof Double)) {
+				throw createTypeException(variableIndex, variableValue, Double.class);
+			}
+			doubleValues[position] = (Double) variableValue;
+			break;
+		case ModelInputSchema.INTEGER_SLOT:
+			if (!(variableValue instanceof Integer)) {
+				throw createTypeException(variableIndex, variableValue, Integer.class);
+			}
+			integerValues[position] = (Integer) variableValue;
+			break;
+		default:
+			objectValues[position] = variableValue;
+			break;
+		}
+		assignedVariables.set(variableIndex);
+	}
+
+	/**
+	 * Sets the value of the Double variable with the given index without boxing
+	 *
+	 * @param variableIndex
+	 * @param value
+	 */
+	public void setDouble(int variableIndex, double value) {
+		if (schema.getSlotKind(variableIndex) != ModelInputSchema.DOUBLE_SLOT) {
+			throw createTypeException(variableIndex, value, Double.class);
+		}
+		doubleValues[schema.getSlotPosition(variableIndex)] = value;
+		assignedVariables.set(variableIndex);
+	}
+
+	/**
+	 * Sets the value of the Integer variable with the given index without boxing
+	 *
+	 * @param variableIndex
+	 * @param value
+	 */
+	public void setInteger(int variableIndex, int value) {
+		if (schema.getSlotKind(variableIndex) != ModelInputSchema.INTEGER_SLOT) {
+			throw createTypeException(variableIndex, value, Integer.class);
+		}
+		integerValues[schema.getSlotPosition(variableIndex)] = value;
+		assignedVariables.set(variableIndex);
+	}
+
+	private IllegalArgumentException createTypeException(int variableIndex, Object value, Class<?> expectedType) {
+		String message = "The value '" + value + "' for the variable '" + schema.getVariableModelPath(variableIndex)
+				+ "' is not of the expected type " + expectedType.getSimpleName() + ".";
+		return new IllegalArgumentException(message);
+	}
+
+	@Override
+	public boolean containsVariableModelPath(String variableModelPath) {
+		if (overflowValues != null && overflowValues.containsKey(variableModelPath)) {
+			return true;
+		}
+		int variableIndex = schema.getVariableIndex(variableModelPath);
+		return variableIndex >= 0 && assignedVariables.get(variableIndex);
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	public ModelInputSchema getSchema() {
+		return schema;
+	}
+
+	@Override
+	public String getStudyId() {
+		return schema.getStudyId();
+	}
+
+	@Override
+	public String getStudyDescription() {
+		return schema.getStudyDescription();
+	}
+
+	@Override
+	public String getJobId() {
+		return Long.toString(jobId);
+	}
+
+	@Override
+	public String getParentStudyModelPath() {
+		return schema.getParentStudyModelPath();
+	}
+
+	@Override
+	public Object getVariableValue(String variableModelPath) {
+		if (overflowValues != null && overflowValues.containsKey(variableModelPath)) {
+			return overflowValues.get(variableModelPath);
+		}
+		int variableIndex = schema.getVariableIndex(variableModelPath);
+		if (variableIndex < 0) {
+			return null;
+		}
+		return get(variableIndex);
+	}
+
+	/**
+	 * Returns the value of the variable with the given index or null if no value has been assigned
+	 *
+	 * @param variableIndex
+	 * @return
+	 */
+	public Object get(int variableIndex) {
+		if (!assignedVariables.get(variableIndex)) {
+			return null;
+		}
+		int position = schema.getSlotPosition(variableIndex);
+		switch (schema.getSlotKind(variableIndex)) {
+		case ModelInputSchema.DOUBLE_SLOT:
+			return doubleValues[position];
+		case ModelInputSchema.INTEGER_SLOT:
+			return integerValues[position];
+		default:
+			return objectValues[position];
+		}
+	}
+
+	@Override
+	public List<String> getAllVariableModelPaths() {
+		List<String> allPaths = new ArrayList<>(assignedVariables.cardinality());
+		for (int index = assignedVariables.nextSetBit(0); index >= 0; index = assignedVariables.nextSetBit(index + 1)) {
+			if (!schema.isShadowed(index)) {
+				allPaths.add(schema.getVariableModelPath(index));
+			}
+		}
+		if (overflowValues != null) {
+			allPaths.addAll(overflowValues.keySet());
+		}
+		return allPaths;
+	}
+
+	//#end region
+
+}
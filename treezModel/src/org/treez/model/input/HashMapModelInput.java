@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.treez.core.atom.copy.Copiable;
 
@@ -16,9 +17,9 @@ public class HashMapModelInput implements ModelInput {
 
 	/**
 	 * The id that will be used for the next created HashMapModelInput; will be increased when creating a new
-	 * HashMapModelInput
+	 * HashMapModelInput. Atomic, so that model inputs can be created from several threads.
 	 */
-	private static long nextId = 1;
+	private static final AtomicLong NEXT_ID = new AtomicLong(1);
 
 	private String studyId;
 
@@ -51,6 +52,23 @@ public class HashMapModelInput implements ModelInput {
 		this.parentStudyModelPath = parentStudyModelPath;
 	}
 
+	/**
+	 * Creates a model input with the given job id. The id counter is not modified. Use this constructor if the model
+	 * inputs of a study are created in a deterministic order and the job id can be derived from the position.
+	 *
+	 * @param parentStudyModelPath
+	 * @param studyId
+	 * @param studyDescription
+	 * @param jobId
+	 */
+	public HashMapModelInput(String parentStudyModelPath, String studyId, String studyDescription, long jobId) {
+		this.studyId = studyId;
+		this.studyDescription = studyDescription;
+		this.jobId = jobId;
+		modelInputMap = new HashMap<>();
+		this.parentStudyModelPath = parentStudyModelPath;
+	}
+
 	/**
 	 * Copy constructor. Copies the data of the given HashMapModelInput to a new HashMapModelInput. You might want to
 	 * use the function increaseId to increase the id of the new model input to the next available value.
@@ -75,13 +93,11 @@ public class HashMapModelInput implements ModelInput {
 	 * @return
 	 */
 	private static long getNextId() {
-		long currentId = nextId;
-		nextId++;
-		return currentId;
+		return NEXT_ID.getAndIncrement();
 	}
 
 	public static void resetIdCounter() {
-		nextId = 1;
+		NEXT_ID.set(1);
 	}
 
 	@Override
@@ -0,0 +1,203 @@
+package org.treez.model.input;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes the variables of the ArrayModelInputs of a single study. The schema is shared by all model inputs of the
+ * study: it holds the (interned) variable model paths, the value slot of each variable and the study data.
+ */
+public class ModelInputSchema {
+
+	//#region ATTRIBUTES
+
+	/**
+	 * Slot kind for variables whose values are stored as Object
+	 */
+	static final int OBJECT_SLOT = 0;
+
+	/**
+	 * Slot kind for variables whose values are stored as primitive double
+	 */
+	static final int DOUBLE_SLOT = 1;
+
+	/**
+	 * Slot kind for variables whose values are stored as primitive int
+	 */
+	static final int INTEGER_SLOT = 2;
+
+	private final String parentStudyModelPath;
+
+	private final String studyId;
+
+	private final String studyDescription;
+
+	private final String[] variableModelPaths;
+
+	private final Map<String, Integer> variableIndices;
+
+	/**
+	 * The slot kind for each variable
+	 */
+	private final int[] slotKinds;
+
+	/**
+	 * The position of each variable in the value array that corresponds to its slot kind
+	 */
+	private final int[] slotPositions;
+
+	private int numberOfObjectSlots = 0;
+
+	private int numberOfDoubleSlots = 0;
+
+	private int numberOfIntegerSlots = 0;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	/**
+	 * Creates a schema for the given variable model paths. The values of variables with the value type Double or
+	 * Integer are stored as primitives. The values of all other variables are stored as Objects. If a variable model
+	 * path is included several times, the last occurrence is used to look up the value of the variable (like for a
+	 * HashMapModelInput where the last added value wins).
+	 *
+	 * @param parentStudyModelPath
+	 * @param studyId
+	 * @param studyDescription
+	 * @param variableModelPaths
+	 * @param valueTypes
+	 */
+	public ModelInputSchema(
+			String parentStudyModelPath,
+			String studyId,
+			String studyDescription,
+			List<String> variableModelPaths,
+			List<Class<?>> valueTypes) {
+		if (variableModelPaths.size() != valueTypes.size()) {
+			String message = "The number of value types must equal the number of variable model paths.";
+			throw new IllegalArgumentException(message);
+		}
+
+		this.parentStudyModelPath = parentStudyModelPath;
+		this.studyId = studyId;
+		this.studyDescription = studyDescription;
+
+		int numberOfVariables = variableModelPaths.size();
+		this.variableModelPaths = new String[numberOfVariables];
+		this.variableIndices = new HashMap<>();
+		this.slotKinds = new int[numberOfVariables];
+		this.slotPositions = new int[numberOfVariables];
+
+		for (int index = 0; index < numberOfVariables; index++) {
+			String variableModelPath = variableModelPaths.get(index).intern();
+			this.variableModelPaths[index] = variableModelPath;
+			variableIndices.put(variableModelPath, index);
+
+			Class<?> valueType = valueTypes.get(index);
+			if (Double.class.equals(valueType)) {
+				slotKinds[index] = DOUBLE_SLOT;
+				slotPositions[index] = numberOfDoubleSlots++;
+			} else if (Integer.class.equals(valueType)) {
+				slotKinds[index] = INTEGER_SLOT;
+				slotPositions[index] = numberOfIntegerSlots++;
+			} else {
+				slotKinds[index] = OBJECT_SLOT;
+				slotPositions[index] = numberOfObjectSlots++;
+			}
+		}
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Creates an empty model input with the given job id
+	 *
+	 * @param jobId
+	 * @return
+	 */
+	public ArrayModelInput createModelInput(long jobId) {
+		return new ArrayModelInput(this, jobId);
+	}
+
+	/**
+	 * Returns the index of the variable with the given model path or -1 if the schema does not include the variable
+	 *
+	 * @param variableModelPath
+	 * @return
+	 */
+	public int getVariableIndex(String variableModelPath) {
+		Integer index = variableIndices.get(variableModelPath);
+		if (index == null) {
+			return -1;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns true if the variable model path of the variable with the given index is included again at a later index
+	 * (and the variable is therefore not used to look up values)
+	 *
+	 * @param variableIndex
+	 * @return
+	 */
+	boolean isShadowed(int variableIndex) {
+		return variableIndices.get(variableModelPaths[variableIndex]) != variableIndex;
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	public String getParentStudyModelPath() {
+		return parentStudyModelPath;
+	}
+
+	public String getStudyId() {
+		return studyId;
+	}
+
+	public String getStudyDescription() {
+		return studyDescription;
+	}
+
+	public int getNumberOfVariables() {
+		return variableModelPaths.length;
+	}
+
+	public String getVariableModelPath(int variableIndex) {
+		return variableModelPaths[variableIndex];
+	}
+
+	public List<String> getVariableModelPaths() {
+		return Collections.unmodifiableList(Arrays.asList(variableModelPaths));
+	}
+
+	int getSlotKind(int variableIndex) {
+		return slotKinds[variableIndex];
+	}
+
+	int getSlotPosition(int variableIndex) {
+		return slotPositions[variableIndex];
+	}
+
+	int getNumberOfObjectSlots() {
+		return numberOfObjectSlots;
+	}
+
+	int getNumberOfDoubleSlots() {
+		return numberOfDoubleSlots;
+	}
+
+	int getNumberOfIntegerSlots() {
+		return numberOfIntegerSlots;
+	}
+
+	//#end region
+
+}
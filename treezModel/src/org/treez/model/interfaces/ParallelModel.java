@@ -9,8 +9,11 @@ import org.treez.model.output.ModelOutput;
  * Represents an executable model that can be "remotely" executed, e.g. by a sweep analysis. Several models of this kind
  * can be run in parallel. In order to ensure repeatable ModelOutputs, this Model has to make sure that no internal
  * static state (e.g. temporary files) exists that could interfere with other model runs. In other words: each model has
- * to run completely independent from other models running at the same time. If a model implements ParallelModel, all
- * child models of that model must also implement ParallelModel.
+ * to run completely independent from other models running at the same time. Studies only run jobs in parallel if the
+ * model to run and all of its sub models implement ParallelModel and inherit from AbstractModel (see
+ * AbstractModel.supportsParallelJobs). The model is then switched to detached execution mode, where the variable values
+ * of a job are read from the ModelInput that is bound to the executing thread instead of the shared variable atoms,
+ * and the files that are written by a job include its job id (see AbstractModel.getDetachedJobFilePath).
  */
 public interface ParallelModel extends Model {
 
@@ -0,0 +1,151 @@
+package org.treez.model.atom.executable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.treez.testutils.TestUtils;
+
+/**
+ * Tests the ExecutableResultCache
+ */
+public class ExecutableResultCacheTest {
+
+	/**
+	 * Logger for this class
+	 */
+	@SuppressWarnings("unused")
+	private static final Logger LOG = Logger.getLogger(ExecutableResultCacheTest.class);
+
+	//#region ATTRIBUTES
+
+	private static final long MAX_SIZE_IN_BYTES = 1024L * 1024L;
+
+	private static final long MAX_AGE_IN_MILLIS = 60L * 60L * 1000L;
+
+	private File directory;
+
+	private ExecutableResultCache resultCache;
+
+	//#end region
+
+	//#region SETUP
+
+	@BeforeClass
+	public static void initializeLogging() {
+		TestUtils.initializeLogging();
+	}
+
+	@Before
+	public void createCache() throws IOException {
+		directory = Files.createTempDirectory("treezResultCache").toFile();
+		resultCache = new ExecutableResultCache(new File(directory, "cache"), MAX_SIZE_IN_BYTES, MAX_AGE_IN_MILLIS);
+	}
+
+	@After
+	public void deleteDirectory() {
+		FileUtils.deleteQuietly(directory);
+	}
+
+	//#end region
+
+	//#region TESTS
+
+	@Test
+	public void testFingerprintDependsOnContentButNotOnPath() throws IOException {
+		File firstInputFile = writeFile("input#1.txt", "a = 1");
+		File secondInputFile = writeFile("input#2.txt", "a = 1");
+		File otherInputFile = writeFile("input#3.txt", "a = 2");
+
+		SortedMap<String, String> entries = new TreeMap<>();
+		entries.put("variable:a", "1");
+		String firstFingerprint = ExecutableResultCache.createFingerprint(entries, Arrays.asList(firstInputFile));
+		String secondFingerprint = ExecutableResultCache.createFingerprint(entries, Arrays.asList(secondInputFile));
+		String otherFingerprint = ExecutableResultCache.createFingerprint(entries, Arrays.asList(otherInputFile));
+
+		assertEquals(firstFingerprint, secondFingerprint);
+		assertNotEquals(firstFingerprint, otherFingerprint);
+
+		entries.put("variable:a", "2");
+		assertNotEquals(firstFingerprint, ExecutableResultCache.createFingerprint(entries,
+				Arrays.asList(firstInputFile)));
+	}
+
+	@Test
+	public void testStoreAndRestore() throws IOException {
+		Map<String, File> outputFiles = new LinkedHashMap<>();
+		outputFiles.put("output", writeFile("output.txt", "result"));
+		outputFiles.put("log", writeFile("log.txt", "log"));
+		resultCache.store("fingerprint", outputFiles);
+
+		Map<String, File> targetFiles = new LinkedHashMap<>();
+		targetFiles.put("output", new File(directory, "restoredOutput.txt"));
+		targetFiles.put("log", new File(directory, "restoredLog.txt"));
+		assertTrue(resultCache.restore("fingerprint", targetFiles));
+		assertEquals("result", readFile(targetFiles.get("output")));
+		assertEquals("log", readFile(targetFiles.get("log")));
+	}
+
+	@Test
+	public void testRestoreFailsForUnknownFingerprint() {
+		Map<String, File> targetFiles = new LinkedHashMap<>();
+		targetFiles.put("output", new File(directory, "restoredOutput.txt"));
+		assertFalse(resultCache.restore("unknown", targetFiles));
+	}
+
+	@Test
+	public void testRestoreFailsIfAnOutputIsMissing() throws IOException {
+		Map<String, File> outputFiles = new LinkedHashMap<>();
+		outputFiles.put("output", writeFile("output.txt", "result"));
+		outputFiles.put("log", new File(directory, "missingLog.txt"));
+		resultCache.store("fingerprint", outputFiles);
+
+		Map<String, File> targetFiles = new LinkedHashMap<>();
+		targetFiles.put("output", new File(directory, "restoredOutput.txt"));
+		targetFiles.put("log", new File(directory, "restoredLog.txt"));
+		assertFalse(resultCache.restore("fingerprint", targetFiles));
+		assertFalse(targetFiles.get("output").exists());
+	}
+
+	@Test
+	public void testNothingIsStoredWithoutOutput() {
+		Map<String, File> outputFiles = new LinkedHashMap<>();
+		outputFiles.put("output", new File(directory, "missingOutput.txt"));
+		resultCache.store("fingerprint", outputFiles);
+		assertFalse(new File(new File(directory, "cache"), "fingerprint").exists());
+	}
+
+	//#end region
+
+	//#region UTILITIES
+
+	private File writeFile(String fileName, String content) throws IOException {
+		File file = new File(directory, fileName);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String readFile(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	//#end region
+
+}
@@ -150,7 +150,7 @@ public class Data implements GraphicsPropertiesPageFactory {
 
 	private void addUpdateListeners(D3 d3, Graph graph) {
 		Consumer replotGraph = () -> {
-			graph.updatePlotWithD3(d3);
+			graph.requestPlotUpdate(d3);
 		};
 
 		mode.addModificationConsumer("replotAxis", replotGraph);
@@ -94,7 +94,7 @@ public class MajorTicks implements GraphicsPropertiesPageFactory {
 				.selectAll(".major") //
 				.selectAll("line");
 
-		number.addModificationConsumer("replotAxis", () -> axis.updatePlotWithD3(d3));
+		number.addModificationConsumer("replotAxis", () -> axis.requestPlotUpdate(d3));
 
 		length.addModificationConsumerAndRun("length", () -> {
 			boolean isHorizontal = axis.data.direction.get().isHorizontal();
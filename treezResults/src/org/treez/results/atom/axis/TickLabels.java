@@ -117,7 +117,7 @@ public class TickLabels implements GraphicsPropertiesPageFactory {
 		AbstractGraphicsAtom.bindFontUnderline(tickLabels, underline);
 		AbstractGraphicsAtom.bindTransparencyToBooleanAttribute(tickLabels, hide);
 
-		format.addModificationConsumer("replotAxis", () -> axis.updatePlotWithD3(d3));
+		format.addModificationConsumer("replotAxis", () -> axis.requestPlotUpdate(d3));
 
 		return axisSelection;
 	}
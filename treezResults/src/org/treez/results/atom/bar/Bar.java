@@ -12,6 +12,10 @@ import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.atom.graphics.GraphicsPropertiesPageFactory;
 import org.treez.core.treeview.TreeViewerRefreshable;
 import org.treez.javafxd3.d3.D3;
+import org.treez.javafxd3.d3.arrays.Array;
+import org.treez.javafxd3.d3.arrays.TypedArrayTransfer;
+import org.treez.javafxd3.d3.core.JsEngine;
+import org.treez.javafxd3.d3.core.JsObject;
 import org.treez.javafxd3.d3.core.Selection;
 import org.treez.javafxd3.d3.scales.Scale;
 import org.treez.results.Activator;
@@ -109,11 +113,19 @@ public class Bar extends GraphicsPropertiesPage implements LegendContributor {
 
 	@Override
 	public void updatePlotWithD3(D3 d3) {
-		contributeDataForAutoScale(d3);
+		boolean scalesChanged = contributeDataForAutoScale(d3);
+		if (scalesChanged) {
+			//the graph has already re-plotted all of its children, including this bar
+			return;
+		}
 		plotPageModels(d3);
 	}
 
-	private void contributeDataForAutoScale(D3 d3) {
+	/**
+	 * Includes the data in the auto scale data of the axes. If the domains of the scales change, all children of the
+	 * graph are re-plotted and true is returned.
+	 */
+	private boolean contributeDataForAutoScale(D3 d3) {
 
 		boolean horizontalScaleChanged = false;
 		boolean verticalScaleChanged = false;
@@ -127,11 +139,12 @@ public class Bar extends GraphicsPropertiesPage implements LegendContributor {
 			verticalScaleChanged = contributePositionValuesToVerticalAxis();
 		}
 
-		if (horizontalScaleChanged || verticalScaleChanged) {
+		boolean scalesChanged = horizontalScaleChanged || verticalScaleChanged;
+		if (scalesChanged) {
 			Graph graph = getGraph();
 			graph.updatePlotForChangedScales(d3);
 		}
-
+		return scalesChanged;
 	}
 
 	private boolean contributePositionValuesToHorizontalAxis() {
@@ -302,6 +315,26 @@ public class Bar extends GraphicsPropertiesPage implements LegendContributor {
 		return symbolSelection;
 	}
 
+	/**
+	 * Returns the position and length values as JavaScript array of pairs. Numeric values are transferred as binary
+	 * buffer (see TypedArrayTransfer); ordinal values are passed as data string.
+	 */
+	public Array<?> getBarData(JsEngine engine, boolean positionAxisIsOrdinal, boolean lengthAxisIsOrdinal) {
+		List<Object> lengthDataValues = getLengthData();
+		List<Object> positionDataValues = getPositionData();
+		assertEqualSizes(lengthDataValues.size(), positionDataValues.size());
+
+		double[] positionNumbers = TypedArrayTransfer.toNumbers(positionDataValues);
+		double[] lengthNumbers = TypedArrayTransfer.toNumbers(lengthDataValues);
+		if (positionNumbers != null && lengthNumbers != null) {
+			return Array.fromDoublePairs(engine, positionNumbers, lengthNumbers);
+		}
+
+		String dataString = getBarDataString(positionAxisIsOrdinal, lengthAxisIsOrdinal);
+		JsObject dataObject = (JsObject) engine.executeScript("(" + dataString + ")");
+		return new Array<>(engine, dataObject);
+	}
+
 	public String getBarDataString(boolean positionAxisIsOrdinal, boolean lengthAxisIsOrdinal) {
 
 		List<Object> lengthDataValues = getLengthData();
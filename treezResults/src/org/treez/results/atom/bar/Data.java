@@ -93,7 +93,7 @@ public class Data implements GraphicsPropertiesPageFactory {
 
 		Consumer dataChangedConsumer = () -> {
 			Bar bar = (Bar) parent;
-			bar.updatePlotWithD3(d3);
+			bar.requestPlotUpdate(d3);
 		};
 		barLengths.addModificationConsumer("replot", dataChangedConsumer);
 		barPositions.addModificationConsumer("replot", dataChangedConsumer);
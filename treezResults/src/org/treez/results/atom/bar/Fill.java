@@ -11,6 +11,7 @@ import org.treez.core.attribute.Attribute;
 import org.treez.core.attribute.Consumer;
 import org.treez.core.attribute.Wrap;
 import org.treez.javafxd3.d3.D3;
+import org.treez.javafxd3.d3.arrays.Array;
 import org.treez.javafxd3.d3.core.JsEngine;
 import org.treez.javafxd3.d3.core.Selection;
 import org.treez.javafxd3.d3.functions.data.axis.AxisScaleFirstDataFunction;
@@ -163,10 +164,10 @@ public class Fill implements GraphicsPropertiesPageFactory {
 
 			double barWidth = determineBarWidth(bar, graphWidth, horizontalAxis, numberOfPositionValues, barFillRatio);
 
-			String dataString = bar.getBarDataString(horizontalAxisIsOrdinal, verticalAxisIsOrdinal);
+			Array<?> barData = bar.getBarData(engine, horizontalAxisIsOrdinal, verticalAxisIsOrdinal);
 
 			rectsSelection.selectAll("rect") //
-					.data(dataString) //
+					.data(barData) //
 					.enter() //
 					.append("rect")
 					.attr("x", new AxisScaleFirstDataFunction(engine, horizontalScale))
@@ -177,10 +178,10 @@ public class Fill implements GraphicsPropertiesPageFactory {
 		} else {
 			double barHeight = determineBarHeight(bar, graphHeight, verticalAxis, numberOfPositionValues, barFillRatio);
 
-			String dataString = bar.getBarDataString(verticalAxisIsOrdinal, horizontalAxisIsOrdinal);
+			Array<?> barData = bar.getBarData(engine, verticalAxisIsOrdinal, horizontalAxisIsOrdinal);
 
 			rectsSelection.selectAll("rect") //
-					.data(dataString) //
+					.data(barData) //
 					.enter() //
 					.append("rect")
 					.attr("x", 0)
@@ -17,6 +17,7 @@ import org.treez.javafxd3.plotly.Plotly;
 import org.treez.javafxd3.plotly.configuration.Configuration;
 import org.treez.javafxd3.plotly.data.PlotlyType;
 import org.treez.javafxd3.plotly.data.SingleData;
+import org.treez.javafxd3.plotly.data.contour.Coloring;
 import org.treez.javafxd3.plotly.data.contour.Contours;
 import org.treez.javafxd3.plotly.data.contour.colorbar.ColorBar;
 import org.treez.javafxd3.plotly.data.line.Line;
@@ -110,7 +111,7 @@ public class Contour extends GraphicsPropertiesPage {
 		JsEngine engine = d3.getJsEngine();
 		plotly = new Plotly(engine);
 
-		updateConsumer = () -> updatePlotWithD3(d3);
+		updateConsumer = () -> requestPlotUpdate(d3);
 
 		updatePlotWithD3(d3);
 
@@ -163,6 +164,21 @@ public class Contour extends GraphicsPropertiesPage {
 		bindLineStyle(lineSelection, lines.style);
 		bindLineTransparency(lineSelection, lines.transparency);
 		bindDisplayToBooleanAttribute("hide", lineSelection, lines.hide);
+
+		//the width and the color are applied to the existing lines, so that changing them does not require a new
+		//plotly plot (for the coloring mode "lines", plotly determines the line colors from the color scale)
+		bindDoubleStyle(lineSelection, "stroke-width", lines.width);
+		if (!isLineColoring()) {
+			bindStringStyle(lineSelection, "stroke", lines.color);
+		}
+	}
+
+	private boolean isLineColoring() {
+		boolean autoContour = data.automaticContours.get();
+		if (autoContour) {
+			return false;
+		}
+		return Coloring.LINES.toString().equals(String.valueOf(data.coloring.get()));
 	}
 
 	private Layout createPlotlyLayout() {
@@ -300,8 +316,6 @@ public class Contour extends GraphicsPropertiesPage {
 		line.setColor(lines.color.get());
 
 		lines.smoothing.addModificationConsumer("smoothing", updateConsumer);
-		lines.width.addModificationConsumer("width", updateConsumer);
-		lines.color.addModificationConsumer("color", updateConsumer);
 
 		return line;
 	}
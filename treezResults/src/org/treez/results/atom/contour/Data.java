@@ -150,7 +150,7 @@ public class Data implements GraphicsPropertiesPageFactory {
 		Contour contour = (Contour) parent;
 
 		Consumer dataChangedConsumer = () -> {
-			contour.updatePlotWithD3(d3);
+			contour.requestPlotUpdate(d3);
 		};
 		xData.addModificationConsumer("replot", dataChangedConsumer);
 
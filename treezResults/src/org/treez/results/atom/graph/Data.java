@@ -65,7 +65,7 @@ public class Data implements GraphicsPropertiesPageFactory {
 
 		Consumer replotGraph = () -> {
 			Graph graph = (Graph) parent;
-			graph.updatePlotWithD3(d3);
+			graph.requestPlotUpdate(d3);
 		};
 		width.addModificationConsumer("replotGraph", replotGraph);
 		height.addModificationConsumer("replotGraph", replotGraph);
@@ -20,6 +20,7 @@ import org.treez.results.atom.contour.Contour;
 import org.treez.results.atom.graphicsPage.Background;
 import org.treez.results.atom.graphicsPage.Border;
 import org.treez.results.atom.graphicsPage.GraphicsPropertiesPage;
+import org.treez.results.atom.graphicsPage.RenderScheduler;
 import org.treez.results.atom.legend.Legend;
 import org.treez.results.atom.tornado.Tornado;
 import org.treez.results.atom.xy.Xy;
@@ -184,8 +185,15 @@ public class Graph extends GraphicsPropertiesPage {
 		plotChildren(d3);
 	}
 
+	/**
+	 * Re-plots the children of the graph (without re-creating the auto scale data); is called by children that changed
+	 * the domains of the scales. Pending update requests of the children are obsolete afterwards.
+	 *
+	 * @param d3
+	 */
 	public void updatePlotForChangedScales(D3 d3) {
 		plotChildren(d3);
+		RenderScheduler.markChildrenAsUpToDate(this);
 	}
 
 	private void clearAutoScaleData() {
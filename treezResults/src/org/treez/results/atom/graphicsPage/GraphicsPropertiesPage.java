@@ -24,6 +24,11 @@ public abstract class GraphicsPropertiesPage extends AbstractGraphicsAtom {
 	 */
 	protected List<GraphicsPropertiesPageFactory> propertyPageFactories;
 
+	/**
+	 * Is true if an update of the plot has been requested but not yet executed (see requestPlotUpdate)
+	 */
+	private boolean isDirty = false;
+
 	//#end region
 
 	//#region CONSTRUCTORS
@@ -82,6 +87,17 @@ public abstract class GraphicsPropertiesPage extends AbstractGraphicsAtom {
 	 */
 	public abstract void updatePlotWithD3(D3 d3);
 
+	/**
+	 * Requests an update of the plot (see updatePlotWithD3) and should be used by the modification consumers of the
+	 * attributes. The update is executed in the next cycle of the UI event loop; several requests that are made in the
+	 * meantime result in a single update (see RenderScheduler).
+	 *
+	 * @param d3
+	 */
+	public void requestPlotUpdate(D3 d3) {
+		RenderScheduler.requestUpdate(this, d3);
+	}
+
 	/**
 	 * Returns the code adaption
 	 */
@@ -98,6 +114,19 @@ public abstract class GraphicsPropertiesPage extends AbstractGraphicsAtom {
 		return propertyPageFactories;
 	}
 
+	/**
+	 * Returns true if an update of the plot has been requested but not yet executed
+	 *
+	 * @return
+	 */
+	public boolean isDirty() {
+		return isDirty;
+	}
+
+	void setDirty(boolean isDirty) {
+		this.isDirty = isDirty;
+	}
+
 	//#end region
 
 }
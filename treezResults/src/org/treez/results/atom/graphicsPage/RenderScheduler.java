@@ -0,0 +1,206 @@
+package org.treez.results.atom.graphicsPage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.log4j.Logger;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+import org.treez.core.atom.base.AbstractAtom;
+import org.treez.javafxd3.d3.D3;
+
+/**
+ * Collects the update requests of graphics atoms (see GraphicsPropertiesPage.requestPlotUpdate) and executes them
+ * together in the next cycle of the UI event loop. A request marks the atom as dirty; several modifications that are
+ * made while handling the same event (e.g. a model that sets several attributes) result in a single update of the
+ * atom. Dirty atoms whose parent is dirty as well are skipped, since the update of the parent re-plots its children.
+ * Before the plots are exported, the pending updates have to be executed with flush.
+ */
+public final class RenderScheduler {
+
+	private static final Logger LOG = Logger.getLogger(RenderScheduler.class);
+
+	//#region ATTRIBUTES
+
+	/**
+	 * The dirty atoms in the order of their first request and the D3 instance they are plotted with
+	 */
+	private static final Map<GraphicsPropertiesPage, D3> DIRTY_ATOMS = new LinkedHashMap<>();
+
+	private static boolean updateIsScheduled = false;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	private RenderScheduler() {
+		//utility class
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Marks the given atom as dirty and schedules the update of all dirty atoms, if it is not yet scheduled. If no
+	 * display is available, the update is executed immediately.
+	 *
+	 * @param atom
+	 * @param d3
+	 */
+	public static void requestUpdate(GraphicsPropertiesPage atom, D3 d3) {
+		synchronized (DIRTY_ATOMS) {
+			atom.setDirty(true);
+			DIRTY_ATOMS.putIfAbsent(atom, d3);
+			if (updateIsScheduled) {
+				return;
+			}
+			updateIsScheduled = true;
+		}
+		scheduleUpdate();
+	}
+
+	/**
+	 * Executes the pending updates immediately (in the UI thread), e.g. before the plots are exported or saved
+	 */
+	public static void flush() {
+		synchronized (DIRTY_ATOMS) {
+			if (DIRTY_ATOMS.isEmpty()) {
+				return;
+			}
+		}
+
+		Display display = getDisplay();
+		boolean isUiThread = display == null || display.isDisposed() || display.getThread() == Thread.currentThread();
+		if (isUiThread) {
+			updateDirtyAtoms();
+		} else {
+			display.syncExec(RenderScheduler::updateDirtyAtoms);
+		}
+	}
+
+	private static void scheduleUpdate() {
+		Display display = getDisplay();
+		if (display == null || display.isDisposed()) {
+			updateDirtyAtoms();
+		} else {
+			display.asyncExec(RenderScheduler::updateDirtyAtoms);
+		}
+	}
+
+	/**
+	 * Returns the display of the current (UI) thread or the display of the workbench; returns null if no display is
+	 * available (e.g. in tests)
+	 */
+	private static Display getDisplay() {
+		Display display = Display.getCurrent();
+		if (display == null && PlatformUI.isWorkbenchRunning()) {
+			display = PlatformUI.getWorkbench().getDisplay();
+		}
+		return display;
+	}
+
+	/**
+	 * Marks the children (and their children) of the given atom as up to date; is called if the plots of the children
+	 * have been re-created, e.g. by the update of a graph
+	 *
+	 * @param atom
+	 */
+	public static void markChildrenAsUpToDate(AbstractAtom<?> atom) {
+		synchronized (DIRTY_ATOMS) {
+			if (DIRTY_ATOMS.isEmpty()) {
+				return;
+			}
+			for (AbstractAtom<?> child : atom.getChildAtoms()) {
+				if (child instanceof GraphicsPropertiesPage) {
+					GraphicsPropertiesPage page = (GraphicsPropertiesPage) child;
+					page.setDirty(false);
+					DIRTY_ATOMS.remove(page);
+				}
+				markChildrenAsUpToDate(child);
+			}
+		}
+	}
+
+	/**
+	 * Updates the plots of the dirty atoms (in the order of their first request)
+	 */
+	@SuppressWarnings("checkstyle:illegalcatch")
+	private static void updateDirtyAtoms() {
+		List<Entry<GraphicsPropertiesPage, D3>> dirtyAtoms;
+		synchronized (DIRTY_ATOMS) {
+			dirtyAtoms = new ArrayList<>(DIRTY_ATOMS.entrySet());
+			updateIsScheduled = false;
+		}
+
+		for (Entry<GraphicsPropertiesPage, D3> entry : dirtyAtoms) {
+			GraphicsPropertiesPage atom = entry.getKey();
+			boolean isSkipped = !atom.isDirty() || hasDirtyParent(atom);
+			if (isSkipped) {
+				continue;
+			}
+			synchronized (DIRTY_ATOMS) {
+				atom.setDirty(false);
+				DIRTY_ATOMS.remove(atom);
+			}
+			try {
+				atom.updatePlotWithD3(entry.getValue());
+				markChildrenAsUpToDate(atom);
+			} catch (Exception exception) {
+				LOG.error("Could not update the plot of '" + atom.getName() + "'", exception);
+				requeueDirtyChildren(atom);
+			}
+		}
+	}
+
+	/**
+	 * Schedules another update if the given atom has dirty children. Dirty children that have been skipped because of
+	 * the (failed) update of their parent are then updated on their own.
+	 */
+	private static void requeueDirtyChildren(GraphicsPropertiesPage atom) {
+		synchronized (DIRTY_ATOMS) {
+			boolean hasDirtyChildren = false;
+			for (GraphicsPropertiesPage dirtyAtom : DIRTY_ATOMS.keySet()) {
+				if (isDescendant(dirtyAtom, atom)) {
+					hasDirtyChildren = true;
+					break;
+				}
+			}
+			if (!hasDirtyChildren || updateIsScheduled) {
+				return;
+			}
+			updateIsScheduled = true;
+		}
+		scheduleUpdate();
+	}
+
+	private static boolean isDescendant(AbstractAtom<?> atom, AbstractAtom<?> ancestor) {
+		AbstractAtom<?> parent = atom.getParentAtom();
+		while (parent != null) {
+			if (parent == ancestor) {
+				return true;
+			}
+			parent = parent.getParentAtom();
+		}
+		return false;
+	}
+
+	private static boolean hasDirtyParent(AbstractAtom<?> atom) {
+		AbstractAtom<?> parent = atom.getParentAtom();
+		while (parent != null) {
+			boolean parentIsDirty = parent instanceof GraphicsPropertiesPage
+					&& ((GraphicsPropertiesPage) parent).isDirty();
+			if (parentIsDirty) {
+				return true;
+			}
+			parent = parent.getParentAtom();
+		}
+		return false;
+	}
+
+	//#end region
+
+}
@@ -207,7 +207,7 @@ public class Main implements GraphicsPropertiesPageFactory, DragFunction, Refres
 		AbstractGraphicsAtom.bindDisplayToBooleanAttribute("hideGraph", legendSelection, hide);
 
 		Consumer replotLegend = () -> {
-			legend.updatePlotWithD3(d3);
+			legend.requestPlotUpdate(d3);
 		};
 
 		positionReference.addModificationConsumer("replotGraph", () -> {
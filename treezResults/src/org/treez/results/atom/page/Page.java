@@ -29,6 +29,7 @@ import org.treez.javafxd3.d3.core.Selection;
 import org.treez.javafxd3.javafx.JavaFxD3Browser;
 import org.treez.results.Activator;
 import org.treez.results.atom.graph.Graph;
+import org.treez.results.atom.graphicsPage.RenderScheduler;
 
 /**
  * Represents a plotting page that might include several graphs
@@ -145,6 +146,10 @@ public class Page extends AbstractGraphicsAtom {
 			plotWithD3(d3, svgSelection, treeViewRefreshable);
 		};
 		browser = createD3BrowserInCadView(plotPageRunnable);
+		if (browser != null) {
+			//the exported svg has to include the pending plot updates
+			browser.setBeforeSaveAction(RenderScheduler::flush);
+		}
 	}
 
 	/**
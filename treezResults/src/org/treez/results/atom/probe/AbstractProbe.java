@@ -10,6 +10,7 @@ import org.treez.core.adaptable.FocusChangingRefreshable;
 import org.treez.core.atom.adjustable.AdjustableAtom;
 import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.data.column.ColumnBlueprint;
+import org.treez.core.data.row.Row;
 import org.treez.core.utils.Utils;
 import org.treez.data.column.Columns;
 import org.treez.data.table.nebula.Table;
@@ -127,6 +128,27 @@ public abstract class AbstractProbe extends AdjustableAtom implements Probe {
 	 */
 	protected abstract void collectProbeDataAndFillTable(Table table);
 
+	/**
+	 * Returns the (zero based) index of the job with the given (one based, numeric) job id or -1 if the job id is not
+	 * numeric
+	 */
+	protected static int getJobIndex(String jobId) {
+		try {
+			return Integer.parseInt(jobId) - 1;
+		} catch (NumberFormatException exception) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Returns the entry of the given job output table with the given row and column index
+	 */
+	protected static Object getProbeValue(Table jobOutputTable, int rowIndex, int columnIndex) {
+		String columnHeader = jobOutputTable.getHeaders().get(columnIndex);
+		Row row = jobOutputTable.getRow(rowIndex);
+		return row.getEntry(columnHeader);
+	}
+
 	protected static void createColumns(Table table, List<ColumnBlueprint> columnBlueprints) {
 		Columns columns = table.createColumns("columns");
 		for (ColumnBlueprint columnBlueprint : columnBlueprints) {
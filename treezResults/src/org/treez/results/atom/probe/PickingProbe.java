@@ -2,10 +2,12 @@ package org.treez.results.atom.probe;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Image;
+import org.treez.core.adaptable.FocusChangingRefreshable;
 import org.treez.core.atom.attribute.attributeContainer.AttributeRoot;
 import org.treez.core.atom.attribute.attributeContainer.section.Section;
 import org.treez.core.atom.attribute.comboBox.ComboBox;
@@ -23,7 +25,6 @@ import org.treez.core.attribute.Wrap;
 import org.treez.core.data.column.ColumnBlueprint;
 import org.treez.core.data.column.ColumnType;
 import org.treez.core.data.row.Row;
-import org.treez.core.quantity.Quantity;
 import org.treez.data.column.Column;
 import org.treez.data.column.Columns;
 import org.treez.data.output.OutputAtom;
@@ -35,7 +36,7 @@ import org.treez.results.Activator;
  * used to produce plots than the distributed picking results.
  */
 @SuppressWarnings("checkstyle:visibilitymodifier")
-public class PickingProbe extends AbstractProbe {
+public class PickingProbe extends AbstractProbe implements StudyProbe {
 
 	private static final Logger LOG = Logger.getLogger(PickingProbe.class);
 
@@ -85,6 +86,16 @@ public class PickingProbe extends AbstractProbe {
 
 	public final Attribute<Integer> probeRowIndex = new Wrap<>();
 
+	/**
+	 * The probe table that is filled while the picking is running; null if it has not yet been created for the current
+	 * run of the picking
+	 */
+	private Table incrementalTable;
+
+	private List<VariableFieldProvider> incrementalSamples;
+
+	private String incrementalRelativeProbeTablePath;
+
 	//#end region
 
 	//#region CONSTRUCTORS
@@ -449,42 +460,92 @@ public class PickingProbe extends AbstractProbe {
 	}
 
 	private void sampleCollectProbeDataAndFillTable(Table table) {
-		//get x information
-		String sampleVariableLabelString = domainLabel.get();
-		String pickingPathString = pickingPath.get();
-		boolean pickingSpecified = !"".equals(pickingPathString);
-
-		List<String> variableLabelStrings = new ArrayList<String>();
-		List<VariableField> sampleVariables = new ArrayList<VariableField>();
-		List<String> sampleValues = new ArrayList<String>();
-		if (pickingSpecified) {
-			sampleVariables = getVariablefieldsInSamples();
-			for (VariableField xRangeValue : sampleVariables) {
-				sampleValues.add(String.valueOf(xRangeValue));
-				variableLabelStrings.add(String.valueOf(xRangeValue.getLabel()));
+
+		//get picking output atom
+		String pickingOutputPath = pickingOutput.get();
+		AbstractAtom<?> pickingOutputAtom = this.getChildFromRoot(pickingOutputPath);
+
+		//get probe table relative path and prefix
+		String firstProbeTableRelativePath = getFirstProbeRelativePath();
+		String firstPrefix = firstProbeTableRelativePath.split("\\.")[0];
+		String relativeProbeTablePath = getRelativeProbeTablePath(firstProbeTableRelativePath);
+		String prefix = getProbeTablePrefix(firstPrefix);
+
+		//add a row for each job output (one pass over the job outputs)
+		List<VariableFieldProvider> samples = getEnabledSamples();
+		for (AbstractAtom<?> jobOutputAtom : pickingOutputAtom.getChildAtoms()) {
+			String jobOutputName = jobOutputAtom.getName();
+			if (jobOutputName.startsWith(prefix)) {
+				String jobId = jobOutputName.substring(prefix.length());
+				addSampleRow(table, samples, jobId, getJobIndex(jobId), jobOutputAtom, relativeProbeTablePath);
 			}
 		}
+	}
 
-		//get y information
-		String yLabelString = probeLabel.get();
+	/**
+	 * Returns the enabled samples of the picking. The jobs of the picking are created for those samples, in the same
+	 * order.
+	 */
+	private List<VariableFieldProvider> getEnabledSamples() {
+		List<VariableFieldProvider> enabledSamples = new ArrayList<>();
+		String pickingModelPath = pickingPath.get();
+		boolean pickingIsSpecified = !"".equals(pickingModelPath);
+		if (pickingIsSpecified) {
+			AbstractAtom<?> picking = this.getChildFromRoot(pickingModelPath);
+			for (VariableFieldProvider sample : picking.getChildrenByInterface(VariableFieldProvider.class)) {
+				if (sample.isEnabled()) {
+					enabledSamples.add(sample);
+				}
+			}
+		}
+		return enabledSamples;
+	}
 
-		//List<String> columnNames = createColumnNames(sampleVariableLabelString);
-		List<String> columnNames = variableLabelStrings;
+	/**
+	 * Adds a row with the variable values of the sample with the given index (in the enabled samples) and the probe
+	 * value of the output of the given job
+	 */
+	@SuppressWarnings("rawtypes")
+	private void addSampleRow(
+			Table table,
+			List<VariableFieldProvider> samples,
+			String jobId,
+			int sampleIndex,
+			AbstractAtom<?> jobOutputAtom,
+			String relativeProbeTablePath) {
+		boolean isUnknownJob = sampleIndex < 0 || sampleIndex >= samples.size();
+		if (isUnknownJob) {
+			LOG.warn("The output of job '" + jobId + "' does not fit to the samples of the probe " + getName());
+			return;
+		}
 
-		//get sweep output path
-		String pickingOutputPath = pickingOutput.get();
+		Row row = new Row(table);
 
-		//get probe table relative path
-		String firstProbeTableRelativePath = getFirstProbeRelativePath();
-		String[] pathItems = firstProbeTableRelativePath.split("\\.");
-		String firstPrefix = pathItems[0];
-		int firstIndex = firstPrefix.length() + 1;
-		String relativeProbeTablePath = firstProbeTableRelativePath.substring(firstIndex);
+		//fill sample columns
+		List<String> headers = table.getHeaders();
+		for (VariableField variableField : samples.get(sampleIndex).getVariableField()) {
+			String label = variableField.getLabel();
+			if (headers.contains(label)) {
+				row.setEntry(label, variableField.getValueString());
+			}
+		}
 
-		//get probe table prefix
-		String prefix = getProbeTablePrefix(firstPrefix);
+		//fill probe column
+		Table jobOutputTable = (Table) jobOutputAtom.getChild(relativeProbeTablePath);
+		Object probeValue = getProbeValue(jobOutputTable, probeRowIndex.get(), probeColumnIndex.get());
+		row.setEntry(probeLabel.get(), probeValue);
 
-		fillProbeTable(table, sampleValues, columnNames, pickingOutputPath, relativeProbeTablePath, prefix);
+		table.addRow(row);
+	}
+
+	/**
+	 * Returns the path of the probe table relative to the job output atom (the first probe table path without the name
+	 * of the first job output atom)
+	 */
+	private static String getRelativeProbeTablePath(String firstProbeTableRelativePath) {
+		String firstPrefix = firstProbeTableRelativePath.split("\\.")[0];
+		int firstIndex = firstPrefix.length() + 1;
+		return firstProbeTableRelativePath.substring(firstIndex);
 	}
 
 	private List<VariableField> getVariablefieldsInSamples() {
@@ -499,52 +560,6 @@ public class PickingProbe extends AbstractProbe {
 		return samplesVariableFields;
 	}
 
-	private void fillProbeTable(
-			Table table,
-			List<?> xRangeValues,
-			List<String> columnNames,
-			String pickingOutputPath,
-			String relativeProbeTablePath,
-			String prefix) {
-		//get probe table row index
-		int probeRowId = probeRowIndex.get();
-
-		//get probe table column index
-		int probeColumnId = probeColumnIndex.get();
-
-		int pickingIndex = 1;
-		for (int rowIndex = 0; rowIndex < xRangeValues.size(); rowIndex++) {
-
-			//create new row
-			Row row = new Row(table);
-
-			//fill x column entry
-			Object xValue = xRangeValues.get(rowIndex);
-			boolean isQuantity = xValue instanceof Quantity;
-			if (isQuantity) {
-				//only take numeric value (="remove" unit)
-				Quantity quantity = (Quantity) xValue;
-				xValue = quantity.getValue();
-			}
-			row.setEntry(columnNames.get(0), xValue);
-
-			//fill y column entries
-			for (int columnIndex = 1; columnIndex < columnNames.size(); columnIndex++) {
-				String yColumnName = columnNames.get(columnIndex);
-				String tablePath = pickingOutputPath + "." + prefix + pickingIndex + "." + relativeProbeTablePath;
-				Object yValue = getProbeValue(tablePath, probeRowId, probeColumnId);
-				row.setEntry(yColumnName, yValue);
-
-				//increase sweep index
-				pickingIndex++;
-			}
-
-			//add row
-			table.addRow(row);
-
-		}
-	}
-
 	private List<?> getAllSamplesRangeValues() {
 		String allSamplesPath = pickingPath.get();
 		boolean allSamplesIsSpecified = allSamplesPath != null && !"".equals(allSamplesPath);
@@ -627,18 +642,65 @@ public class PickingProbe extends AbstractProbe {
 		return columnNames;
 	}
 
-	private Object getProbeValue(String probeTablePath, int rowIndex, int columnIndex) {
+	//#end region
 
-		//get probe table
-		Table probeTable = this.getChildFromRoot(probeTablePath);
+	//#region STUDY PROBE
 
-		//get probe value
-		String columnHeader = probeTable.getHeaders().get(columnIndex);
-		Row row = probeTable.getPagedRows().get(rowIndex);
-		Object value = row.getEntry(columnHeader);
+	@Override
+	public String getStudyOutputPath() {
+		return pickingOutput.get();
+	}
 
-		//return probe value
-		return value;
+	@Override
+	public void studyStarted() {
+		this.runUiJobBlocking(() -> incrementalTable = null);
+	}
+
+	/**
+	 * Adds the row of the completed job if the domain type is "Samples". The sample of the row is determined by the
+	 * index of the job in the samples of the picking. The probe table is recreated when the first job of a picking run
+	 * has been completed (the type of the probe column is taken from the output of that job). The table is modified in
+	 * the UI thread. Time series probes are only filled by running the probe after the picking.
+	 */
+	@Override
+	public void jobCompleted(String jobId, Map<String, Integer> jobIndices, AbstractAtom<?> jobOutputAtom) {
+		if (isTimeSeries()) {
+			return;
+		}
+		this.runUiJobBlocking(() -> {
+			if (incrementalTable == null) {
+				incrementalTable = reCreateTable();
+				incrementalSamples = getEnabledSamples();
+				incrementalRelativeProbeTablePath = getRelativeProbeTablePath(getFirstProbeRelativePath());
+			}
+			int sampleIndex = getSampleIndex(jobIndices);
+			addSampleRow(incrementalTable, incrementalSamples, jobId, sampleIndex, jobOutputAtom,
+					incrementalRelativeProbeTablePath);
+		});
+	}
+
+	/**
+	 * Returns the index of the job in the samples of the picking; returns -1 if the index is not known
+	 */
+	private int getSampleIndex(Map<String, Integer> jobIndices) {
+		String samplePathPrefix = pickingPath.get() + ".";
+		for (Map.Entry<String, Integer> entry : jobIndices.entrySet()) {
+			if (entry.getKey().startsWith(samplePathPrefix)) {
+				return entry.getValue();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public void studyFinished(FocusChangingRefreshable refreshable) {
+		this.runUiJobNonBlocking(() -> {
+			incrementalTable = null;
+			incrementalSamples = null;
+			if (refreshable != null) {
+				refreshable.refresh();
+			}
+		});
 	}
 
 	//#end region
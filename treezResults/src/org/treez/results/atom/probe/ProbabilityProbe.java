@@ -220,6 +220,11 @@ public class ProbabilityProbe extends AbstractProbe {
 			VariableRange<?> timeRangeAtom = this.getChildFromRoot(timePath);
 			timeType = timeRangeAtom.getType();
 		}
+		boolean isQuantityType = Quantity.class.equals(timeType);
+		if (isQuantityType) {
+			//only the numeric values of quantities are put into the table (="remove" unit)
+			timeType = Double.class;
+		}
 		return timeType;
 	}
 
@@ -0,0 +1,50 @@
+package org.treez.results.atom.probe;
+
+import java.util.Map;
+
+import org.treez.core.adaptable.FocusChangingRefreshable;
+import org.treez.core.atom.base.AbstractAtom;
+
+/**
+ * A Probe that is filled while a study is running. The study informs all probes that refer to its output atom about
+ * its start, about each job output that has been added to the study output and about its end. The probe only updates
+ * the rows of its table that belong to the completed job, so that the probe table (and the plots that use it) fill in
+ * while the study is running. The methods might be called from the thread of the study; the probe has to modify its
+ * table in the UI thread.
+ */
+public interface StudyProbe extends Probe {
+
+	/**
+	 * Returns the name of the probe
+	 */
+	String getName();
+
+	/**
+	 * Returns the model path of the study output atom this probe collects data from
+	 */
+	String getStudyOutputPath();
+
+	/**
+	 * Is called before the first job of the study is executed
+	 */
+	void studyStarted();
+
+	/**
+	 * Is called after the output atom of a job has been added to the study output
+	 *
+	 * @param jobId
+	 * @param jobIndices
+	 *            the indices of the job by model path of the atoms that define its variable values: the index of the
+	 *            value in each variable range of a sweep or the index of the sample (among the enabled samples) of a
+	 *            picking
+	 * @param jobOutputAtom
+	 */
+	void jobCompleted(String jobId, Map<String, Integer> jobIndices, AbstractAtom<?> jobOutputAtom);
+
+	/**
+	 * Is called after the last job of the study has been completed. The given Refreshable might be refreshed if it is
+	 * not null.
+	 */
+	void studyFinished(FocusChangingRefreshable refreshable);
+
+}
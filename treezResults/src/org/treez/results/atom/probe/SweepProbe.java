@@ -2,14 +2,17 @@ package org.treez.results.atom.probe;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.eclipse.swt.graphics.Image;
+import org.treez.core.adaptable.FocusChangingRefreshable;
 import org.treez.core.atom.attribute.attributeContainer.AttributeRoot;
 import org.treez.core.atom.attribute.attributeContainer.section.Section;
 import org.treez.core.atom.attribute.modelPath.ModelPath;
 import org.treez.core.atom.attribute.modelPath.ModelPathSelectionType;
 import org.treez.core.atom.attribute.text.TextField;
+import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.atom.variablerange.VariableRange;
 import org.treez.core.attribute.Attribute;
 import org.treez.core.attribute.Wrap;
@@ -27,7 +30,7 @@ import org.treez.results.Activator;
  * to produce plots than the distributed sweep results.
  */
 @SuppressWarnings("checkstyle:visibilitymodifier")
-public class SweepProbe extends AbstractProbe {
+public class SweepProbe extends AbstractProbe implements StudyProbe {
 
 	private static final Logger LOG = Logger.getLogger(SweepProbe.class);
 
@@ -95,6 +98,16 @@ public class SweepProbe extends AbstractProbe {
 
 	public final Attribute<String> probeRowIndex = new Wrap<>();
 
+	/**
+	 * The probe table that is filled while the sweep is running; null if it has not yet been created for the current
+	 * run of the sweep
+	 */
+	private Table incrementalTable;
+
+	private List<String> incrementalColumnNames;
+
+	private String incrementalRelativeProbeTablePath;
+
 	//#end region
 
 	//#region CONSTRUCTORS
@@ -309,6 +322,11 @@ public class SweepProbe extends AbstractProbe {
 			VariableRange<?> xRangeAtom = this.getChildFromRoot(xPath);
 			xType = xRangeAtom.getType();
 		}
+		boolean isQuantityType = Quantity.class.equals(xType);
+		if (isQuantityType) {
+			//only the numeric values of quantities are put into the table (="remove" unit)
+			xType = Double.class;
+		}
 		return xType;
 	}
 
@@ -321,71 +339,86 @@ public class SweepProbe extends AbstractProbe {
 
 		LOG.info("Filling probe table...");
 
-		//get x information
-		String xLabelString = domainLabel.get();
-		String xPath = domainRange.get();
-		boolean xIsSpecified = !"".equals(xPath);
-		VariableRange<?> xRangeAtom = null;
-
-		List<?> xRangeValues = null;
-		if (xIsSpecified) {
-			xRangeAtom = this.getChildFromRoot(xPath);
-			xRangeValues = xRangeAtom.getRange();
-		}
-
-		//get y information
-		String yLabelString = probeLabel.get();
-
-		//get first family information
-		List<?> firstFamilyRangeValues = getFirstFamilyRangeValues();
-
-		//get second family information
-		List<?> secondFamilyRangeValues = getSecondFamilyRangeValues();
-
 		//column names
-		List<String> columnNames = createColumnNames(xLabelString, yLabelString, firstFamilyRangeValues,
-				secondFamilyRangeValues);
+		List<String> columnNames = createColumnNames();
 
-		//get sweep output path
+		//get sweep output atom
 		String sweepOutputPath = sweepOutput.get();
+		AbstractAtom<?> sweepOutputAtom = this.getChildFromRoot(sweepOutputPath);
 
-		//get probe table relative path
+		//get probe table relative path and prefix
 		String firstProbeTableRelativePath = getFirstProbeRelativePath();
-		String[] pathItems = firstProbeTableRelativePath.split("\\.");
-		String firstPrefix = pathItems[0];
-		int firstIndex = firstPrefix.length() + 1;
-		String relativeProbeTablePath = firstProbeTableRelativePath.substring(firstIndex);
-
-		//get probe table prefix
+		String firstPrefix = firstProbeTableRelativePath.split("\\.")[0];
+		String relativeProbeTablePath = getRelativeProbeTablePath(firstProbeTableRelativePath);
 		String prefix = getProbeTablePrefix(firstPrefix);
 
-		fillProbeTable(table, xRangeValues, columnNames, sweepOutputPath, relativeProbeTablePath, prefix);
+		fillProbeTable(table, columnNames, sweepOutputAtom, relativeProbeTablePath, prefix);
 
 		LOG.info("Filled probe table.");
 
 	}
 
+	/**
+	 * Creates the column names from the labels and the family ranges
+	 */
+	private List<String> createColumnNames() {
+		String xLabelString = domainLabel.get();
+		String yLabelString = probeLabel.get();
+		List<?> firstFamilyRangeValues = getFirstFamilyRangeValues();
+		List<?> secondFamilyRangeValues = getSecondFamilyRangeValues();
+		return createColumnNames(xLabelString, yLabelString, firstFamilyRangeValues, secondFamilyRangeValues);
+	}
+
+	/**
+	 * Returns the path of the probe table relative to the job output atom (the first probe table path without the name
+	 * of the first job output atom)
+	 */
+	private static String getRelativeProbeTablePath(String firstProbeTableRelativePath) {
+		String firstPrefix = firstProbeTableRelativePath.split("\\.")[0];
+		int firstIndex = firstPrefix.length() + 1;
+		return firstProbeTableRelativePath.substring(firstIndex);
+	}
+
 	private void fillProbeTable(
 			Table table,
-			List<?> xRangeValues,
 			List<String> columnNames,
-			String sweepOutputPath,
+			AbstractAtom<?> sweepOutputAtom,
 			String relativeProbeTablePath,
 			String prefix) {
-		//get probe table row index
-		int probeRowId = Integer.parseInt(probeRowIndex.get());
 
-		//get probe table column index
-		int probeColumnId = Integer.parseInt(probeColumnIndex.get());
+		createRowsWithDomainValues(table, columnNames);
+
+		//fill the probe values of the job outputs (one pass over the job outputs)
+		for (AbstractAtom<?> jobOutputAtom : sweepOutputAtom.getChildAtoms()) {
+			String jobOutputName = jobOutputAtom.getName();
+			if (jobOutputName.startsWith(prefix)) {
+				String jobId = jobOutputName.substring(prefix.length());
+				int jobIndex = getJobIndex(jobId);
+				int numberOfProbeColumns = columnNames.size() - 1;
+				int rowIndex = jobIndex < 0 ? -1 : jobIndex / numberOfProbeColumns;
+				int columnIndex = 1 + jobIndex % numberOfProbeColumns;
+				setProbeValue(table, columnNames, jobId, rowIndex, columnIndex, jobOutputAtom, relativeProbeTablePath);
+			}
+		}
+	}
 
-		int sweepIndex = 1;
-		for (int rowIndex = 0; rowIndex < xRangeValues.size(); rowIndex++) {
+	/**
+	 * Adds a row for each domain value. The probe columns are empty.
+	 */
+	private void createRowsWithDomainValues(Table table, List<String> columnNames) {
+		String xPath = domainRange.get();
+		boolean xIsSpecified = !"".equals(xPath);
+		if (!xIsSpecified) {
+			return;
+		}
 
-			//create new row
+		VariableRange<?> xRangeAtom = this.getChildFromRoot(xPath);
+		List<?> xRangeValues = xRangeAtom.getRange();
+		for (Object rangeValue : xRangeValues) {
 			Row row = new Row(table);
 
 			//fill x column entry
-			Object xValue = xRangeValues.get(rowIndex);
+			Object xValue = rangeValue;
 			boolean isQuantity = xValue instanceof Quantity;
 			if (isQuantity) {
 				//only take numeric value (="remove" unit)
@@ -394,21 +427,39 @@ public class SweepProbe extends AbstractProbe {
 			}
 			row.setEntry(columnNames.get(0), xValue);
 
-			//fill y column entries
-			for (int columnIndex = 1; columnIndex < columnNames.size(); columnIndex++) {
-				String yColumnName = columnNames.get(columnIndex);
-				String tablePath = sweepOutputPath + "." + prefix + sweepIndex + "." + relativeProbeTablePath;
-				Object yValue = getProbeValue(tablePath, probeRowId, probeColumnId);
-				row.setEntry(yColumnName, yValue);
-
-				//increase sweep index
-				sweepIndex++;
-			}
-
-			//add row
 			table.addRow(row);
+		}
+	}
 
+	/**
+	 * Sets the probe value of the job with the given id to the given row (domain value) and column (family) of the
+	 * probe table. When filling the whole table after the sweep, the jobs are assigned to the rows and columns in the
+	 * order of the sweep: the probe columns of a row are filled by subsequent jobs.
+	 */
+	private void setProbeValue(
+			Table table,
+			List<String> columnNames,
+			String jobId,
+			int rowIndex,
+			int columnIndex,
+			AbstractAtom<?> jobOutputAtom,
+			String relativeProbeTablePath) {
+		boolean isUnknownJob = rowIndex < 0
+				|| rowIndex >= table.getRows().size()
+				|| columnIndex < 1
+				|| columnIndex >= columnNames.size();
+		if (isUnknownJob) {
+			LOG.warn("The output of job '" + jobId + "' does not fit to the domain range of the probe " + getName());
+			return;
 		}
+
+		int probeRowId = Integer.parseInt(probeRowIndex.get());
+		int probeColumnId = Integer.parseInt(probeColumnIndex.get());
+		Table jobOutputTable = (Table) jobOutputAtom.getChild(relativeProbeTablePath);
+		Object yValue = getProbeValue(jobOutputTable, probeRowId, probeColumnId);
+
+		String yColumnName = columnNames.get(columnIndex);
+		table.getRow(rowIndex).setEntry(yColumnName, yValue);
 	}
 
 	private static String getProbeTablePrefix(String firstPrefix) {
@@ -459,24 +510,92 @@ public class SweepProbe extends AbstractProbe {
 		return columnNames;
 	}
 
-	private Object getProbeValue(String probeTablePath, int rowIndex, int columnIndex) {
+	public Table createTable(String name) {
+		Table table = new Table(name);
+		addChild(table);
+		return table;
+	}
+
+	//#end region
 
-		//get probe table
-		Table probeTable = this.getChildFromRoot(probeTablePath);
+	//#region STUDY PROBE
 
-		//get probe value
-		String columnHeader = probeTable.getHeaders().get(columnIndex);
-		Row row = probeTable.getRow(rowIndex);
-		Object value = row.getEntry(columnHeader);
+	@Override
+	public String getStudyOutputPath() {
+		return sweepOutput.get();
+	}
 
-		//return probe value
-		return value;
+	@Override
+	public void studyStarted() {
+		this.runUiJobBlocking(() -> incrementalTable = null);
 	}
 
-	public Table createTable(String name) {
-		Table table = new Table(name);
-		addChild(table);
-		return table;
+	/**
+	 * Sets the probe value of the completed job. The row and column are determined by the indices of the job in the
+	 * domain range and in the family ranges. The probe table is recreated when the first job of a sweep run has been
+	 * completed (the type of the probe column is taken from the output of that job). The table is modified in the UI
+	 * thread.
+	 */
+	@Override
+	public void jobCompleted(String jobId, Map<String, Integer> jobIndices, AbstractAtom<?> jobOutputAtom) {
+		this.runUiJobBlocking(() -> {
+			if (incrementalTable == null) {
+				incrementalTable = reCreateTable();
+				incrementalColumnNames = createColumnNames();
+				incrementalRelativeProbeTablePath = getRelativeProbeTablePath(getFirstProbeRelativePath());
+				createRowsWithDomainValues(incrementalTable, incrementalColumnNames);
+			}
+			int rowIndex = getRangeIndex(jobIndices, domainRange.get());
+			int columnIndex = getProbeColumnIndex(jobIndices);
+			setProbeValue(incrementalTable, incrementalColumnNames, jobId, rowIndex, columnIndex, jobOutputAtom,
+					incrementalRelativeProbeTablePath);
+		});
+	}
+
+	/**
+	 * Returns the index of the probe column (in the column names, including the domain column) for the given job
+	 * indices; returns -1 if the index of a family range is missing
+	 */
+	private int getProbeColumnIndex(Map<String, Integer> jobIndices) {
+		List<?> firstFamilyRangeValues = getFirstFamilyRangeValues();
+		if (firstFamilyRangeValues == null) {
+			return 1;
+		}
+		int firstFamilyIndex = getRangeIndex(jobIndices, firstFamilyRange.get());
+		if (firstFamilyIndex < 0) {
+			return -1;
+		}
+
+		List<?> secondFamilyRangeValues = getSecondFamilyRangeValues();
+		if (secondFamilyRangeValues == null) {
+			return 1 + firstFamilyIndex;
+		}
+		int secondFamilyIndex = getRangeIndex(jobIndices, secondFamilyRange.get());
+		if (secondFamilyIndex < 0) {
+			return -1;
+		}
+		return 1 + firstFamilyIndex * secondFamilyRangeValues.size() + secondFamilyIndex;
+	}
+
+	/**
+	 * Returns the index of the job in the range with the given model path; returns -1 if the index is not known
+	 */
+	private static int getRangeIndex(Map<String, Integer> jobIndices, String rangePath) {
+		Integer index = jobIndices.get(rangePath);
+		if (index == null) {
+			return -1;
+		}
+		return index;
+	}
+
+	@Override
+	public void studyFinished(FocusChangingRefreshable refreshable) {
+		this.runUiJobNonBlocking(() -> {
+			incrementalTable = null;
+			if (refreshable != null) {
+				refreshable.refresh();
+			}
+		});
 	}
 
 	//#end region
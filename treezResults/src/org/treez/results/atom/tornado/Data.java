@@ -169,7 +169,7 @@ public class Data implements GraphicsPropertiesPageFactory {
 
 		tornado = (Tornado) parent;
 		Consumer dataChangedConsumer = () -> {
-			tornado.updatePlotWithD3(d3);
+			tornado.requestPlotUpdate(d3);
 		};
 		inputLabel.addModificationConsumer("replot", dataChangedConsumer);
 		inputBase.addModificationConsumer("replot", dataChangedConsumer);
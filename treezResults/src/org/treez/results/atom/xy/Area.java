@@ -1,7 +1,5 @@
 package org.treez.results.atom.xy;
 
-import java.util.List;
-
 import org.treez.core.atom.attribute.attributeContainer.AttributeRoot;
 import org.treez.core.atom.attribute.attributeContainer.Page;
 import org.treez.core.atom.attribute.attributeContainer.section.Section;
@@ -11,6 +9,7 @@ import org.treez.core.atom.graphics.GraphicsPropertiesPageFactory;
 import org.treez.core.attribute.Attribute;
 import org.treez.core.attribute.Wrap;
 import org.treez.javafxd3.d3.D3;
+import org.treez.javafxd3.d3.arrays.Array;
 import org.treez.javafxd3.d3.core.JsEngine;
 import org.treez.javafxd3.d3.core.Selection;
 import org.treez.javafxd3.d3.functions.data.axis.AxisScaleFirstDataFunction;
@@ -110,17 +109,14 @@ public class Area implements GraphicsPropertiesPageFactory {
 		Xy xy = (Xy) parent;
 		String parentName = xy.getName();
 
-		List<Object> xData = xy.getXValues();
-		List<Object> yData = xy.getYValues();
-
-		String xyDataString = xy.createXyDataString(xData, yData);
+		Array<?> xyData = xy.getLineData(xySelection.getJsEngine());
 		Scale<?> xScale = xy.getXScale();
 		Scale<?> yScale = xy.getYScale();
 
 		org.treez.javafxd3.d3.svg.InterpolationMode mode = xy.line.interpolation.get();
 
-		plotAboveAreaWithD3(d3, parentName, xySelection, xyDataString, xScale, yScale, mode);
-		plotBelowAreaWithD3(d3, parentName, xySelection, xyDataString, xScale, yScale, mode);
+		plotAboveAreaWithD3(d3, parentName, xySelection, xyData, xScale, yScale, mode);
+		plotBelowAreaWithD3(d3, parentName, xySelection, xyData, xScale, yScale, mode);
 
 		return xySelection;
 	}
@@ -129,7 +125,7 @@ public class Area implements GraphicsPropertiesPageFactory {
 			D3 d3,
 			String parentName,
 			Selection xySelection,
-			String xyDataString,
+			Array<?> xyData,
 			Scale<?> xScale,
 			Scale<?> yScale,
 			org.treez.javafxd3.d3.svg.InterpolationMode mode) {
@@ -157,7 +153,7 @@ public class Area implements GraphicsPropertiesPageFactory {
 
 		Selection aboveArea = areaAboveSelection //
 				.append("path") //
-				.attr("d", areaAbovePathGenerator.generate(xyDataString));
+				.attr("d", areaAbovePathGenerator.generate(xyData));
 
 		AbstractGraphicsAtom.bindStringAttribute(aboveArea, "fill", aboveColor);
 		AbstractGraphicsAtom.bindTransparency(aboveArea, aboveTransparency);
@@ -168,7 +164,7 @@ public class Area implements GraphicsPropertiesPageFactory {
 			D3 d3,
 			String parentName,
 			Selection xySelection,
-			String xyDataString,
+			Array<?> xyData,
 			Scale<?> xScale,
 			Scale<?> yScale,
 			org.treez.javafxd3.d3.svg.InterpolationMode mode) {
@@ -199,7 +195,7 @@ public class Area implements GraphicsPropertiesPageFactory {
 
 		Selection belowArea = areaBelowSelection //
 				.append("path") //
-				.attr("d", areaBelowPathGenerator.generate(xyDataString));
+				.attr("d", areaBelowPathGenerator.generate(xyData));
 
 		AbstractGraphicsAtom.bindStringAttribute(belowArea, "fill", belowColor);
 		AbstractGraphicsAtom.bindTransparency(belowArea, aboveTransparency);
@@ -34,6 +34,12 @@ public class Data implements GraphicsPropertiesPageFactory {
 
 	//public final Attribute<String> colorMarkers = new Wrap<>();
 
+	public final Attribute<Boolean> reduceData = new Wrap<>();
+
+	public final Attribute<Double> pointsPerPixel = new Wrap<>();
+
+	public final Attribute<RenderMode> renderMode = new Wrap<>();
+
 	//#end region
 
 	//#region METHODS
@@ -78,6 +84,19 @@ public class Data implements GraphicsPropertiesPageFactory {
 
 		//data.createTextField(colorMarkers, "colorMarkers", "Color markers", "");
 
+		Section reduction = dataPage.createSection("reduction", "Reduction");
+		reduction.setExpanded(false);
+
+		reduction.createCheckBox(reduceData, this, true).setLabel("Reduce to graph resolution");
+
+		reduction.createDoubleVariableField(pointsPerPixel, this, Xy.DEFAULT_POINTS_PER_PIXEL).setLabel(
+				"Points per pixel");
+
+		Section rendering = dataPage.createSection("rendering", "Rendering");
+		rendering.setExpanded(false);
+
+		rendering.createEnumComboBox(renderMode, this, RenderMode.SVG).setLabel("Render mode");
+
 	}
 
 	@Override
@@ -89,7 +108,7 @@ public class Data implements GraphicsPropertiesPageFactory {
 		Xy xy = (Xy) parent;
 
 		Consumer dataChangedConsumer = () -> {
-			xy.updatePlotWithD3(d3);
+			xy.requestPlotUpdate(d3);
 		};
 		xData.addModificationConsumer("replot", dataChangedConsumer);
 		yData.addModificationConsumer("replot", dataChangedConsumer);
@@ -97,6 +116,10 @@ public class Data implements GraphicsPropertiesPageFactory {
 		xAxis.addModificationConsumer("replot", dataChangedConsumer);
 		yAxis.addModificationConsumer("replot", dataChangedConsumer);
 
+		reduceData.addModificationConsumer("replot", dataChangedConsumer);
+		pointsPerPixel.addModificationConsumer("replot", dataChangedConsumer);
+		renderMode.addModificationConsumer("replot", dataChangedConsumer);
+
 		return xySelection;
 	}
 
@@ -1,21 +1,24 @@
 package org.treez.results.atom.xy;
 
-import java.util.List;
-
 import org.treez.core.atom.attribute.attributeContainer.AttributeRoot;
 import org.treez.core.atom.attribute.attributeContainer.Page;
 import org.treez.core.atom.attribute.attributeContainer.section.Section;
+import org.treez.core.atom.attribute.comboBox.lineStyle.LineStyleValue;
 import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.atom.graphics.AbstractGraphicsAtom;
 import org.treez.core.atom.graphics.GraphicsPropertiesPageFactory;
+import org.treez.core.atom.graphics.length.Length;
 import org.treez.core.attribute.Attribute;
+import org.treez.core.attribute.Consumer;
 import org.treez.core.attribute.Wrap;
 import org.treez.javafxd3.d3.D3;
+import org.treez.javafxd3.d3.arrays.Array;
 import org.treez.javafxd3.d3.core.JsEngine;
 import org.treez.javafxd3.d3.core.Selection;
 import org.treez.javafxd3.d3.functions.data.axis.AxisScaleFirstDataFunction;
 import org.treez.javafxd3.d3.functions.data.axis.AxisScaleSecondDataFunction;
 import org.treez.javafxd3.d3.scales.Scale;
+import org.treez.javafxd3.d3.wrapper.canvas.Context2d;
 
 @SuppressWarnings("checkstyle:visibilitymodifier")
 public class Line implements GraphicsPropertiesPageFactory {
@@ -92,40 +95,73 @@ public class Line implements GraphicsPropertiesPageFactory {
 
 		JsEngine engine = xySelection.getJsEngine();
 
-		org.treez.javafxd3.d3.svg.Line linePathGenerator = d3 //
-				.svg()//
-				.line()
-				.x(new AxisScaleFirstDataFunction(engine, xScale))
-				.y(new AxisScaleSecondDataFunction(engine, yScale))//
-				.interpolate(mode);
-
 		//plot new lines
-		List<Object> xDataValues = xy.getXValues();
-		List<Object> yDataValues = xy.getYValues();
-		String xyDataString = xy.createXyDataString(xDataValues, yDataValues);
-
-		Selection lines = linesSelection //
-				.append("path") //
-				.attr("d", linePathGenerator.generate(xyDataString))
-				.attr("fill", "none");
-
-		//bind attributes
-		AbstractGraphicsAtom.bindDisplayToBooleanAttribute("hideLine", lines, hide);
-		AbstractGraphicsAtom.bindStringAttribute(lines, "stroke", color);
-		AbstractGraphicsAtom.bindStringAttribute(lines, "stroke-width", width);
-		AbstractGraphicsAtom.bindLineTransparency(lines, transparency);
-		AbstractGraphicsAtom.bindLineStyle(lines, style);
+		Array<?> lineData = xy.getLineData(engine);
+
+		if (xy.isCanvasRenderMode()) {
+			plotCanvasLine(xy, linesSelection, lineData, xScale, yScale);
+		} else {
+			org.treez.javafxd3.d3.svg.Line linePathGenerator = d3 //
+					.svg()//
+					.line()
+					.x(new AxisScaleFirstDataFunction(engine, xScale))
+					.y(new AxisScaleSecondDataFunction(engine, yScale))//
+					.interpolate(mode);
+
+			Selection lines = linesSelection //
+					.append("path") //
+					.attr("d", linePathGenerator.generate(lineData))
+					.attr("fill", "none");
+
+			//bind attributes
+			AbstractGraphicsAtom.bindDisplayToBooleanAttribute("hideLine", lines, hide);
+			AbstractGraphicsAtom.bindStringAttribute(lines, "stroke", color);
+			AbstractGraphicsAtom.bindStringAttribute(lines, "stroke-width", width);
+			AbstractGraphicsAtom.bindLineTransparency(lines, transparency);
+			AbstractGraphicsAtom.bindLineStyle(lines, style);
+		}
 
 		interpolation.addModificationConsumer("replot", () -> {
 			//if the line interpolation changes other stuff like the area
 			//has to be updated as well
 			//=> update the whole xy
-			xy.updatePlotWithD3(d3);
+			xy.requestPlotUpdate(d3);
 		});
 
 		return xySelection;
 	}
 
+	/**
+	 * Draws the line on a canvas layer (see RenderMode). The canvas line is always linearly interpolated.
+	 */
+	private void plotCanvasLine(Xy xy, Selection linesSelection, Array<?> lineData, Scale<?> xScale, Scale<?> yScale) {
+
+		Context2d context = xy.createCanvasLayer(linesSelection);
+
+		Consumer redrawLine = () -> {
+			drawCanvasLine(context, lineData, xScale, yScale);
+		};
+		color.addModificationConsumer("redrawCanvasLine", redrawLine);
+		width.addModificationConsumer("redrawCanvasLine", redrawLine);
+		style.addModificationConsumer("redrawCanvasLine", redrawLine);
+		transparency.addModificationConsumer("redrawCanvasLine", redrawLine);
+
+		AbstractGraphicsAtom.bindDisplayToBooleanAttribute("hideLine", linesSelection, hide);
+
+		//initially draw line
+		redrawLine.consume();
+	}
+
+	private void drawCanvasLine(Context2d context, Array<?> lineData, Scale<?> xScale, Scale<?> yScale) {
+		context.clear();
+		context.setStrokeStyle(color.get());
+		context.setLineWidth(Length.toPx(width.get()));
+		context.setLineDash(LineStyleValue.fromString(style.get()).getDashArray());
+		context.setGlobalAlpha(1 - transparency.get());
+		context.strokeLine(lineData, xScale, yScale);
+		context.setGlobalAlpha(1);
+	}
+
 	public Selection plotLegendLineWithD3(D3 d3, Selection parentSelection, int length) {
 
 		org.treez.javafxd3.d3.svg.Line linePathGenerator = d3 //
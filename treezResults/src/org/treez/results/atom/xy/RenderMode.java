@@ -0,0 +1,39 @@
+package org.treez.results.atom.xy;
+
+/**
+ * Determines how the lines and symbols of an xy plot are rendered: as SVG elements (one element per symbol) or on a
+ * canvas layer (a single element, for dense data)
+ */
+public enum RenderMode {
+
+	//#region VALUES
+
+	SVG("svg"), //
+	CANVAS("canvas"); //
+
+	//#end region
+
+	//#region ATTRIBUTES
+
+	private String value;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	RenderMode(String value) {
+		this.value = value;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	public String toString() {
+		return value;
+	}
+
+	//#end region
+
+}
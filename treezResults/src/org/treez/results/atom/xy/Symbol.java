@@ -1,11 +1,10 @@
 package org.treez.results.atom.xy;
 
-import java.util.List;
-
 import org.treez.core.adaptable.Refreshable;
 import org.treez.core.atom.attribute.attributeContainer.AttributeRoot;
 import org.treez.core.atom.attribute.attributeContainer.Page;
 import org.treez.core.atom.attribute.attributeContainer.section.Section;
+import org.treez.core.atom.attribute.comboBox.lineStyle.LineStyleValue;
 import org.treez.core.atom.attribute.comboBox.symbolType.SymbolStyleValue;
 import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.atom.graphics.AbstractGraphicsAtom;
@@ -15,11 +14,13 @@ import org.treez.core.attribute.Attribute;
 import org.treez.core.attribute.Consumer;
 import org.treez.core.attribute.Wrap;
 import org.treez.javafxd3.d3.D3;
+import org.treez.javafxd3.d3.arrays.Array;
 import org.treez.javafxd3.d3.core.JsEngine;
 import org.treez.javafxd3.d3.core.Selection;
 import org.treez.javafxd3.d3.functions.data.axis.AxisTransformPointDataFunction;
 import org.treez.javafxd3.d3.scales.Scale;
 import org.treez.javafxd3.d3.svg.SymbolType;
+import org.treez.javafxd3.d3.wrapper.canvas.Context2d;
 import org.treez.results.atom.graph.Graph;
 
 @SuppressWarnings("checkstyle:visibilitymodifier")
@@ -191,16 +192,77 @@ public class Symbol implements GraphicsPropertiesPageFactory {
 		//remove old symbols
 		symbolsSelection.selectAll("path") //
 				.remove();
+		symbolsSelection.selectAll(".canvas-layer") //
+				.remove();
 
 		//get symbol type and plot new symbols
 		String symbolTypeString = symbolType.get();
 		boolean isNoneSymbol = symbolTypeString.equals(SymbolStyleValue.NONE.toString());
 		if (!isNoneSymbol) {
 			//plot new symbols
-			plotNewSymbols(d3, symbolTypeString, parent);
+			Xy xy = (Xy) parent;
+			if (xy.isCanvasRenderMode()) {
+				plotCanvasSymbols(symbolTypeString, xy);
+			} else {
+				plotNewSymbols(d3, symbolTypeString, parent);
+			}
 		}
 	}
 
+	/**
+	 * Draws the symbols on a canvas layer (see RenderMode)
+	 */
+	private void plotCanvasSymbols(String symbolTypeString, Xy xy) {
+
+		SymbolType symbolTypeValue = SymbolType.fromString(symbolTypeString);
+		int symbolSquareSize = Integer.parseInt(size.get());
+
+		Scale<?> xScale = xy.getXScale();
+		Scale<?> yScale = xy.getYScale();
+		JsEngine engine = symbolsSelection.getJsEngine();
+		Array<?> symbolData = xy.getSymbolData(engine);
+
+		Context2d context = xy.createCanvasLayer(symbolsSelection);
+
+		Consumer redrawSymbols = () -> {
+			drawCanvasSymbols(context, symbolData, xScale, yScale, symbolTypeValue, symbolSquareSize);
+		};
+		fillColor.addModificationConsumer("redrawCanvasSymbols", redrawSymbols);
+		fillTransparency.addModificationConsumer("redrawCanvasSymbols", redrawSymbols);
+		hideFill.addModificationConsumer("redrawCanvasSymbols", redrawSymbols);
+		lineColor.addModificationConsumer("redrawCanvasSymbols", redrawSymbols);
+		lineWidth.addModificationConsumer("redrawCanvasSymbols", redrawSymbols);
+		lineStyle.addModificationConsumer("redrawCanvasSymbols", redrawSymbols);
+		lineTransparency.addModificationConsumer("redrawCanvasSymbols", redrawSymbols);
+		hideLine.addModificationConsumer("redrawCanvasSymbols", redrawSymbols);
+
+		//initially draw symbols
+		redrawSymbols.consume();
+	}
+
+	private void drawCanvasSymbols(
+			Context2d context,
+			Array<?> symbolData,
+			Scale<?> xScale,
+			Scale<?> yScale,
+			SymbolType symbolTypeValue,
+			int symbolSquareSize) {
+
+		context.clear();
+		context.setFillStyle(fillColor.get());
+		context.setStrokeStyle(lineColor.get());
+		context.setLineWidth(Length.toPx(lineWidth.get()));
+		context.setLineDash(LineStyleValue.fromString(lineStyle.get()).getDashArray());
+
+		double fillOpacity = hideFill.get()
+				? 0
+				: 1 - fillTransparency.get();
+		double lineOpacity = hideLine.get()
+				? 0
+				: 1 - lineTransparency.get();
+		context.drawSymbols(symbolData, xScale, yScale, symbolTypeValue, symbolSquareSize, fillOpacity, lineOpacity);
+	}
+
 	private void plotNewSymbols(D3 d3, String symbolTypeString, AbstractGraphicsAtom parent) {
 
 		SymbolType symbolTypeValue = SymbolType.fromString(symbolTypeString);
@@ -219,15 +281,11 @@ public class Symbol implements GraphicsPropertiesPageFactory {
 
 		Scale<?> xScale = xy.getXScale();
 		Scale<?> yScale = xy.getYScale();
-		List<Object> xData = xy.getXValues();
-		List<Object> yData = xy.getYValues();
-
-		String xyDataString = xy.createXyDataString(xData, yData);
-
 		JsEngine engine = symbolsSelection.getJsEngine();
+		Array<?> symbolData = xy.getSymbolData(engine);
 
 		symbolsSelection.selectAll("path") //
-				.data(xyDataString) //
+				.data(symbolData) //
 				.enter() //
 				.append("path") //
 				.attr("transform", new AxisTransformPointDataFunction(engine, xScale, yScale)) //
@@ -2,7 +2,9 @@ package org.treez.results.atom.xy;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.eclipse.swt.graphics.Image;
@@ -10,10 +12,18 @@ import org.treez.core.adaptable.FocusChangingRefreshable;
 import org.treez.core.adaptable.Refreshable;
 import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.atom.graphics.GraphicsPropertiesPageFactory;
+import org.treez.core.atom.graphics.length.Length;
 import org.treez.core.treeview.TreeViewerRefreshable;
 import org.treez.javafxd3.d3.D3;
+import org.treez.javafxd3.d3.arrays.Array;
+import org.treez.javafxd3.d3.arrays.TypedArrayTransfer;
+import org.treez.javafxd3.d3.core.JsEngine;
+import org.treez.javafxd3.d3.core.JsObject;
 import org.treez.javafxd3.d3.core.Selection;
 import org.treez.javafxd3.d3.scales.Scale;
+import org.treez.javafxd3.d3.wrapper.Element;
+import org.treez.javafxd3.d3.wrapper.canvas.CanvasElement;
+import org.treez.javafxd3.d3.wrapper.canvas.Context2d;
 import org.treez.results.Activator;
 import org.treez.results.atom.axis.Axis;
 import org.treez.results.atom.graph.Graph;
@@ -25,6 +35,21 @@ public class Xy extends GraphicsPropertiesPage implements LegendContributor {
 
 	//#region ATTRIBUTES
 
+	/**
+	 * The estimated number of characters of a row of the data string; is used to size the string builder
+	 */
+	private static final int ESTIMATED_ROW_LENGTH = 24;
+
+	/**
+	 * The number of points per pixel the data is reduced to if no valid number is specified
+	 */
+	static final double DEFAULT_POINTS_PER_PIXEL = 1.0;
+
+	/**
+	 * The minimum number of points per pixel the data is reduced to
+	 */
+	private static final double MIN_POINTS_PER_PIXEL = 0.1;
+
 	public Data data;
 
 	public Symbol symbol;
@@ -39,6 +64,16 @@ public class Xy extends GraphicsPropertiesPage implements LegendContributor {
 
 	private Selection xySelection;
 
+	/**
+	 * The xy data of the line and the area of the current plot (see getLineData); is reset on each plot update
+	 */
+	private Array<?> lineData;
+
+	/**
+	 * The xy data of the symbols of the current plot (see getSymbolData); is reset on each plot update
+	 */
+	private Array<?> symbolData;
+
 	//#end region
 
 	//#region CONSTRUCTORS
@@ -115,7 +150,13 @@ public class Xy extends GraphicsPropertiesPage implements LegendContributor {
 
 	@Override
 	public void updatePlotWithD3(D3 d3) {
-		contributeDataForAutoScale(d3);
+		lineData = null;
+		symbolData = null;
+		boolean scalesChanged = contributeDataForAutoScale(d3);
+		if (scalesChanged) {
+			//the graph has already re-plotted all of its children, including this xy
+			return;
+		}
 		plotPageModels(d3);
 	}
 
@@ -125,14 +166,20 @@ public class Xy extends GraphicsPropertiesPage implements LegendContributor {
 		}
 	}
 
-	private void contributeDataForAutoScale(D3 d3) {
+	/**
+	 * Includes the data in the auto scale data of the axes. If the domains of the scales change, all children of the
+	 * graph are re-plotted and true is returned.
+	 */
+	private boolean contributeDataForAutoScale(D3 d3) {
 
 		boolean xScaleChanged = contributeDataForXAxis();
 		boolean yScaleChanged = contributeDataForYAxis();
-		if (xScaleChanged || yScaleChanged) {
+		boolean scalesChanged = xScaleChanged || yScaleChanged;
+		if (scalesChanged) {
 			Graph graph = getGraph();
 			graph.updatePlotForChangedScales(d3);
 		}
+		return scalesChanged;
 	}
 
 	private boolean contributeDataForXAxis() {
@@ -224,6 +271,198 @@ public class Xy extends GraphicsPropertiesPage implements LegendContributor {
 		return symbolSelection;
 	}
 
+	/**
+	 * Returns true if the lines and symbols are drawn on canvas layers instead of creating an svg element per symbol
+	 *
+	 * @return
+	 */
+	public boolean isCanvasRenderMode() {
+		return data.renderMode.get() == RenderMode.CANVAS;
+	}
+
+	/**
+	 * Appends a canvas layer with the size of the graph to the given group and returns its 2d context. The canvas is
+	 * wrapped in a foreignObject of the class "canvas-layer"; such layers are rasterized when the svg is saved.
+	 *
+	 * @param groupSelection
+	 * @return
+	 */
+	public Context2d createCanvasLayer(Selection groupSelection) {
+		Graph graph = getGraph();
+		int width = (int) Math.ceil(Length.toPx(graph.data.width.get()));
+		int height = (int) Math.ceil(Length.toPx(graph.data.height.get()));
+
+		Selection canvasSelection = groupSelection //
+				.append("foreignObject") //
+				.attr("class", "canvas-layer") //
+				.attr("x", 0) //
+				.attr("y", 0) //
+				.attr("width", width) //
+				.attr("height", height) //
+				.append("xhtml:canvas") //
+				.attr("width", width) //
+				.attr("height", height) //
+				.style("display", "block");
+
+		Element canvasNode = canvasSelection.node();
+		CanvasElement canvas = new CanvasElement(canvasSelection.getJsEngine(), canvasNode.getJsObject());
+		return canvas.getContext2d();
+	}
+
+	/**
+	 * Returns the x and y values for the line and the area as JavaScript array, e.g. [[1.0,2.0],[2.0,4.0]]. If the data
+	 * is reduced to the graph resolution, the points are selected with the Largest-Triangle-Three-Buckets algorithm.
+	 * The array is created once per plot update.
+	 *
+	 * @param engine
+	 * @return
+	 */
+	public Array<?> getLineData(JsEngine engine) {
+		if (lineData == null) {
+			createXyData(engine);
+		}
+		return lineData;
+	}
+
+	/**
+	 * Returns the x and y values for the symbols as JavaScript array, e.g. [[1.0,2.0],[2.0,4.0]]. If the data is
+	 * reduced to the graph resolution, the points with the minimum and maximum y value of each pixel bucket are
+	 * selected. The array is created once per plot update.
+	 *
+	 * @param engine
+	 * @return
+	 */
+	public Array<?> getSymbolData(JsEngine engine) {
+		if (symbolData == null) {
+			createXyData(engine);
+		}
+		return symbolData;
+	}
+
+	/**
+	 * Creates the JavaScript arrays for the line and the symbols. Numeric values are reduced to the graph resolution
+	 * (if enabled) and transferred as binary buffer (see TypedArrayTransfer); ordinal values are passed as data string.
+	 */
+	private void createXyData(JsEngine engine) {
+		List<Object> xDataValues = getXValues();
+		List<Object> yDataValues = getYValues();
+
+		boolean sizesAreEqual = xDataValues.size() == yDataValues.size();
+		if (sizesAreEqual) {
+			double[] xNumbers = TypedArrayTransfer.toNumbers(xDataValues);
+			double[] yNumbers = TypedArrayTransfer.toNumbers(yDataValues);
+			if (xNumbers != null && yNumbers != null) {
+				createNumericXyData(engine, xNumbers, yNumbers);
+				return;
+			}
+		}
+
+		String xyDataString = createXyDataString(xDataValues, yDataValues);
+		JsObject xyDataObject = (JsObject) engine.executeScript("(" + xyDataString + ")");
+		lineData = new Array<>(engine, xyDataObject);
+		symbolData = lineData;
+	}
+
+	private void createNumericXyData(JsEngine engine, double[] xNumbers, double[] yNumbers) {
+		int numberOfBuckets = getNumberOfReductionBuckets();
+		boolean reduceData = numberOfBuckets > 0 && xNumbers.length > numberOfBuckets;
+		if (!reduceData) {
+			lineData = Array.fromDoublePairs(engine, xNumbers, yNumbers);
+			symbolData = lineData;
+			return;
+		}
+
+		//reduce the points on screen scale, so that log axes are handled correctly
+		Axis xAxis = getXAxis();
+		Axis yAxis = getYAxis();
+		double[] xPositions = toAxisPositions(xNumbers, xAxis);
+		double[] yPositions = toAxisPositions(yNumbers, yAxis);
+		Double[] xLimits = xAxis.getQuantitativeLimits();
+		double xMin = toAxisPosition(xLimits[0], xAxis);
+		double xMax = toAxisPosition(xLimits[1], xAxis);
+
+		int[] visibleIndices = XyReduction.visibleIndices(xPositions, xMin, xMax);
+
+		int[] lineIndices = XyReduction.largestTriangleThreeBuckets(xPositions, yPositions, visibleIndices,
+				numberOfBuckets);
+		lineData = Array.fromDoublePairs(engine, XyReduction.select(xNumbers, lineIndices),
+				XyReduction.select(yNumbers, lineIndices));
+
+		int[] symbolIndices = XyReduction.minMaxPerBucket(xPositions, yPositions, visibleIndices, xMin, xMax,
+				numberOfBuckets);
+		symbolData = Array.fromDoublePairs(engine, XyReduction.select(xNumbers, symbolIndices),
+				XyReduction.select(yNumbers, symbolIndices));
+	}
+
+	/**
+	 * Returns the number of buckets (=pixels along the x axis times the points per pixel) the data is reduced to.
+	 * Returns 0 if the data should not be reduced.
+	 */
+	private int getNumberOfReductionBuckets() {
+		boolean reduceData = Boolean.TRUE.equals(data.reduceData.get());
+		if (!reduceData) {
+			return 0;
+		}
+
+		Axis xAxis = getXAxis();
+		Axis yAxis = getYAxis();
+		boolean axesAreQuantitative = xAxis.isQuantitative() && yAxis.isQuantitative();
+		if (!axesAreQuantitative) {
+			return 0;
+		}
+
+		Graph graph = getGraph();
+		String axisLength = xAxis.isHorizontal()
+				? graph.data.width.get()
+				: graph.data.height.get();
+		double axisLengthInPx = Length.toPx(axisLength);
+		return (int) Math.ceil(axisLengthInPx * getPointsPerPixel());
+	}
+
+	/**
+	 * Returns the specified number of points per pixel; falls back to the default value if the number is not valid and
+	 * to the minimum value if it is too small
+	 */
+	private double getPointsPerPixel() {
+		Double pointsPerPixel = data.pointsPerPixel.get();
+		boolean isValid = pointsPerPixel != null && Double.isFinite(pointsPerPixel);
+		if (!isValid) {
+			return DEFAULT_POINTS_PER_PIXEL;
+		}
+		return Math.max(MIN_POINTS_PER_PIXEL, pointsPerPixel);
+	}
+
+	private static double[] toAxisPositions(double[] values, Axis axis) {
+		boolean isLog = axis.data.log.get();
+		if (!isLog) {
+			return values;
+		}
+		double[] positions = new double[values.length];
+		for (int index = 0; index < values.length; index++) {
+			positions[index] = Math.log10(values[index]);
+		}
+		return positions;
+	}
+
+	private static double toAxisPosition(Double value, Axis axis) {
+		if (value == null) {
+			return Double.NaN;
+		}
+		boolean isLog = axis.data.log.get();
+		return isLog
+				? Math.log10(value)
+				: value;
+	}
+
+	/**
+	 * Creates the data string for the given x and y values, e.g. [[1.0,2.0],[2.0,4.0]]. Ordinal values are quoted if
+	 * the corresponding axis is ordinal. Otherwise they are replaced by the (one-based) row index of their first
+	 * occurrence, e.g. ["a", "a", "b"] => 1, 1, 3.
+	 *
+	 * @param xDataValues
+	 * @param yDataValues
+	 * @return
+	 */
 	public String createXyDataString(List<Object> xDataValues, List<Object> yDataValues) {
 
 		int xLength = xDataValues.size();
@@ -241,43 +480,89 @@ public class Xy extends GraphicsPropertiesPage implements LegendContributor {
 
 		Object firstXObject = xDataValues.get(0);
 		boolean xIsOrdinal = firstXObject instanceof String;
-
 		boolean xAxisIsOrdinal = getXAxis().isOrdinal();
+		Map<Object, Integer> xOrdinalIndices = xIsOrdinal && !xAxisIsOrdinal
+				? new HashMap<>()
+				: null;
 
 		Object firstYObject = yDataValues.get(0);
 		boolean yIsOrdinal = firstYObject instanceof String;
-
 		boolean yAxisIsOrdinal = getYAxis().isOrdinal();
+		Map<Object, Integer> yOrdinalIndices = yIsOrdinal && !yAxisIsOrdinal
+				? new HashMap<>()
+				: null;
 
-		List<String> rowList = new java.util.ArrayList<>();
+		long estimatedLength = Math.min((long) xLength * ESTIMATED_ROW_LENGTH + 2, Integer.MAX_VALUE - 8);
+		StringBuilder dataBuilder = new StringBuilder((int) estimatedLength);
+		dataBuilder.append('[');
 		for (int rowIndex = 0; rowIndex < xLength; rowIndex++) {
-
-			Object xObj = xDataValues.get(rowIndex);
-			String x = xObj.toString();
-			if (xIsOrdinal) {
-				if (xAxisIsOrdinal) {
-					x = "'" + x + "'";
-				} else {
-					x = "" + (xDataValues.indexOf(xObj) + 1);
-				}
-
+			if (rowIndex > 0) {
+				dataBuilder.append(',');
 			}
+			dataBuilder.append('[');
+			appendDataValue(dataBuilder, xDataValues.get(rowIndex), rowIndex, xIsOrdinal, xOrdinalIndices);
+			dataBuilder.append(',');
+			appendDataValue(dataBuilder, yDataValues.get(rowIndex), rowIndex, yIsOrdinal, yOrdinalIndices);
+			dataBuilder.append(']');
+		}
+		dataBuilder.append(']');
+		return dataBuilder.toString();
+	}
 
-			Object yObj = yDataValues.get(rowIndex);
-			String y = yObj.toString();
-			if (yIsOrdinal) {
-				if (yAxisIsOrdinal) {
-					y = "'" + y + "'";
-				} else {
-					y = "" + (yDataValues.indexOf(xObj) + 1);
-				}
+	/**
+	 * Appends a single data value to the given builder. Ordinal values are quoted if no ordinal indices are given.
+	 * Otherwise they are replaced by the (one-based) row index of their first occurrence.
+	 */
+	private static void appendDataValue(
+			StringBuilder dataBuilder,
+			Object value,
+			int rowIndex,
+			boolean isOrdinal,
+			Map<Object, Integer> ordinalIndices) {
+		if (!isOrdinal) {
+			dataBuilder.append(value);
+		} else if (ordinalIndices == null) {
+			dataBuilder.append('\'');
+			appendEscaped(dataBuilder, String.valueOf(value));
+			dataBuilder.append('\'');
+		} else {
+			Integer ordinalIndex = ordinalIndices.get(value);
+			if (ordinalIndex == null) {
+				ordinalIndex = rowIndex + 1;
+				ordinalIndices.put(value, ordinalIndex);
 			}
+			dataBuilder.append(ordinalIndex.intValue());
+		}
+	}
 
-			String rowString = "[" + x + "," + y + "]";
-			rowList.add(rowString);
+	/**
+	 * Appends the given text and escapes the characters that would end a single quoted JavaScript string (quotes,
+	 * backslashes and line terminators)
+	 */
+	private static void appendEscaped(StringBuilder dataBuilder, String text) {
+		for (int index = 0; index < text.length(); index++) {
+			char character = text.charAt(index);
+			switch (character) {
+			case '\'':
+			case '\\':
+				dataBuilder.append('\\').append(character);
+				break;
+			case '\n':
+				dataBuilder.append("\\n");
+				break;
+			case '\r':
+				dataBuilder.append("\\r");
+				break;
+			case '\u2028':
+				dataBuilder.append("\\u2028");
+				break;
+			case '\u2029':
+				dataBuilder.append("\\u2029");
+				break;
+			default:
+				dataBuilder.append(character);
+			}
 		}
-		String xyDataString = "[" + String.join(",", rowList) + "]";
-		return xyDataString;
 	}
 
 	public Scale<?> getXScale() {
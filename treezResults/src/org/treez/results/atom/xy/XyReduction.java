@@ -0,0 +1,248 @@
+package org.treez.results.atom.xy;
+
+import java.util.Arrays;
+
+/**
+ * Reduces the number of xy points to the resolution of the graph. The methods work on the (screen) positions of the
+ * points and return the indices of the points to keep, in ascending order:
+ * <ul>
+ * <li>visibleIndices: removes the points outside of the visible x range (but keeps the neighbors of visible points, so
+ * that lines reach the border of the graph)</li>
+ * <li>largestTriangleThreeBuckets: keeps the visual shape of lines (Largest-Triangle-Three-Buckets, see Steinarsson,
+ * "Downsampling Time Series for Visual Representation", 2013)</li>
+ * <li>minMaxPerBucket: keeps the minimum and maximum y value of each pixel bucket, e.g. for symbols</li>
+ * </ul>
+ */
+public final class XyReduction {
+
+	//#region CONSTRUCTORS
+
+	private XyReduction() {
+		//utility class
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Returns the indices of all points
+	 *
+	 * @param length
+	 * @return
+	 */
+	public static int[] allIndices(int length) {
+		int[] indices = new int[length];
+		for (int index = 0; index < length; index++) {
+			indices[index] = index;
+		}
+		return indices;
+	}
+
+	/**
+	 * Returns the indices of the points whose x position lies within the given limits and the indices of their direct
+	 * neighbors. Returns all indices if the limits are not finite.
+	 *
+	 * @param x
+	 * @param xMin
+	 * @param xMax
+	 * @return
+	 */
+	public static int[] visibleIndices(double[] x, double xMin, double xMax) {
+		int length = x.length;
+		boolean limitsAreFinite = Double.isFinite(xMin) && Double.isFinite(xMax);
+		if (!limitsAreFinite) {
+			return allIndices(length);
+		}
+
+		double lowerLimit = Math.min(xMin, xMax);
+		double upperLimit = Math.max(xMin, xMax);
+		int[] indices = new int[length];
+		int numberOfIndices = 0;
+		for (int index = 0; index < length; index++) {
+			boolean isVisible = isWithin(x, index, lowerLimit, upperLimit)
+					|| isWithin(x, index - 1, lowerLimit, upperLimit)
+					|| isWithin(x, index + 1, lowerLimit, upperLimit);
+			if (isVisible) {
+				indices[numberOfIndices++] = index;
+			}
+		}
+		return Arrays.copyOf(indices, numberOfIndices);
+	}
+
+	private static boolean isWithin(double[] x, int index, double lowerLimit, double upperLimit) {
+		if (index < 0 || index >= x.length) {
+			return false;
+		}
+		double value = x[index];
+		return value >= lowerLimit && value <= upperLimit;
+	}
+
+	/**
+	 * Selects the given number of points from the given indices with the Largest-Triangle-Three-Buckets algorithm. The
+	 * first and the last point are always kept. The indices are divided into buckets of equal size; from each bucket the
+	 * point is kept that forms the largest triangle with the previously kept point and the average point of the next
+	 * bucket. Returns the given indices if they do not exceed the threshold.
+	 *
+	 * @param x
+	 * @param y
+	 * @param indices
+	 * @param threshold
+	 *            the number of points to keep
+	 * @return
+	 */
+	public static int[] largestTriangleThreeBuckets(double[] x, double[] y, int[] indices, int threshold) {
+		int length = indices.length;
+		boolean reductionIsRequired = threshold >= 3 && length > threshold;
+		if (!reductionIsRequired) {
+			return indices;
+		}
+
+		int[] selectedIndices = new int[threshold];
+		int numberOfSelectedIndices = 0;
+		selectedIndices[numberOfSelectedIndices++] = indices[0];
+
+		double bucketSize = (double) (length - 2) / (threshold - 2);
+		int previousIndex = indices[0];
+		for (int bucketIndex = 0; bucketIndex < threshold - 2; bucketIndex++) {
+
+			//average point of the next bucket (the last point for the last bucket)
+			int nextStart = (int) Math.floor((bucketIndex + 1) * bucketSize) + 1;
+			int nextEnd = Math.min((int) Math.floor((bucketIndex + 2) * bucketSize) + 1, length);
+			double averageX = 0;
+			double averageY = 0;
+			int numberOfAveragedPoints = 0;
+			for (int position = nextStart; position < nextEnd; position++) {
+				int index = indices[position];
+				if (isFinite(x, y, index)) {
+					averageX += x[index];
+					averageY += y[index];
+					numberOfAveragedPoints++;
+				}
+			}
+			if (numberOfAveragedPoints > 0) {
+				averageX /= numberOfAveragedPoints;
+				averageY /= numberOfAveragedPoints;
+			} else {
+				int lastIndex = indices[length - 1];
+				averageX = x[lastIndex];
+				averageY = y[lastIndex];
+			}
+
+			//point of the current bucket with the largest triangle
+			int start = (int) Math.floor(bucketIndex * bucketSize) + 1;
+			int end = (int) Math.floor((bucketIndex + 1) * bucketSize) + 1;
+			double previousX = x[previousIndex];
+			double previousY = y[previousIndex];
+			int selectedIndex = indices[start];
+			double maxArea = -1;
+			for (int position = start; position < end; position++) {
+				int index = indices[position];
+				double area = Math.abs((previousX - averageX) * (y[index] - previousY)
+						- (previousX - x[index]) * (averageY - previousY));
+				if (area > maxArea) {
+					maxArea = area;
+					selectedIndex = index;
+				}
+			}
+
+			selectedIndices[numberOfSelectedIndices++] = selectedIndex;
+			previousIndex = selectedIndex;
+		}
+
+		selectedIndices[numberOfSelectedIndices++] = indices[length - 1];
+		return selectedIndices;
+	}
+
+	/**
+	 * Divides the range between the given limits into the given number of buckets and keeps the points with the
+	 * minimum and the maximum y value of each bucket. Points with a non-finite position are dropped. Returns the given
+	 * indices if they do not exceed two points per bucket.
+	 *
+	 * @param x
+	 * @param y
+	 * @param indices
+	 * @param xMin
+	 * @param xMax
+	 * @param numberOfBuckets
+	 * @return
+	 */
+	public static int[] minMaxPerBucket(
+			double[] x,
+			double[] y,
+			int[] indices,
+			double xMin,
+			double xMax,
+			int numberOfBuckets) {
+		boolean reductionIsRequired = numberOfBuckets > 0 && indices.length > 2 * numberOfBuckets;
+		if (!reductionIsRequired) {
+			return indices;
+		}
+
+		double lowerLimit = Math.min(xMin, xMax);
+		double range = Math.abs(xMax - xMin);
+		boolean rangeIsValid = Double.isFinite(lowerLimit) && Double.isFinite(range) && range > 0;
+		if (!rangeIsValid) {
+			return indices;
+		}
+
+		int[] minIndices = new int[numberOfBuckets];
+		int[] maxIndices = new int[numberOfBuckets];
+		Arrays.fill(minIndices, -1);
+		Arrays.fill(maxIndices, -1);
+		for (int index : indices) {
+			if (!isFinite(x, y, index)) {
+				continue;
+			}
+			int bucketIndex = (int) ((x[index] - lowerLimit) / range * numberOfBuckets);
+			bucketIndex = Math.max(0, Math.min(numberOfBuckets - 1, bucketIndex));
+
+			int minIndex = minIndices[bucketIndex];
+			if (minIndex < 0 || y[index] < y[minIndex]) {
+				minIndices[bucketIndex] = index;
+			}
+			int maxIndex = maxIndices[bucketIndex];
+			if (maxIndex < 0 || y[index] > y[maxIndex]) {
+				maxIndices[bucketIndex] = index;
+			}
+		}
+
+		int[] selectedIndices = new int[2 * numberOfBuckets];
+		int numberOfSelectedIndices = 0;
+		for (int bucketIndex = 0; bucketIndex < numberOfBuckets; bucketIndex++) {
+			int minIndex = minIndices[bucketIndex];
+			if (minIndex >= 0) {
+				selectedIndices[numberOfSelectedIndices++] = minIndex;
+				int maxIndex = maxIndices[bucketIndex];
+				if (maxIndex != minIndex) {
+					selectedIndices[numberOfSelectedIndices++] = maxIndex;
+				}
+			}
+		}
+		int[] sortedIndices = Arrays.copyOf(selectedIndices, numberOfSelectedIndices);
+		Arrays.sort(sortedIndices);
+		return sortedIndices;
+	}
+
+	/**
+	 * Returns the values with the given indices
+	 *
+	 * @param values
+	 * @param indices
+	 * @return
+	 */
+	public static double[] select(double[] values, int[] indices) {
+		double[] selectedValues = new double[indices.length];
+		for (int position = 0; position < indices.length; position++) {
+			selectedValues[position] = values[indices[position]];
+		}
+		return selectedValues;
+	}
+
+	private static boolean isFinite(double[] x, double[] y, int index) {
+		return Double.isFinite(x[index]) && Double.isFinite(y[index]);
+	}
+
+	//#end region
+
+}
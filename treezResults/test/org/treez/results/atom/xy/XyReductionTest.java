@@ -0,0 +1,124 @@
+package org.treez.results.atom.xy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.log4j.Logger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.treez.testutils.TestUtils;
+
+/**
+ * Tests the reduction of xy points to the resolution of the graph
+ */
+public class XyReductionTest {
+
+	/**
+	 * Logger for this class
+	 */
+	@SuppressWarnings("unused")
+	private static final Logger LOG = Logger.getLogger(XyReductionTest.class);
+
+	//#region SETUP
+
+	@BeforeClass
+	public static void initializeLogging() {
+		TestUtils.initializeLogging();
+	}
+
+	//#end region
+
+	//#region TESTS
+
+	@Test
+	public void testVisibleIndicesKeepNeighbors() {
+		double[] x = { 0, 1, 2, 3, 4, 5, 6 };
+		int[] indices = XyReduction.visibleIndices(x, 2.5, 3.5);
+		assertArrayEquals(new int[] { 2, 3, 4 }, indices);
+	}
+
+	@Test
+	public void testVisibleIndicesWithoutFiniteLimits() {
+		double[] x = { 0, 1, 2 };
+		int[] indices = XyReduction.visibleIndices(x, Double.NaN, 1);
+		assertArrayEquals(new int[] { 0, 1, 2 }, indices);
+	}
+
+	@Test
+	public void testLargestTriangleThreeBucketsKeepsFirstLastAndPeak() {
+		int length = 100;
+		double[] x = new double[length];
+		double[] y = new double[length];
+		for (int index = 0; index < length; index++) {
+			x[index] = index;
+		}
+		y[42] = 10;
+
+		int[] indices = XyReduction.largestTriangleThreeBuckets(x, y, XyReduction.allIndices(length), 10);
+
+		assertEquals(10, indices.length);
+		assertEquals(0, indices[0]);
+		assertEquals(length - 1, indices[indices.length - 1]);
+		assertContains(indices, 42);
+		assertAscending(indices);
+	}
+
+	@Test
+	public void testLargestTriangleThreeBucketsWithoutReduction() {
+		double[] x = { 0, 1, 2 };
+		double[] y = { 0, 1, 0 };
+		int[] allIndices = XyReduction.allIndices(3);
+		assertSame(allIndices, XyReduction.largestTriangleThreeBuckets(x, y, allIndices, 10));
+	}
+
+	@Test
+	public void testMinMaxPerBucket() {
+		double[] x = { 0, 1, 2, 3, 4, 5, 6, 7 };
+		double[] y = { 5, -1, 7, 3, 2, 9, 0, 4 };
+
+		int[] indices = XyReduction.minMaxPerBucket(x, y, XyReduction.allIndices(8), 0, 8, 2);
+
+		//first bucket: x in [0, 4) => min at 1, max at 2; second bucket: x in [4, 8) => min at 6, max at 5
+		assertArrayEquals(new int[] { 1, 2, 5, 6 }, indices);
+	}
+
+	@Test
+	public void testMinMaxPerBucketDropsNonFinitePoints() {
+		double[] x = { 0, 1, 2, 3, 4, 5 };
+		double[] y = { 1, Double.NaN, 2, 3, Double.POSITIVE_INFINITY, 4 };
+
+		int[] indices = XyReduction.minMaxPerBucket(x, y, XyReduction.allIndices(6), 0, 6, 1);
+
+		assertArrayEquals(new int[] { 0, 5 }, indices);
+	}
+
+	@Test
+	public void testSelect() {
+		double[] values = { 10, 20, 30, 40 };
+		assertArrayEquals(new double[] { 20, 40 }, XyReduction.select(values, new int[] { 1, 3 }), 0);
+	}
+
+	//#end region
+
+	//#region UTILITIES
+
+	private static void assertContains(int[] indices, int expectedIndex) {
+		for (int index : indices) {
+			if (index == expectedIndex) {
+				return;
+			}
+		}
+		throw new AssertionError("The index " + expectedIndex + " has not been selected.");
+	}
+
+	private static void assertAscending(int[] indices) {
+		for (int position = 1; position < indices.length; position++) {
+			assertTrue(indices[position] > indices[position - 1]);
+		}
+	}
+
+	//#end region
+
+}
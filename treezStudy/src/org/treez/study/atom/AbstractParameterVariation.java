@@ -1,17 +1,29 @@
 package org.treez.study.atom;
 
+import java.io.File;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
+import org.treez.core.adaptable.FocusChangingRefreshable;
 import org.treez.core.atom.adjustable.AdjustableAtom;
+import org.treez.core.atom.attribute.attributeContainer.Page;
+import org.treez.core.atom.attribute.attributeContainer.section.Section;
+import org.treez.core.atom.attribute.checkBox.CheckBox;
+import org.treez.core.atom.attribute.fileSystem.FilePath;
 import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.attribute.Attribute;
 import org.treez.core.attribute.Wrap;
 import org.treez.core.utils.Utils;
 import org.treez.model.atom.AbstractModel;
+import org.treez.model.input.ModelInput;
 import org.treez.model.interfaces.Model;
+import org.treez.model.output.ModelOutput;
 import org.treez.results.atom.data.Data;
+import org.treez.results.atom.probe.StudyProbe;
 import org.treez.results.atom.results.Results;
 
 /**
@@ -59,6 +71,33 @@ public abstract class AbstractParameterVariation extends AdjustableAtom implemen
 	 */
 	public final Attribute<String> exportStudyInfoPath = new Wrap<>();
 
+	/**
+	 * The maximum number of jobs that are executed at the same time. Only used if the model to run and all of its sub
+	 * models are ParallelModels (see AbstractModel.supportsParallelJobs).
+	 */
+	public final Attribute<Integer> numberOfParallelJobs = new Wrap<>();
+
+	/**
+	 * If this is true, the tables of the job outputs are written to a SqLite file while the jobs finish and the output
+	 * tree only contains tables that are linked to that file
+	 */
+	public final Attribute<Boolean> storeOutputOnDisk = new Wrap<>();
+
+	/**
+	 * The path of the SqLite file for the job outputs. If it is empty, a file in the temporary directory is used.
+	 */
+	public final Attribute<String> outputStorePath = new Wrap<>();
+
+	/**
+	 * The store for the job outputs of the current run; null if the outputs are kept in memory
+	 */
+	private StudyOutputStore outputStore;
+
+	/**
+	 * The probes that are informed about the completed jobs of the current run of this study
+	 */
+	private List<StudyProbe> probes = new ArrayList<>();
+
 	//#end region
 
 	//#region CONSTRUCTORS
@@ -72,6 +111,139 @@ public abstract class AbstractParameterVariation extends AdjustableAtom implemen
 
 	//#region METHODS
 
+	/**
+	 * Creates the section with the options for storing the job outputs on disk
+	 */
+	protected void createOutputStoreSection(Page dataPage, String absoluteHelpContextId) {
+		Section outputStoreSection = dataPage.createSection("outputStore", absoluteHelpContextId);
+		outputStoreSection.setLabel("Output store");
+		outputStoreSection.setExpanded(false);
+
+		CheckBox storeOnDisk = outputStoreSection.createCheckBox(storeOutputOnDisk, this, false);
+		storeOnDisk.setLabel("Store output tables on disk");
+
+		FilePath storePath = outputStoreSection.createFilePath(outputStorePath, this,
+				"SqLite file for output tables (empty: temporary directory)", "");
+		storePath.setValidatePath(false);
+		storePath.addModificationConsumer("updateEnabledState", () -> {
+			boolean storeOnDiskEnabled = storeOutputOnDisk.get();
+			storePath.setEnabled(storeOnDiskEnabled);
+		});
+	}
+
+	/**
+	 * Opens the output store if the corresponding option is enabled. Tables that have been stored by a former run of
+	 * this study are dropped.
+	 */
+	protected void openOutputStore() {
+		closeOutputStore();
+		if (!storeOutputOnDisk.get()) {
+			return;
+		}
+		String storeId = studyId.get();
+		if (storeId == null || storeId.isEmpty()) {
+			storeId = getName();
+		}
+		String filePath = outputStorePath.get();
+		if (filePath == null || filePath.isEmpty()) {
+			String tempDirectory = System.getProperty("java.io.tmpdir");
+			filePath = tempDirectory + File.separator + "treez" + File.separator + storeId + ".sqlite";
+		}
+		outputStore = new StudyOutputStore(filePath, storeId);
+		LOG.info("The output tables are stored in " + filePath);
+	}
+
+	protected void closeOutputStore() {
+		if (outputStore != null) {
+			outputStore.close();
+		}
+		outputStore = null;
+	}
+
+	/**
+	 * Writes the tables of the given model output to the output store (if it is open) and returns the model output that
+	 * should be added to the study output
+	 */
+	protected ModelOutput storeModelOutput(ModelInput modelInput, ModelOutput modelOutput) {
+		if (outputStore == null) {
+			return modelOutput;
+		}
+		return outputStore.store(modelInput, modelOutput);
+	}
+
+	/**
+	 * Collects the probes of the tree that refer to the output atom of this study and informs them that the study has
+	 * been started. The probes are discovered each time the study is run, so that probes that have been added or
+	 * removed since the last run are considered.
+	 */
+	protected void startProbes() {
+		probes = new ArrayList<>();
+		collectProbes(getRoot(), getStudyOutputAtomPath());
+		for (StudyProbe probe : new ArrayList<>(probes)) {
+			try {
+				probe.studyStarted();
+			} catch (RuntimeException exception) {
+				handleProbeException(probe, exception);
+			}
+		}
+	}
+
+	private void collectProbes(AbstractAtom<?> atom, String studyOutputAtomPath) {
+		for (AbstractAtom<?> child : atom.getChildAtoms()) {
+			if (child instanceof StudyProbe) {
+				StudyProbe probe = (StudyProbe) child;
+				if (studyOutputAtomPath.equals(probe.getStudyOutputPath())) {
+					probes.add(probe);
+				}
+			}
+			collectProbes(child, studyOutputAtomPath);
+		}
+	}
+
+	/**
+	 * Informs the probes about a job output that has been added to the study output atom
+	 *
+	 * @param jobId
+	 * @param jobIndices
+	 *            the indices of the job by model path of the atoms that define its variable values (see
+	 *            StudyProbe.jobCompleted)
+	 * @param jobOutputAtom
+	 */
+	protected void notifyProbes(String jobId, Map<String, Integer> jobIndices, AbstractAtom<?> jobOutputAtom) {
+		for (StudyProbe probe : new ArrayList<>(probes)) {
+			try {
+				probe.jobCompleted(jobId, jobIndices, jobOutputAtom);
+			} catch (RuntimeException exception) {
+				handleProbeException(probe, exception);
+			}
+		}
+	}
+
+	/**
+	 * Informs the probes that all jobs have been completed
+	 */
+	protected void finishProbes(FocusChangingRefreshable refreshable) {
+		for (StudyProbe probe : probes) {
+			try {
+				probe.studyFinished(refreshable);
+			} catch (RuntimeException exception) {
+				LOG.warn("Could not finish probe '" + probe.getName() + "'.", exception);
+			}
+		}
+		probes = new ArrayList<>();
+	}
+
+	/**
+	 * A failing probe must not cancel the study; it is not informed about further jobs. It can still be run after the
+	 * study.
+	 */
+	private void handleProbeException(StudyProbe probe, RuntimeException exception) {
+		String message = "Could not update probe '" + probe.getName()
+				+ "'. It is not updated while the study is running; please run it after the study.";
+		LOG.warn(message, exception);
+		probes.remove(probe);
+	}
+
 	protected void createResultsAtomIfNotExists() {
 		String resultAtomPath = "root.results";
 		boolean resultAtomExists = this.rootHasChild(resultAtomPath);
@@ -161,7 +333,7 @@ public abstract class AbstractParameterVariation extends AdjustableAtom implemen
 		}
 	}
 
-	protected void logModelStartMessage(int counter, double startTime, int numberOfSimulations) {
+	protected void logModelStartMessage(int counter, double startTime, long numberOfSimulations) {
 
 		//get current time
 		Double currentTime = Double.parseDouble("" + System.currentTimeMillis());
@@ -200,14 +372,14 @@ public abstract class AbstractParameterVariation extends AdjustableAtom implemen
 	 * @param numberOfSimulations
 	 * @return
 	 */
-	private String estimateEndTime(double startTime, double currentTime, int counter, int numberOfSimulations) {
+	private String estimateEndTime(double startTime, double currentTime, int counter, long numberOfSimulations) {
 		Double timeDifference = Double.parseDouble("" + (currentTime - startTime));
 		int numberOfFinishedSimulations = (counter - 1);
 		Double estimatedTimePerSimulation = Double.NaN;
 		if (numberOfFinishedSimulations != 0) {
 			estimatedTimePerSimulation = timeDifference / numberOfFinishedSimulations;
 		}
-		int numberOfRemainingSimulations = numberOfSimulations - numberOfFinishedSimulations;
+		long numberOfRemainingSimulations = numberOfSimulations - numberOfFinishedSimulations;
 		Double estimatedRemainingTime = estimatedTimePerSimulation * numberOfRemainingSimulations;
 		Double estimatedEndTime = currentTime + estimatedRemainingTime;
 		String endTimeString = millisToDateString(estimatedEndTime);
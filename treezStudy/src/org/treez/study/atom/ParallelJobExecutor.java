@@ -0,0 +1,201 @@
+package org.treez.study.atom;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.treez.core.adaptable.FocusChangingRefreshable;
+import org.treez.model.input.ModelInput;
+import org.treez.model.interfaces.ParallelModel;
+import org.treez.model.output.ModelOutput;
+
+/**
+ * Runs the jobs of a study on a bounded pool of worker threads. Only models that implement ParallelModel may be
+ * executed with this class. The model outputs are passed to the output consumer in the order of the model inputs
+ * (=job id order), independent of the order in which the jobs finish. The output consumer, the job start consumer and
+ * the progress monitor are only called from the thread that calls the method execute.
+ */
+public class ParallelJobExecutor {
+
+	private static final Logger LOG = Logger.getLogger(ParallelJobExecutor.class);
+
+	//#region ATTRIBUTES
+
+	/**
+	 * The time to wait for a finished job before the cancel state of the progress monitor is checked again
+	 */
+	private static final long POLL_TIME_IN_MILLISECONDS = 200;
+
+	/**
+	 * Limits the number of jobs that have been submitted but whose output has not yet been consumed (in relation to the
+	 * number of parallel jobs). This bounds the number of outputs that are buffered while a job with a smaller job id
+	 * is still running.
+	 */
+	private static final int PENDING_JOBS_FACTOR = 4;
+
+	private final ParallelModel model;
+
+	private final int numberOfParallelJobs;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	public ParallelJobExecutor(ParallelModel model, int numberOfParallelJobs) {
+		Objects.requireNonNull(model, "The model must not be null.");
+		if (numberOfParallelJobs < 1) {
+			String message = "The number of parallel jobs must be at least 1 but is " + numberOfParallelJobs;
+			throw new IllegalArgumentException(message);
+		}
+		this.model = model;
+		this.numberOfParallelJobs = numberOfParallelJobs;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Executes the model for the given model inputs. No new jobs are started after the given monitor has been canceled;
+	 * jobs that are already running are passed the cancel state and their outputs are still consumed. The given
+	 * jobStartConsumer is called with the (one based) counter of each job that is started.
+	 *
+	 * @param modelInputs
+	 * @param refreshable
+	 * @param monitor
+	 * @param jobStartConsumer
+	 * @param outputConsumer
+	 */
+	public void execute(
+			Iterable<ModelInput> modelInputs,
+			FocusChangingRefreshable refreshable,
+			IProgressMonitor monitor,
+			IntConsumer jobStartConsumer,
+			BiConsumer<ModelInput, ModelOutput> outputConsumer) {
+
+		ExecutorService executorService = Executors.newFixedThreadPool(numberOfParallelJobs, createThreadFactory());
+		CompletionService<FinishedJob> completionService = new ExecutorCompletionService<>(executorService);
+		Map<Integer, FinishedJob> finishedJobs = new HashMap<>();
+
+		int maxNumberOfPendingJobs = PENDING_JOBS_FACTOR * numberOfParallelJobs;
+		Iterator<ModelInput> inputIterator = modelInputs.iterator();
+		int nextJobIndex = 0;
+		int nextJobIndexToConsume = 0;
+		int numberOfRunningJobs = 0;
+
+		try {
+			while (true) {
+
+				//start new jobs while there are free workers
+				while (!monitor.isCanceled() && inputIterator.hasNext() && numberOfRunningJobs < numberOfParallelJobs
+						&& nextJobIndex - nextJobIndexToConsume < maxNumberOfPendingJobs) {
+					ModelInput modelInput = inputIterator.next();
+					int jobIndex = nextJobIndex;
+					jobStartConsumer.accept(jobIndex + 1);
+					IProgressMonitor jobMonitor = createJobMonitor(monitor);
+					completionService.submit(() -> {
+						ModelOutput modelOutput = model.runModel(modelInput, refreshable, jobMonitor);
+						return new FinishedJob(jobIndex, modelInput, modelOutput);
+					});
+					nextJobIndex++;
+					numberOfRunningJobs++;
+				}
+
+				if (numberOfRunningJobs == 0) {
+					break;
+				}
+
+				//wait for the next finished job
+				Future<FinishedJob> finishedFuture = completionService.poll(POLL_TIME_IN_MILLISECONDS,
+						TimeUnit.MILLISECONDS);
+				if (finishedFuture == null) {
+					continue;
+				}
+				numberOfRunningJobs--;
+				FinishedJob finishedJob = finishedFuture.get();
+				finishedJobs.put(finishedJob.index, finishedJob);
+				monitor.worked(1);
+
+				//consume the outputs in job id order
+				while (finishedJobs.containsKey(nextJobIndexToConsume)) {
+					FinishedJob jobToConsume = finishedJobs.remove(nextJobIndexToConsume);
+					outputConsumer.accept(jobToConsume.modelInput, jobToConsume.modelOutput);
+					nextJobIndexToConsume++;
+				}
+			}
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			String message = "The parallel execution of the study jobs has been interrupted.";
+			LOG.error(message, exception);
+		} catch (ExecutionException exception) {
+			String message = "Could not execute a job of the study.";
+			throw new IllegalStateException(message, exception.getCause());
+		} finally {
+			executorService.shutdownNow();
+		}
+
+	}
+
+	/**
+	 * Creates a progress monitor for a single job. The jobs do not report their progress to the main monitor (which is
+	 * not thread safe) but they get its cancel state.
+	 *
+	 * @param mainMonitor
+	 * @return
+	 */
+	private static IProgressMonitor createJobMonitor(IProgressMonitor mainMonitor) {
+		return new NullProgressMonitor() {
+
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || mainMonitor.isCanceled();
+			}
+		};
+	}
+
+	private static ThreadFactory createThreadFactory() {
+		AtomicInteger threadCounter = new AtomicInteger(1);
+		return (runnable) -> {
+			Thread thread = new Thread(runnable);
+			thread.setName("Study: JobThread #" + threadCounter.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	//#end region
+
+	/**
+	 * Holds the result of a finished job
+	 */
+	private static final class FinishedJob {
+
+		private final int index;
+
+		private final ModelInput modelInput;
+
+		private final ModelOutput modelOutput;
+
+		FinishedJob(int index, ModelInput modelInput, ModelOutput modelOutput) {
+			this.index = index;
+			this.modelInput = modelInput;
+			this.modelOutput = modelOutput;
+		}
+	}
+
+}
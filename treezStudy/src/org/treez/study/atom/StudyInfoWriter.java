@@ -0,0 +1,161 @@
+package org.treez.study.atom;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
+import org.treez.data.database.sqlite.SqLiteDatabase;
+import org.treez.model.input.ModelInput;
+
+/**
+ * Exports information about a study to a text file or to the tables study_info and job_info of a SqLite database. The
+ * database export uses a single connection, a single transaction and batched PreparedStatements.
+ */
+public class StudyInfoWriter {
+
+	private static final Logger LOG = Logger.getLogger(StudyInfoWriter.class);
+
+	//#region ATTRIBUTES
+
+	private static final String STUDY_INFO_TABLE_NAME = "study_info";
+
+	private static final String JOB_INFO_TABLE_NAME = "job_info";
+
+	/**
+	 * The number of rows that are sent to the database with a single batch
+	 */
+	private static final int BATCH_SIZE = 1000;
+
+	private final String studyId;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	public StudyInfoWriter(String studyId) {
+		this.studyId = studyId;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Writes the given study info text to the text file with the given path. Logs an error if the file could not be
+	 * written.
+	 *
+	 * @param filePath
+	 * @param studyInfo
+	 */
+	public void writeToTextFile(String filePath, String studyInfo) {
+		File file = new File(filePath);
+		try {
+			FileUtils.writeStringToFile(file, studyInfo);
+		} catch (IOException exception) {
+			String message = "The specified exportStudyInfoPath '" + filePath
+					+ "' is not valid. Export of study info is skipped.";
+			LOG.error(message);
+		}
+	}
+
+	/**
+	 * Writes the given variable values (variable model path => values) to the study_info table and the values of the
+	 * given model inputs to the job_info table of the SqLite database with the given path. Old entries for the study
+	 * are deleted.
+	 *
+	 * @param filePath
+	 * @param variableValues
+	 * @param modelInputs
+	 */
+	public void writeToSqLiteDatabase(
+			String filePath,
+			Map<String, ? extends List<?>> variableValues,
+			Iterable<ModelInput> modelInputs) {
+		SqLiteDatabase database = new SqLiteDatabase(filePath, true);
+		database.executeInTransaction((connection) -> {
+			createTablesIfNotExist(connection);
+			deleteOldEntriesForStudy(connection, STUDY_INFO_TABLE_NAME);
+			deleteOldEntriesForStudy(connection, JOB_INFO_TABLE_NAME);
+			writeStudyInfo(connection, variableValues);
+			writeJobInfo(connection, modelInputs);
+		});
+	}
+
+	private static void createTablesIfNotExist(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();) {
+			statement.executeUpdate("CREATE TABLE IF NOT EXISTS '" + STUDY_INFO_TABLE_NAME
+					+ "' (id INTEGER PRIMARY KEY NOT NULL, study TEXT, variable TEXT, value TEXT);");
+			statement.executeUpdate("CREATE TABLE IF NOT EXISTS '" + JOB_INFO_TABLE_NAME
+					+ "' (id INTEGER PRIMARY KEY NOT NULL, study TEXT, job TEXT, variable TEXT, value TEXT);");
+		}
+	}
+
+	private void deleteOldEntriesForStudy(Connection connection, String tableName) throws SQLException {
+		String query = "DELETE FROM '" + tableName + "' WHERE study = ?;";
+		try (PreparedStatement statement = connection.prepareStatement(query);) {
+			statement.setString(1, studyId);
+			statement.executeUpdate();
+		}
+	}
+
+	private void writeStudyInfo(Connection connection, Map<String, ? extends List<?>> variableValues)
+			throws SQLException {
+		String query = "INSERT INTO '" + STUDY_INFO_TABLE_NAME + "' VALUES(null, ?, ?, ?);";
+		try (PreparedStatement statement = connection.prepareStatement(query);) {
+			int batchCounter = 0;
+			for (String variablePath : variableValues.keySet()) {
+				for (Object value : variableValues.get(variablePath)) {
+					statement.setString(1, studyId);
+					statement.setString(2, variablePath);
+					statement.setString(3, String.valueOf(value));
+					statement.addBatch();
+					batchCounter = executeBatchIfFull(statement, batchCounter);
+				}
+			}
+			statement.executeBatch();
+		}
+	}
+
+	private void writeJobInfo(Connection connection, Iterable<ModelInput> modelInputs) throws SQLException {
+		String query = "INSERT INTO '" + JOB_INFO_TABLE_NAME + "' VALUES(null, ?, ?, ?, ?);";
+		try (PreparedStatement statement = connection.prepareStatement(query);) {
+			int batchCounter = 0;
+			for (ModelInput modelInput : modelInputs) {
+				String jobId = modelInput.getJobId();
+				for (String variablePath : modelInput.getAllVariableModelPaths()) {
+					Object value = modelInput.getVariableValue(variablePath);
+					statement.setString(1, studyId);
+					statement.setString(2, jobId);
+					statement.setString(3, variablePath);
+					statement.setString(4, String.valueOf(value));
+					statement.addBatch();
+					batchCounter = executeBatchIfFull(statement, batchCounter);
+				}
+			}
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * Increases the given batch counter and executes the batch of the statement if it is full. Returns the new batch
+	 * counter.
+	 */
+	private static int executeBatchIfFull(PreparedStatement statement, int batchCounter) throws SQLException {
+		int newBatchCounter = batchCounter + 1;
+		if (newBatchCounter < BATCH_SIZE) {
+			return newBatchCounter;
+		}
+		statement.executeBatch();
+		return 0;
+	}
+
+	//#end region
+
+}
@@ -0,0 +1,327 @@
+package org.treez.study.atom;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.treez.core.atom.base.AbstractAtom;
+import org.treez.core.data.column.ColumnType;
+import org.treez.core.data.row.Row;
+import org.treez.core.data.table.TableSourceType;
+import org.treez.data.database.sqlite.SqLiteDatabase;
+import org.treez.data.table.nebula.Table;
+import org.treez.data.tableSource.TableSource;
+import org.treez.model.input.ModelInput;
+import org.treez.model.output.ModelOutput;
+
+/**
+ * Stores the tables of the job outputs of a study in a SqLite file while the jobs finish. The tables of all jobs that
+ * have the same path in their model output are written to a single database table with an additional job_id column.
+ * In the output tree, each stored table is replaced by a table with the same name that is linked to the database table
+ * and filtered for its job. The rows of these tables are only read on demand (see DatabasePageResultLoader), so that the
+ * heap does not grow with the number of jobs. The column name job_id is reserved; tables that include a column with
+ * that name are kept in memory.
+ */
+public class StudyOutputStore {
+
+	private static final Logger LOG = Logger.getLogger(StudyOutputStore.class);
+
+	//#region ATTRIBUTES
+
+	/**
+	 * The name of the column that holds the job id; is expected by the importers that filter the rows for a job
+	 */
+	private static final String JOB_ID_COLUMN_NAME = "job_id";
+
+	/**
+	 * The first part of the paths that identify the tables in the model outputs. (The name of the output atom itself
+	 * might depend on the job.)
+	 */
+	private static final String OUTPUT_PATH_ROOT = "output";
+
+	/**
+	 * Registers the database tables of each study, so that they can be dropped if the study is run again
+	 */
+	private static final String OUTPUT_TABLES_TABLE_NAME = "output_tables";
+
+	/**
+	 * The number of rows that are sent to the database with a single batch
+	 */
+	private static final int BATCH_SIZE = 1000;
+
+	private final String filePath;
+
+	private final String studyId;
+
+	/**
+	 * The prefix of the names of the database tables of the study
+	 */
+	private final String tableNamePrefix;
+
+	private final SqLiteDatabase database;
+
+	/**
+	 * The headers of the database tables that have been created for the current run of the study
+	 */
+	private final Map<String, List<String>> headersByTableName = new HashMap<>();
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	/**
+	 * Opens the store with the given file path and drops the tables of former runs of the study with the given id. The
+	 * connection to the database is kept open until the store is closed.
+	 */
+	public StudyOutputStore(String filePath, String studyId) {
+		this.filePath = filePath;
+		this.studyId = studyId;
+		this.tableNamePrefix = sanitizeName(studyId) + "_";
+		File parentDirectory = new File(filePath).getAbsoluteFile().getParentFile();
+		if (parentDirectory != null) {
+			parentDirectory.mkdirs();
+		}
+		this.database = new SqLiteDatabase(filePath, true);
+		database.hold();
+		dropTablesOfStudy();
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	/**
+	 * Closes the connection to the database. The linked output tables can still read their rows afterwards.
+	 */
+	public void close() {
+		database.release();
+	}
+
+	/**
+	 * Drops the database tables that have been registered for the study in the table output_tables
+	 */
+	private void dropTablesOfStudy() {
+		database.executeInTransaction((connection) -> {
+			try (Statement statement = connection.createStatement();) {
+				statement.executeUpdate("CREATE TABLE IF NOT EXISTS " + OUTPUT_TABLES_TABLE_NAME
+						+ " (study TEXT, table_name TEXT);");
+			}
+
+			List<String> tableNames = new ArrayList<>();
+			String query = "SELECT table_name FROM " + OUTPUT_TABLES_TABLE_NAME + " WHERE study = ?;";
+			try (PreparedStatement statement = connection.prepareStatement(query);) {
+				statement.setString(1, studyId);
+				try (ResultSet resultSet = statement.executeQuery();) {
+					while (resultSet.next()) {
+						tableNames.add(resultSet.getString(1));
+					}
+				}
+			}
+
+			try (Statement statement = connection.createStatement();) {
+				for (String tableName : tableNames) {
+					statement.executeUpdate("DROP TABLE IF EXISTS " + quoteIdentifier(tableName) + ";");
+				}
+			}
+
+			String deleteQuery = "DELETE FROM " + OUTPUT_TABLES_TABLE_NAME + " WHERE study = ?;";
+			try (PreparedStatement statement = connection.prepareStatement(deleteQuery);) {
+				statement.setString(1, studyId);
+				statement.executeUpdate();
+			}
+		});
+	}
+
+	/**
+	 * Writes the tables of the given model output to the store and returns a model output where the tables are
+	 * replaced by linked tables. Tables that are already linked to a source are kept.
+	 */
+	public ModelOutput store(ModelInput modelInput, ModelOutput modelOutput) {
+		String jobId = modelInput.getJobId();
+		AbstractAtom<?> outputAtom = modelOutput.getOutputAtom();
+		AbstractAtom<?> storedOutputAtom = storeAtom(outputAtom, OUTPUT_PATH_ROOT, jobId);
+		return () -> storedOutputAtom;
+	}
+
+	/**
+	 * Stores the given atom if it is a table or stores its children. Returns the atom that should replace the given
+	 * atom in the output tree.
+	 */
+	private AbstractAtom<?> storeAtom(AbstractAtom<?> atom, String outputPath, String jobId) {
+		boolean isTable = atom instanceof Table;
+		if (isTable) {
+			Table table = (Table) atom;
+			if (table.isLinkedToSource() || !table.hasColumns()) {
+				return atom;
+			}
+			return storeTable(table, outputPath, jobId);
+		}
+
+		List<AbstractAtom<?>> children = atom.getChildAtoms();
+		for (int childIndex = 0; childIndex < children.size(); childIndex++) {
+			AbstractAtom<?> child = children.get(childIndex);
+			String childPath = outputPath + "." + child.getName();
+			AbstractAtom<?> storedChild = storeAtom(child, childPath, jobId);
+			if (storedChild != child) {
+				children.set(childIndex, storedChild);
+				storedChild.setParentAtom(atom);
+			}
+		}
+		return atom;
+	}
+
+	private AbstractAtom<?> storeTable(Table table, String outputPath, String jobId) {
+		String tableName = tableNamePrefix + sanitizeName(outputPath);
+		List<String> headers = new ArrayList<>(table.getHeaders());
+
+		boolean hasReservedHeader = headers.stream().anyMatch(JOB_ID_COLUMN_NAME::equalsIgnoreCase);
+		if (hasReservedHeader) {
+			String message = "The output table '" + outputPath + "' of job " + jobId + " contains a column '"
+					+ JOB_ID_COLUMN_NAME + "', which is reserved for the job id. The table is kept in memory.";
+			LOG.warn(message);
+			return table;
+		}
+
+		List<String> existingHeaders = headersByTableName.get(tableName);
+		boolean hasOtherStructure = existingHeaders != null && !existingHeaders.equals(headers);
+		if (hasOtherStructure) {
+			String message = "The columns of the output table '" + outputPath + "' of job " + jobId
+					+ " differ from the columns of the first job. The table is kept in memory.";
+			LOG.warn(message);
+			return table;
+		}
+
+		database.executeInTransaction((connection) -> {
+			if (existingHeaders == null) {
+				createDatabaseTable(connection, tableName, table, headers);
+			}
+			writeRows(connection, tableName, table, headers, jobId);
+		});
+		headersByTableName.put(tableName, headers);
+
+		return createLinkedTable(table.getName(), tableName, jobId);
+	}
+
+	private void createDatabaseTable(Connection connection, String tableName, Table table, List<String> headers)
+			throws SQLException {
+		List<String> columnDefinitions = new ArrayList<>();
+		for (String header : headers) {
+			String databaseType = getDatabaseType(table.getColumnType(header));
+			columnDefinitions.add(quoteIdentifier(header) + " " + databaseType);
+		}
+		columnDefinitions.add(JOB_ID_COLUMN_NAME + " TEXT");
+
+		String quotedTableName = quoteIdentifier(tableName);
+		String quotedIndexName = quoteIdentifier(tableName + "_" + JOB_ID_COLUMN_NAME);
+		try (Statement statement = connection.createStatement();) {
+			statement.executeUpdate("DROP TABLE IF EXISTS " + quotedTableName + ";");
+			statement.executeUpdate(
+					"CREATE TABLE " + quotedTableName + " (" + String.join(", ", columnDefinitions) + ");");
+			statement.executeUpdate(
+					"CREATE INDEX " + quotedIndexName + " ON " + quotedTableName + " (" + JOB_ID_COLUMN_NAME + ");");
+		}
+
+		String registerQuery = "INSERT INTO " + OUTPUT_TABLES_TABLE_NAME + " VALUES(?, ?);";
+		try (PreparedStatement statement = connection.prepareStatement(registerQuery);) {
+			statement.setString(1, studyId);
+			statement.setString(2, tableName);
+			statement.executeUpdate();
+		}
+	}
+
+	private static void writeRows(
+			Connection connection,
+			String tableName,
+			Table table,
+			List<String> headers,
+			String jobId) throws SQLException {
+		int numberOfColumns = headers.size();
+		List<String> columnNames = new ArrayList<>();
+		for (String header : headers) {
+			columnNames.add(quoteIdentifier(header));
+		}
+		columnNames.add(JOB_ID_COLUMN_NAME);
+		String placeholders = String.join(", ", Collections.nCopies(numberOfColumns + 1, "?"));
+
+		String query = "INSERT INTO " + quoteIdentifier(tableName) + " (" + String.join(", ", columnNames)
+				+ ") VALUES(" + placeholders + ");";
+		try (PreparedStatement statement = connection.prepareStatement(query);) {
+			int batchCounter = 0;
+			for (Row row : table.getRows()) {
+				for (int columnIndex = 0; columnIndex < numberOfColumns; columnIndex++) {
+					statement.setObject(columnIndex + 1, row.getEntry(headers.get(columnIndex)));
+				}
+				statement.setString(numberOfColumns + 1, jobId);
+				statement.addBatch();
+				batchCounter++;
+				if (batchCounter == BATCH_SIZE) {
+					statement.executeBatch();
+					batchCounter = 0;
+				}
+			}
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * Creates a table that is linked to the rows of the given job in the given database table
+	 */
+	private Table createLinkedTable(String name, String tableName, String jobId) {
+		TableSource tableSource = new TableSource("tableSource");
+		tableSource.sourceType.set(TableSourceType.SQLITE);
+		tableSource.filePath.set(filePath);
+		tableSource.tableName.set(tableName);
+		tableSource.filterForJob.set(true);
+		tableSource.jobId.set(jobId);
+		tableSource.useCustomQuery.set(false);
+
+		Table linkedTable = new Table(name);
+		linkedTable.addChild(tableSource);
+		return linkedTable;
+	}
+
+	private static String getDatabaseType(ColumnType columnType) {
+		switch (columnType) {
+		case INTEGER:
+			return "INTEGER";
+		case DOUBLE:
+			return "REAL";
+		default:
+			return "TEXT";
+		}
+	}
+
+	/**
+	 * Encloses the given identifier in double quotes and escapes the double quotes it contains
+	 */
+	private static String quoteIdentifier(String identifier) {
+		return "\"" + identifier.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * Replaces all characters that are not letters, digits or underscores
+	 */
+	private static String sanitizeName(String name) {
+		return name.replaceAll("[^A-Za-z0-9_]", "_");
+	}
+
+	//#end region
+
+	//#region ACCESSORS
+
+	public String getFilePath() {
+		return filePath;
+	}
+
+	//#end region
+
+}
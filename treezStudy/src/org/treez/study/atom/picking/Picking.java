@@ -1,13 +1,11 @@
 package org.treez.study.atom.picking;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
@@ -46,6 +44,7 @@ import org.treez.model.interfaces.Model;
 import org.treez.model.output.ModelOutput;
 import org.treez.study.Activator;
 import org.treez.study.atom.AbstractParameterVariation;
+import org.treez.study.atom.StudyInfoWriter;
 
 /**
  * Represents a picking parameter variation. The variation does not walk through a whole definition space. Instead, a
@@ -215,6 +214,9 @@ public class Picking extends AbstractParameterVariation implements NumberRangePr
 			filePath.setEnabled(exportSweepInfoEnabled);
 		});
 
+		//output store
+		createOutputStoreSection(dataPage, absoluteHelpContextId);
+
 		setModel(root);
 	}
 
@@ -420,9 +422,9 @@ public class Picking extends AbstractParameterVariation implements NumberRangePr
 		//create model inputs
 		List<ModelInput> modelInputs = inputGenerator.createModelInputs(studyId.get(), studyDescription.get(), samples);
 
-		//export study info to text file if the corresponding option is enabled
+		//export study info if the corresponding option is enabled
 		if (exportStudyInfo.get()) {
-			exportStudyInfo(samples, numberOfSimulations);
+			exportStudyInfo(samples, modelInputs, numberOfSimulations);
 		}
 
 		//prepare result structure
@@ -437,7 +439,14 @@ public class Picking extends AbstractParameterVariation implements NumberRangePr
 		studyOutputAtom.removeAllChildren();
 
 		//execute target model for all model inputs
-		executeTargetModel(refreshable, monitor, numberOfSimulations, modelInputs, studyOutputAtom);
+		openOutputStore();
+		startProbes();
+		try {
+			executeTargetModel(refreshable, monitor, numberOfSimulations, modelInputs, samples, studyOutputAtom);
+		} finally {
+			closeOutputStore();
+			finishProbes(refreshable);
+		}
 
 		//inform progress monitor to be done
 		monitor.setTaskName("=>Finished!");
@@ -449,40 +458,51 @@ public class Picking extends AbstractParameterVariation implements NumberRangePr
 	}
 
 	/**
-	 * Creates a text file with some information about the sweep and saves it at the exportSweepInfoPath
+	 * Exports some information about the picking to the exportStudyInfoPath. If the path ends with ".sqlite", the
+	 * information is written to a SqLite database. Otherwise it is written to a text file.
 	 *
-	 * @param variableRanges
+	 * @param samples
+	 * @param modelInputs
 	 * @param numberOfSimulations
 	 */
-	private void exportStudyInfo(List<Sample> samples, int numberOfSimulations) {
-		String studyInfo = "---------- PickingInfo ----------\r\n\r\n" + //
-				"Total number of simulations:\r\n" + numberOfSimulations + "\r\n\r\n" + //
-				"Source model path:\r\n" + sourceModelPath.get() + "\r\n\r\n" + //
-				"Variable names and values:\r\n\r\n";
+	private void exportStudyInfo(List<Sample> samples, List<ModelInput> modelInputs, int numberOfSimulations) {
+		String filePath = exportStudyInfoPath.get();
+		StudyInfoWriter writer = new StudyInfoWriter(studyId.get());
+
+		boolean isSqLiteFile = filePath.endsWith(".sqlite");
+		if (isSqLiteFile) {
+			Map<String, List<String>> variableValues = new LinkedHashMap<>();
+			for (Sample sample : samples) {
+				Map<String, VariableField<?, ?>> variableData = sample.getVariableData();
+				for (String variableName : variableData.keySet()) {
+					String variablePath = sourceModelPath.get() + "." + variableName;
+					String valueString = variableData.get(variableName).getValueString();
+					variableValues.computeIfAbsent(variablePath, (path) -> new ArrayList<>()).add(valueString);
+				}
+			}
+			writer.writeToSqLiteDatabase(filePath, variableValues, modelInputs);
+			return;
+		}
+
+		StringBuilder studyInfo = new StringBuilder();
+		studyInfo.append("---------- PickingInfo ----------\r\n\r\n");
+		studyInfo.append("Total number of simulations:\r\n" + numberOfSimulations + "\r\n\r\n");
+		studyInfo.append("Source model path:\r\n" + sourceModelPath.get() + "\r\n\r\n");
+		studyInfo.append("Variable names and values:\r\n\r\n");
 
 		for (Sample sample : samples) {
-			studyInfo += "== Sample '" + sample.getName() + "' ===\r\n";
+			studyInfo.append("== Sample '" + sample.getName() + "' ===\r\n");
 
 			Map<String, VariableField<?, ?>> variableData = sample.getVariableData();
 			for (String variableName : variableData.keySet()) {
 				VariableField<?, ?> variableField = variableData.get(variableName);
 				String valueString = variableField.getValueString();
-				studyInfo += variableName + ": " + valueString + "\r\n";
+				studyInfo.append(variableName + ": " + valueString + "\r\n");
 			}
-			studyInfo += "\r\n";
-		}
-
-		String filePath = exportStudyInfoPath.get();
-		File file = new File(filePath);
-
-		try {
-			FileUtils.writeStringToFile(file, studyInfo);
-		} catch (IOException exception) {
-			String message = "The specified exportStudyInfoPath '" + filePath
-					+ "' is not valid. Export of study info is skipped.";
-			LOG.error(message);
+			studyInfo.append("\r\n");
 		}
 
+		writer.writeToTextFile(filePath, studyInfo.toString());
 	}
 
 	/**
@@ -517,11 +537,13 @@ public class Picking extends AbstractParameterVariation implements NumberRangePr
 			IProgressMonitor monitor,
 			int numberOfSimulations,
 			List<ModelInput> modelInputs,
+			List<Sample> samples,
 			AbstractAtom<?> pickingOutputAtom) {
 		int counter = 1;
 		Model model = getModelToRun();
 		long startTime = System.currentTimeMillis();
-		for (ModelInput modelInput : modelInputs) {
+		for (int sampleIndex = 0; sampleIndex < modelInputs.size(); sampleIndex++) {
+			ModelInput modelInput = modelInputs.get(sampleIndex);
 
 			//allows to cancel the Picking if a user clicks the cancel button at the progress monitor window
 			if (!monitor.isCanceled()) {
@@ -538,10 +560,14 @@ public class Picking extends AbstractParameterVariation implements NumberRangePr
 				ModelOutput modelOutput = model.runModel(modelInput, refreshable, subMonitor);
 
 				//post process model output
-				AbstractAtom<?> modelOutputAtom = modelOutput.getOutputAtom();
+				AbstractAtom<?> modelOutputAtom = storeModelOutput(modelInput, modelOutput).getOutputAtom();
 				String modelOutputName = getName() + "OutputId" + modelInput.getJobId();
 				modelOutputAtom.setName(modelOutputName);
 				pickingOutputAtom.addChild(modelOutputAtom);
+				String samplePath = samples.get(sampleIndex).createTreeNodeAdaption().getTreePath();
+				Map<String, Integer> jobIndices = new LinkedHashMap<>();
+				jobIndices.put(samplePath, sampleIndex);
+				notifyProbes(modelInput.getJobId(), jobIndices, modelOutputAtom);
 				refresh();
 				counter++;
 
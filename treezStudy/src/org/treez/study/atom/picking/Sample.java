@@ -445,6 +445,11 @@ public class Sample extends AdjustableAtom implements VariableFieldProvider {
 		return variableValue;
 	}
 
+	@Override
+	public boolean isEnabled() {
+		return enabled.get();
+	}
+
 	//#end region
 
 	//#end region
@@ -11,6 +11,7 @@ import org.treez.core.atom.base.AbstractAtom;
 import org.treez.core.atom.variablefield.QuantityVariableField;
 import org.treez.core.atom.variablelist.QuantityVariableListField;
 import org.treez.core.quantity.Quantity;
+import org.treez.core.quantity.QuantityArray;
 import org.treez.study.Activator;
 
 /**
@@ -91,6 +92,15 @@ public class QuantityVariableRange extends AbstractVariableRange<Quantity> {
 		return range.get();
 	}
 
+	/**
+	 * Returns the range as QuantityArray
+	 *
+	 * @return
+	 */
+	public QuantityArray getQuantityArray() {
+		return range.getQuantityArray();
+	}
+
 	/**
 	 * Returns the numeric values of the range as Double list
 	 *
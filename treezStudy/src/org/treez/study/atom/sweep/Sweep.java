@@ -1,12 +1,11 @@
 package org.treez.study.atom.sweep;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
@@ -25,14 +24,16 @@ import org.treez.core.atom.variablefield.VariableField;
 import org.treez.core.treeview.TreeViewerRefreshable;
 import org.treez.core.treeview.action.AddChildAtomTreeViewerAction;
 import org.treez.core.utils.Utils;
-import org.treez.data.database.sqlite.SqLiteDatabase;
 import org.treez.data.output.OutputAtom;
-import org.treez.model.input.HashMapModelInput;
+import org.treez.model.atom.AbstractModel;
 import org.treez.model.input.ModelInput;
 import org.treez.model.interfaces.Model;
+import org.treez.model.interfaces.ParallelModel;
 import org.treez.model.output.ModelOutput;
 import org.treez.study.Activator;
 import org.treez.study.atom.AbstractParameterVariation;
+import org.treez.study.atom.ParallelJobExecutor;
+import org.treez.study.atom.StudyInfoWriter;
 import org.treez.study.atom.range.AbstractVariableRange;
 import org.treez.study.atom.range.BooleanVariableRange;
 import org.treez.study.atom.range.DirectoryPathVariableRange;
@@ -51,6 +52,21 @@ public class Sweep extends AbstractParameterVariation {
 
 	private static final Logger LOG = Logger.getLogger(Sweep.class);
 
+	//#region ATTRIBUTES
+
+	/**
+	 * The model paths of the variable ranges of the current run, in the order of the model inputs (the first range
+	 * varies slowest)
+	 */
+	private List<String> rangeModelPaths = new ArrayList<>();
+
+	/**
+	 * The sizes of the variable ranges of the current run
+	 */
+	private List<Integer> rangeSizes = new ArrayList<>();
+
+	//#end region
+
 	//#region CONSTRUCTORS
 
 	public Sweep(String name) {
@@ -99,6 +115,12 @@ public class Sweep extends AbstractParameterVariation {
 						modelEntryPoint, false)
 				.setLabel("Variable source model (provides variables)");
 
+		//number of parallel jobs
+		sweepSection
+				.createIntegerVariableField(numberOfParallelJobs, this, 1) //
+				.setMinValue(1) //
+				.setLabel("Number of parallel jobs (for parallel models)");
+
 		//study info
 		Section studyInfoSection = dataPage.createSection("studyInfo", absoluteHelpContextId);
 		studyInfoSection.setLabel("Export study info");
@@ -118,6 +140,9 @@ public class Sweep extends AbstractParameterVariation {
 
 		);
 
+		//output store
+		createOutputStoreSection(dataPage, absoluteHelpContextId);
+
 		setModel(root);
 	}
 
@@ -166,17 +191,22 @@ public class Sweep extends AbstractParameterVariation {
 			SweepModelInputGenerator inputGenerator,
 			List<AbstractVariableRange<?>> variableRanges) {
 		//get total number of simulations
-		int numberOfSimulations = inputGenerator.getNumberOfSimulations(variableRanges);
+		long numberOfSimulations = inputGenerator.getNumberOfSimulations(variableRanges);
 		LOG.info("Number of total simulations: " + numberOfSimulations);
 
 		//initialize progress monitor
-		monitor.beginTask("", numberOfSimulations);
-
-		//reset job index to 1
-		HashMapModelInput.resetIdCounter();
-
-		//create model inputs
-		List<ModelInput> modelInputs = inputGenerator.createModelInputs(variableRanges);
+		boolean isTooLargeForMonitor = numberOfSimulations > Integer.MAX_VALUE;
+		int totalWork = isTooLargeForMonitor ? IProgressMonitor.UNKNOWN : (int) numberOfSimulations;
+		monitor.beginTask("", totalWork);
+
+		//create model inputs (they are lazily created while iterating; the job ids start with 1)
+		Iterable<ModelInput> modelInputs = inputGenerator.createModelInputs(variableRanges);
+		rangeModelPaths = new ArrayList<>();
+		rangeSizes = new ArrayList<>();
+		for (AbstractVariableRange<?> variableRange : variableRanges) {
+			rangeModelPaths.add(variableRange.createTreeNodeAdaption().getTreePath());
+			rangeSizes.add(variableRange.getRange().size());
+		}
 
 		//exports study info if the corresponding option is enabled
 		if (exportStudyInfo.get()) {
@@ -195,7 +225,14 @@ public class Sweep extends AbstractParameterVariation {
 		sweepOutputAtom.removeAllChildren();
 
 		//execute target model for all model inputs
-		executeTargetModel(refreshable, monitor, numberOfSimulations, modelInputs, sweepOutputAtom);
+		openOutputStore();
+		startProbes();
+		try {
+			executeTargetModel(refreshable, monitor, numberOfSimulations, modelInputs, sweepOutputAtom);
+		} finally {
+			closeOutputStore();
+			finishProbes(refreshable);
+		}
 
 		//inform progress monitor to be done
 		monitor.setTaskName("=>Finished!");
@@ -209,41 +246,124 @@ public class Sweep extends AbstractParameterVariation {
 	private void executeTargetModel(
 			FocusChangingRefreshable refreshable,
 			IProgressMonitor monitor,
-			int numberOfSimulations,
-			List<ModelInput> modelInputs,
+			long numberOfSimulations,
+			Iterable<ModelInput> modelInputs,
 			AbstractAtom<?> sweepOutputAtom) {
-		int counter = 1;
 		Model model = getModelToRun();
+		int parallelJobs = numberOfParallelJobs.get();
+		boolean supportsParallelJobs = model instanceof AbstractModel
+				&& ((AbstractModel) model).supportsParallelJobs();
+		if (supportsParallelJobs && parallelJobs > 1) {
+			executeTargetModelInParallel(refreshable, monitor, numberOfSimulations, modelInputs, sweepOutputAtom,
+					(AbstractModel) model, parallelJobs);
+		} else {
+			if (parallelJobs > 1) {
+				String message = "The model to run or one of its sub models is not a ParallelModel. "
+						+ "The jobs are executed one after another.";
+				LOG.warn(message);
+			}
+			executeTargetModelSequentially(refreshable, monitor, numberOfSimulations, modelInputs, sweepOutputAtom,
+					model);
+		}
+		refresh();
+	}
+
+	private void executeTargetModelSequentially(
+			FocusChangingRefreshable refreshable,
+			IProgressMonitor monitor,
+			long numberOfSimulations,
+			Iterable<ModelInput> modelInputs,
+			AbstractAtom<?> sweepOutputAtom,
+			Model model) {
+		int counter = 1;
 		long startTime = System.currentTimeMillis();
 		for (ModelInput modelInput : modelInputs) {
 
-			//allows to cancel the sweep if a user clicks the cancel button at the progress monitor window
-			if (!monitor.isCanceled()) {
-				logModelStartMessage(counter, startTime, numberOfSimulations);
+			//allows to cancel the sweep if a user clicks the cancel button at the progress monitor window; stops
+			//iterating, so that the remaining (lazily created) model inputs are not created
+			if (monitor.isCanceled()) {
+				break;
+			}
 
-				//create subtask and sub monitor for progress monitor
-				monitor.setTaskName("=>Simulation #" + counter);
+			logModelStartMessage(counter, startTime, numberOfSimulations);
 
-				SubProgressMonitor subMonitor = new SubProgressMonitor(
-						monitor,
-						1,
-						SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK);
+			//create subtask and sub monitor for progress monitor
+			monitor.setTaskName("=>Simulation #" + counter);
 
-				//execute model
-				ModelOutput modelOutput = model.runModel(modelInput, refreshable, subMonitor);
+			SubProgressMonitor subMonitor = new SubProgressMonitor(
+					monitor,
+					1,
+					SubProgressMonitor.PREPEND_MAIN_LABEL_TO_SUBTASK);
 
-				//post process model output
-				AbstractAtom<?> modelOutputAtom = modelOutput.getOutputAtom();
-				String modelOutputName = getName() + "OutputId" + modelInput.getJobId();
-				modelOutputAtom.setName(modelOutputName);
-				sweepOutputAtom.addChild(modelOutputAtom);
+			//execute model
+			ModelOutput modelOutput = model.runModel(modelInput, refreshable, subMonitor);
 
-				counter++;
-			}
+			//post process model output
+			addModelOutput(modelInput, modelOutput, sweepOutputAtom);
+
+			counter++;
 		}
+	}
 
-		refresh();
+	/**
+	 * Executes the model inputs with a bounded number of parallel jobs. The model is switched to detached execution
+	 * mode, so that the jobs do not write their inputs to the shared variable atoms. The model outputs are added to the
+	 * sweep output atom in the order of the job ids.
+	 */
+	private void executeTargetModelInParallel(
+			FocusChangingRefreshable refreshable,
+			IProgressMonitor monitor,
+			long numberOfSimulations,
+			Iterable<ModelInput> modelInputs,
+			AbstractAtom<?> sweepOutputAtom,
+			AbstractModel model,
+			int parallelJobs) {
+		LOG.info("Executing the sweep with up to " + parallelJobs + " parallel jobs.");
+
+		//bind the model inputs to the job threads instead of writing them to the shared variable atoms
+		model.setDetachedExecution(true);
+
+		long startTime = System.currentTimeMillis();
+		ParallelJobExecutor jobExecutor = new ParallelJobExecutor((ParallelModel) model, parallelJobs);
+		try {
+			jobExecutor.execute(modelInputs, refreshable, monitor, (counter) -> {
+				logModelStartMessage(counter, startTime, numberOfSimulations);
+				monitor.setTaskName("=>Simulation #" + counter);
+			}, (modelInput, modelOutput) -> addModelOutput(modelInput, modelOutput, sweepOutputAtom));
+		} finally {
+			model.setDetachedExecution(false);
+		}
+	}
 
+	private void addModelOutput(ModelInput modelInput, ModelOutput modelOutput, AbstractAtom<?> sweepOutputAtom) {
+		AbstractAtom<?> modelOutputAtom = storeModelOutput(modelInput, modelOutput).getOutputAtom();
+		String modelOutputName = getName() + "OutputId" + modelInput.getJobId();
+		modelOutputAtom.setName(modelOutputName);
+		sweepOutputAtom.addChild(modelOutputAtom);
+		notifyProbes(modelInput.getJobId(), createJobIndices(modelInput.getJobId()), modelOutputAtom);
+	}
+
+	/**
+	 * Returns the index of the value of each variable range (by model path of the range) for the job with the given
+	 * (one based) id. The job ids are assigned in the order of the model inputs, where the first range varies slowest.
+	 */
+	private Map<String, Integer> createJobIndices(String jobId) {
+		Map<String, Integer> jobIndices = new LinkedHashMap<>();
+		long remainingIndex;
+		try {
+			remainingIndex = Long.parseLong(jobId) - 1;
+		} catch (NumberFormatException exception) {
+			return jobIndices;
+		}
+		for (int rangeIndex = rangeSizes.size() - 1; rangeIndex >= 0; rangeIndex--) {
+			int rangeSize = rangeSizes.get(rangeIndex);
+			if (rangeSize == 0) {
+				return new LinkedHashMap<>();
+			}
+			jobIndices.put(rangeModelPaths.get(rangeIndex), (int) (remainingIndex % rangeSize));
+			remainingIndex = remainingIndex / rangeSize;
+		}
+		return jobIndices;
 	}
 
 	/**
@@ -291,8 +411,8 @@ public class Sweep extends AbstractParameterVariation {
 	 */
 	private void exportStudyInfo(
 			List<AbstractVariableRange<?>> variableRanges,
-			List<ModelInput> modelInputs,
-			int numberOfSimulations) {
+			Iterable<ModelInput> modelInputs,
+			long numberOfSimulations) {
 
 		String filePath = exportStudyInfoPath.get();
 
@@ -320,90 +440,39 @@ public class Sweep extends AbstractParameterVariation {
 
 	private void exportStudyInfoToSqLiteDatabase(
 			List<AbstractVariableRange<?>> variableRanges,
-			List<ModelInput> modelInputs,
+			Iterable<ModelInput> modelInputs,
 			String filePath) {
 
-		SqLiteDatabase database = new SqLiteDatabase(filePath);
-		writeStudyInfo(variableRanges, database);
-		writeJobInfo(modelInputs, database);
-
-	}
-
-	private void writeStudyInfo(List<AbstractVariableRange<?>> variableRanges, SqLiteDatabase database) {
-		String studyInfoTableName = "study_info";
-		createStudyInfoTableIfNotExists(database, studyInfoTableName);
-		deleteOldEntriesForStudyIfExist(database, studyInfoTableName);
-
+		Map<String, List<?>> variableValues = new LinkedHashMap<>();
 		for (AbstractVariableRange<?> range : variableRanges) {
-			String variablePath = range.getSourceVariableModelPath();
-			List<?> rangeValues = range.getRange();
-			for (Object value : rangeValues) {
-				String query = "INSERT INTO '" + studyInfoTableName + "' VALUES(null, '" + studyId + "', '"
-						+ variablePath + "','" + value + "')";
-				database.execute(query);
-			}
+			variableValues.put(range.getSourceVariableModelPath(), range.getRange());
 		}
-	}
 
-	private void deleteOldEntriesForStudyIfExist(SqLiteDatabase database, String tableName) {
-		String query = "DELETE FROM '" + tableName + "' WHERE study = '" + studyId + "';";
-		database.execute(query);
+		StudyInfoWriter writer = new StudyInfoWriter(studyId.get());
+		writer.writeToSqLiteDatabase(filePath, variableValues, modelInputs);
 	}
 
-	private static void createStudyInfoTableIfNotExists(SqLiteDatabase database, String tableName) {
-		String query = "CREATE TABLE IF NOT EXISTS '" + tableName
-				+ "' (id INTEGER PRIMARY KEY NOT NULL, study TEXT, variable TEXT, value TEXT);";
-		database.execute(query);
-	}
-
-	private void writeJobInfo(List<ModelInput> modelInputs, SqLiteDatabase database) {
-		String jobInfoTableName = "job_info";
-		createJobInfoTableIfNotExists(database, jobInfoTableName);
-		deleteOldEntriesForStudyIfExist(database, jobInfoTableName);
-		for (ModelInput modelInput : modelInputs) {
-			String jobId = modelInput.getJobId();
-			List<String> variablePaths = modelInput.getAllVariableModelPaths();
-			for (String variablePath : variablePaths) {
-				Object value = modelInput.getVariableValue(variablePath);
-				String query = "INSERT INTO '" + jobInfoTableName + "' VALUES(null, '" + studyId + "', '" + jobId
-						+ "', '" + variablePath + "','" + value + "')";
-				database.execute(query);
-			}
-		}
-	}
-
-	private static void createJobInfoTableIfNotExists(SqLiteDatabase database, String tableName) {
-		String query = "CREATE TABLE IF NOT EXISTS '" + tableName
-				+ "' (id INTEGER PRIMARY KEY NOT NULL, study TEXT, job TEXT, variable TEXT, value TEXT);";
-		database.execute(query);
-	}
-
-	private static void exportStudyInfoToTextFile(
+	private void exportStudyInfoToTextFile(
 			List<AbstractVariableRange<?>> variableRanges,
-			int numberOfSimulations,
+			long numberOfSimulations,
 			String filePath) {
-		String studyInfo = "---------- SweepInfo ----------\r\n\r\n" + "Total number of simulations:\r\n"
-				+ numberOfSimulations + "\r\n\r\n" + "Variable model paths and values:\r\n\r\n";
+		StringBuilder studyInfo = new StringBuilder();
+		studyInfo.append("---------- SweepInfo ----------\r\n\r\n");
+		studyInfo.append("Total number of simulations:\r\n" + numberOfSimulations + "\r\n\r\n");
+		studyInfo.append("Variable model paths and values:\r\n\r\n");
 
 		for (AbstractVariableRange<?> range : variableRanges) {
 			String variablePath = range.getSourceVariableModelPath();
-			studyInfo += variablePath + "\r\n";
+			studyInfo.append(variablePath + "\r\n");
 			List<?> rangeValues = range.getRange();
 			for (Object value : rangeValues) {
-				studyInfo += value.toString() + "\r\n";
+				studyInfo.append(value.toString() + "\r\n");
 			}
-			studyInfo += "\r\n";
+			studyInfo.append("\r\n");
 		}
 
-		File file = new File(filePath);
-
-		try {
-			FileUtils.writeStringToFile(file, studyInfo);
-		} catch (IOException exception) {
-			String message = "The specified exportStudyInfoPath '" + filePath
-					+ "' is not valid. Export of study info is skipped.";
-			LOG.error(message);
-		}
+		StudyInfoWriter writer = new StudyInfoWriter(studyId.get());
+		writer.writeToTextFile(filePath, studyInfo.toString());
 	}
 
 	/**
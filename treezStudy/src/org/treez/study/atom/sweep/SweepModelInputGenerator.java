@@ -1,13 +1,15 @@
 package org.treez.study.atom.sweep;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.treez.core.atom.base.AbstractAtom;
-import org.treez.model.input.HashMapModelInput;
 import org.treez.model.input.ModelInput;
+import org.treez.model.input.ModelInputSchema;
 import org.treez.study.atom.Study;
 import org.treez.study.atom.range.AbstractVariableRange;
+import org.treez.study.atom.range.QuantityVariableRange;
 
 /**
  * Creates the model input for a Sweep parameter variation
@@ -31,95 +33,76 @@ public class SweepModelInputGenerator {
 	//#region METHODS
 
 	/**
-	 * Creates the model inputs for the given variable ranges
+	 * Creates the model inputs for the given variable ranges. The model inputs are not created in advance but lazily
+	 * while iterating. The first variable range varies slowest and the last variable range varies fastest. The job id
+	 * of a model input is derived from its (one based) position. Each call of iterator() starts a new iteration that
+	 * yields the same model inputs.
 	 *
 	 * @param variableRanges
 	 * @return
 	 */
-	public List<ModelInput> createModelInputs(List<AbstractVariableRange<?>> variableRanges) {
-		List<ModelInput> modelInputs = new ArrayList<>();
-		if (!variableRanges.isEmpty()) {
-			AbstractVariableRange<?> firstRange = variableRanges.get(0);
-			List<AbstractVariableRange<?>> remainingRanges = variableRanges.subList(1, variableRanges.size());
-			String variableModelPath = firstRange.getSourceVariableModelPath();
-			Study study = (Study) firstRange.getParentAtom();
-			String studyId = study.getId();
-			String studyDescription = study.getDescription();
-
-			List<? extends Object> rangeObjects = firstRange.getRange();
-			for (Object currentRangeObject : rangeObjects) {
-				//create model input that initially contains the current quantity
-				ModelInput initialInput = createInitialModelInput(variableModelPath, studyId, studyDescription,
-						currentRangeObject);
-
-				//copy and extended the initial model input using the remaining variable ranges
-				List<ModelInput> modelInputsWithCurrentQuantity = extendModelInputs(initialInput, remainingRanges);
-				modelInputs.addAll(modelInputsWithCurrentQuantity);
-			}
+	public Iterable<ModelInput> createModelInputs(List<AbstractVariableRange<?>> variableRanges) {
+		if (variableRanges.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		AbstractVariableRange<?> firstRange = variableRanges.get(0);
+		Study study = (Study) firstRange.getParentAtom();
+		String studyId = study.getId();
+		String studyDescription = study.getDescription();
+
+		List<String> variableModelPaths = new ArrayList<>(variableRanges.size());
+		List<Class<?>> valueTypes = new ArrayList<>(variableRanges.size());
+		List<List<?>> rangeValues = new ArrayList<>(variableRanges.size());
+		for (AbstractVariableRange<?> variableRange : variableRanges) {
+			List<?> values = getRangeValues(variableRange);
+			variableModelPaths.add(variableRange.getSourceVariableModelPath());
+			valueTypes.add(getValueType(values));
+			rangeValues.add(values);
 		}
-		return modelInputs;
 
+		ModelInputSchema schema = new ModelInputSchema(sweepModelPath, studyId, studyDescription, variableModelPaths,
+				valueTypes);
+		return () -> new SweepModelInputIterator(schema, valueTypes, rangeValues);
 	}
 
 	/**
-	 * Creates the model inputs for the given Quantity and the given list of remaining variable ranges
+	 * Returns the values of the given variable range. The values of a QuantityVariableRange are kept as QuantityArray
+	 * and the Quantity of a model input is only created when the model input is requested.
 	 *
-	 * @param initialInput
-	 * @param variableRanges
+	 * @param variableRange
 	 * @return
 	 */
-	private List<ModelInput> extendModelInputs(ModelInput initialInput, List<AbstractVariableRange<?>> variableRanges) {
-		List<ModelInput> modelInputs = new ArrayList<>();
-
-		boolean isLastEntry = variableRanges.isEmpty();
-		if (isLastEntry) {
-			//the model input is already finished and can be returned as a single model input
-			modelInputs.add(initialInput);
-			return modelInputs;
-		} else {
-			//the initial model input needs to be copied and extended using the remaining variable ranges
-			AbstractVariableRange<?> firstRange = variableRanges.get(0);
-			String variableModelPath = firstRange.getSourceVariableModelPath();
-			List<? extends java.lang.Object> rangeObjects = firstRange.getRange();
-			List<AbstractVariableRange<?>> remainingRanges = variableRanges.subList(1, variableRanges.size());
-
-			int counter = 1;
-			for (java.lang.Object currentRangeObject : rangeObjects) {
-				//copy initial model input
-				ModelInput modelInput = initialInput.copy();
-
-				//increase the id for new model inputs
-				if (counter > 1) {
-					modelInput.increaseJobId();
-				}
-
-				//add current quantity
-				modelInput.add(variableModelPath, currentRangeObject);
-				//copy and extend with remaining variable ranges
-				List<ModelInput> modelInputsWithCurrentQuantities = extendModelInputs(modelInput, remainingRanges);
-				modelInputs.addAll(modelInputsWithCurrentQuantities);
-				counter++;
-			}
-			return modelInputs;
+	private static List<?> getRangeValues(AbstractVariableRange<?> variableRange) {
+		boolean isQuantityRange = variableRange instanceof QuantityVariableRange;
+		if (isQuantityRange) {
+			return ((QuantityVariableRange) variableRange).getQuantityArray().asQuantityList();
 		}
-
+		return variableRange.getRange();
 	}
 
 	/**
-	 * Creates an initial model input that contains a single Quantity.
+	 * Returns the common class of the given range values. Returns Object if the values have different classes.
 	 *
-	 * @param variableModelPath
-	 * @param currentQuantity
+	 * @param values
 	 * @return
 	 */
-	private ModelInput createInitialModelInput(
-			String variableModelPath,
-			String studyId,
-			String studyDescription,
-			Object rangeObject) {
-		ModelInput initialInput = new HashMapModelInput(sweepModelPath, studyId, studyDescription);
-		initialInput.add(variableModelPath, rangeObject);
-		return initialInput;
+	private static Class<?> getValueType(List<?> values) {
+		Class<?> valueType = null;
+		for (Object value : values) {
+			if (value == null) {
+				return Object.class;
+			}
+			if (valueType == null) {
+				valueType = value.getClass();
+			} else if (!valueType.equals(value.getClass())) {
+				return Object.class;
+			}
+		}
+		if (valueType == null) {
+			return Object.class;
+		}
+		return valueType;
 	}
 
 	/**
@@ -144,34 +127,30 @@ public class SweepModelInputGenerator {
 	}
 
 	/**
-	 * Determines the total number of simulations to run
+	 * Determines the total number of simulations to run (=the product of the range sizes). Returns 0 if there is no
+	 * variable range or if one of the variable ranges is empty. Throws an IllegalStateException if the number of
+	 * simulations exceeds the range of long.
 	 *
 	 * @param variableRanges
 	 * @return
 	 */
-	public int getNumberOfSimulations(List<AbstractVariableRange<?>> variableRanges) {
+	public long getNumberOfSimulations(List<AbstractVariableRange<?>> variableRanges) {
 
-		//initialize number of simulations
-		int numberOfSimulations = 1;
-		//used to check if initial value of 1 makes sense
-		boolean atLeastOneSimulation = false;
+		if (variableRanges.isEmpty()) {
+			return 0;
+		}
 
-		//loop through variable ranges and calculate number of values by multiplication
+		long numberOfSimulations = 1;
 		for (AbstractVariableRange<?> variableRange : variableRanges) {
-			List<? extends Object> rangeValues = variableRange.getRange();
-			int numberOfValues = rangeValues.size();
-			if (numberOfValues > 0) {
-				atLeastOneSimulation = true;
-				numberOfSimulations *= numberOfValues;
+			int numberOfValues = variableRange.getRange().size();
+			try {
+				numberOfSimulations = Math.multiplyExact(numberOfSimulations, numberOfValues);
+			} catch (ArithmeticException exception) {
+				String message = "The number of simulations of the sweep is too large.";
+				throw new IllegalStateException(message, exception);
 			}
 		}
-
-		//return number of simulations
-		if (atLeastOneSimulation) {
-			return numberOfSimulations;
-		} else {
-			return 0;
-		}
+		return numberOfSimulations;
 	}
 
 	//#end region
@@ -0,0 +1,148 @@
+package org.treez.study.atom.sweep;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.treez.core.atom.copy.Copiable;
+import org.treez.model.input.ArrayModelInput;
+import org.treez.model.input.ModelInput;
+import org.treez.model.input.ModelInputSchema;
+
+/**
+ * Lazily creates the model inputs of a Sweep. The n-th model input is derived from the mixed radix representation of
+ * its index, where the range sizes are the radices and the last range corresponds to the least significant digit. Only
+ * the current digits are kept in memory; the model inputs are not stored. The values of Double and Integer ranges are
+ * unboxed once and assigned to the primitive slots of the created ArrayModelInputs.
+ */
+class SweepModelInputIterator implements Iterator<ModelInput> {
+
+	//#region ATTRIBUTES
+
+	private final ModelInputSchema schema;
+
+	/**
+	 * The values of the ranges that are neither Double nor Integer ranges (null for the other ranges)
+	 */
+	private final Object[][] objectRanges;
+
+	/**
+	 * The values of the Double ranges (null for the other ranges)
+	 */
+	private final double[][] doubleRanges;
+
+	/**
+	 * The values of the Integer ranges (null for the other ranges)
+	 */
+	private final int[][] integerRanges;
+
+	private final int[] rangeSizes;
+
+	/**
+	 * The current value index for each variable range
+	 */
+	private final int[] digits;
+
+	/**
+	 * The number of the next job (starts with 1)
+	 */
+	private long nextJobId = 1;
+
+	private boolean hasNext;
+
+	//#end region
+
+	//#region CONSTRUCTORS
+
+	SweepModelInputIterator(ModelInputSchema schema, List<Class<?>> valueTypes, List<List<?>> rangeValues) {
+		this.schema = schema;
+		int numberOfRanges = rangeValues.size();
+		objectRanges = new Object[numberOfRanges][];
+		doubleRanges = new double[numberOfRanges][];
+		integerRanges = new int[numberOfRanges][];
+		rangeSizes = new int[numberOfRanges];
+		digits = new int[numberOfRanges];
+
+		boolean hasEmptyRange = false;
+		for (int rangeIndex = 0; rangeIndex < numberOfRanges; rangeIndex++) {
+			List<?> values = rangeValues.get(rangeIndex);
+			rangeSizes[rangeIndex] = values.size();
+			hasEmptyRange = hasEmptyRange || values.isEmpty();
+
+			Class<?> valueType = valueTypes.get(rangeIndex);
+			if (Double.class.equals(valueType)) {
+				doubleRanges[rangeIndex] = values.stream().mapToDouble((value) -> (Double) value).toArray();
+			} else if (Integer.class.equals(valueType)) {
+				integerRanges[rangeIndex] = values.stream().mapToInt((value) -> (Integer) value).toArray();
+			} else {
+				objectRanges[rangeIndex] = values.toArray();
+			}
+		}
+		hasNext = numberOfRanges > 0 && !hasEmptyRange;
+	}
+
+	//#end region
+
+	//#region METHODS
+
+	@Override
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+	@Override
+	public ModelInput next() {
+		if (!hasNext) {
+			throw new NoSuchElementException("All model inputs of the sweep have already been created.");
+		}
+
+		ArrayModelInput modelInput = schema.createModelInput(nextJobId);
+		for (int rangeIndex = 0; rangeIndex < digits.length; rangeIndex++) {
+			int digit = digits[rangeIndex];
+			if (doubleRanges[rangeIndex] != null) {
+				modelInput.setDouble(rangeIndex, doubleRanges[rangeIndex][digit]);
+			} else if (integerRanges[rangeIndex] != null) {
+				modelInput.setInteger(rangeIndex, integerRanges[rangeIndex][digit]);
+			} else {
+				modelInput.set(rangeIndex, copyRangeObject(objectRanges[rangeIndex][digit]));
+			}
+		}
+
+		nextJobId++;
+		increaseDigits();
+		return modelInput;
+	}
+
+	/**
+	 * Increases the mixed radix digits by one, starting with the last range. If all digits overflow, the iteration is
+	 * finished.
+	 */
+	private void increaseDigits() {
+		for (int rangeIndex = digits.length - 1; rangeIndex >= 0; rangeIndex--) {
+			digits[rangeIndex]++;
+			boolean isOverflow = digits[rangeIndex] == rangeSizes[rangeIndex];
+			if (!isOverflow) {
+				return;
+			}
+			digits[rangeIndex] = 0;
+		}
+		hasNext = false;
+	}
+
+	/**
+	 * Copies the given range object if it is Copiable. This way, the model inputs do not share mutable values.
+	 *
+	 * @param rangeObject
+	 * @return
+	 */
+	private static Object copyRangeObject(Object rangeObject) {
+		boolean isCopiable = rangeObject instanceof Copiable;
+		if (isCopiable) {
+			return ((Copiable<?>) rangeObject).copy();
+		}
+		return rangeObject;
+	}
+
+	//#end region
+
+}